@@ -16,6 +16,7 @@
 package com.youkol.support.justauth.autoconfigure;
 
 import me.zhyd.oauth.cache.AuthDefaultStateCache;
+import com.youkol.support.justauth.support.cache.AuthJdbcStateCache;
 import com.youkol.support.justauth.support.cache.AuthRedisStateCache;
 
 /**
@@ -34,6 +35,11 @@ public enum CacheType {
      */
     REDIS,
 
+    /**
+     * Use {@link AuthJdbcStateCache}
+     */
+    JDBC,
+
     /**
      * For custom cache
      */
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import com.youkol.support.justauth.support.cache.ResilientAuthStateCache;
+import com.youkol.support.justauth.support.jfr.FlightRecorderAuthStateCache;
+import com.youkol.support.justauth.support.observation.ObservedAuthStateCache;
+
+import me.zhyd.oauth.cache.AuthDefaultStateCache;
+import me.zhyd.oauth.cache.AuthStateCache;
+
+/**
+ * Wraps the remote {@link AuthStateCache} bean with {@link FlightRecorderAuthStateCache}, before
+ * the other wrappers so the events show the calls of the remote cache itself.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class FlightRecorderAuthStateCachePostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<JustAuthProperties> properties;
+
+    FlightRecorderAuthStateCachePostProcessor(ObjectProvider<JustAuthProperties> properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof AuthStateCache) || bean instanceof AuthDefaultStateCache
+                || bean instanceof FlightRecorderAuthStateCache || bean instanceof ObservedAuthStateCache
+                || bean instanceof ResilientAuthStateCache) {
+            return bean;
+        }
+
+        return new FlightRecorderAuthStateCache((AuthStateCache) bean,
+                this.properties.getObject().getCache().getKeyPrefix());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+}
@@ -15,22 +15,46 @@
  */
 package com.youkol.support.justauth.autoconfigure;
 
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.type.AnnotatedTypeMetadata;
 
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties.JustAuthHttpProxyPoolConfig;
 import com.youkol.support.justauth.support.config.AuthConfigRepository;
 import com.youkol.support.justauth.support.config.InMemoryAuthConfigRepository;
+import com.youkol.support.justauth.support.config.LazyAuthConfigRepository;
+import com.youkol.support.justauth.support.nativeimage.ReflectConfigGenerator;
+import com.youkol.support.justauth.support.nativeimage.ReflectConfigWriter;
+import com.youkol.support.justauth.support.oidc.OidcAuthRequestInterceptor;
+import com.youkol.support.justauth.support.proxy.AuthProxyPoolInterceptor;
+import com.youkol.support.justauth.support.request.AdaptiveTimeoutAuthRequestInterceptor;
 import com.youkol.support.justauth.support.request.AuthRequestFactory;
+import com.youkol.support.justauth.support.request.AuthRequestFactoryPreInitializer;
+import com.youkol.support.justauth.support.request.AuthRequestInterceptor;
+import com.youkol.support.justauth.support.request.AuthRequestResolveRecorder;
+import com.youkol.support.justauth.support.request.AuthStateGenerator;
+import com.youkol.support.justauth.support.request.RetryingAuthRequestInterceptor;
 
 import me.zhyd.oauth.cache.AuthStateCache;
 import me.zhyd.oauth.config.AuthSource;
@@ -43,30 +67,133 @@ import me.zhyd.oauth.request.AuthRequest;
  * @since 1.0.0
  */
 @Configuration(proxyBeanMethods = false)
+@AutoConfigureAfter(DataSourceAutoConfiguration.class)
 @ConditionalOnClass({ AuthRequest.class, AuthSource.class })
 @EnableConfigurationProperties(JustAuthProperties.class)
 @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "enabled", matchIfMissing = true)
-@Import({ JustAuthStateCacheConfiguration.class })
+@Import({ JustAuthStateCacheConfiguration.class, JustAuthReactiveConfiguration.class,
+        JustAuthNodeAffinityConfiguration.class, JustAuthReplayProtectionConfiguration.class,
+        JustAuthEndpointConfiguration.class, JustAuthObservationConfiguration.class,
+        JustAuthFlightRecorderConfiguration.class, JustAuthTokenRefreshConfiguration.class,
+        JustAuthBulkConfiguration.class, JustAuthCodecConfiguration.class,
+        JustAuthLoginEventConfiguration.class, JustAuthTenantConfiguration.class })
 public class JustAuthAutoConfiguration {
 
+    private static final String STARTUP_STEP_PREFIX = "youkol.justauth.";
+
     @Bean
     @ConditionalOnMissingBean
     public AuthRequestFactory authRequestFactory(JustAuthProperties properties,
             AuthStateCache authStateCache, AuthConfigRepository authConfigRepository,
-            ObjectProvider<AuthSource> authSource, ObjectProvider<List<AuthSource>> authSourceList) {
+            ObjectProvider<AuthSource> authSource, ObjectProvider<List<AuthSource>> authSourceList,
+            ObjectProvider<AuthRequestInterceptor> interceptors, ObjectProvider<AuthStateGenerator> stateGenerator,
+            ObjectProvider<AuthRequestResolveRecorder> resolveRecorder,
+            ObjectProvider<ApplicationStartup> applicationStartup) {
+        StartupStep step = applicationStartup.getIfAvailable(() -> ApplicationStartup.DEFAULT)
+                .start(STARTUP_STEP_PREFIX + "request-factory")
+                .tag("lazy", String.valueOf(properties.getStartup().isLazy()));
         Stream<AuthSource> authSourceFromList = authSourceList.orderedStream().flatMap(List::stream);
         Stream<AuthSource> authSourceFromSingle = authSource.orderedStream();
         List<AuthSource> authSources = Stream.concat(authSourceFromSingle, authSourceFromList)
                 .distinct()
                 .collect(Collectors.toList());
 
-        return new AuthRequestFactory(authConfigRepository, authStateCache, authSources, properties);
+        AuthRequestFactory authRequestFactory = new AuthRequestFactory(authConfigRepository, authStateCache,
+                authSources, properties);
+        interceptors.orderedStream().forEach(authRequestFactory::addInterceptor);
+        stateGenerator.ifUnique(authRequestFactory::setStateGenerator);
+        resolveRecorder.ifUnique(authRequestFactory::setResolveRecorder);
+        step.tag("extendAuthSources", String.valueOf(authSources.size()))
+                .tag("extendAuthSourceClasses", String.valueOf(properties.getExtendAuthSourceClass().size()))
+                .end();
+
+        return authRequestFactory;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthConfigRepository authConfigRepository(JustAuthProperties properties,
+            ObjectProvider<ApplicationStartup> applicationStartup) {
+        boolean lazy = properties.getStartup().isLazy();
+        StartupStep step = applicationStartup.getIfAvailable(() -> ApplicationStartup.DEFAULT)
+                .start(STARTUP_STEP_PREFIX + "config-repository")
+                .tag("lazy", String.valueOf(lazy))
+                .tag("sources", String.valueOf(properties.getType().size()));
+        AuthConfigRepository authConfigRepository = lazy
+                ? new LazyAuthConfigRepository(properties.getType(), properties::applyHttpConfig)
+                : new InMemoryAuthConfigRepository(properties.getAuthConfigs());
+        step.end();
+        return authConfigRepository;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "startup.pre-initialize",
+            havingValue = "true")
+    public AuthRequestFactoryPreInitializer authRequestFactoryPreInitializer(AuthRequestFactory authRequestFactory,
+            ObjectProvider<ApplicationStartup> applicationStartup) {
+        return new AuthRequestFactoryPreInitializer(authRequestFactory,
+                applicationStartup.getIfAvailable(() -> ApplicationStartup.DEFAULT));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "http-config.retry.enabled",
+            havingValue = "true")
+    public RetryingAuthRequestInterceptor retryingAuthRequestInterceptor(JustAuthProperties properties) {
+        return new RetryingAuthRequestInterceptor(properties.getHttpConfig().getRetry());
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public AuthConfigRepository authConfigRepository(JustAuthProperties properties) {
-        return new InMemoryAuthConfigRepository(properties.getAuthConfigs());
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "http-config.adaptive-timeout.enabled",
+            havingValue = "true")
+    public AdaptiveTimeoutAuthRequestInterceptor adaptiveTimeoutAuthRequestInterceptor(JustAuthProperties properties) {
+        return new AdaptiveTimeoutAuthRequestInterceptor(properties.getHttpConfig().getAdaptiveTimeout());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "oidc.enabled", havingValue = "true")
+    public OidcAuthRequestInterceptor oidcAuthRequestInterceptor(JustAuthProperties properties,
+            AuthStateCache authStateCache) {
+        return new OidcAuthRequestInterceptor(properties.getOidc(), authStateCache);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @Conditional(OnProxyPoolCondition.class)
+    public AuthProxyPoolInterceptor authProxyPoolInterceptor(JustAuthProperties properties) {
+        return new AuthProxyPoolInterceptor(properties.getHttpConfig().getProxyPool());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "native-image.reflect-config-output")
+    public ReflectConfigWriter reflectConfigWriter(JustAuthProperties properties,
+            AuthRequestFactory authRequestFactory) {
+        return new ReflectConfigWriter(new ReflectConfigGenerator(authRequestFactory),
+                Paths.get(properties.getNativeImage().getReflectConfigOutput()));
+    }
+
+    /**
+     * Matches when at least one source has a proxy pool configured.
+     */
+    static class OnProxyPoolCondition extends SpringBootCondition {
+
+        private static final String PROXY_POOL_PROPERTY = JustAuthProperties.JUSTAUTH_PREFIX
+                + ".http-config.proxy-pool";
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            boolean configured = Binder.get(context.getEnvironment())
+                    .bind(PROXY_POOL_PROPERTY, Bindable.mapOf(String.class, JustAuthHttpProxyPoolConfig.class))
+                    .map(proxyPool -> !proxyPool.isEmpty())
+                    .orElse(false);
+            return configured ? ConditionOutcome.match(PROXY_POOL_PROPERTY + " is configured")
+                    : ConditionOutcome.noMatch(PROXY_POOL_PROPERTY + " is not configured");
+        }
+
     }
 
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.youkol.support.justauth.support.bulk.AuthBulkCheckpointStore;
+import com.youkol.support.justauth.support.bulk.AuthBulkProcessor;
+import com.youkol.support.justauth.support.bulk.InMemoryAuthBulkCheckpointStore;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+/**
+ * Auto configuration for {@link AuthBulkProcessor}
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+public class JustAuthBulkConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthBulkCheckpointStore authBulkCheckpointStore() {
+        return new InMemoryAuthBulkCheckpointStore();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthBulkProcessor authBulkProcessor(JustAuthProperties properties, AuthRequestFactory authRequestFactory,
+            AuthBulkCheckpointStore authBulkCheckpointStore) {
+        return new AuthBulkProcessor(authRequestFactory, authBulkCheckpointStore, properties.getBulk());
+    }
+
+}
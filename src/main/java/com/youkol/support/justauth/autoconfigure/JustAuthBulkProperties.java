@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the bulk jobs of {@code AuthBulkProcessor}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthBulkProperties {
+
+    /**
+     * Maximum number of concurrent calls per source.
+     */
+    private int maxConcurrencyPerSource = 8;
+
+    /**
+     * Maximum number of calls per second per source, not limited if not positive.
+     */
+    private double ratePerSource = 0;
+
+    /**
+     * The budgets of the given sources, overriding the defaults above.
+     */
+    private Map<String, SourceBudget> source = new LinkedHashMap<>();
+
+    /**
+     * Maximum number of tasks read from the stream but not done yet.
+     */
+    private int maxInFlight = 1000;
+
+    /**
+     * Number of tasks done between two saves of the checkpoint.
+     */
+    private int checkpointInterval = 100;
+
+    public int getMaxConcurrencyPerSource() {
+        return this.maxConcurrencyPerSource;
+    }
+
+    public void setMaxConcurrencyPerSource(int maxConcurrencyPerSource) {
+        this.maxConcurrencyPerSource = maxConcurrencyPerSource;
+    }
+
+    public double getRatePerSource() {
+        return this.ratePerSource;
+    }
+
+    public void setRatePerSource(double ratePerSource) {
+        this.ratePerSource = ratePerSource;
+    }
+
+    public Map<String, SourceBudget> getSource() {
+        return this.source;
+    }
+
+    public void setSource(Map<String, SourceBudget> source) {
+        this.source = source;
+    }
+
+    public int getMaxInFlight() {
+        return this.maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getCheckpointInterval() {
+        return this.checkpointInterval;
+    }
+
+    public void setCheckpointInterval(int checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Return the maximum number of concurrent calls of the given source.
+     *
+     * @param source the name of source
+     * @return the maximum number of concurrent calls
+     */
+    public int getMaxConcurrency(String source) {
+        SourceBudget budget = this.getSourceBudget(source);
+        return budget != null && budget.getMaxConcurrency() != null ? budget.getMaxConcurrency()
+                : this.maxConcurrencyPerSource;
+    }
+
+    /**
+     * Return the maximum number of calls per second of the given source.
+     *
+     * @param source the name of source
+     * @return the maximum number of calls per second, not limited if not positive
+     */
+    public double getRate(String source) {
+        SourceBudget budget = this.getSourceBudget(source);
+        return budget != null && budget.getRate() != null ? budget.getRate() : this.ratePerSource;
+    }
+
+    private SourceBudget getSourceBudget(String source) {
+        return this.source.entrySet()
+                .stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase(source))
+                .findFirst()
+                .map(Map.Entry::getValue)
+                .orElse(null);
+    }
+
+    /**
+     * The budget of one source.
+     */
+    public static class SourceBudget {
+
+        /**
+         * Maximum number of concurrent calls.
+         */
+        private Integer maxConcurrency;
+
+        /**
+         * Maximum number of calls per second.
+         */
+        private Double rate;
+
+        public Integer getMaxConcurrency() {
+            return this.maxConcurrency;
+        }
+
+        public void setMaxConcurrency(Integer maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public Double getRate() {
+            return this.rate;
+        }
+
+        public void setRate(Double rate) {
+            this.rate = rate;
+        }
+
+    }
+
+}
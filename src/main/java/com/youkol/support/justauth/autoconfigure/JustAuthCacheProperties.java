@@ -16,6 +16,10 @@
 package com.youkol.support.justauth.autoconfigure;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import me.zhyd.oauth.cache.AuthCacheConfig;
 
@@ -42,6 +46,15 @@ public class JustAuthCacheProperties {
      */
     private Duration timeout = Duration.ofMillis(AuthCacheConfig.timeout);
 
+    @NestedConfigurationProperty
+    private JustAuthRedisCacheConfig redis = new JustAuthRedisCacheConfig();
+
+    @NestedConfigurationProperty
+    private JustAuthJdbcCacheConfig jdbc = new JustAuthJdbcCacheConfig();
+
+    @NestedConfigurationProperty
+    private JustAuthCacheResilienceConfig resilience = new JustAuthCacheResilienceConfig();
+
     public CacheType getType() {
         return this.type;
     }
@@ -66,4 +79,512 @@ public class JustAuthCacheProperties {
         this.timeout = timeout;
     }
 
+    public JustAuthRedisCacheConfig getRedis() {
+        return this.redis;
+    }
+
+    public void setRedis(JustAuthRedisCacheConfig redis) {
+        this.redis = redis;
+    }
+
+    public JustAuthJdbcCacheConfig getJdbc() {
+        return this.jdbc;
+    }
+
+    public void setJdbc(JustAuthJdbcCacheConfig jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public JustAuthCacheResilienceConfig getResilience() {
+        return this.resilience;
+    }
+
+    public void setResilience(JustAuthCacheResilienceConfig resilience) {
+        this.resilience = resilience;
+    }
+
+    /**
+     * The redis settings of the state cache.
+     */
+    public static class JustAuthRedisCacheConfig {
+
+        /**
+         * Where to put the cluster hash tag in the state keys.
+         */
+        private RedisHashTag hashTag = RedisHashTag.NONE;
+
+        /**
+         * Whether to use a dedicated connection configured below, instead of the
+         * {@code RedisConnectionFactory} of the application.
+         */
+        private boolean dedicated = false;
+
+        /**
+         * Whether to use {@code AuthBinaryRedisStateCache}, which works on the redis connection
+         * with pre-encoded keys instead of {@code StringRedisTemplate}.
+         */
+        private boolean binary = false;
+
+        /**
+         * Whether to use {@code AuthBucketedRedisStateCache}, which groups the states into
+         * hashes per time bucket instead of one key per state.
+         */
+        private boolean bucketed = false;
+
+        /**
+         * The time span of a bucket of states.
+         */
+        private Duration bucketInterval = Duration.ofMinutes(1);
+
+        /**
+         * The number of hashes of each bucket, size it so each hash stays below the
+         * {@code hash-max-listpack-entries} of redis, 128 by default, i.e. the states cached per
+         * bucket interval divided by the shards.
+         */
+        private int bucketShards = 1024;
+
+        private String host = "localhost";
+
+        private int port = 6379;
+
+        private String username;
+
+        private String password;
+
+        private int database = 0;
+
+        private boolean ssl = false;
+
+        private Duration timeout = Duration.ofSeconds(2);
+
+        private String clientName;
+
+        /**
+         * Which nodes to read the states from, only applied to cluster. Reading from the replicas
+         * may miss a state just written to the master.
+         */
+        private RedisReadFrom readFrom;
+
+        private final Cluster cluster = new Cluster();
+
+        private final Pool pool = new Pool();
+
+        public RedisHashTag getHashTag() {
+            return this.hashTag;
+        }
+
+        public void setHashTag(RedisHashTag hashTag) {
+            this.hashTag = hashTag;
+        }
+
+        public boolean isDedicated() {
+            return this.dedicated;
+        }
+
+        public void setDedicated(boolean dedicated) {
+            this.dedicated = dedicated;
+        }
+
+        public boolean isBinary() {
+            return this.binary;
+        }
+
+        public void setBinary(boolean binary) {
+            this.binary = binary;
+        }
+
+        public boolean isBucketed() {
+            return this.bucketed;
+        }
+
+        public void setBucketed(boolean bucketed) {
+            this.bucketed = bucketed;
+        }
+
+        public Duration getBucketInterval() {
+            return this.bucketInterval;
+        }
+
+        public void setBucketInterval(Duration bucketInterval) {
+            this.bucketInterval = bucketInterval;
+        }
+
+        public int getBucketShards() {
+            return this.bucketShards;
+        }
+
+        public void setBucketShards(int bucketShards) {
+            this.bucketShards = bucketShards;
+        }
+
+        public String getHost() {
+            return this.host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return this.port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public String getUsername() {
+            return this.username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return this.password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getDatabase() {
+            return this.database;
+        }
+
+        public void setDatabase(int database) {
+            this.database = database;
+        }
+
+        public boolean isSsl() {
+            return this.ssl;
+        }
+
+        public void setSsl(boolean ssl) {
+            this.ssl = ssl;
+        }
+
+        public Duration getTimeout() {
+            return this.timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public String getClientName() {
+            return this.clientName;
+        }
+
+        public void setClientName(String clientName) {
+            this.clientName = clientName;
+        }
+
+        public RedisReadFrom getReadFrom() {
+            return this.readFrom;
+        }
+
+        public void setReadFrom(RedisReadFrom readFrom) {
+            this.readFrom = readFrom;
+        }
+
+        public Cluster getCluster() {
+            return this.cluster;
+        }
+
+        public Pool getPool() {
+            return this.pool;
+        }
+
+    }
+
+    /**
+     * The redis cluster of the dedicated connection.
+     */
+    public static class Cluster {
+
+        /**
+         * The initial cluster nodes in the form of {@code host:port}, the connection is in
+         * cluster mode if not empty.
+         */
+        private List<String> nodes = new ArrayList<>();
+
+        private Integer maxRedirects;
+
+        public List<String> getNodes() {
+            return this.nodes;
+        }
+
+        public void setNodes(List<String> nodes) {
+            this.nodes = nodes;
+        }
+
+        public Integer getMaxRedirects() {
+            return this.maxRedirects;
+        }
+
+        public void setMaxRedirects(Integer maxRedirects) {
+            this.maxRedirects = maxRedirects;
+        }
+
+    }
+
+    /**
+     * The connection pool of the dedicated connection, requires {@code commons-pool2}, without
+     * which a single shared connection is used.
+     */
+    public static class Pool {
+
+        private boolean enabled = false;
+
+        private int maxActive = 8;
+
+        private int maxIdle = 8;
+
+        private int minIdle = 0;
+
+        private Duration maxWait = Duration.ofMillis(-1);
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxActive() {
+            return this.maxActive;
+        }
+
+        public void setMaxActive(int maxActive) {
+            this.maxActive = maxActive;
+        }
+
+        public int getMaxIdle() {
+            return this.maxIdle;
+        }
+
+        public void setMaxIdle(int maxIdle) {
+            this.maxIdle = maxIdle;
+        }
+
+        public int getMinIdle() {
+            return this.minIdle;
+        }
+
+        public void setMinIdle(int minIdle) {
+            this.minIdle = minIdle;
+        }
+
+        public Duration getMaxWait() {
+            return this.maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+    }
+
+    /**
+     * The JDBC settings of the state cache.
+     */
+    public static class JustAuthJdbcCacheConfig {
+
+        /**
+         * Name of the state table.
+         */
+        private String tableName = "JUSTAUTH_STATE";
+
+        /**
+         * Whether to create the state table on startup.
+         */
+        private boolean initializeSchema = false;
+
+        /**
+         * Whether checking a state consumes it, so each state is accepted once.
+         */
+        private boolean consumeOnCheck = true;
+
+        /**
+         * Number of buffered states which triggers a batch insert.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Maximum time a state is buffered before inserted.
+         */
+        private Duration flushInterval = Duration.ofMillis(50);
+
+        /**
+         * Maximum number of buffered states, the states cached beyond it are dropped while the
+         * database is unavailable.
+         */
+        private int maxPending = 10000;
+
+        /**
+         * Interval between two sweeps of the expired rows.
+         */
+        private Duration sweepInterval = Duration.ofMinutes(1);
+
+        /**
+         * Number of expired rows deleted per batch.
+         */
+        private int sweepBatchSize = 500;
+
+        /**
+         * Maximum number of batches per sweep.
+         */
+        private int sweepMaxBatches = 20;
+
+        public String getTableName() {
+            return this.tableName;
+        }
+
+        public void setTableName(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public boolean isInitializeSchema() {
+            return this.initializeSchema;
+        }
+
+        public void setInitializeSchema(boolean initializeSchema) {
+            this.initializeSchema = initializeSchema;
+        }
+
+        public boolean isConsumeOnCheck() {
+            return this.consumeOnCheck;
+        }
+
+        public void setConsumeOnCheck(boolean consumeOnCheck) {
+            this.consumeOnCheck = consumeOnCheck;
+        }
+
+        public int getBatchSize() {
+            return this.batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return this.flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getMaxPending() {
+            return this.maxPending;
+        }
+
+        public void setMaxPending(int maxPending) {
+            this.maxPending = maxPending;
+        }
+
+        public Duration getSweepInterval() {
+            return this.sweepInterval;
+        }
+
+        public void setSweepInterval(Duration sweepInterval) {
+            this.sweepInterval = sweepInterval;
+        }
+
+        public int getSweepBatchSize() {
+            return this.sweepBatchSize;
+        }
+
+        public void setSweepBatchSize(int sweepBatchSize) {
+            this.sweepBatchSize = sweepBatchSize;
+        }
+
+        public int getSweepMaxBatches() {
+            return this.sweepMaxBatches;
+        }
+
+        public void setSweepMaxBatches(int sweepMaxBatches) {
+            this.sweepMaxBatches = sweepMaxBatches;
+        }
+
+    }
+
+    /**
+     * The failover of a remote state cache to a bounded local cache.
+     */
+    public static class JustAuthCacheResilienceConfig {
+
+        /**
+         * Whether to fail over to the local cache when the remote cache is unavailable.
+         */
+        private boolean enabled = false;
+
+        /**
+         * A remote call slower than this counts as a failure, once it completes; it is not
+         * interrupted, bound it by the timeout of the remote client.
+         */
+        private Duration latencyBudget = Duration.ofMillis(200);
+
+        /**
+         * Number of consecutive failures before failing over.
+         */
+        private int failureThreshold = 3;
+
+        /**
+         * Interval between two probes of the remote cache while failed over, and between two
+         * write-backs of the states cached locally after a failed call.
+         */
+        private Duration recoveryInterval = Duration.ofSeconds(5);
+
+        /**
+         * Maximum number of states in the local cache.
+         */
+        private int localMaxSize = 10000;
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getLatencyBudget() {
+            return this.latencyBudget;
+        }
+
+        public void setLatencyBudget(Duration latencyBudget) {
+            this.latencyBudget = latencyBudget;
+        }
+
+        public int getFailureThreshold() {
+            return this.failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public Duration getRecoveryInterval() {
+            return this.recoveryInterval;
+        }
+
+        public void setRecoveryInterval(Duration recoveryInterval) {
+            this.recoveryInterval = recoveryInterval;
+        }
+
+        public int getLocalMaxSize() {
+            return this.localMaxSize;
+        }
+
+        public void setLocalMaxSize(int localMaxSize) {
+            this.localMaxSize = localMaxSize;
+        }
+
+    }
+
 }
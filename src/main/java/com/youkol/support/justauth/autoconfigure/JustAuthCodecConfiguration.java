@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.youkol.support.justauth.support.codec.AuthTokenRedisSerializer;
+import com.youkol.support.justauth.support.codec.AuthUserCodec;
+import com.youkol.support.justauth.support.codec.AuthUserRedisSerializer;
+
+/**
+ * Auto configuration for {@link AuthUserCodec}
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+public class JustAuthCodecConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthUserCodec authUserCodec(JustAuthProperties properties) {
+        JustAuthCodecProperties codecProperties = properties.getCodec();
+        return new AuthUserCodec(codecProperties.getSourceNames(), codecProperties.getCompressThreshold());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RedisSerializer.class)
+    static class AuthRedisSerializerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuthUserRedisSerializer authUserRedisSerializer(AuthUserCodec authUserCodec) {
+            return new AuthUserRedisSerializer(authUserCodec);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuthTokenRedisSerializer authTokenRedisSerializer(AuthUserCodec authUserCodec) {
+            return new AuthTokenRedisSerializer(authUserCodec);
+        }
+
+    }
+
+}
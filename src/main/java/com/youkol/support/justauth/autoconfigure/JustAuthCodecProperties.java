@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for {@code AuthUserCodec}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthCodecProperties {
+
+    /**
+     * The names of the extended sources to intern, appended to the built-in ones. Must be the
+     * same on all the nodes sharing the cache, and only be appended to.
+     */
+    private List<String> sourceNames = new ArrayList<>();
+
+    /**
+     * Minimum size of the rawUserInfo to compress, in bytes, not compressed if negative.
+     */
+    private int compressThreshold = 256;
+
+    public List<String> getSourceNames() {
+        return this.sourceNames;
+    }
+
+    public void setSourceNames(List<String> sourceNames) {
+        this.sourceNames = sourceNames;
+    }
+
+    public int getCompressThreshold() {
+        return this.compressThreshold;
+    }
+
+    public void setCompressThreshold(int compressThreshold) {
+        this.compressThreshold = compressThreshold;
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.youkol.support.justauth.support.reactive.ReactiveAuthRequestFactory;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+import com.youkol.support.justauth.support.request.AuthRequestInterceptor;
+import com.youkol.support.justauth.support.web.AuthLoginController;
+import com.youkol.support.justauth.support.web.AuthLoginFailureHandler;
+import com.youkol.support.justauth.support.web.AuthLoginSuccessHandler;
+import com.youkol.support.justauth.support.web.JsonAuthLoginHandler;
+import com.youkol.support.justauth.support.web.JsonReactiveAuthLoginHandler;
+import com.youkol.support.justauth.support.web.ReactiveAuthLoginController;
+import com.youkol.support.justauth.support.web.ReactiveAuthLoginFailureHandler;
+import com.youkol.support.justauth.support.web.ReactiveAuthLoginSuccessHandler;
+
+/**
+ * Auto configuration for the built-in login endpoints, the default handlers write the
+ * {@code AuthResponse} as json, and are replaced by the handler beans of the application.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "endpoint.enabled", havingValue = "true")
+public class JustAuthEndpointConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "org.springframework.web.servlet.DispatcherServlet")
+    static class ServletEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuthLoginController authLoginController(AuthRequestFactory authRequestFactory,
+                ObjectProvider<AuthLoginSuccessHandler> successHandler,
+                ObjectProvider<AuthLoginFailureHandler> failureHandler) {
+            JsonAuthLoginHandler defaultHandler = new JsonAuthLoginHandler();
+            return new AuthLoginController(authRequestFactory, successHandler.getIfUnique(() -> defaultHandler),
+                    failureHandler.getIfUnique(() -> defaultHandler));
+        }
+
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(WebClient.class)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "reactive.enabled",
+            matchIfMissing = true)
+    static class ReactiveEndpointConfiguration {
+
+        private static final Log logger = LogFactory.getLog(ReactiveEndpointConfiguration.class);
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ReactiveAuthLoginController reactiveAuthLoginController(AuthRequestFactory authRequestFactory,
+                ReactiveAuthRequestFactory reactiveAuthRequestFactory, JustAuthProperties properties,
+                ObjectProvider<AuthRequestInterceptor> interceptors,
+                ObjectProvider<ReactiveAuthLoginSuccessHandler> successHandler,
+                ObjectProvider<ReactiveAuthLoginFailureHandler> failureHandler) {
+            List<String> oauth2Sources = properties.getReactive().getOauth2Sources();
+            if (!oauth2Sources.isEmpty() && interceptors.stream().findAny().isPresent()) {
+                logger.warn("The AuthRequestInterceptors don't apply to the logins of " + oauth2Sources
+                        + " with WebClient, remove them from youkol.justauth.reactive.oauth2-sources to apply");
+            }
+
+            JsonReactiveAuthLoginHandler defaultHandler = new JsonReactiveAuthLoginHandler();
+            return new ReactiveAuthLoginController(authRequestFactory, reactiveAuthRequestFactory,
+                    successHandler.getIfUnique(() -> defaultHandler), failureHandler.getIfUnique(() -> defaultHandler));
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.youkol.support.justauth.support.jfr.AuthFlightRecorder;
+import com.youkol.support.justauth.support.jfr.FlightRecorderAuthRequestInterceptor;
+import com.youkol.support.justauth.support.jfr.FlightRecorderAuthStateCache;
+import com.youkol.support.justauth.support.request.AuthRequestResolveRecorder;
+
+/**
+ * Auto configuration for {@link FlightRecorderAuthRequestInterceptor},
+ * {@link FlightRecorderAuthStateCache} and the {@link AuthFlightRecorder} of the
+ * {@code AuthRequestFactory}. The JFR classes are only referenced from here, so they are
+ * never loaded without {@code jdk.jfr.Event}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = JustAuthFlightRecorderConfiguration.JFR_EVENT_CLASS)
+@ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "flight-recorder.enabled",
+        havingValue = "true")
+public class JustAuthFlightRecorderConfiguration {
+
+    static final String JFR_EVENT_CLASS = "jdk.jfr.Event";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public FlightRecorderAuthRequestInterceptor flightRecorderAuthRequestInterceptor() {
+        return new FlightRecorderAuthRequestInterceptor();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthRequestResolveRecorder flightRecorderAuthRequestResolveRecorder() {
+        return AuthFlightRecorder::recordResolve;
+    }
+
+    @Bean
+    static FlightRecorderAuthStateCachePostProcessor flightRecorderAuthStateCachePostProcessor(
+            ObjectProvider<JustAuthProperties> properties) {
+        return new FlightRecorderAuthStateCachePostProcessor(properties);
+    }
+
+}
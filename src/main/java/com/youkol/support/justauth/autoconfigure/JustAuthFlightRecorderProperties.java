@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+/**
+ * Configuration properties for the JFR events of JustAuth.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthFlightRecorderProperties {
+
+    /**
+     * Whether to emit the JFR events of the request resolving, the remote state cache and the
+     * provider calls, requires a JVM with JFR, i.e. Java 11+ or 8u262+.
+     */
+    private boolean enabled = false;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+}
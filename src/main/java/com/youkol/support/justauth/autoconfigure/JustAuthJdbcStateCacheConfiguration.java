@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.util.StreamUtils;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties.JustAuthJdbcCacheConfig;
+import com.youkol.support.justauth.support.cache.AuthJdbcStateCache;
+
+import me.zhyd.oauth.cache.AuthStateCache;
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * Auto configuration for {@link AuthJdbcStateCache}
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass({ AuthStateCache.class, JdbcTemplate.class })
+@ConditionalOnBean(DataSource.class)
+@ConditionalOnMissingBean(AuthStateCache.class)
+@ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "cache.type", havingValue = "jdbc")
+public class JustAuthJdbcStateCacheConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthStateCache authStateCache(DataSource dataSource, JustAuthProperties properties) {
+        JustAuthJdbcCacheConfig jdbcConfig = properties.getCache().getJdbc();
+        if (jdbcConfig.isInitializeSchema()) {
+            initializeSchema(dataSource, new ClassPathResource("schema.sql", AuthJdbcStateCache.class),
+                    jdbcConfig.getTableName());
+        }
+        return new AuthJdbcStateCache(new JdbcTemplate(dataSource), properties.getCache());
+    }
+
+    static void initializeSchema(DataSource dataSource, ClassPathResource schemaResource, String tableName) {
+        String schema;
+        try {
+            schema = StreamUtils.copyToString(schemaResource.getInputStream(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new AuthException("Failed to load the schema of the table " + tableName, ex);
+        }
+
+        if (tableExists(dataSource, tableName)) {
+            return;
+        }
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ByteArrayResource(schema.replace("%TABLE_NAME%", tableName).getBytes(StandardCharsets.UTF_8)));
+        try {
+            DatabasePopulatorUtils.execute(populator, dataSource);
+        } catch (ScriptException ex) {
+            // another node may have created it meanwhile
+            if (!tableExists(dataSource, tableName)) {
+                throw new AuthException("Failed to create the table " + tableName, ex);
+            }
+        }
+    }
+
+    private static boolean tableExists(DataSource dataSource, String tableName) {
+        int index = tableName.lastIndexOf('.');
+        String schemaName = index > 0 ? tableName.substring(0, index) : null;
+        String name = tableName.substring(index + 1);
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, metaData -> {
+                // the identifiers may be stored in either case
+                return tableExists(metaData, schemaName, name)
+                        || tableExists(metaData, upperCase(schemaName), name.toUpperCase())
+                        || tableExists(metaData, lowerCase(schemaName), name.toLowerCase());
+            });
+        } catch (MetaDataAccessException ex) {
+            throw new AuthException("Failed to check the table " + tableName, ex);
+        }
+    }
+
+    private static boolean tableExists(DatabaseMetaData metaData, String schemaName, String tableName)
+            throws SQLException {
+        try (ResultSet tables = metaData.getTables(null, schemaName, tableName, null)) {
+            return tables.next();
+        }
+    }
+
+    private static String upperCase(String value) {
+        return value != null ? value.toUpperCase() : null;
+    }
+
+    private static String lowerCase(String value) {
+        return value != null ? value.toLowerCase() : null;
+    }
+
+}
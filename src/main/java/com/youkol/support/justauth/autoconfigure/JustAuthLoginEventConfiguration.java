@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthLoginEventProperties.JdbcSink;
+import com.youkol.support.justauth.support.event.ApplicationEventAuthLoginEventSink;
+import com.youkol.support.justauth.support.event.AuthLoginEventInterceptor;
+import com.youkol.support.justauth.support.event.AuthLoginEventPublisher;
+import com.youkol.support.justauth.support.event.AuthLoginEventSink;
+import com.youkol.support.justauth.support.event.JdbcAuthLoginEventSink;
+import com.youkol.support.justauth.support.event.LoggingAuthLoginEventSink;
+
+/**
+ * Auto configuration for {@link AuthLoginEventPublisher}
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "login-event.enabled",
+        havingValue = "true")
+public class JustAuthLoginEventConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthLoginEventPublisher authLoginEventPublisher(JustAuthProperties properties,
+            ObjectProvider<AuthLoginEventSink> sinks) {
+        return new AuthLoginEventPublisher(sinks.orderedStream().collect(Collectors.toList()),
+                properties.getLoginEvent());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthLoginEventInterceptor authLoginEventInterceptor(AuthLoginEventPublisher authLoginEventPublisher) {
+        return new AuthLoginEventInterceptor(authLoginEventPublisher);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "login-event.log.enabled",
+            havingValue = "true", matchIfMissing = true)
+    static class LoggingLoginEventSinkConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public LoggingAuthLoginEventSink loggingAuthLoginEventSink(JustAuthProperties properties) {
+            return new LoggingAuthLoginEventSink(properties.getLoginEvent().getLog().getLoggerName());
+        }
+
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "login-event.spring-event.enabled",
+            havingValue = "true")
+    static class ApplicationEventLoginEventSinkConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ApplicationEventAuthLoginEventSink applicationEventAuthLoginEventSink(
+                ApplicationEventPublisher applicationEventPublisher) {
+            return new ApplicationEventAuthLoginEventSink(applicationEventPublisher);
+        }
+
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(JdbcTemplate.class)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "login-event.jdbc.enabled",
+            havingValue = "true")
+    static class JdbcLoginEventSinkConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public JdbcAuthLoginEventSink jdbcAuthLoginEventSink(DataSource dataSource, JustAuthProperties properties) {
+            JdbcSink jdbcSink = properties.getLoginEvent().getJdbc();
+            if (jdbcSink.isInitializeSchema()) {
+                JustAuthJdbcStateCacheConfiguration.initializeSchema(dataSource,
+                        new ClassPathResource("schema.sql", JdbcAuthLoginEventSink.class), jdbcSink.getTableName());
+            }
+            return new JdbcAuthLoginEventSink(new JdbcTemplate(dataSource), jdbcSink.getTableName());
+        }
+
+    }
+
+}
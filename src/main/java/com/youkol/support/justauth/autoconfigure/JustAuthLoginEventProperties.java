@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for publishing the login events.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthLoginEventProperties {
+
+    /**
+     * Whether to publish an event of each login to the sinks.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Capacity of the ring buffer of the events not flushed yet, rounded up to a power of two.
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * Maximum number of events flushed to the sinks at once.
+     */
+    private int batchSize = 256;
+
+    /**
+     * Maximum time an event waits for the batch to fill before flushed.
+     */
+    private Duration linger = Duration.ofMillis(200);
+
+    /**
+     * What to do with an event when the ring buffer is full.
+     */
+    private Overflow overflow = Overflow.DROP;
+
+    private final JdbcSink jdbc = new JdbcSink();
+
+    private final LogSink log = new LogSink();
+
+    private final SpringEventSink springEvent = new SpringEventSink();
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getLinger() {
+        return this.linger;
+    }
+
+    public void setLinger(Duration linger) {
+        this.linger = linger;
+    }
+
+    public Overflow getOverflow() {
+        return this.overflow;
+    }
+
+    public void setOverflow(Overflow overflow) {
+        this.overflow = overflow;
+    }
+
+    public JdbcSink getJdbc() {
+        return this.jdbc;
+    }
+
+    public LogSink getLog() {
+        return this.log;
+    }
+
+    public SpringEventSink getSpringEvent() {
+        return this.springEvent;
+    }
+
+    public enum Overflow {
+
+        /**
+         * Drop the event, the login goes on without waiting.
+         */
+        DROP,
+
+        /**
+         * Wait until the consumer frees a slot, slowing down the logins.
+         */
+        BLOCK
+    }
+
+    /**
+     * The sink inserting the events into a table in batches.
+     */
+    public static class JdbcSink {
+
+        private boolean enabled = false;
+
+        /**
+         * Name of the event table.
+         */
+        private String tableName = "JUSTAUTH_LOGIN_EVENT";
+
+        /**
+         * Whether to create the event table on startup.
+         */
+        private boolean initializeSchema = false;
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getTableName() {
+            return this.tableName;
+        }
+
+        public void setTableName(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public boolean isInitializeSchema() {
+            return this.initializeSchema;
+        }
+
+        public void setInitializeSchema(boolean initializeSchema) {
+            this.initializeSchema = initializeSchema;
+        }
+
+    }
+
+    /**
+     * The sink logging the events, route its logger to a file to keep an audit log.
+     */
+    public static class LogSink {
+
+        private boolean enabled = true;
+
+        /**
+         * Name of the logger.
+         */
+        private String loggerName = "com.youkol.support.justauth.login-event";
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getLoggerName() {
+            return this.loggerName;
+        }
+
+        public void setLoggerName(String loggerName) {
+            this.loggerName = loggerName;
+        }
+
+    }
+
+    /**
+     * The sink publishing the events as application events, to the {@code @EventListener}s of
+     * {@code AuthLoginEvent}.
+     */
+    public static class SpringEventSink {
+
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+    }
+
+}
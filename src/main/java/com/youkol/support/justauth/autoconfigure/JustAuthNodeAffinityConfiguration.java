@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.WebFilter;
+
+import com.youkol.support.justauth.support.affinity.NodeAffinityRouter;
+import com.youkol.support.justauth.support.affinity.NodeAffinityServletFilter;
+import com.youkol.support.justauth.support.affinity.NodeAffinityStateGenerator;
+import com.youkol.support.justauth.support.affinity.NodeAffinityWebFilter;
+
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * Auto configuration for routing the callback to the node which issued the state.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "node-affinity.enabled",
+        havingValue = "true")
+public class JustAuthNodeAffinityConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public NodeAffinityRouter nodeAffinityRouter(JustAuthProperties properties) {
+        JustAuthNodeAffinityProperties nodeAffinity = properties.getNodeAffinity();
+        return new NodeAffinityRouter(resolveNodeId(nodeAffinity), nodeAffinity.getNodes(),
+                nodeAffinity.getCallbackPaths());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public NodeAffinityStateGenerator nodeAffinityStateGenerator(NodeAffinityRouter nodeAffinityRouter) {
+        return new NodeAffinityStateGenerator(nodeAffinityRouter.getNodeId());
+    }
+
+    private static String resolveNodeId(JustAuthNodeAffinityProperties nodeAffinity) {
+        if (StringUtils.hasText(nodeAffinity.getNodeId())) {
+            return nodeAffinity.getNodeId();
+        }
+
+        try {
+            // the short hostname, a dot would be taken as the separator of the state
+            String hostname = InetAddress.getLocalHost().getHostName();
+            int index = hostname.indexOf('.');
+            return index > 0 ? hostname.substring(0, index) : hostname;
+        } catch (UnknownHostException ex) {
+            throw new AuthException("Failed to resolve the hostname, please set "
+                    + JustAuthProperties.JUSTAUTH_PREFIX + ".node-affinity.node-id", ex);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(OncePerRequestFilter.class)
+    static class NodeAffinityServletConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "nodeAffinityServletFilter")
+        public FilterRegistrationBean<NodeAffinityServletFilter> nodeAffinityServletFilter(
+                NodeAffinityRouter nodeAffinityRouter) {
+            FilterRegistrationBean<NodeAffinityServletFilter> registration = new FilterRegistrationBean<>(
+                    new NodeAffinityServletFilter(nodeAffinityRouter));
+            // before the security filters, the callback is not for this node at all
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+            return registration;
+        }
+
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(WebFilter.class)
+    static class NodeAffinityReactiveConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public NodeAffinityWebFilter nodeAffinityWebFilter(NodeAffinityRouter nodeAffinityRouter) {
+            return new NodeAffinityWebFilter(nodeAffinityRouter);
+        }
+
+    }
+
+}
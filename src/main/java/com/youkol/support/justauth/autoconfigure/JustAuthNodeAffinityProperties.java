@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for routing the callback to the node which issued the state.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthNodeAffinityProperties {
+
+    /**
+     * Whether to embed the node id in the state, and redirect the callback to the owning node.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The id of the current node, only letters, digits, '_' and '-' are allowed. Defaults to
+     * the hostname.
+     */
+    private String nodeId;
+
+    /**
+     * The base urls of all nodes keyed by node id, e.g. {@code node1: http://10.0.0.1:8080}.
+     */
+    private Map<String, String> nodes = new LinkedHashMap<>();
+
+    /**
+     * The path patterns of the callback requests, within the application.
+     */
+    private List<String> callbackPaths = new ArrayList<>(Collections.singletonList("/oauth/**"));
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getNodeId() {
+        return this.nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Map<String, String> getNodes() {
+        return this.nodes;
+    }
+
+    public void setNodes(Map<String, String> nodes) {
+        this.nodes = nodes;
+    }
+
+    public List<String> getCallbackPaths() {
+        return this.callbackPaths;
+    }
+
+    public void setCallbackPaths(List<String> callbackPaths) {
+        this.callbackPaths = callbackPaths;
+    }
+
+}
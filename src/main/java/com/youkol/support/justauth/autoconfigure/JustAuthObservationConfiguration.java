@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.youkol.support.justauth.support.observation.ObservationAuthRequestInterceptor;
+import com.youkol.support.justauth.support.observation.ObservedAuthStateCache;
+
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Auto configuration for {@link ObservationAuthRequestInterceptor} and
+ * {@link ObservedAuthStateCache}
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(ObservationRegistry.class)
+@ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "observation.enabled",
+        havingValue = "true")
+public class JustAuthObservationConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ObservationAuthRequestInterceptor observationAuthRequestInterceptor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new ObservationAuthRequestInterceptor(
+                observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "observation.state-cache",
+            havingValue = "true", matchIfMissing = true)
+    static class ObservedStateCacheConfiguration {
+
+        @Bean
+        static ObservedAuthStateCachePostProcessor observedAuthStateCachePostProcessor(
+                ObjectProvider<ObservationRegistry> observationRegistry) {
+            return new ObservedAuthStateCachePostProcessor(observationRegistry);
+        }
+
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+/**
+ * Configuration properties for the Micrometer observations of JustAuth.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthObservationProperties {
+
+    /**
+     * Whether to observe the requests issued by {@code AuthRequestFactory}, requires
+     * {@code micrometer-observation} and an {@code ObservationRegistry} bean.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Whether to observe the calls of the remote {@code AuthStateCache} as well.
+     */
+    private boolean stateCache = true;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isStateCache() {
+        return this.stateCache;
+    }
+
+    public void setStateCache(boolean stateCache) {
+        this.stateCache = stateCache;
+    }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuration properties for the local OIDC {@code id_token} validation.
+ *
+ * <p>
+ * When enabled for a source, the user is built from the claims of the verified {@code id_token}
+ * in the token response, instead of calling the user-info endpoint of the provider.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthOidcProperties {
+
+    /**
+     * The well-known issuer, JWKS uri and uuid claim of the OIDC providers, {@code {tid}} in the
+     * issuer is replaced by the {@code tid} claim of the {@code id_token}.
+     */
+    private static final Map<String, JustAuthOidcProvider> WELL_KNOWN_PROVIDERS = new HashMap<>();
+
+    static {
+        WELL_KNOWN_PROVIDERS.put("GOOGLE", new JustAuthOidcProvider(
+                "https://www.googleapis.com/oauth2/v3/certs",
+                Arrays.asList("https://accounts.google.com", "accounts.google.com")));
+        WELL_KNOWN_PROVIDERS.put("APPLE", new JustAuthOidcProvider(
+                "https://appleid.apple.com/auth/keys",
+                Collections.singletonList("https://appleid.apple.com")));
+        // the user-info endpoint of Microsoft returns the object id, which the pairwise sub is not
+        WELL_KNOWN_PROVIDERS.put("MICROSOFT", new JustAuthOidcProvider(
+                "https://login.microsoftonline.com/common/discovery/v2.0/keys",
+                Collections.singletonList("https://login.microsoftonline.com/{tid}/v2.0"), "oid"));
+        WELL_KNOWN_PROVIDERS.put("MICROSOFT_CN", new JustAuthOidcProvider(
+                "https://login.partner.microsoftonline.cn/common/discovery/v2.0/keys",
+                Collections.singletonList("https://login.partner.microsoftonline.cn/{tid}/v2.0"), "oid"));
+    }
+
+    /**
+     * Whether to enable the local {@code id_token} validation.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Allowed clock skew when checking {@code exp}, {@code nbf} and {@code iat}.
+     */
+    private Duration clockSkew = Duration.ofSeconds(60);
+
+    /**
+     * Time to live of the JWKS when the response has no {@code Cache-Control: max-age}.
+     */
+    private Duration jwksDefaultTtl = Duration.ofHours(1);
+
+    /**
+     * Minimum interval between two JWKS fetches, e.g. for an unknown {@code kid}.
+     */
+    private Duration jwksMinRefreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * Connect and read timeout of the JWKS fetch.
+     */
+    private Duration jwksTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Whether to call the user-info endpoint when the {@code id_token} is missing or invalid.
+     */
+    private boolean fallbackToUserInfo = true;
+
+    /**
+     * The OIDC providers keyed by source, such as {@code GOOGLE}.
+     */
+    private Map<String, JustAuthOidcProvider> source = new HashMap<>();
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getClockSkew() {
+        return this.clockSkew;
+    }
+
+    public void setClockSkew(Duration clockSkew) {
+        this.clockSkew = clockSkew;
+    }
+
+    public Duration getJwksDefaultTtl() {
+        return this.jwksDefaultTtl;
+    }
+
+    public void setJwksDefaultTtl(Duration jwksDefaultTtl) {
+        this.jwksDefaultTtl = jwksDefaultTtl;
+    }
+
+    public Duration getJwksMinRefreshInterval() {
+        return this.jwksMinRefreshInterval;
+    }
+
+    public void setJwksMinRefreshInterval(Duration jwksMinRefreshInterval) {
+        this.jwksMinRefreshInterval = jwksMinRefreshInterval;
+    }
+
+    public Duration getJwksTimeout() {
+        return this.jwksTimeout;
+    }
+
+    public void setJwksTimeout(Duration jwksTimeout) {
+        this.jwksTimeout = jwksTimeout;
+    }
+
+    public boolean isFallbackToUserInfo() {
+        return this.fallbackToUserInfo;
+    }
+
+    public void setFallbackToUserInfo(boolean fallbackToUserInfo) {
+        this.fallbackToUserInfo = fallbackToUserInfo;
+    }
+
+    public Map<String, JustAuthOidcProvider> getSource() {
+        return this.source;
+    }
+
+    public void setSource(Map<String, JustAuthOidcProvider> source) {
+        this.source = source;
+    }
+
+    /**
+     * Return the enabled OIDC provider of the given source, the missing JWKS uri, issuer and uuid
+     * claim are filled with the well-known values.
+     *
+     * @param source the name of source
+     * @return the OIDC provider, or {@code null} if not enabled for the source
+     */
+    public JustAuthOidcProvider getProvider(String source) {
+        JustAuthOidcProvider provider = this.getSource()
+                .entrySet()
+                .stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase(source))
+                .findFirst()
+                .map(Map.Entry::getValue)
+                .orElse(null);
+        if (provider == null || !provider.isEnabled()) {
+            return null;
+        }
+
+        JustAuthOidcProvider wellKnown = WELL_KNOWN_PROVIDERS.get(source.toUpperCase());
+        if (wellKnown == null
+                || (StringUtils.hasText(provider.getJwksUri()) && !provider.getIssuer().isEmpty()
+                        && StringUtils.hasText(provider.getUuidClaim()))) {
+            return provider;
+        }
+
+        JustAuthOidcProvider merged = new JustAuthOidcProvider(
+                StringUtils.hasText(provider.getJwksUri()) ? provider.getJwksUri() : wellKnown.getJwksUri(),
+                provider.getIssuer().isEmpty() ? wellKnown.getIssuer() : provider.getIssuer(),
+                StringUtils.hasText(provider.getUuidClaim()) ? provider.getUuidClaim() : wellKnown.getUuidClaim());
+        merged.setEnabled(true);
+        return merged;
+    }
+
+    /**
+     * An OIDC provider.
+     */
+    public static class JustAuthOidcProvider {
+
+        /**
+         * Whether to verify the {@code id_token} of the source locally.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The uri of the JWKS, such as {@code https://www.googleapis.com/oauth2/v3/certs}.
+         */
+        private String jwksUri;
+
+        /**
+         * The accepted issuers.
+         */
+        private List<String> issuer = new ArrayList<>();
+
+        /**
+         * The claim used as the uuid of the user, {@code sub} if not set. Use the claim the
+         * user-info endpoint returns as the uuid, so the users built either way match.
+         */
+        private String uuidClaim;
+
+        public JustAuthOidcProvider() {
+        }
+
+        public JustAuthOidcProvider(String jwksUri, List<String> issuer) {
+            this(jwksUri, issuer, null);
+        }
+
+        public JustAuthOidcProvider(String jwksUri, List<String> issuer, String uuidClaim) {
+            this.jwksUri = jwksUri;
+            this.issuer = new ArrayList<>(issuer);
+            this.uuidClaim = uuidClaim;
+        }
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getJwksUri() {
+            return this.jwksUri;
+        }
+
+        public void setJwksUri(String jwksUri) {
+            this.jwksUri = jwksUri;
+        }
+
+        public List<String> getIssuer() {
+            return this.issuer;
+        }
+
+        public void setIssuer(List<String> issuer) {
+            this.issuer = issuer;
+        }
+
+        public String getUuidClaim() {
+            return this.uuidClaim;
+        }
+
+        public void setUuidClaim(String uuidClaim) {
+            this.uuidClaim = uuidClaim;
+        }
+
+    }
+
+}
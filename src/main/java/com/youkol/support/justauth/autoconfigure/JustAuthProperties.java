@@ -18,6 +18,7 @@ package com.youkol.support.justauth.autoconfigure;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.Proxy.Type;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +31,7 @@ import org.springframework.util.StringUtils;
 
 import com.xkcoding.http.config.HttpConfig;
 import com.xkcoding.http.constants.Constants;
+import com.youkol.support.justauth.support.proxy.AuthProxyPool;
 
 import me.zhyd.oauth.config.AuthConfig;
 import me.zhyd.oauth.config.AuthSource;
@@ -63,6 +65,48 @@ public class JustAuthProperties {
     @NestedConfigurationProperty
     private JustAuthHttpConfig httpConfig = new JustAuthHttpConfig();
 
+    @NestedConfigurationProperty
+    private JustAuthOidcProperties oidc = new JustAuthOidcProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthReactiveProperties reactive = new JustAuthReactiveProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthNodeAffinityProperties nodeAffinity = new JustAuthNodeAffinityProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthReplayProtectionProperties replayProtection = new JustAuthReplayProtectionProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthEndpointProperties endpoint = new JustAuthEndpointProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthNativeImageProperties nativeImage = new JustAuthNativeImageProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthStartupProperties startup = new JustAuthStartupProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthObservationProperties observation = new JustAuthObservationProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthFlightRecorderProperties flightRecorder = new JustAuthFlightRecorderProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthTokenRefreshProperties tokenRefresh = new JustAuthTokenRefreshProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthBulkProperties bulk = new JustAuthBulkProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthCodecProperties codec = new JustAuthCodecProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthLoginEventProperties loginEvent = new JustAuthLoginEventProperties();
+
+    @NestedConfigurationProperty
+    private JustAuthTenantProperties tenant = new JustAuthTenantProperties();
+
     public boolean getEnabled() {
         return this.enabled;
     }
@@ -103,6 +147,118 @@ public class JustAuthProperties {
         this.httpConfig = httpConfig;
     }
 
+    public JustAuthOidcProperties getOidc() {
+        return this.oidc;
+    }
+
+    public void setOidc(JustAuthOidcProperties oidc) {
+        this.oidc = oidc;
+    }
+
+    public JustAuthReactiveProperties getReactive() {
+        return this.reactive;
+    }
+
+    public void setReactive(JustAuthReactiveProperties reactive) {
+        this.reactive = reactive;
+    }
+
+    public JustAuthNodeAffinityProperties getNodeAffinity() {
+        return this.nodeAffinity;
+    }
+
+    public void setNodeAffinity(JustAuthNodeAffinityProperties nodeAffinity) {
+        this.nodeAffinity = nodeAffinity;
+    }
+
+    public JustAuthReplayProtectionProperties getReplayProtection() {
+        return this.replayProtection;
+    }
+
+    public void setReplayProtection(JustAuthReplayProtectionProperties replayProtection) {
+        this.replayProtection = replayProtection;
+    }
+
+    public JustAuthEndpointProperties getEndpoint() {
+        return this.endpoint;
+    }
+
+    public void setEndpoint(JustAuthEndpointProperties endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public JustAuthNativeImageProperties getNativeImage() {
+        return this.nativeImage;
+    }
+
+    public void setNativeImage(JustAuthNativeImageProperties nativeImage) {
+        this.nativeImage = nativeImage;
+    }
+
+    public JustAuthStartupProperties getStartup() {
+        return this.startup;
+    }
+
+    public void setStartup(JustAuthStartupProperties startup) {
+        this.startup = startup;
+    }
+
+    public JustAuthObservationProperties getObservation() {
+        return this.observation;
+    }
+
+    public void setObservation(JustAuthObservationProperties observation) {
+        this.observation = observation;
+    }
+
+    public JustAuthFlightRecorderProperties getFlightRecorder() {
+        return this.flightRecorder;
+    }
+
+    public void setFlightRecorder(JustAuthFlightRecorderProperties flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+
+    public JustAuthTokenRefreshProperties getTokenRefresh() {
+        return this.tokenRefresh;
+    }
+
+    public void setTokenRefresh(JustAuthTokenRefreshProperties tokenRefresh) {
+        this.tokenRefresh = tokenRefresh;
+    }
+
+    public JustAuthBulkProperties getBulk() {
+        return this.bulk;
+    }
+
+    public void setBulk(JustAuthBulkProperties bulk) {
+        this.bulk = bulk;
+    }
+
+    public JustAuthCodecProperties getCodec() {
+        return this.codec;
+    }
+
+    public void setCodec(JustAuthCodecProperties codec) {
+        this.codec = codec;
+    }
+
+    public JustAuthLoginEventProperties getLoginEvent() {
+        return this.loginEvent;
+    }
+
+    public void setLoginEvent(JustAuthLoginEventProperties loginEvent) {
+        this.loginEvent = loginEvent;
+    }
+
+    public JustAuthTenantProperties getTenant() {
+        return this.tenant;
+    }
+
+    public void setTenant(JustAuthTenantProperties tenant) {
+        this.tenant = tenant;
+    }
+
     /**
      * For {@link Proxy} configuration
      */
@@ -152,6 +308,22 @@ public class JustAuthProperties {
 
         private Map<String, JustAuthHttpProxyConfig> proxy = new HashMap<>();
 
+        /**
+         * 各平台的代理池，配置后优先于{@link #getProxy()}
+         */
+        private Map<String, JustAuthHttpProxyPoolConfig> proxyPool = new HashMap<>();
+
+        /**
+         * 各平台单独的超时配置
+         */
+        private Map<String, JustAuthHttpTimeoutConfig> source = new HashMap<>();
+
+        @NestedConfigurationProperty
+        private JustAuthHttpRetryConfig retry = new JustAuthHttpRetryConfig();
+
+        @NestedConfigurationProperty
+        private JustAuthHttpAdaptiveTimeoutConfig adaptiveTimeout = new JustAuthHttpAdaptiveTimeoutConfig();
+
         public int getTimeout() {
             return this.timeout;
         }
@@ -168,6 +340,433 @@ public class JustAuthProperties {
             this.proxy = proxy;
         }
 
+        public Map<String, JustAuthHttpProxyPoolConfig> getProxyPool() {
+            return this.proxyPool;
+        }
+
+        public void setProxyPool(Map<String, JustAuthHttpProxyPoolConfig> proxyPool) {
+            this.proxyPool = proxyPool;
+        }
+
+        public Map<String, JustAuthHttpTimeoutConfig> getSource() {
+            return this.source;
+        }
+
+        public void setSource(Map<String, JustAuthHttpTimeoutConfig> source) {
+            this.source = source;
+        }
+
+        public JustAuthHttpRetryConfig getRetry() {
+            return this.retry;
+        }
+
+        public void setRetry(JustAuthHttpRetryConfig retry) {
+            this.retry = retry;
+        }
+
+        public JustAuthHttpAdaptiveTimeoutConfig getAdaptiveTimeout() {
+            return this.adaptiveTimeout;
+        }
+
+        public void setAdaptiveTimeout(JustAuthHttpAdaptiveTimeoutConfig adaptiveTimeout) {
+            this.adaptiveTimeout = adaptiveTimeout;
+        }
+
+        /**
+         * Return the timeout configuration of the given source.
+         *
+         * @param source the name of source
+         * @return the timeout configuration, or {@code null} if not configured
+         */
+        public JustAuthHttpTimeoutConfig getTimeoutConfig(String source) {
+            return this.getSource()
+                    .entrySet()
+                    .stream()
+                    .filter(entry -> entry.getKey().equalsIgnoreCase(source))
+                    .findFirst()
+                    .map(Map.Entry::getValue)
+                    .orElse(null);
+        }
+
+        /**
+         * Return the connect timeout of the given source in milliseconds, {@link #getTimeout()} if not configured.
+         *
+         * @param source the name of source
+         * @return the connect timeout in milliseconds
+         */
+        public int getConnectTimeout(String source) {
+            JustAuthHttpTimeoutConfig timeoutConfig = this.getTimeoutConfig(source);
+            if (timeoutConfig == null || timeoutConfig.getConnectTimeout() == null) {
+                return this.getTimeout();
+            }
+            return (int) timeoutConfig.getConnectTimeout().toMillis();
+        }
+
+        /**
+         * Return the read timeout of the given source in milliseconds, {@link #getTimeout()} if not configured.
+         *
+         * @param source the name of source
+         * @return the read timeout in milliseconds
+         */
+        public int getReadTimeout(String source) {
+            JustAuthHttpTimeoutConfig timeoutConfig = this.getTimeoutConfig(source);
+            if (timeoutConfig == null || timeoutConfig.getReadTimeout() == null) {
+                return this.getTimeout();
+            }
+            return (int) timeoutConfig.getReadTimeout().toMillis();
+        }
+
+    }
+
+    /**
+     * A pool of egress proxies of one source, with health checks and failover.
+     */
+    public static class JustAuthHttpProxyPoolConfig {
+
+        private Type type = Type.HTTP;
+
+        /**
+         * The proxies in the form of {@code hostname:port}, re-resolved on every health check.
+         */
+        private List<String> addresses = new ArrayList<>();
+
+        /**
+         * How to select a proxy among the healthy ones.
+         */
+        private AuthProxyPool.Strategy strategy = AuthProxyPool.Strategy.ROUND_ROBIN;
+
+        /**
+         * Interval between two active health checks.
+         */
+        private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+        /**
+         * Connect timeout of the health check.
+         */
+        private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Number of consecutive failures before a proxy is marked as unhealthy.
+         */
+        private int failureThreshold = 2;
+
+        public Type getType() {
+            return this.type;
+        }
+
+        public void setType(Type type) {
+            this.type = type;
+        }
+
+        public List<String> getAddresses() {
+            return this.addresses;
+        }
+
+        public void setAddresses(List<String> addresses) {
+            this.addresses = addresses;
+        }
+
+        public AuthProxyPool.Strategy getStrategy() {
+            return this.strategy;
+        }
+
+        public void setStrategy(AuthProxyPool.Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public Duration getHealthCheckInterval() {
+            return this.healthCheckInterval;
+        }
+
+        public void setHealthCheckInterval(Duration healthCheckInterval) {
+            this.healthCheckInterval = healthCheckInterval;
+        }
+
+        public Duration getHealthCheckTimeout() {
+            return this.healthCheckTimeout;
+        }
+
+        public void setHealthCheckTimeout(Duration healthCheckTimeout) {
+            this.healthCheckTimeout = healthCheckTimeout;
+        }
+
+        public int getFailureThreshold() {
+            return this.failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+    }
+
+    /**
+     * The timeouts of one source.
+     *
+     * <p>
+     * <b>NOTE:</b> the http client of JustAuth uses one timeout for both connecting and reading,
+     * so the read timeout is applied to {@link HttpConfig#getTimeout()}, the connect timeout is
+     * applied to the http calls made by this starter.
+     */
+    public static class JustAuthHttpTimeoutConfig {
+
+        /**
+         * Connect timeout, default to {@code youkol.justauth.http-config.timeout}.
+         */
+        private Duration connectTimeout;
+
+        /**
+         * Read timeout, default to {@code youkol.justauth.http-config.timeout}.
+         */
+        private Duration readTimeout;
+
+        public Duration getConnectTimeout() {
+            return this.connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return this.readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+    }
+
+    /**
+     * Adaptive timeouts: the timeout of each source follows a percentile of its observed latency
+     * plus a margin, bounded by the minimum and maximum timeout.
+     */
+    public static class JustAuthHttpAdaptiveTimeoutConfig {
+
+        /**
+         * Whether to enable the adaptive timeouts.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Percentile of the observed latency.
+         */
+        private double percentile = 99.0;
+
+        /**
+         * Margin added to the percentile.
+         */
+        private Duration margin = Duration.ofMillis(500);
+
+        /**
+         * Lower bound of the timeout.
+         */
+        private Duration minTimeout = Duration.ofSeconds(1);
+
+        /**
+         * Upper bound of the timeout.
+         */
+        private Duration maxTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Number of samples required before the timeout of a source is adapted.
+         */
+        private int minSamples = 20;
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return this.percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMargin() {
+            return this.margin;
+        }
+
+        public void setMargin(Duration margin) {
+            this.margin = margin;
+        }
+
+        public Duration getMinTimeout() {
+            return this.minTimeout;
+        }
+
+        public void setMinTimeout(Duration minTimeout) {
+            this.minTimeout = minTimeout;
+        }
+
+        public Duration getMaxTimeout() {
+            return this.maxTimeout;
+        }
+
+        public void setMaxTimeout(Duration maxTimeout) {
+            this.maxTimeout = maxTimeout;
+        }
+
+        public int getMinSamples() {
+            return this.minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+    }
+
+    /**
+     * Retry and hedging policy for the idempotent calls, such as user-info fetches and refresh.
+     * The authorization code exchange is never retried or hedged.
+     */
+    public static class JustAuthHttpRetryPolicy {
+
+        /**
+         * Maximum number of attempts, including the first call. 1 means no retry.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Initial backoff between two attempts, doubled after each attempt.
+         */
+        private Duration backoff = Duration.ofMillis(100);
+
+        /**
+         * Maximum backoff between two attempts.
+         */
+        private Duration maxBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Jitter factor of the backoff, between 0 and 1.
+         */
+        private double jitter = 0.5;
+
+        /**
+         * Whether to start a second request when the first one is slower than the hedge delay.
+         */
+        private boolean hedge = false;
+
+        /**
+         * Percentile of the observed latency used as the hedge delay.
+         */
+        private double hedgeDelayPercentile = 95.0;
+
+        /**
+         * Lower bound of the hedge delay, also used before enough latency is observed.
+         */
+        private Duration hedgeMinDelay = Duration.ofMillis(200);
+
+        public int getMaxAttempts() {
+            return this.maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getBackoff() {
+            return this.backoff;
+        }
+
+        public void setBackoff(Duration backoff) {
+            this.backoff = backoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return this.maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public double getJitter() {
+            return this.jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+
+        public boolean isHedge() {
+            return this.hedge;
+        }
+
+        public void setHedge(boolean hedge) {
+            this.hedge = hedge;
+        }
+
+        public double getHedgeDelayPercentile() {
+            return this.hedgeDelayPercentile;
+        }
+
+        public void setHedgeDelayPercentile(double hedgeDelayPercentile) {
+            this.hedgeDelayPercentile = hedgeDelayPercentile;
+        }
+
+        public Duration getHedgeMinDelay() {
+            return this.hedgeMinDelay;
+        }
+
+        public void setHedgeMinDelay(Duration hedgeMinDelay) {
+            this.hedgeMinDelay = hedgeMinDelay;
+        }
+
+    }
+
+    /**
+     * Default {@link JustAuthHttpRetryPolicy} and the special policies of each source.
+     */
+    public static class JustAuthHttpRetryConfig extends JustAuthHttpRetryPolicy {
+
+        /**
+         * Whether to enable retry and hedging.
+         */
+        private boolean enabled = false;
+
+        private Map<String, JustAuthHttpRetryPolicy> source = new HashMap<>();
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Map<String, JustAuthHttpRetryPolicy> getSource() {
+            return this.source;
+        }
+
+        public void setSource(Map<String, JustAuthHttpRetryPolicy> source) {
+            this.source = source;
+        }
+
+        /**
+         * Return the policy of the given source, or the default policy if not configured.
+         *
+         * @param source the name of source
+         * @return the policy of the given source
+         */
+        public JustAuthHttpRetryPolicy getPolicy(String source) {
+            return this.getSource()
+                    .entrySet()
+                    .stream()
+                    .filter(entry -> entry.getKey().equalsIgnoreCase(source))
+                    .findFirst()
+                    .map(Map.Entry::getValue)
+                    .orElse(this);
+        }
+
     }
 
     public Map<String, AuthConfig> getAuthConfigs() {
@@ -177,6 +776,18 @@ public class JustAuthProperties {
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
+    /**
+     * Apply the http settings of the given source to its {@link AuthConfig}, as
+     * {@link #getAuthConfigs()} does for all sources.
+     *
+     * @param source     the name of source
+     * @param authConfig the {@link AuthConfig} of the source
+     * @return the given {@link AuthConfig}
+     */
+    public AuthConfig applyHttpConfig(String source, AuthConfig authConfig) {
+        return this.configHttpConfig(source, authConfig);
+    }
+
     private Map.Entry<String, AuthConfig> configHttpConfig(Map.Entry<String, AuthConfig> entry) {
         this.configHttpConfig(entry.getKey(), entry.getValue());
         return entry;
@@ -204,11 +815,17 @@ public class JustAuthProperties {
                 .map(Map.Entry::getValue)
                 .orElse(authHttpConfig);
 
+        int timeout = authHttpConfig.getReadTimeout(source);
         if (!StringUtils.hasText(authProxyConfig.getHostname())) {
+            if (authConfig.getHttpConfig() == null) {
+                authConfig.setHttpConfig(HttpConfig.builder().timeout(timeout).build());
+            } else if (authHttpConfig.getTimeoutConfig(source) != null) {
+                authConfig.getHttpConfig().setTimeout(timeout);
+            }
             return authConfig;
         }
 
-        authConfig.setHttpConfig(this.createHttpConfig(authHttpConfig.getTimeout(), authProxyConfig));
+        authConfig.setHttpConfig(this.createHttpConfig(timeout, authProxyConfig));
 
         return authConfig;
     }
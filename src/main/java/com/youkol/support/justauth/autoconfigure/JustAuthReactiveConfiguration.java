@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.youkol.support.justauth.support.config.AuthConfigRepository;
+import com.youkol.support.justauth.support.reactive.ReactiveAuthRequestFactory;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Auto configuration for {@link ReactiveAuthRequestFactory}
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass({ WebClient.class, HttpClient.class })
+@ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "reactive.enabled", matchIfMissing = true)
+public class JustAuthReactiveConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveAuthRequestFactory reactiveAuthRequestFactory(AuthRequestFactory authRequestFactory,
+            AuthConfigRepository authConfigRepository, JustAuthProperties properties,
+            ObjectProvider<WebClient.Builder> webClientBuilder) {
+        ReactiveAuthRequestFactory reactiveAuthRequestFactory = new ReactiveAuthRequestFactory(authRequestFactory,
+                authConfigRepository, webClientBuilder.getIfAvailable(WebClient::builder),
+                properties.getReactive().getOauth2Sources());
+        reactiveAuthRequestFactory.setHttpConfig(properties.getHttpConfig());
+        return reactiveAuthRequestFactory;
+    }
+
+}
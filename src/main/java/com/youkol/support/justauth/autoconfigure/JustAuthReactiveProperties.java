@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Configuration properties for the {@code ReactiveAuthRequestFactory}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthReactiveProperties {
+
+    /**
+     * Whether to enable the {@code ReactiveAuthRequestFactory} in a reactive web application.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The sources which follow the standard OAuth 2.0 authorization code flow, and are called
+     * with {@code WebClient}. The other sources fall back to the blocking {@code AuthRequest}.
+     */
+    private List<String> oauth2Sources = new ArrayList<>(Arrays.asList("GITHUB", "GITLAB", "GOOGLE"));
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getOauth2Sources() {
+        return this.oauth2Sources;
+    }
+
+    public void setOauth2Sources(List<String> oauth2Sources) {
+        this.oauth2Sources = oauth2Sources;
+    }
+
+}
@@ -24,10 +24,14 @@ import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 import me.zhyd.oauth.cache.AuthStateCache;
+import com.youkol.support.justauth.support.cache.AuthBinaryRedisStateCache;
+import com.youkol.support.justauth.support.cache.AuthBucketedRedisStateCache;
+import com.youkol.support.justauth.support.cache.AuthRedisConnectionFactoryHolder;
 import com.youkol.support.justauth.support.cache.AuthRedisStateCache;
 
 /**
@@ -43,17 +47,60 @@ import com.youkol.support.justauth.support.cache.AuthRedisStateCache;
 @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "cache.type", havingValue = "redis")
 public class JustAuthRedisStateCacheConfiguration {
 
-    @Bean
-    @ConditionalOnMissingBean
-    @ConditionalOnSingleCandidate(RedisConnectionFactory.class)
-    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
-        return new StringRedisTemplate(redisConnectionFactory);
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(LettuceConnectionFactory.class)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "cache.redis.dedicated", havingValue = "true")
+    static class AuthRedisDedicatedConnectionConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuthRedisConnectionFactoryHolder authRedisConnectionFactoryHolder(JustAuthProperties properties) {
+            return new AuthRedisConnectionFactoryHolder(properties.getCache().getRedis());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuthStateCache authStateCache(AuthRedisConnectionFactoryHolder connectionFactoryHolder,
+                JustAuthProperties properties) {
+            return createAuthStateCache(connectionFactoryHolder.getConnectionFactory(), properties.getCache());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "cache.redis.dedicated", havingValue = "false", matchIfMissing = true)
+    static class AuthRedisSharedConnectionConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnSingleCandidate(RedisConnectionFactory.class)
+        public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+            return new StringRedisTemplate(redisConnectionFactory);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuthStateCache authStateCache(StringRedisTemplate redisTemplate, JustAuthProperties properties) {
+            if (properties.getCache().getRedis().isBucketed()) {
+                return new AuthBucketedRedisStateCache(redisTemplate.getRequiredConnectionFactory(),
+                        properties.getCache());
+            }
+            if (properties.getCache().getRedis().isBinary()) {
+                return new AuthBinaryRedisStateCache(redisTemplate.getRequiredConnectionFactory(),
+                        properties.getCache());
+            }
+            return new AuthRedisStateCache(redisTemplate, properties.getCache());
+        }
     }
 
-    @Bean
-    @ConditionalOnMissingBean
-    public AuthStateCache authStateCache(StringRedisTemplate redisTemplate, JustAuthProperties properties) {
-        return new AuthRedisStateCache(redisTemplate, properties.getCache());
+    private static AuthStateCache createAuthStateCache(RedisConnectionFactory connectionFactory,
+            JustAuthCacheProperties cacheProperties) {
+        if (cacheProperties.getRedis().isBucketed()) {
+            return new AuthBucketedRedisStateCache(connectionFactory, cacheProperties);
+        }
+        if (cacheProperties.getRedis().isBinary()) {
+            return new AuthBinaryRedisStateCache(connectionFactory, cacheProperties);
+        }
+        return new AuthRedisStateCache(new StringRedisTemplate(connectionFactory), cacheProperties);
     }
 
 }
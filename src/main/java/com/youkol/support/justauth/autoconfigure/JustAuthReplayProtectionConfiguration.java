@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.youkol.support.justauth.support.cache.AuthRedisConnectionFactoryHolder;
+import com.youkol.support.justauth.support.replay.LocalRotatingBloomFilter;
+import com.youkol.support.justauth.support.replay.RedisRotatingBloomFilter;
+import com.youkol.support.justauth.support.replay.ReplayProtectionAuthRequestInterceptor;
+import com.youkol.support.justauth.support.replay.RotatingBloomFilter;
+
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * Auto configuration for {@link ReplayProtectionAuthRequestInterceptor}
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "replay-protection.enabled",
+        havingValue = "true")
+public class JustAuthReplayProtectionConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReplayProtectionAuthRequestInterceptor replayProtectionAuthRequestInterceptor(
+            RotatingBloomFilter replayBloomFilter) {
+        return new ReplayProtectionAuthRequestInterceptor(replayBloomFilter);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "replay-protection.store",
+            havingValue = "local", matchIfMissing = true)
+    static class LocalReplayProtectionConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RotatingBloomFilter replayBloomFilter(JustAuthProperties properties) {
+            JustAuthReplayProtectionProperties replayProtection = properties.getReplayProtection();
+            return new LocalRotatingBloomFilter(replayProtection.getWindow(), replayProtection.getSlices(),
+                    replayProtection.getExpectedInsertions(), replayProtection.getFalsePositiveProbability());
+        }
+
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(StringRedisTemplate.class)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "replay-protection.store",
+            havingValue = "redis")
+    static class RedisReplayProtectionConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RotatingBloomFilter replayBloomFilter(JustAuthProperties properties,
+                ObjectProvider<AuthRedisConnectionFactoryHolder> connectionFactoryHolder,
+                ObjectProvider<RedisConnectionFactory> connectionFactory) {
+            // prefer the dedicated connection of the state cache, if any
+            AuthRedisConnectionFactoryHolder holder = connectionFactoryHolder.getIfAvailable();
+            RedisConnectionFactory redisConnectionFactory = holder != null ? holder.getConnectionFactory()
+                    : connectionFactory.getIfUnique();
+            if (redisConnectionFactory == null) {
+                throw new AuthException("No unique RedisConnectionFactory for the replay protection");
+            }
+
+            JustAuthReplayProtectionProperties replayProtection = properties.getReplayProtection();
+            return new RedisRotatingBloomFilter(redisConnectionFactory, replayProtection.getKeyPrefix(),
+                    replayProtection.getWindow(), replayProtection.getSlices(),
+                    replayProtection.getExpectedInsertions(), replayProtection.getFalsePositiveProbability());
+        }
+
+    }
+
+}
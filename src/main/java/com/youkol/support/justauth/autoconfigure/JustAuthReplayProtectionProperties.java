@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for rejecting the replayed callbacks.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthReplayProtectionProperties {
+
+    /**
+     * Whether to reject the login of a callback whose state or code was consumed before.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Where to keep the Bloom filter of the consumed states and codes.
+     */
+    private Store store = Store.LOCAL;
+
+    /**
+     * The minimum time a consumed state or code is remembered, should cover the lifetime of the
+     * state and the authorization code.
+     */
+    private Duration window = Duration.ofMinutes(10);
+
+    /**
+     * The number of slices of the window, the oldest slice is dropped on each rotation.
+     */
+    private int slices = 4;
+
+    /**
+     * The expected number of states and codes consumed within a window.
+     */
+    private long expectedInsertions = 100000L;
+
+    /**
+     * The expected probability of rejecting a fresh callback.
+     */
+    private double falsePositiveProbability = 0.0001;
+
+    /**
+     * The key prefix of the Redis bitmaps.
+     */
+    private String keyPrefix = "YOUKOL:JUSTAUTH:REPLAY:";
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Store getStore() {
+        return this.store;
+    }
+
+    public void setStore(Store store) {
+        this.store = store;
+    }
+
+    public Duration getWindow() {
+        return this.window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getSlices() {
+        return this.slices;
+    }
+
+    public void setSlices(int slices) {
+        this.slices = slices;
+    }
+
+    public long getExpectedInsertions() {
+        return this.expectedInsertions;
+    }
+
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public double getFalsePositiveProbability() {
+        return this.falsePositiveProbability;
+    }
+
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    public String getKeyPrefix() {
+        return this.keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public enum Store {
+
+        /**
+         * In the memory of each node.
+         */
+        LOCAL,
+
+        /**
+         * In Redis, shared by all nodes.
+         */
+        REDIS
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+/**
+ * Configuration properties for the startup of JustAuth.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthStartupProperties {
+
+    /**
+     * Whether to defer the per-source work, i.e. applying the http settings to each
+     * {@code AuthConfig} and instantiating the {@code extend-auth-source-class}, until first use.
+     */
+    private boolean lazy = false;
+
+    /**
+     * Whether to initialize all sources in the background once the application is ready, so the
+     * first logins don't pay for the deferred work.
+     */
+    private boolean preInitialize = false;
+
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    public boolean isPreInitialize() {
+        return this.preInitialize;
+    }
+
+    public void setPreInitialize(boolean preInitialize) {
+        this.preInitialize = preInitialize;
+    }
+
+}
@@ -15,6 +15,7 @@
  */
 package com.youkol.support.justauth.autoconfigure;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -22,6 +23,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
+import com.youkol.support.justauth.support.cache.ResilientAuthStateCacheMetrics;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
 import me.zhyd.oauth.cache.AuthDefaultStateCache;
 import me.zhyd.oauth.cache.AuthStateCache;
 import me.zhyd.oauth.exception.AuthException;
@@ -34,7 +38,7 @@ import me.zhyd.oauth.exception.AuthException;
  */
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnClass(AuthStateCache.class)
-@Import(JustAuthRedisStateCacheConfiguration.class)
+@Import({ JustAuthRedisStateCacheConfiguration.class, JustAuthJdbcStateCacheConfiguration.class })
 public class JustAuthStateCacheConfiguration {
 
     @Configuration(proxyBeanMethods = false)
@@ -59,4 +63,26 @@ public class JustAuthStateCacheConfiguration {
                     "youkol.justauth.cache.type=custom, but not found any custom authStateCache bean.");
         }
     }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "cache.resilience.enabled", havingValue = "true")
+    static class AuthStateCacheResilienceConfiguration {
+
+        @Bean
+        static ResilientAuthStateCachePostProcessor resilientAuthStateCachePostProcessor(
+                ObjectProvider<JustAuthProperties> properties) {
+            return new ResilientAuthStateCachePostProcessor(properties);
+        }
+
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(MeterBinder.class)
+        static class AuthStateCacheResilienceMetricsConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public ResilientAuthStateCacheMetrics resilientAuthStateCacheMetrics(AuthStateCache authStateCache) {
+                return new ResilientAuthStateCacheMetrics(authStateCache);
+            }
+        }
+    }
 }
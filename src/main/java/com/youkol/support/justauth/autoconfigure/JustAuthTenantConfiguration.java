@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.youkol.support.justauth.support.config.AuthConfigRepository;
+import com.youkol.support.justauth.support.config.InMemoryTenantAuthConfigRepository;
+import com.youkol.support.justauth.support.config.TenantAuthConfigRepository;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+import com.youkol.support.justauth.support.request.TenantAuthRequestFactory;
+
+import me.zhyd.oauth.config.AuthConfig;
+
+/**
+ * Auto configuration for {@link TenantAuthRequestFactory}
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "tenant.enabled", havingValue = "true")
+public class JustAuthTenantConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TenantAuthConfigRepository tenantAuthConfigRepository(JustAuthProperties properties) {
+        Map<String, Map<String, AuthConfig>> authConfigs = new LinkedHashMap<>();
+        properties.getTenant().getConfigs().forEach((tenant, tenantAuthConfigs) -> {
+            Map<String, AuthConfig> sourceAuthConfigs = new LinkedHashMap<>();
+            tenantAuthConfigs.forEach((source, authConfig) -> sourceAuthConfigs.put(source,
+                    properties.applyHttpConfig(source, authConfig)));
+            authConfigs.put(tenant, sourceAuthConfigs);
+        });
+        return new InMemoryTenantAuthConfigRepository(authConfigs);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TenantAuthRequestFactory tenantAuthRequestFactory(JustAuthProperties properties,
+            AuthRequestFactory authRequestFactory, TenantAuthConfigRepository tenantAuthConfigRepository,
+            AuthConfigRepository authConfigRepository) {
+        JustAuthTenantProperties tenantProperties = properties.getTenant();
+        return new TenantAuthRequestFactory(authRequestFactory, tenantAuthConfigRepository,
+                tenantProperties.isFallbackToDefault() ? authConfigRepository : null, tenantProperties);
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import me.zhyd.oauth.config.AuthConfig;
+
+/**
+ * Configuration properties for the {@code AuthRequest}s of the tenants.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthTenantProperties {
+
+    /**
+     * Whether to create the {@code TenantAuthRequestFactory}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of cached requests, of all tenants and sources.
+     */
+    private int maxEntries = 10000;
+
+    /**
+     * How long a cached request is used before its config is looked up again, never if not
+     * positive.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(30);
+
+    /**
+     * Whether a tenant uses the config of {@code youkol.justauth.type} for a source it doesn't
+     * configure.
+     */
+    private boolean fallbackToDefault = false;
+
+    /**
+     * The configs of the tenants, keyed by the tenant and then by the source, used unless an
+     * {@code TenantAuthConfigRepository} bean is defined.
+     */
+    private Map<String, Map<String, AuthConfig>> configs = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return this.expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    public boolean isFallbackToDefault() {
+        return this.fallbackToDefault;
+    }
+
+    public void setFallbackToDefault(boolean fallbackToDefault) {
+        this.fallbackToDefault = fallbackToDefault;
+    }
+
+    public Map<String, Map<String, AuthConfig>> getConfigs() {
+        return this.configs;
+    }
+
+    public void setConfigs(Map<String, Map<String, AuthConfig>> configs) {
+        this.configs = configs;
+    }
+
+}
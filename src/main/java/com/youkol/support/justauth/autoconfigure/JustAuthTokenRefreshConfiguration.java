@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.youkol.support.justauth.support.cache.AuthRedisConnectionFactoryHolder;
+import com.youkol.support.justauth.support.refresh.AuthTokenRefreshInterceptor;
+import com.youkol.support.justauth.support.refresh.AuthTokenRefreshListener;
+import com.youkol.support.justauth.support.refresh.AuthTokenRefreshLock;
+import com.youkol.support.justauth.support.refresh.AuthTokenRefreshScheduler;
+import com.youkol.support.justauth.support.refresh.LocalAuthTokenRefreshLock;
+import com.youkol.support.justauth.support.refresh.RedisAuthTokenRefreshLock;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * Auto configuration for {@link AuthTokenRefreshScheduler}
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "token-refresh.enabled",
+        havingValue = "true")
+public class JustAuthTokenRefreshConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthTokenRefreshScheduler authTokenRefreshScheduler(JustAuthProperties properties,
+            ObjectProvider<AuthRequestFactory> authRequestFactory, AuthTokenRefreshLock authTokenRefreshLock,
+            ObjectProvider<AuthTokenRefreshListener> listener) {
+        AuthTokenRefreshListener refreshListener = listener.getIfUnique();
+        if (refreshListener == null) {
+            throw new AuthException("No unique AuthTokenRefreshListener for the token refresh, "
+                    + "the refreshed tokens would be lost");
+        }
+
+        // the factory is resolved lazily, it depends on the interceptor below
+        return new AuthTokenRefreshScheduler((source, authConfig) -> authConfig == null
+                ? authRequestFactory.getObject().getAuthRequest(source)
+                : authRequestFactory.getObject().getAuthRequest(source, authConfig),
+                authTokenRefreshLock, refreshListener, properties.getTokenRefresh());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthTokenRefreshInterceptor authTokenRefreshInterceptor(AuthTokenRefreshScheduler refreshScheduler) {
+        return new AuthTokenRefreshInterceptor(refreshScheduler);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "token-refresh.lock-store",
+            havingValue = "local", matchIfMissing = true)
+    static class LocalTokenRefreshLockConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuthTokenRefreshLock authTokenRefreshLock() {
+            return new LocalAuthTokenRefreshLock();
+        }
+
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(StringRedisTemplate.class)
+    @ConditionalOnProperty(prefix = JustAuthProperties.JUSTAUTH_PREFIX, value = "token-refresh.lock-store",
+            havingValue = "redis")
+    static class RedisTokenRefreshLockConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuthTokenRefreshLock authTokenRefreshLock(JustAuthProperties properties,
+                ObjectProvider<AuthRedisConnectionFactoryHolder> connectionFactoryHolder,
+                ObjectProvider<RedisConnectionFactory> connectionFactory) {
+            // prefer the dedicated connection of the state cache, if any
+            AuthRedisConnectionFactoryHolder holder = connectionFactoryHolder.getIfAvailable();
+            RedisConnectionFactory redisConnectionFactory = holder != null ? holder.getConnectionFactory()
+                    : connectionFactory.getIfUnique();
+            if (redisConnectionFactory == null) {
+                throw new AuthException("No unique RedisConnectionFactory for the token refresh lock");
+            }
+
+            return new RedisAuthTokenRefreshLock(redisConnectionFactory, properties.getTokenRefresh().getKeyPrefix());
+        }
+
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for refreshing the tokens in the background.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JustAuthTokenRefreshProperties {
+
+    /**
+     * Whether to refresh the tokens of the logins shortly before they expire.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long before the expiry a token is refreshed.
+     */
+    private Duration refreshAhead = Duration.ofMinutes(5);
+
+    /**
+     * The maximum random time subtracted from the refresh time, to spread the refreshes.
+     */
+    private Duration jitter = Duration.ofSeconds(30);
+
+    /**
+     * Interval between two polls of the due tokens.
+     */
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    /**
+     * Maximum number of tokens refreshed per poll.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum number of concurrent refreshes per source.
+     */
+    private int maxConcurrencyPerSource = 4;
+
+    /**
+     * Number of threads refreshing the tokens.
+     */
+    private int threads = 4;
+
+    /**
+     * Maximum number of tracked tokens, the tokens over it are not refreshed.
+     */
+    private int maxTrackedTokens = 100000;
+
+    /**
+     * How long after the login a token is still refreshed, a new login tracks it again.
+     */
+    private Duration maxLifetime = Duration.ofDays(30);
+
+    /**
+     * Where to keep the locks which let one node refresh each token.
+     */
+    private Store lockStore = Store.LOCAL;
+
+    /**
+     * How long a refreshed token stays locked, should exceed the refresh-ahead so the other
+     * nodes tracking it skip it.
+     */
+    private Duration lockTimeout = Duration.ofMinutes(10);
+
+    /**
+     * The key prefix of the Redis locks.
+     */
+    private String keyPrefix = "YOUKOL:JUSTAUTH:REFRESH:";
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshAhead() {
+        return this.refreshAhead;
+    }
+
+    public void setRefreshAhead(Duration refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+
+    public Duration getJitter() {
+        return this.jitter;
+    }
+
+    public void setJitter(Duration jitter) {
+        this.jitter = jitter;
+    }
+
+    public Duration getPollInterval() {
+        return this.pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxConcurrencyPerSource() {
+        return this.maxConcurrencyPerSource;
+    }
+
+    public void setMaxConcurrencyPerSource(int maxConcurrencyPerSource) {
+        this.maxConcurrencyPerSource = maxConcurrencyPerSource;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getMaxTrackedTokens() {
+        return this.maxTrackedTokens;
+    }
+
+    public void setMaxTrackedTokens(int maxTrackedTokens) {
+        this.maxTrackedTokens = maxTrackedTokens;
+    }
+
+    public Duration getMaxLifetime() {
+        return this.maxLifetime;
+    }
+
+    public void setMaxLifetime(Duration maxLifetime) {
+        this.maxLifetime = maxLifetime;
+    }
+
+    public Store getLockStore() {
+        return this.lockStore;
+    }
+
+    public void setLockStore(Store lockStore) {
+        this.lockStore = lockStore;
+    }
+
+    public Duration getLockTimeout() {
+        return this.lockTimeout;
+    }
+
+    public void setLockTimeout(Duration lockTimeout) {
+        this.lockTimeout = lockTimeout;
+    }
+
+    public String getKeyPrefix() {
+        return this.keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public enum Store {
+
+        /**
+         * In the memory of each node.
+         */
+        LOCAL,
+
+        /**
+         * In Redis, shared by all nodes.
+         */
+        REDIS
+    }
+
+}
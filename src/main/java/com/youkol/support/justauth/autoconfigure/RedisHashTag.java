@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+/**
+ * Where to put the redis cluster hash tag in the state keys.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public enum RedisHashTag {
+    /**
+     * No hash tag, e.g. {@code YOUKOL:JUSTAUTH:STATE:state}.
+     */
+    NONE,
+
+    /**
+     * Tag the state, e.g. {@code YOUKOL:JUSTAUTH:STATE:{state}}, the keys are spread over all
+     * slots, and all keys of the same state are in one slot.
+     */
+    STATE,
+
+    /**
+     * Tag the prefix, e.g. {@code {YOUKOL:JUSTAUTH:STATE}:state}, all state keys are in one slot,
+     * so they can be used in multi-key commands, at the cost of a hot slot.
+     */
+    PREFIX;
+}
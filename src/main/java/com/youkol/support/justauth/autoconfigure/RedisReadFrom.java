@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.autoconfigure;
+
+/**
+ * Which nodes of the redis cluster the state cache reads from, mapped to the {@code ReadFrom}
+ * of Lettuce.
+ *
+ * <p>
+ * The replicas are updated asynchronously, so a state read from a replica right after it is
+ * written to the master may be reported as missing, and the login fails with an invalid state.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public enum RedisReadFrom {
+    /**
+     * Read from the master only.
+     */
+    UPSTREAM,
+
+    /**
+     * Read from the master, and from a replica if the master is unavailable.
+     */
+    UPSTREAM_PREFERRED,
+
+    /**
+     * Read from the replicas only.
+     */
+    REPLICA,
+
+    /**
+     * Read from a replica, and from the master if no replica is available.
+     */
+    REPLICA_PREFERRED,
+
+    /**
+     * Read from the node of the lowest latency, either the master or a replica.
+     */
+    LOWEST_LATENCY,
+
+    /**
+     * Read from any node.
+     */
+    ANY,
+
+    /**
+     * Read from any replica.
+     */
+    ANY_REPLICA;
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.affinity;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+
+/**
+ * Resolves the node which owns the state of a callback request, and builds the url to redirect
+ * the callback to when it landed on another node.
+ *
+ * <p>
+ * A redirected callback carries the {@value #FORWARDED_PARAMETER} parameter, and is never
+ * redirected again, so a misconfigured node can't cause a redirect loop.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see NodeAffinityStateGenerator
+ */
+public class NodeAffinityRouter {
+
+    private static final Log logger = LogFactory.getLog(NodeAffinityRouter.class);
+
+    public static final String STATE_PARAMETER = "state";
+
+    public static final String FORWARDED_PARAMETER = "justauth_forwarded";
+
+    private final String nodeId;
+
+    private final Map<String, String> nodes;
+
+    private final List<String> callbackPaths;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Create a new router.
+     *
+     * @param nodeId        the id of the current node
+     * @param nodes         the base urls of the nodes keyed by node id, e.g.
+     *                      {@code http://10.0.0.2:8080}
+     * @param callbackPaths the path patterns of the callback requests, within the application
+     */
+    public NodeAffinityRouter(String nodeId, Map<String, String> nodes, Collection<String> callbackPaths) {
+        NodeAffinityStateGenerator.validateNodeId(nodeId);
+        this.nodeId = nodeId;
+        Map<String, String> baseUrls = new LinkedHashMap<>();
+        nodes.forEach((id, baseUrl) -> baseUrls.put(id, trimTrailingSlash(baseUrl)));
+        this.nodes = Collections.unmodifiableMap(baseUrls);
+        this.callbackPaths = Collections.unmodifiableList(new ArrayList<>(callbackPaths));
+    }
+
+    public String getNodeId() {
+        return this.nodeId;
+    }
+
+    /**
+     * Whether the given path is a callback path which should be routed.
+     *
+     * @param pathWithinApplication the request path without the context path
+     * @return {@code true} if the path matches one of the callback paths
+     */
+    public boolean isCallbackPath(String pathWithinApplication) {
+        for (String pattern : this.callbackPaths) {
+            if (this.pathMatcher.match(pattern, pathWithinApplication)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the url to redirect the callback to, if the state was issued by another node.
+     *
+     * @param state    the state of the callback
+     * @param rawPath  the raw request path, including the context path
+     * @param rawQuery the raw query string, may be {@code null}
+     * @return the url of the owning node, or {@code null} if the callback should be handled here
+     */
+    public URI route(String state, String rawPath, String rawQuery) {
+        String owner = NodeAffinityStateGenerator.resolveNodeId(state);
+        if (owner == null || owner.equals(this.nodeId)) {
+            return null;
+        }
+
+        if (rawQuery != null && containsParameter(rawQuery, FORWARDED_PARAMETER)) {
+            logger.warn("The callback of node " + owner + " was already forwarded, handle it on node " + this.nodeId);
+            return null;
+        }
+
+        String baseUrl = this.nodes.get(owner);
+        if (baseUrl == null) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("The base url of node " + owner + " is unknown, handle the callback here");
+            }
+            return null;
+        }
+
+        StringBuilder url = new StringBuilder(baseUrl).append(rawPath).append('?');
+        if (StringUtils.hasLength(rawQuery)) {
+            url.append(rawQuery).append('&');
+        }
+        url.append(FORWARDED_PARAMETER).append('=').append(this.nodeId);
+        return URI.create(url.toString());
+    }
+
+    private static boolean containsParameter(String rawQuery, String name) {
+        for (String pair : StringUtils.delimitedListToStringArray(rawQuery, "&")) {
+            if (pair.equals(name) || pair.startsWith(name + "=")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String trimTrailingSlash(String baseUrl) {
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+}
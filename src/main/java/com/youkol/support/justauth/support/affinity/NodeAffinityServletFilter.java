@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.affinity;
+
+import java.io.IOException;
+import java.net.URI;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * A servlet filter which redirects the callback to the node which issued its state.
+ *
+ * <p>
+ * The {@code 307} status is used, so the method and body of a {@code form_post} callback
+ * are kept by the browser.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see NodeAffinityRouter
+ */
+public class NodeAffinityServletFilter extends OncePerRequestFilter {
+
+    private final NodeAffinityRouter router;
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public NodeAffinityServletFilter(NodeAffinityRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !this.router.isCallbackPath(this.urlPathHelper.getPathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        URI location = this.router.route(request.getParameter(NodeAffinityRouter.STATE_PARAMETER),
+                request.getRequestURI(), request.getQueryString());
+        if (location == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+        response.setHeader(HttpHeaders.LOCATION, location.toString());
+    }
+
+}
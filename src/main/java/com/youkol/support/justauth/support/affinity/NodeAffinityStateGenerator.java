@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.affinity;
+
+import java.util.regex.Pattern;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import com.youkol.support.justauth.support.request.AuthStateGenerator;
+
+/**
+ * An {@link AuthStateGenerator} which prefixes the random state with the id of the issuing node,
+ * in the form of {@code <node-id>.<random>}, so the callback can be routed back to the node
+ * holding the state in its in-memory {@code AuthStateCache}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see NodeAffinityRouter
+ */
+public class NodeAffinityStateGenerator implements AuthStateGenerator {
+
+    static final char SEPARATOR = '.';
+
+    private static final Pattern NODE_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final String prefix;
+
+    private final AuthStateGenerator delegate;
+
+    public NodeAffinityStateGenerator(String nodeId) {
+        this(nodeId, AuthStateGenerator.DEFAULT);
+    }
+
+    public NodeAffinityStateGenerator(String nodeId, AuthStateGenerator delegate) {
+        validateNodeId(nodeId);
+        this.prefix = nodeId + SEPARATOR;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String generate() {
+        return this.prefix + this.delegate.generate();
+    }
+
+    /**
+     * Return the id of the node which issued the given state.
+     *
+     * @param state the state of the callback
+     * @return the node id, or {@code null} if the state carries none
+     */
+    public static String resolveNodeId(String state) {
+        if (!StringUtils.hasLength(state)) {
+            return null;
+        }
+
+        int index = state.indexOf(SEPARATOR);
+        if (index <= 0) {
+            return null;
+        }
+
+        String nodeId = state.substring(0, index);
+        return NODE_ID_PATTERN.matcher(nodeId).matches() ? nodeId : null;
+    }
+
+    static void validateNodeId(String nodeId) {
+        Assert.isTrue(nodeId != null && NODE_ID_PATTERN.matcher(nodeId).matches(),
+                () -> "The node id must only contain letters, digits, '_' or '-', but was " + nodeId);
+    }
+
+}
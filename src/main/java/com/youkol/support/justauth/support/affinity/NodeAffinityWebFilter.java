@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.affinity;
+
+import java.net.URI;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link WebFilter} which redirects the callback to the node which issued its state.
+ *
+ * <p>
+ * Only the {@code state} in the query is inspected, reading a form body here would consume it
+ * before the handler.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see NodeAffinityRouter
+ */
+public class NodeAffinityWebFilter implements WebFilter, Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private final NodeAffinityRouter router;
+
+    public NodeAffinityWebFilter(NodeAffinityRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!this.router.isCallbackPath(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+
+        URI location = this.router.route(request.getQueryParams().getFirst(NodeAffinityRouter.STATE_PARAMETER),
+                request.getURI().getRawPath(), request.getURI().getRawQuery());
+        if (location == null) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TEMPORARY_REDIRECT);
+        response.getHeaders().setLocation(location);
+        return response.setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.bulk;
+
+/**
+ * Stores the checkpoint of the bulk jobs, i.e. the number of leading tasks which are all done,
+ * so an interrupted job resumes after them.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see InMemoryAuthBulkCheckpointStore
+ */
+public interface AuthBulkCheckpointStore {
+
+    /**
+     * Return the checkpoint of the given job.
+     *
+     * @param jobId the id of the job
+     * @return the number of leading tasks done, {@code 0} if none
+     */
+    long load(String jobId);
+
+    /**
+     * Save the checkpoint of the given job.
+     *
+     * @param jobId      the id of the job
+     * @param checkpoint the number of leading tasks done
+     */
+    void save(String jobId, long checkpoint);
+
+}
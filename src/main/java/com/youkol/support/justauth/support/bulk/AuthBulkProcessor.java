@@ -0,0 +1,365 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.bulk;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthBulkProperties;
+import com.youkol.support.justauth.support.request.AuthOperation;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * Fetches the user info of, refreshes or revokes a stream of stored tokens in parallel, e.g.
+ * to re-sync the profiles or to revoke the tokens of the deleted users.
+ *
+ * <p>
+ * The tasks are read lazily from the stream, at most {@code max-in-flight} of them are read
+ * but not done yet, so a stream of millions of tokens runs in bounded memory. Each source has
+ * its own lane with a concurrency and a rate budget, so a slow or strict provider doesn't
+ * hold up the others beyond the in-flight limit. The results are passed to the consumer as
+ * soon as they are done, on the worker threads and thus not in the order of the stream.
+ *
+ * <p>
+ * The checkpoint of a job is the number of leading tasks which are all done. It is saved to
+ * the {@link AuthBulkCheckpointStore} every {@code checkpoint-interval} tasks and when the job
+ * ends, is interrupted or its stream fails; running the job again with the same id skips the tasks before it.
+ * Resuming thus requires a stream replaying the tasks in the same order, and the tasks done
+ * out of order after the checkpoint are run again.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthBulkProcessor {
+
+    private static final Log logger = LogFactory.getLog(AuthBulkProcessor.class);
+
+    private final AuthRequestFactory authRequestFactory;
+
+    private final AuthBulkCheckpointStore checkpointStore;
+
+    private final JustAuthBulkProperties properties;
+
+    public AuthBulkProcessor(AuthRequestFactory authRequestFactory, AuthBulkCheckpointStore checkpointStore,
+            JustAuthBulkProperties properties) {
+        this.authRequestFactory = authRequestFactory;
+        this.checkpointStore = checkpointStore;
+        this.properties = properties;
+    }
+
+    /**
+     * Run a job, blocking until all the tasks are done.
+     *
+     * @param jobId     the id of the job, to resume from its checkpoint
+     * @param operation the operation, one of {@link AuthOperation#USER_INFO},
+     *                  {@link AuthOperation#REFRESH} and {@link AuthOperation#REVOKE}
+     * @param tasks     the tasks, in the same order on every run of the job
+     * @param consumer  the consumer of the results, called concurrently
+     * @return the summary of the job
+     * @throws InterruptedException if interrupted, after the checkpoint is saved
+     * @throws RuntimeException     if the stream fails, after the tasks in flight are done and
+     *                              the checkpoint is saved
+     */
+    public AuthBulkSummary process(String jobId, AuthOperation operation, Stream<AuthBulkTask> tasks,
+            Consumer<AuthBulkResult> consumer) throws InterruptedException {
+        Assert.isTrue(StringUtils.hasText(jobId), "jobId must not be empty");
+        Assert.isTrue(operation == AuthOperation.USER_INFO || operation == AuthOperation.REFRESH
+                || operation == AuthOperation.REVOKE, "Unsupported bulk operation: " + operation);
+
+        long checkpoint = this.checkpointStore.load(jobId);
+        Job job = new Job(jobId, operation, consumer, checkpoint);
+        try {
+            Iterator<AuthBulkTask> iterator = tasks.skip(checkpoint).iterator();
+            long index = checkpoint;
+            while (iterator.hasNext()) {
+                AuthBulkTask task = iterator.next();
+                job.submit(index++, task);
+            }
+            job.awaitDone();
+        } catch (InterruptedException ex) {
+            job.abort();
+            throw ex;
+        } catch (RuntimeException ex) {
+            // the stream failed, finish the tasks read so far and keep how far they got
+            job.drain();
+            throw ex;
+        } finally {
+            job.shutdown();
+            tasks.close();
+        }
+
+        return new AuthBulkSummary(checkpoint, job.succeededCount.get(), job.failedCount.get(),
+                job.saveCheckpoint());
+    }
+
+    private AuthResponse<?> execute(AuthOperation operation, AuthRequest authRequest, AuthBulkTask task) {
+        switch (operation) {
+            case USER_INFO:
+                return AuthResponse.builder()
+                        .code(AuthResponseStatus.SUCCESS.getCode())
+                        .data(authRequest.getUserInfo(task.getToken()))
+                        .build();
+            case REFRESH:
+                return authRequest.refresh(task.getToken());
+            default:
+                return authRequest.revoke(task.getToken());
+        }
+    }
+
+    private static AuthResponse<?> responseError(Exception ex) {
+        int errorCode = AuthResponseStatus.FAILURE.getCode();
+        String errorMsg = ex.getMessage();
+        if (ex instanceof AuthException) {
+            AuthException authException = (AuthException) ex;
+            errorCode = authException.getErrorCode();
+            if (StringUtils.hasText(authException.getErrorMsg())) {
+                errorMsg = authException.getErrorMsg();
+            }
+        }
+
+        return AuthResponse.builder()
+                .code(errorCode)
+                .msg(errorMsg)
+                .build();
+    }
+
+    /**
+     * The state of one run of a job.
+     */
+    private final class Job {
+
+        private final String jobId;
+
+        private final AuthOperation operation;
+
+        private final Consumer<AuthBulkResult> consumer;
+
+        private final int maxInFlight;
+
+        private final Semaphore inFlight;
+
+        private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+        private final AtomicLong succeededCount = new AtomicLong();
+
+        private final AtomicLong failedCount = new AtomicLong();
+
+        /**
+         * The tasks done after the checkpoint, guarded by this job.
+         */
+        private final TreeSet<Long> doneAhead = new TreeSet<>();
+
+        private long checkpoint;
+
+        private long savedCheckpoint;
+
+        Job(String jobId, AuthOperation operation, Consumer<AuthBulkResult> consumer, long checkpoint) {
+            this.jobId = jobId;
+            this.operation = operation;
+            this.consumer = consumer;
+            this.maxInFlight = Math.max(1, AuthBulkProcessor.this.properties.getMaxInFlight());
+            this.inFlight = new Semaphore(this.maxInFlight);
+            this.checkpoint = checkpoint;
+            this.savedCheckpoint = checkpoint;
+        }
+
+        void submit(long index, AuthBulkTask task) throws InterruptedException {
+            this.inFlight.acquire();
+            Lane lane = this.lanes.computeIfAbsent(task.getSource().toUpperCase(), Lane::new);
+            try {
+                lane.workers.execute(() -> this.run(lane, index, task));
+            } catch (RejectedExecutionException ex) {
+                this.inFlight.release();
+                throw ex;
+            }
+        }
+
+        void awaitDone() throws InterruptedException {
+            this.inFlight.acquire(this.maxInFlight);
+            this.inFlight.release(this.maxInFlight);
+        }
+
+        void abort() {
+            for (Lane lane : this.lanes.values()) {
+                lane.workers.shutdownNow();
+            }
+            this.saveCheckpointQuietly();
+        }
+
+        void drain() {
+            try {
+                this.awaitDone();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                for (Lane lane : this.lanes.values()) {
+                    lane.workers.shutdownNow();
+                }
+            }
+            this.saveCheckpointQuietly();
+        }
+
+        void shutdown() {
+            for (Lane lane : this.lanes.values()) {
+                lane.workers.shutdown();
+            }
+        }
+
+        private void run(Lane lane, long index, AuthBulkTask task) {
+            try {
+                AuthResponse<?> response;
+                try {
+                    lane.acquireRate();
+                    response = AuthBulkProcessor.this.execute(this.operation, lane.getAuthRequest(), task);
+                } catch (InterruptedException ex) {
+                    // aborted, the task is not done
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception ex) {
+                    response = responseError(ex);
+                }
+
+                AuthBulkResult result = new AuthBulkResult(task, index, response);
+                if (result.isSuccess()) {
+                    this.succeededCount.incrementAndGet();
+                } else {
+                    this.failedCount.incrementAndGet();
+                }
+                try {
+                    this.consumer.accept(result);
+                } catch (RuntimeException ex) {
+                    logger.warn("Failed to consume the bulk result " + index + " of the job " + this.jobId, ex);
+                }
+                this.done(index);
+            } finally {
+                this.inFlight.release();
+            }
+        }
+
+        private synchronized void done(long index) {
+            if (index != this.checkpoint) {
+                this.doneAhead.add(index);
+                return;
+            }
+
+            this.checkpoint++;
+            while (!this.doneAhead.isEmpty() && this.doneAhead.first() == this.checkpoint) {
+                this.doneAhead.pollFirst();
+                this.checkpoint++;
+            }
+            if (this.checkpoint - this.savedCheckpoint >= AuthBulkProcessor.this.properties.getCheckpointInterval()) {
+                this.saveCheckpointQuietly();
+            }
+        }
+
+        private void saveCheckpointQuietly() {
+            try {
+                this.saveCheckpoint();
+            } catch (RuntimeException ex) {
+                logger.warn("Failed to save the checkpoint of the bulk job " + this.jobId, ex);
+            }
+        }
+
+        private synchronized long saveCheckpoint() {
+            if (this.checkpoint != this.savedCheckpoint) {
+                AuthBulkProcessor.this.checkpointStore.save(this.jobId, this.checkpoint);
+                this.savedCheckpoint = this.checkpoint;
+            }
+            return this.checkpoint;
+        }
+
+    }
+
+    /**
+     * The workers and the budget of one source.
+     */
+    private final class Lane {
+
+        private final String source;
+
+        private final ThreadPoolExecutor workers;
+
+        private final long intervalNanos;
+
+        private long nextSlot = System.nanoTime();
+
+        private volatile AuthRequest authRequest;
+
+        Lane(String source) {
+            JustAuthBulkProperties properties = AuthBulkProcessor.this.properties;
+            this.source = source;
+            int concurrency = Math.max(1, properties.getMaxConcurrency(source));
+            double rate = properties.getRate(source);
+            this.intervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+                    "justauth-bulk-" + source.toLowerCase() + "-");
+            threadFactory.setDaemon(true);
+            this.workers = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory);
+        }
+
+        AuthRequest getAuthRequest() {
+            AuthRequest authRequest = this.authRequest;
+            if (authRequest == null) {
+                authRequest = AuthBulkProcessor.this.authRequestFactory.getAuthRequest(this.source);
+                this.authRequest = authRequest;
+            }
+            return authRequest;
+        }
+
+        /**
+         * Wait for the next call slot of the rate budget.
+         */
+        void acquireRate() throws InterruptedException {
+            if (this.intervalNanos <= 0) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            long slot;
+            synchronized (this) {
+                slot = Math.max(this.nextSlot, now);
+                this.nextSlot = slot + this.intervalNanos;
+            }
+            if (slot > now) {
+                TimeUnit.NANOSECONDS.sleep(slot - now);
+            }
+        }
+
+    }
+
+}
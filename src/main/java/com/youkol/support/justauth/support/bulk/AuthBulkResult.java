@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.bulk;
+
+import me.zhyd.oauth.model.AuthResponse;
+
+/**
+ * The result of an {@link AuthBulkTask}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthBulkResult {
+
+    private final AuthBulkTask task;
+
+    private final long index;
+
+    private final AuthResponse<?> response;
+
+    AuthBulkResult(AuthBulkTask task, long index, AuthResponse<?> response) {
+        this.task = task;
+        this.index = index;
+        this.response = response;
+    }
+
+    public AuthBulkTask getTask() {
+        return this.task;
+    }
+
+    /**
+     * @return the position of the task in the stream of the job, from {@code 0}
+     */
+    public long getIndex() {
+        return this.index;
+    }
+
+    /**
+     * @return the response, the data of which is the {@code AuthUser} for the user info, the
+     *         {@code AuthToken} for the refresh, and none for the revoke
+     */
+    public AuthResponse<?> getResponse() {
+        return this.response;
+    }
+
+    public boolean isSuccess() {
+        return this.response.ok();
+    }
+
+}
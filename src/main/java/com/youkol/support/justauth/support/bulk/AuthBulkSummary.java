@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.bulk;
+
+/**
+ * The summary of a bulk job run by {@link AuthBulkProcessor}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthBulkSummary {
+
+    private final long skipped;
+
+    private final long succeeded;
+
+    private final long failed;
+
+    private final long checkpoint;
+
+    AuthBulkSummary(long skipped, long succeeded, long failed, long checkpoint) {
+        this.skipped = skipped;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * @return the number of tasks skipped, as done before the checkpoint loaded on start
+     */
+    public long getSkipped() {
+        return this.skipped;
+    }
+
+    public long getSucceeded() {
+        return this.succeeded;
+    }
+
+    public long getFailed() {
+        return this.failed;
+    }
+
+    /**
+     * @return the checkpoint saved at the end, i.e. the number of leading tasks done
+     */
+    public long getCheckpoint() {
+        return this.checkpoint;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthBulkSummary [skipped=" + this.skipped + ", succeeded=" + this.succeeded + ", failed="
+                + this.failed + ", checkpoint=" + this.checkpoint + "]";
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.bulk;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import me.zhyd.oauth.model.AuthToken;
+
+/**
+ * A token of a source to process by {@link AuthBulkProcessor}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthBulkTask {
+
+    private final String id;
+
+    private final String source;
+
+    private final AuthToken token;
+
+    /**
+     * Create a new task.
+     *
+     * @param id     the id of the task for the caller, e.g. the uuid of the user, may be {@code null}
+     * @param source the name of source
+     * @param token  the stored token
+     */
+    public AuthBulkTask(String id, String source, AuthToken token) {
+        Assert.isTrue(StringUtils.hasText(source), "source must not be empty");
+        this.id = id;
+        this.source = source;
+        this.token = token;
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public String getSource() {
+        return this.source;
+    }
+
+    public AuthToken getToken() {
+        return this.token;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.bulk;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An {@link AuthBulkCheckpointStore} in memory, which survives the failure of a job but not
+ * the restart of the application.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class InMemoryAuthBulkCheckpointStore implements AuthBulkCheckpointStore {
+
+    private final Map<String, Long> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public long load(String jobId) {
+        return this.checkpoints.getOrDefault(jobId, 0L);
+    }
+
+    @Override
+    public void save(String jobId, long checkpoint) {
+        this.checkpoints.put(jobId, checkpoint);
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties;
+
+import me.zhyd.oauth.cache.AuthStateCache;
+
+/**
+ * A redis implementation of {@link AuthStateCache} working on the {@link RedisConnection}
+ * directly, without the serializers of {@code RedisTemplate}.
+ *
+ * <p>
+ * The key prefix is encoded once when the cache is created, so later changes of the
+ * {@link JustAuthCacheProperties#getKeyPrefix() key prefix} are not applied. Each key is built
+ * in a single array of its exact length, the ascii states are written into it without encoding
+ * them into an intermediate {@code byte[]}. A new array is needed per command anyway, as Lettuce
+ * may still hold the key of a command while the next one is built, e.g. with a shared or
+ * pipelined connection.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see AuthRedisStateCache
+ */
+public class AuthBinaryRedisStateCache implements AuthStateCache {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    private final JustAuthCacheProperties cacheProperties;
+
+    private final byte[] keyHead;
+
+    private final byte[] keyTail;
+
+    public AuthBinaryRedisStateCache(RedisConnectionFactory connectionFactory,
+            JustAuthCacheProperties cacheProperties) {
+        this.connectionFactory = connectionFactory;
+        this.cacheProperties = cacheProperties;
+        RedisStateKeyFormat keyFormat = RedisStateKeyFormat.of(cacheProperties);
+        this.keyHead = keyFormat.getHead().getBytes(StandardCharsets.UTF_8);
+        this.keyTail = keyFormat.getTail().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void cache(String key, String value) {
+        this.cache(key, value, this.cacheProperties.getTimeout().toMillis());
+    }
+
+    @Override
+    public void cache(String key, String value, long timeout) {
+        byte[] rawValue = value.getBytes(StandardCharsets.UTF_8);
+        try (RedisConnection connection = this.connectionFactory.getConnection()) {
+            connection.stringCommands().pSetEx(this.encodeKey(key), timeout, rawValue);
+        }
+    }
+
+    @Override
+    public String get(String key) {
+        byte[] rawValue;
+        try (RedisConnection connection = this.connectionFactory.getConnection()) {
+            rawValue = connection.stringCommands().get(this.encodeKey(key));
+        }
+        return rawValue == null ? null : new String(rawValue, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        Long expire;
+        try (RedisConnection connection = this.connectionFactory.getConnection()) {
+            expire = connection.keyCommands().pTtl(this.encodeKey(key), TimeUnit.MILLISECONDS);
+        }
+        return (expire != null && expire > 0L);
+    }
+
+    /**
+     * Encode the key of the given state, the returned array is owned by the caller.
+     *
+     * @param state the state
+     * @return the encoded key
+     */
+    byte[] encodeKey(String state) {
+        int length = state.length();
+        for (int i = 0; i < length; i++) {
+            if (state.charAt(i) >= 0x80) {
+                // not ascii, rarely happens as the states are usually uuid
+                return this.encodeKey(state.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        byte[] key = this.newKey(length);
+        int offset = this.keyHead.length;
+        for (int i = 0; i < length; i++) {
+            key[offset + i] = (byte) state.charAt(i);
+        }
+        return key;
+    }
+
+    private byte[] encodeKey(byte[] state) {
+        byte[] key = this.newKey(state.length);
+        System.arraycopy(state, 0, key, this.keyHead.length, state.length);
+        return key;
+    }
+
+    private byte[] newKey(int stateLength) {
+        int keyLength = this.keyHead.length + stateLength + this.keyTail.length;
+        byte[] key = new byte[keyLength];
+        System.arraycopy(this.keyHead, 0, key, 0, this.keyHead.length);
+        System.arraycopy(this.keyTail, 0, key, keyLength - this.keyTail.length, this.keyTail.length);
+        return key;
+    }
+
+}
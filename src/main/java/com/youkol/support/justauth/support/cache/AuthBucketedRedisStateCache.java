@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.util.Assert;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties;
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties.JustAuthRedisCacheConfig;
+
+import me.zhyd.oauth.cache.AuthStateCache;
+
+/**
+ * A redis implementation of {@link AuthStateCache} which groups the states into hashes by the
+ * time they are cached, instead of one key per state, to save the per-key overhead of redis.
+ *
+ * <p>
+ * Each time bucket is split into shards by the hash of the state, so every hash stays small
+ * enough for the compact {@code listpack} encoding, see {@code hash-max-listpack-entries}, which
+ * is {@code 128} by default: with the default {@code 1024} shards of a one minute bucket, a
+ * hash is converted to the larger {@code hashtable} encoding beyond about {@code 131072} states
+ * per minute.
+ *
+ * <p>
+ * Each write sets the ttl of its bucket to the timeout of the entry unless the bucket already
+ * lives longer, so a bucket expires with its last expiring entry, by the clock of redis. The
+ * expiry of each entry is also stored with its value, by the clock of this node, and checked on
+ * read, so an entry is never returned after its own timeout. A lookup reads all candidate buckets of the state in one script call, all
+ * buckets of a shard share a hash tag so this also works on a redis cluster.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see AuthRedisStateCache
+ */
+public class AuthBucketedRedisStateCache implements AuthStateCache {
+
+    private static final RedisScript<Long> PUT_SCRIPT = RedisScript.of(
+            new ClassPathResource("bucket-put.lua", AuthBucketedRedisStateCache.class), Long.class);
+
+    private static final RedisScript<String> GET_SCRIPT = RedisScript.of(
+            new ClassPathResource("bucket-get.lua", AuthBucketedRedisStateCache.class), String.class);
+
+    private static final char EXPIRY_SEPARATOR = ':';
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final JustAuthCacheProperties cacheProperties;
+
+    private final RedisStateKeyFormat keyFormat;
+
+    private final long bucketMillis;
+
+    private final int shards;
+
+    /**
+     * The longest timeout cached by this node, the lookup covers the buckets within it.
+     */
+    private final AtomicLong maxTimeout;
+
+    public AuthBucketedRedisStateCache(RedisConnectionFactory connectionFactory,
+            JustAuthCacheProperties cacheProperties) {
+        JustAuthRedisCacheConfig redisConfig = cacheProperties.getRedis();
+        Assert.isTrue(redisConfig.getBucketInterval().toMillis() > 0, "The bucket interval must be positive");
+        Assert.isTrue(redisConfig.getBucketShards() > 0, "The bucket shards must be positive");
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.redisTemplate.afterPropertiesSet();
+        this.cacheProperties = cacheProperties;
+        this.keyFormat = RedisStateKeyFormat.of(cacheProperties);
+        this.bucketMillis = redisConfig.getBucketInterval().toMillis();
+        this.shards = redisConfig.getBucketShards();
+        this.maxTimeout = new AtomicLong(cacheProperties.getTimeout().toMillis());
+    }
+
+    @Override
+    public void cache(String key, String value) {
+        this.cache(key, value, this.cacheProperties.getTimeout().toMillis());
+    }
+
+    @Override
+    public void cache(String key, String value, long timeout) {
+        this.maxTimeout.accumulateAndGet(timeout, Math::max);
+        long now = System.currentTimeMillis();
+        String bucketKey = this.keyFormat.formatBucket(this.shard(key), now / this.bucketMillis);
+        this.redisTemplate.execute(PUT_SCRIPT, Collections.singletonList(bucketKey),
+                key, String.valueOf(now + timeout) + EXPIRY_SEPARATOR + value, String.valueOf(timeout));
+    }
+
+    @Override
+    public String get(String key) {
+        long now = System.currentTimeMillis();
+        int shard = this.shard(key);
+        long newest = now / this.bucketMillis;
+        long oldest = (now - this.maxTimeout.get()) / this.bucketMillis;
+        List<String> bucketKeys = new ArrayList<>((int) (newest - oldest + 1));
+        for (long bucket = newest; bucket >= oldest; bucket--) {
+            bucketKeys.add(this.keyFormat.formatBucket(shard, bucket));
+        }
+
+        String entry = this.redisTemplate.execute(GET_SCRIPT, bucketKeys, key);
+        if (entry == null) {
+            return null;
+        }
+
+        int index = entry.indexOf(EXPIRY_SEPARATOR);
+        long expireAt = Long.parseLong(entry.substring(0, index));
+        return expireAt > now ? entry.substring(index + 1) : null;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return this.get(key) != null;
+    }
+
+    private int shard(String state) {
+        // String#hashCode is specified, so all nodes agree on the shard
+        return Math.floorMod(state.hashCode(), this.shards);
+    }
+
+}
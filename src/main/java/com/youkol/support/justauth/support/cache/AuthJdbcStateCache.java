@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties;
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties.JustAuthJdbcCacheConfig;
+
+import me.zhyd.oauth.cache.AuthStateCache;
+
+/**
+ * A JDBC implementation of {@link AuthStateCache}, for the deployments with a shared database
+ * but without redis. The table is created by the {@code schema.sql} next to this class.
+ *
+ * <p>
+ * The states are buffered and inserted in batches, either once the batch is full or after the
+ * flush interval; the buffered states are visible to this node immediately. While the database
+ * is unavailable the buffer keeps at most {@code max-pending} states, the expired ones are
+ * discarded on each flush and the new ones beyond it are dropped with a warning. Expired rows
+ * are deleted by a background sweeper in bounded batches, using the index on the expiry column.
+ *
+ * <p>
+ * When {@link JustAuthJdbcCacheConfig#isConsumeOnCheck() consume-on-check} is enabled, which is
+ * the default, {@link #containsKey(String)} consumes the state, so each state is accepted once.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthJdbcStateCache implements AuthStateCache, AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(AuthJdbcStateCache.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final JustAuthCacheProperties cacheProperties;
+
+    private final JustAuthJdbcCacheConfig jdbcConfig;
+
+    private final Map<String, PendingState> pendingStates = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final String insertSql;
+
+    private final String updateSql;
+
+    private final String selectSql;
+
+    private final String deleteSql;
+
+    private final String selectExpiredSql;
+
+    private final String deleteExpiredSql;
+
+    public AuthJdbcStateCache(JdbcTemplate jdbcTemplate, JustAuthCacheProperties cacheProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheProperties = cacheProperties;
+        this.jdbcConfig = cacheProperties.getJdbc();
+
+        String tableName = this.jdbcConfig.getTableName();
+        this.insertSql = "INSERT INTO " + tableName + " (STATE_KEY, STATE_VALUE, EXPIRES_AT) VALUES (?, ?, ?)";
+        this.updateSql = "UPDATE " + tableName + " SET STATE_VALUE = ?, EXPIRES_AT = ? WHERE STATE_KEY = ?";
+        this.selectSql = "SELECT STATE_VALUE FROM " + tableName + " WHERE STATE_KEY = ? AND EXPIRES_AT > ?";
+        this.deleteSql = "DELETE FROM " + tableName + " WHERE STATE_KEY = ? AND EXPIRES_AT > ?";
+        this.selectExpiredSql = "SELECT STATE_KEY FROM " + tableName + " WHERE EXPIRES_AT <= ?";
+        this.deleteExpiredSql = "DELETE FROM " + tableName + " WHERE STATE_KEY = ? AND EXPIRES_AT <= ?";
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("justauth-jdbc-state-");
+        threadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        long flushInterval = this.jdbcConfig.getFlushInterval().toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, flushInterval, flushInterval,
+                TimeUnit.MILLISECONDS);
+        long sweepInterval = this.jdbcConfig.getSweepInterval().toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::sweepQuietly, sweepInterval, sweepInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void cache(String key, String value) {
+        this.cache(key, value, this.cacheProperties.getTimeout().toMillis());
+    }
+
+    @Override
+    public void cache(String key, String value, long timeout) {
+        if (this.pendingStates.size() >= this.jdbcConfig.getMaxPending() && !this.pendingStates.containsKey(key)) {
+            // the database is down or too slow, don't let the buffer grow without bound
+            logger.warn("Dropped the state " + key + ", " + this.pendingStates.size() + " states are pending");
+            return;
+        }
+        this.pendingStates.put(key, new PendingState(value, System.currentTimeMillis() + timeout));
+        if (this.pendingStates.size() >= this.jdbcConfig.getBatchSize() && this.flushLock.tryLock()) {
+            try {
+                this.doFlush();
+            } finally {
+                this.flushLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public String get(String key) {
+        long now = System.currentTimeMillis();
+        PendingState pendingState = this.pendingStates.get(key);
+        if (pendingState != null) {
+            return pendingState.expiresAt > now ? pendingState.value : null;
+        }
+
+        List<String> values = this.jdbcTemplate.queryForList(this.selectSql, String.class, key, now);
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        if (this.jdbcConfig.isConsumeOnCheck()) {
+            return this.consume(key);
+        }
+        return this.get(key) != null;
+    }
+
+    /**
+     * Remove the given state, with a single statement if it has been written to the table.
+     *
+     * @param key the state
+     * @return {@code true} if the state existed and was not expired
+     */
+    public boolean consume(String key) {
+        long now = System.currentTimeMillis();
+        PendingState pendingState = this.pendingStates.remove(key);
+        if (pendingState != null) {
+            return pendingState.expiresAt > now;
+        }
+        return this.jdbcTemplate.update(this.deleteSql, key, now) > 0;
+    }
+
+    /**
+     * Insert the buffered states.
+     */
+    public void flush() {
+        this.flushLock.lock();
+        try {
+            this.doFlush();
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    private void doFlush() {
+        if (this.pendingStates.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(this.pendingStates.size());
+        List<Map.Entry<String, PendingState>> flushed = new ArrayList<>(this.pendingStates.size());
+        long expiredAt = System.currentTimeMillis();
+        for (Map.Entry<String, PendingState> entry : this.pendingStates.entrySet()) {
+            if (entry.getValue().expiresAt <= expiredAt) {
+                // not worth writing, and keeps the buffer bounded while the database is down
+                this.pendingStates.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            batch.add(new Object[] { entry.getKey(), entry.getValue().value, entry.getValue().expiresAt });
+            flushed.add(entry);
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.jdbcTemplate.batchUpdate(this.insertSql, batch);
+        } catch (DataAccessException ex) {
+            // e.g. a duplicated state, fall back to upsert one by one
+            for (Object[] args : batch) {
+                this.upsert((String) args[0], (String) args[1], (Long) args[2]);
+            }
+        }
+
+        // keep the states cached again during the flush, and delete the ones consumed meanwhile
+        List<Object[]> consumed = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, PendingState> entry : flushed) {
+            if (!this.pendingStates.remove(entry.getKey(), entry.getValue())
+                    && !this.pendingStates.containsKey(entry.getKey())) {
+                consumed.add(new Object[] { entry.getKey(), now });
+            }
+        }
+        if (!consumed.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(this.deleteSql, consumed);
+        }
+    }
+
+    private void upsert(String key, String value, long expiresAt) {
+        if (this.jdbcTemplate.update(this.updateSql, value, expiresAt, key) == 0) {
+            try {
+                this.jdbcTemplate.update(this.insertSql, key, value, expiresAt);
+            } catch (DataAccessException ex) {
+                logger.warn("Failed to save the state " + key, ex);
+            }
+        }
+    }
+
+    /**
+     * Delete the expired rows in bounded batches.
+     *
+     * @return the number of deleted rows
+     */
+    public int sweep() {
+        int deleted = 0;
+        int batchSize = this.jdbcConfig.getSweepBatchSize();
+        for (int i = 0; i < this.jdbcConfig.getSweepMaxBatches(); i++) {
+            long now = System.currentTimeMillis();
+            List<String> expiredKeys = this.selectExpiredKeys(now, batchSize);
+            if (expiredKeys.isEmpty()) {
+                break;
+            }
+
+            List<Object[]> batch = new ArrayList<>(expiredKeys.size());
+            for (String expiredKey : expiredKeys) {
+                batch.add(new Object[] { expiredKey, now });
+            }
+            for (int count : this.jdbcTemplate.batchUpdate(this.deleteExpiredSql, batch)) {
+                // some drivers report SUCCESS_NO_INFO (-2) for batches
+                deleted += Math.max(count, 0);
+            }
+            if (expiredKeys.size() < batchSize) {
+                break;
+            }
+        }
+        return deleted;
+    }
+
+    private List<String> selectExpiredKeys(long now, int batchSize) {
+        return this.jdbcTemplate.query(this.selectExpiredSql, ps -> {
+            ps.setMaxRows(batchSize);
+            ps.setLong(1, now);
+        }, (rs, rowNum) -> rs.getString(1));
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to flush the states", ex);
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            int deleted = this.sweep();
+            if (deleted > 0 && logger.isDebugEnabled()) {
+                logger.debug("Deleted " + deleted + " expired states");
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to delete the expired states", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+        this.flushQuietly();
+    }
+
+    private static final class PendingState {
+
+        private final String value;
+
+        private final long expiresAt;
+
+        PendingState(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
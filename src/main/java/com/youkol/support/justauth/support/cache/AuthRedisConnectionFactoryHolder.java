@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration.LettuceClientConfigurationBuilder;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties.JustAuthRedisCacheConfig;
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties.Pool;
+import com.youkol.support.justauth.autoconfigure.RedisReadFrom;
+
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+
+/**
+ * Holds the dedicated Lettuce {@link RedisConnectionFactory} of the state cache.
+ *
+ * <p>
+ * The factory is deliberately not exposed as a bean, so it neither replaces nor competes with
+ * the {@code RedisConnectionFactory} of the application.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthRedisConnectionFactoryHolder implements InitializingBean, DisposableBean {
+
+    private static final boolean COMMONS_POOL2_AVAILABLE = ClassUtils.isPresent("org.apache.commons.pool2.ObjectPool",
+            AuthRedisConnectionFactoryHolder.class.getClassLoader());
+
+    private final LettuceConnectionFactory connectionFactory;
+
+    public AuthRedisConnectionFactoryHolder(JustAuthRedisCacheConfig redisConfig) {
+        this.connectionFactory = new LettuceConnectionFactory(createConfiguration(redisConfig),
+                createClientConfiguration(redisConfig));
+    }
+
+    public RedisConnectionFactory getConnectionFactory() {
+        return this.connectionFactory;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        this.connectionFactory.afterPropertiesSet();
+    }
+
+    @Override
+    public void destroy() {
+        this.connectionFactory.destroy();
+    }
+
+    private static RedisConfiguration createConfiguration(JustAuthRedisCacheConfig redisConfig) {
+        if (!redisConfig.getCluster().getNodes().isEmpty()) {
+            RedisClusterConfiguration configuration = new RedisClusterConfiguration(
+                    redisConfig.getCluster().getNodes());
+            if (redisConfig.getCluster().getMaxRedirects() != null) {
+                configuration.setMaxRedirects(redisConfig.getCluster().getMaxRedirects());
+            }
+            configuration.setUsername(redisConfig.getUsername());
+            configuration.setPassword(redisConfig.getPassword());
+            return configuration;
+        }
+
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(redisConfig.getHost(),
+                redisConfig.getPort());
+        configuration.setDatabase(redisConfig.getDatabase());
+        configuration.setUsername(redisConfig.getUsername());
+        configuration.setPassword(redisConfig.getPassword());
+        return configuration;
+    }
+
+    private static LettuceClientConfiguration createClientConfiguration(JustAuthRedisCacheConfig redisConfig) {
+        LettuceClientConfigurationBuilder builder = redisConfig.getPool().isEnabled() && COMMONS_POOL2_AVAILABLE
+                ? PoolBuilderFactory.createBuilder(redisConfig.getPool())
+                : LettuceClientConfiguration.builder();
+        builder.commandTimeout(redisConfig.getTimeout());
+        if (redisConfig.isSsl()) {
+            builder.useSsl();
+        }
+        if (StringUtils.hasText(redisConfig.getClientName())) {
+            builder.clientName(redisConfig.getClientName());
+        }
+
+        if (!redisConfig.getCluster().getNodes().isEmpty()) {
+            // follow the failovers and the resharding of the cluster
+            builder.clientOptions(ClusterClientOptions.builder()
+                    .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                            .enableAllAdaptiveRefreshTriggers()
+                            .build())
+                    .build());
+            if (redisConfig.getReadFrom() != null) {
+                builder.readFrom(toReadFrom(redisConfig.getReadFrom()));
+            }
+        }
+        return builder.build();
+    }
+
+    private static ReadFrom toReadFrom(RedisReadFrom readFrom) {
+        switch (readFrom) {
+            case UPSTREAM:
+                return ReadFrom.UPSTREAM;
+            case UPSTREAM_PREFERRED:
+                return ReadFrom.UPSTREAM_PREFERRED;
+            case REPLICA:
+                return ReadFrom.REPLICA;
+            case REPLICA_PREFERRED:
+                return ReadFrom.REPLICA_PREFERRED;
+            case LOWEST_LATENCY:
+                return ReadFrom.LOWEST_LATENCY;
+            case ANY:
+                return ReadFrom.ANY;
+            case ANY_REPLICA:
+                return ReadFrom.ANY_REPLICA;
+            default:
+                throw new IllegalArgumentException("Unsupported read-from: " + readFrom);
+        }
+    }
+
+    /**
+     * Inner class to allow optional commons-pool2 dependency.
+     */
+    private static final class PoolBuilderFactory {
+
+        static LettuceClientConfigurationBuilder createBuilder(Pool pool) {
+            GenericObjectPoolConfig<?> poolConfig = new GenericObjectPoolConfig<>();
+            poolConfig.setMaxTotal(pool.getMaxActive());
+            poolConfig.setMaxIdle(pool.getMaxIdle());
+            poolConfig.setMinIdle(pool.getMinIdle());
+            poolConfig.setMaxWaitMillis(pool.getMaxWait().toMillis());
+            return LettucePoolingClientConfiguration.builder().poolConfig(poolConfig);
+        }
+
+    }
+
+}
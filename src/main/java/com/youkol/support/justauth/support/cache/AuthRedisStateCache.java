@@ -19,7 +19,6 @@ import java.util.concurrent.TimeUnit;
 
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.lang.NonNull;
-import org.springframework.util.StringUtils;
 
 import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties;
 
@@ -39,9 +38,12 @@ public class AuthRedisStateCache implements AuthStateCache {
 
     private JustAuthCacheProperties cacheProperties;
 
+    private final RedisStateKeyFormat keyFormat;
+
     public AuthRedisStateCache(StringRedisTemplate redisTemplate, JustAuthCacheProperties cacheProperties) {
         this.redisTemplate = redisTemplate;
         this.cacheProperties = cacheProperties;
+        this.keyFormat = RedisStateKeyFormat.of(cacheProperties);
     }
 
     @Override
@@ -67,14 +69,6 @@ public class AuthRedisStateCache implements AuthStateCache {
 
     @NonNull
     private String getCacheKey(String key) {
-        if (!StringUtils.hasText(this.cacheProperties.getKeyPrefix())) {
-            return JustAuthCacheProperties.DEFAULT_KEY_PREFIX + key;
-        }
-
-        if (this.cacheProperties.getKeyPrefix().endsWith(":")) {
-            return this.cacheProperties.getKeyPrefix() + key;
-        }
-
-        return this.cacheProperties.getKeyPrefix() + ":" + key;
+        return this.keyFormat.format(key);
     }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import me.zhyd.oauth.cache.AuthStateCache;
+
+/**
+ * An in-memory {@link AuthStateCache} bounded by the number of entries, the least recently
+ * used entries are evicted first.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class BoundedLocalStateCache implements AuthStateCache {
+
+    private final long defaultTimeout;
+
+    private final Map<String, Entry> entries;
+
+    public BoundedLocalStateCache(int maxSize, long defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return this.size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public void cache(String key, String value) {
+        this.cache(key, value, this.defaultTimeout);
+    }
+
+    @Override
+    public synchronized void cache(String key, String value, long timeout) {
+        this.entries.put(key, new Entry(value, System.currentTimeMillis() + timeout));
+    }
+
+    @Override
+    public synchronized String get(String key) {
+        Entry entry = this.entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            this.entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return this.get(key) != null;
+    }
+
+    public synchronized void remove(String key) {
+        this.entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Remove and return all unexpired entries, e.g. to write them through to the remote cache.
+     *
+     * @return the unexpired entries
+     */
+    public synchronized List<DrainedState> drain() {
+        long now = System.currentTimeMillis();
+        List<DrainedState> drained = new ArrayList<>(this.entries.size());
+        for (Iterator<Map.Entry<String, Entry>> it = this.entries.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, Entry> entry = it.next();
+            if (!entry.getValue().isExpired(now)) {
+                drained.add(new DrainedState(entry.getKey(), entry.getValue().value,
+                        entry.getValue().expiresAt - now));
+            }
+            it.remove();
+        }
+        return drained;
+    }
+
+    /**
+     * An entry removed by {@link BoundedLocalStateCache#drain()}.
+     */
+    public static final class DrainedState {
+
+        private final String key;
+
+        private final String value;
+
+        private final long timeToLive;
+
+        DrainedState(String key, String value, long timeToLive) {
+            this.key = key;
+            this.value = value;
+            this.timeToLive = timeToLive;
+        }
+
+        public String getKey() {
+            return this.key;
+        }
+
+        public String getValue() {
+            return this.value;
+        }
+
+        /**
+         * @return the remaining time to live in milliseconds
+         */
+        public long getTimeToLive() {
+            return this.timeToLive;
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final String value;
+
+        private final long expiresAt;
+
+        Entry(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return this.expiresAt <= now;
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import org.springframework.util.StringUtils;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties;
+import com.youkol.support.justauth.autoconfigure.RedisHashTag;
+
+/**
+ * The layout of the redis state keys: {@code head + state + tail}, where the head is the key
+ * prefix, and the cluster hash tag is placed according to {@link RedisHashTag}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public final class RedisStateKeyFormat {
+
+    private final String prefix;
+
+    private final String head;
+
+    private final String tail;
+
+    private RedisStateKeyFormat(String prefix, String head, String tail) {
+        this.prefix = prefix;
+        this.head = head;
+        this.tail = tail;
+    }
+
+    public static RedisStateKeyFormat of(JustAuthCacheProperties cacheProperties) {
+        String prefix = cacheProperties.getKeyPrefix();
+        if (!StringUtils.hasText(prefix)) {
+            prefix = JustAuthCacheProperties.DEFAULT_KEY_PREFIX;
+        } else if (!prefix.endsWith(":")) {
+            prefix = prefix + ":";
+        }
+
+        RedisHashTag hashTag = cacheProperties.getRedis().getHashTag();
+        if (hashTag == RedisHashTag.STATE) {
+            return new RedisStateKeyFormat(prefix, prefix + "{", "}");
+        }
+        if (hashTag == RedisHashTag.PREFIX && !prefix.contains("{")) {
+            return new RedisStateKeyFormat(prefix, "{" + prefix.substring(0, prefix.length() - 1) + "}:", "");
+        }
+        return new RedisStateKeyFormat(prefix, prefix, "");
+    }
+
+    public String getHead() {
+        return this.head;
+    }
+
+    public String getTail() {
+        return this.tail;
+    }
+
+    /**
+     * Return the key of the given state.
+     *
+     * @param state the state
+     * @return the key
+     */
+    public String format(String state) {
+        return this.head + state + this.tail;
+    }
+
+    /**
+     * Return the key of a bucket of states. Unless the prefix is tagged, the shard is tagged,
+     * so all buckets of one shard are in one slot and can be read by one script.
+     *
+     * @param shard  the shard of the states
+     * @param bucket the time bucket of the states
+     * @return the key
+     */
+    public String formatBucket(int shard, long bucket) {
+        if (this.head.startsWith("{") || this.prefix.contains("{")) {
+            return this.head + "BUCKET:" + shard + ":" + bucket;
+        }
+        return this.prefix + "BUCKET:{" + shard + "}:" + bucket;
+    }
+
+}
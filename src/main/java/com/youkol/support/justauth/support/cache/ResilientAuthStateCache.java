@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties.JustAuthCacheResilienceConfig;
+import com.youkol.support.justauth.support.cache.BoundedLocalStateCache.DrainedState;
+
+import me.zhyd.oauth.cache.AuthStateCache;
+
+/**
+ * An {@link AuthStateCache} which fails over from a remote cache, e.g. redis, to a bounded
+ * local cache.
+ *
+ * <p>
+ * The remote cache is considered down after consecutive calls failing or exceeding the latency
+ * budget. While degraded, all calls go to the local cache, and the remote cache is probed
+ * periodically; once it recovers, the states cached locally meanwhile are written through to
+ * it. A failed call in the healthy mode falls back to the local cache as well, rather than
+ * failing the login, and the state is written through by the next probe.
+ *
+ * <p>
+ * The latency budget doesn't cut a call short, a slow call still completes and only counts as
+ * a failure afterwards. Bound the calls by the timeout of the remote client, e.g.
+ * {@code spring.redis.timeout}, so a hanging remote cache can't block the logins.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class ResilientAuthStateCache implements AuthStateCache, AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(ResilientAuthStateCache.class);
+
+    private static final String PROBE_KEY = "YOUKOL:JUSTAUTH:PROBE";
+
+    private final AuthStateCache delegate;
+
+    private final BoundedLocalStateCache localCache;
+
+    private final long latencyBudgetNanos;
+
+    private final int failureThreshold;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final AtomicLong failoverCount = new AtomicLong();
+
+    private final AtomicLong errorCount = new AtomicLong();
+
+    private final AtomicLong degradedNanos = new AtomicLong();
+
+    private volatile boolean degraded;
+
+    private volatile long degradedSince;
+
+    public ResilientAuthStateCache(AuthStateCache delegate, JustAuthCacheResilienceConfig resilienceConfig,
+            long defaultTimeout) {
+        this.delegate = delegate;
+        this.localCache = new BoundedLocalStateCache(resilienceConfig.getLocalMaxSize(), defaultTimeout);
+        this.latencyBudgetNanos = resilienceConfig.getLatencyBudget().toNanos();
+        this.failureThreshold = resilienceConfig.getFailureThreshold();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("justauth-state-probe-");
+        threadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        long recoveryInterval = resilienceConfig.getRecoveryInterval().toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::probe, recoveryInterval, recoveryInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public AuthStateCache getDelegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public void cache(String key, String value) {
+        if (this.degraded) {
+            this.localCache.cache(key, value);
+            return;
+        }
+
+        try {
+            this.call(() -> {
+                this.delegate.cache(key, value);
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            this.localCache.cache(key, value);
+        }
+    }
+
+    @Override
+    public void cache(String key, String value, long timeout) {
+        if (this.degraded) {
+            this.localCache.cache(key, value, timeout);
+            return;
+        }
+
+        try {
+            this.call(() -> {
+                this.delegate.cache(key, value, timeout);
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            this.localCache.cache(key, value, timeout);
+        }
+    }
+
+    @Override
+    public String get(String key) {
+        if (this.degraded) {
+            return this.localCache.get(key);
+        }
+
+        try {
+            String value = this.call(() -> this.delegate.get(key));
+            return value != null ? value : this.localCache.get(key);
+        } catch (RuntimeException ex) {
+            return this.localCache.get(key);
+        }
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        if (this.degraded) {
+            return this.localCache.containsKey(key);
+        }
+
+        try {
+            return this.call(() -> this.delegate.containsKey(key)) || this.localCache.containsKey(key);
+        } catch (RuntimeException ex) {
+            return this.localCache.containsKey(key);
+        }
+    }
+
+    public boolean isDegraded() {
+        return this.degraded;
+    }
+
+    /**
+     * @return the total time spent in the degraded mode, in milliseconds
+     */
+    public long getDegradedTime() {
+        long total = this.degradedNanos.get();
+        if (this.degraded) {
+            total += System.nanoTime() - this.degradedSince;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(total);
+    }
+
+    /**
+     * @return the number of times the cache failed over to the local cache
+     */
+    public long getFailoverCount() {
+        return this.failoverCount.get();
+    }
+
+    /**
+     * @return the number of failed or too slow calls of the remote cache
+     */
+    public long getErrorCount() {
+        return this.errorCount.get();
+    }
+
+    public int getLocalSize() {
+        return this.localCache.size();
+    }
+
+    private <T> T call(Supplier<T> supplier) {
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = supplier.get();
+        } catch (RuntimeException ex) {
+            this.onFailure(ex);
+            throw ex;
+        }
+
+        if (System.nanoTime() - start > this.latencyBudgetNanos) {
+            this.onFailure(null);
+        } else {
+            this.consecutiveFailures.set(0);
+        }
+        return result;
+    }
+
+    private void onFailure(RuntimeException ex) {
+        this.errorCount.incrementAndGet();
+        if (this.consecutiveFailures.incrementAndGet() >= this.failureThreshold) {
+            this.enterDegraded(ex);
+        }
+    }
+
+    private synchronized void enterDegraded(RuntimeException ex) {
+        if (this.degraded) {
+            return;
+        }
+
+        this.degradedSince = System.nanoTime();
+        this.degraded = true;
+        this.failoverCount.incrementAndGet();
+        logger.warn("The remote state cache is unavailable, failing over to the local cache", ex);
+    }
+
+    private void probe() {
+        if (!this.degraded) {
+            this.writeBack();
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            this.delegate.containsKey(PROBE_KEY);
+            if (System.nanoTime() - start > this.latencyBudgetNanos) {
+                return;
+            }
+
+            this.writeThrough();
+            this.recover();
+        } catch (RuntimeException ex) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("The remote state cache is still unavailable", ex);
+            }
+        }
+    }
+
+    /**
+     * Write through the states cached locally after a failed call in the healthy mode, which
+     * would otherwise stay on this node until they expire.
+     */
+    private void writeBack() {
+        if (this.localCache.size() == 0) {
+            return;
+        }
+
+        try {
+            this.writeThrough();
+        } catch (RuntimeException ex) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Failed to write the local states back to the remote state cache", ex);
+            }
+        }
+    }
+
+    private void writeThrough() {
+        List<DrainedState> drained = this.localCache.drain();
+        for (int i = 0; i < drained.size(); i++) {
+            DrainedState state = drained.get(i);
+            try {
+                this.delegate.cache(state.getKey(), state.getValue(), state.getTimeToLive());
+            } catch (RuntimeException ex) {
+                // keep the states not written yet, and stay degraded
+                for (int j = i; j < drained.size(); j++) {
+                    DrainedState pending = drained.get(j);
+                    this.localCache.cache(pending.getKey(), pending.getValue(), pending.getTimeToLive());
+                }
+                throw ex;
+            }
+        }
+    }
+
+    private synchronized void recover() {
+        this.consecutiveFailures.set(0);
+        this.degradedNanos.addAndGet(System.nanoTime() - this.degradedSince);
+        this.degraded = false;
+        logger.info("The remote state cache is recovered");
+        try {
+            // the states cached locally between the write-through and now
+            this.writeThrough();
+        } catch (RuntimeException ex) {
+            // still readable from the local cache
+        }
+    }
+
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+        if (this.delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) this.delegate).close();
+            } catch (Exception ex) {
+                if (ex instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                logger.warn("Failed to close the remote state cache", ex);
+            }
+        }
+    }
+
+}
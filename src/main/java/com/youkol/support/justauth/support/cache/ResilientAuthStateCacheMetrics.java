@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import me.zhyd.oauth.cache.AuthStateCache;
+
+/**
+ * Metrics of {@link ResilientAuthStateCache}, nothing is bound for the other caches.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class ResilientAuthStateCacheMetrics implements MeterBinder {
+
+    private final AuthStateCache authStateCache;
+
+    public ResilientAuthStateCacheMetrics(AuthStateCache authStateCache) {
+        this.authStateCache = authStateCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(this.authStateCache instanceof ResilientAuthStateCache)) {
+            return;
+        }
+
+        ResilientAuthStateCache cache = (ResilientAuthStateCache) this.authStateCache;
+        Gauge.builder("justauth.state.cache.degraded", cache, c -> c.isDegraded() ? 1 : 0)
+                .description("Whether the state cache is failed over to the local cache")
+                .register(registry);
+        FunctionCounter.builder("justauth.state.cache.degraded.time", cache, c -> c.getDegradedTime() / 1000.0)
+                .description("Total time the state cache spent failed over to the local cache")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("justauth.state.cache.failovers", cache, ResilientAuthStateCache::getFailoverCount)
+                .description("Number of fail-overs to the local cache")
+                .register(registry);
+        FunctionCounter.builder("justauth.state.cache.errors", cache, ResilientAuthStateCache::getErrorCount)
+                .description("Number of failed or too slow calls of the remote state cache")
+                .register(registry);
+        Gauge.builder("justauth.state.cache.local.size", cache, ResilientAuthStateCache::getLocalSize)
+                .description("Number of states in the local cache")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,617 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+
+import me.zhyd.oauth.enums.AuthUserGender;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+
+/**
+ * A compact binary codec of {@link AuthUser} and {@link AuthToken}, e.g. to cache the login
+ * results in redis.
+ *
+ * <p>
+ * The encoded form is a header of the magic byte, the format version and the kind, followed by
+ * a bit set of the present fields and their values in the field order; the strings are
+ * length-prefixed UTF-8, the ints are zig-zag varints and the booleans are bits of the bit set.
+ * The source names and the token types are interned, i.e. encoded as their index in a
+ * dictionary, and the {@code rawUserInfo} is deflated once it exceeds the threshold.
+ *
+ * <p>
+ * The fields of a later version are only appended, the decoder skips the fields it doesn't
+ * know, so nodes of different versions can share a cache. The extra source names are appended
+ * to the dictionary, they must be the same on all the nodes, and only be appended to.
+ *
+ * <p>
+ * The codec is thread-safe.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthUserCodec {
+
+    static final int MAGIC = 0x4A;
+
+    static final int VERSION = 1;
+
+    static final int KIND_USER = 'U';
+
+    static final int KIND_TOKEN = 'T';
+
+    private static final int RAW_PLAIN = 0;
+
+    private static final int RAW_DEFLATED = 1;
+
+    private static final int MAX_RAW_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * The built-in source names of the version 1, the names added later are interned by the
+     * extra names, so the nodes of an older version can still decode them.
+     */
+    private static final List<String> SOURCE_NAMES = Collections.unmodifiableList(Arrays.asList(
+            "GITHUB", "WEIBO", "GITEE", "DINGTALK", "DINGTALK_ACCOUNT", "BAIDU", "CSDN", "CODING", "OSCHINA",
+            "ALIPAY", "QQ", "WECHAT_OPEN", "WECHAT_MP", "TAOBAO", "GOOGLE", "FACEBOOK", "DOUYIN", "LINKEDIN",
+            "MICROSOFT", "MICROSOFT_CN", "MI", "TOUTIAO", "TEAMBITION", "RENREN", "PINTEREST", "STACK_OVERFLOW",
+            "HUAWEI", "HUAWEI_V3", "WECHAT_ENTERPRISE", "WECHAT_ENTERPRISE_QRCODE_THIRD", "WECHAT_ENTERPRISE_WEB",
+            "KUJIALE", "GITLAB", "MEITUAN", "ELEME", "TWITTER", "FEISHU", "JD", "ALIYUN", "XMLY", "AMAZON",
+            "SLACK", "LINE", "OKTA", "PROGINN", "AFDIAN", "WECHAT_MINI_PROGRAM", "DINGTALK_V2"));
+
+    /**
+     * The token types, append only.
+     */
+    private static final Dictionary TOKEN_TYPES = new Dictionary(
+            Arrays.asList("bearer", "Bearer", "BEARER", "mac", "MAC"));
+
+    /**
+     * The gender codes, append only.
+     */
+    private static final AuthUserGender[] GENDERS = { AuthUserGender.MALE, AuthUserGender.FEMALE,
+            AuthUserGender.UNKNOWN };
+
+    private static final List<StringField<AuthToken>> TOKEN_STRINGS = Arrays.asList(
+            new StringField<>(AuthToken::getAccessToken, AuthToken::setAccessToken),
+            new StringField<>(AuthToken::getRefreshToken, AuthToken::setRefreshToken),
+            new StringField<>(AuthToken::getUid, AuthToken::setUid),
+            new StringField<>(AuthToken::getOpenId, AuthToken::setOpenId),
+            new StringField<>(AuthToken::getAccessCode, AuthToken::setAccessCode),
+            new StringField<>(AuthToken::getUnionId, AuthToken::setUnionId),
+            new StringField<>(AuthToken::getScope, AuthToken::setScope),
+            new StringField<>(AuthToken::getTokenType, AuthToken::setTokenType, TOKEN_TYPES),
+            new StringField<>(AuthToken::getIdToken, AuthToken::setIdToken),
+            new StringField<>(AuthToken::getMacAlgorithm, AuthToken::setMacAlgorithm),
+            new StringField<>(AuthToken::getMacKey, AuthToken::setMacKey),
+            new StringField<>(AuthToken::getCode, AuthToken::setCode),
+            new StringField<>(AuthToken::getOauthToken, AuthToken::setOauthToken),
+            new StringField<>(AuthToken::getOauthTokenSecret, AuthToken::setOauthTokenSecret),
+            new StringField<>(AuthToken::getUserId, AuthToken::setUserId),
+            new StringField<>(AuthToken::getScreenName, AuthToken::setScreenName));
+
+    private static final int TOKEN_EXPIRE_IN = TOKEN_STRINGS.size();
+
+    private static final int TOKEN_REFRESH_TOKEN_EXPIRE_IN = TOKEN_EXPIRE_IN + 1;
+
+    private static final int TOKEN_CALLBACK_CONFIRMED = TOKEN_EXPIRE_IN + 2;
+
+    private static final int TOKEN_CALLBACK_CONFIRMED_VALUE = TOKEN_EXPIRE_IN + 3;
+
+    private static final List<StringField<AuthUser>> USER_STRINGS = Arrays.asList(
+            new StringField<>(AuthUser::getUuid, AuthUser::setUuid),
+            new StringField<>(AuthUser::getUsername, AuthUser::setUsername),
+            new StringField<>(AuthUser::getNickname, AuthUser::setNickname),
+            new StringField<>(AuthUser::getAvatar, AuthUser::setAvatar),
+            new StringField<>(AuthUser::getBlog, AuthUser::setBlog),
+            new StringField<>(AuthUser::getCompany, AuthUser::setCompany),
+            new StringField<>(AuthUser::getLocation, AuthUser::setLocation),
+            new StringField<>(AuthUser::getEmail, AuthUser::setEmail),
+            new StringField<>(AuthUser::getRemark, AuthUser::setRemark));
+
+    private static final int USER_SOURCE = USER_STRINGS.size();
+
+    private static final int USER_GENDER = USER_SOURCE + 1;
+
+    private static final int USER_TOKEN = USER_SOURCE + 2;
+
+    private static final int USER_RAW_USER_INFO = USER_SOURCE + 3;
+
+    private static final int USER_SNAPSHOT = USER_SOURCE + 4;
+
+    private final Dictionary sourceNames;
+
+    private final int compressThreshold;
+
+    /**
+     * Create a codec with the built-in source names, deflating the {@code rawUserInfo} of 256
+     * bytes or more.
+     */
+    public AuthUserCodec() {
+        this(Collections.emptyList(), 256);
+    }
+
+    /**
+     * Create a codec.
+     *
+     * @param extraSourceNames  the names of the extended sources to intern, appended to the
+     *                          built-in ones, the same on all the nodes sharing the cache
+     * @param compressThreshold the minimum size of the {@code rawUserInfo} to deflate, in bytes,
+     *                          not deflated if negative
+     */
+    public AuthUserCodec(Collection<String> extraSourceNames, int compressThreshold) {
+        List<String> names = new ArrayList<>(SOURCE_NAMES);
+        for (String name : extraSourceNames) {
+            if (!names.contains(name)) {
+                names.add(name);
+            }
+        }
+        this.sourceNames = new Dictionary(names);
+        this.compressThreshold = compressThreshold;
+    }
+
+    /**
+     * Encode the given user, with its token.
+     *
+     * @param user the user
+     * @return the encoded user
+     */
+    public byte[] encodeUser(AuthUser user) {
+        Output out = new Output();
+        out.writeHeader(KIND_USER);
+
+        long fields = presentStrings(USER_STRINGS, user);
+        fields |= bit(USER_SOURCE, user.getSource() != null);
+        fields |= bit(USER_GENDER, user.getGender() != null);
+        fields |= bit(USER_TOKEN, user.getToken() != null);
+        fields |= bit(USER_RAW_USER_INFO, user.getRawUserInfo() != null);
+        fields |= bit(USER_SNAPSHOT, user.isSnapshotUser());
+        out.writeVarLong(fields);
+
+        writeStrings(out, USER_STRINGS, user, fields);
+        if (isPresent(fields, USER_SOURCE)) {
+            out.writeInterned(user.getSource(), this.sourceNames);
+        }
+        if (isPresent(fields, USER_GENDER)) {
+            out.writeVarLong(genderCode(user.getGender()));
+        }
+        if (isPresent(fields, USER_TOKEN)) {
+            // length-prefixed, so the fields appended to the token later are skipped
+            Output token = new Output();
+            writeToken(token, user.getToken());
+            out.writeBytes(token.toByteArray());
+        }
+        if (isPresent(fields, USER_RAW_USER_INFO)) {
+            this.writeRawUserInfo(out, JSON.toJSONString(user.getRawUserInfo()).getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a user encoded by {@link #encodeUser(AuthUser)}.
+     *
+     * @param bytes the encoded user
+     * @return the user
+     * @throws AuthException if the bytes are not an encoded user
+     */
+    public AuthUser decodeUser(byte[] bytes) {
+        Input in = new Input(bytes);
+        in.readHeader(KIND_USER);
+
+        AuthUser user = new AuthUser();
+        long fields = in.readVarLong();
+        readStrings(in, USER_STRINGS, user, fields);
+        if (isPresent(fields, USER_SOURCE)) {
+            user.setSource(in.readInterned(this.sourceNames));
+        }
+        if (isPresent(fields, USER_GENDER)) {
+            long code = in.readVarLong();
+            user.setGender(code >= 0 && code < GENDERS.length ? GENDERS[(int) code] : AuthUserGender.UNKNOWN);
+        }
+        if (isPresent(fields, USER_TOKEN)) {
+            user.setToken(readToken(new Input(in.readBytes())));
+        }
+        if (isPresent(fields, USER_RAW_USER_INFO)) {
+            byte[] rawUserInfo = readRawUserInfo(in);
+            try {
+                user.setRawUserInfo(JSON.parseObject(new String(rawUserInfo, StandardCharsets.UTF_8)));
+            } catch (JSONException ex) {
+                throw new AuthException("Malformed rawUserInfo of the encoded user", ex);
+            }
+        }
+        user.setSnapshotUser(isPresent(fields, USER_SNAPSHOT));
+        return user;
+    }
+
+    /**
+     * Encode the given token.
+     *
+     * @param token the token
+     * @return the encoded token
+     */
+    public byte[] encodeToken(AuthToken token) {
+        Output out = new Output();
+        out.writeHeader(KIND_TOKEN);
+        writeToken(out, token);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a token encoded by {@link #encodeToken(AuthToken)}.
+     *
+     * @param bytes the encoded token
+     * @return the token
+     * @throws AuthException if the bytes are not an encoded token
+     */
+    public AuthToken decodeToken(byte[] bytes) {
+        Input in = new Input(bytes);
+        in.readHeader(KIND_TOKEN);
+        return readToken(in);
+    }
+
+    private static void writeToken(Output out, AuthToken token) {
+        Boolean callbackConfirmed = token.getOauthCallbackConfirmed();
+        long fields = presentStrings(TOKEN_STRINGS, token);
+        fields |= bit(TOKEN_EXPIRE_IN, token.getExpireIn() != 0);
+        fields |= bit(TOKEN_REFRESH_TOKEN_EXPIRE_IN, token.getRefreshTokenExpireIn() != 0);
+        fields |= bit(TOKEN_CALLBACK_CONFIRMED, callbackConfirmed != null);
+        fields |= bit(TOKEN_CALLBACK_CONFIRMED_VALUE, Boolean.TRUE.equals(callbackConfirmed));
+        out.writeVarLong(fields);
+
+        writeStrings(out, TOKEN_STRINGS, token, fields);
+        if (isPresent(fields, TOKEN_EXPIRE_IN)) {
+            out.writeVarInt(token.getExpireIn());
+        }
+        if (isPresent(fields, TOKEN_REFRESH_TOKEN_EXPIRE_IN)) {
+            out.writeVarInt(token.getRefreshTokenExpireIn());
+        }
+    }
+
+    private static AuthToken readToken(Input in) {
+        AuthToken token = new AuthToken();
+        long fields = in.readVarLong();
+        readStrings(in, TOKEN_STRINGS, token, fields);
+        if (isPresent(fields, TOKEN_EXPIRE_IN)) {
+            token.setExpireIn(in.readVarInt());
+        }
+        if (isPresent(fields, TOKEN_REFRESH_TOKEN_EXPIRE_IN)) {
+            token.setRefreshTokenExpireIn(in.readVarInt());
+        }
+        if (isPresent(fields, TOKEN_CALLBACK_CONFIRMED)) {
+            token.setOauthCallbackConfirmed(isPresent(fields, TOKEN_CALLBACK_CONFIRMED_VALUE));
+        }
+        return token;
+    }
+
+    private void writeRawUserInfo(Output out, byte[] rawUserInfo) {
+        if (this.compressThreshold >= 0 && rawUserInfo.length >= this.compressThreshold) {
+            byte[] deflated = deflate(rawUserInfo);
+            if (deflated.length < rawUserInfo.length) {
+                out.writeByte(RAW_DEFLATED);
+                out.writeVarLong(rawUserInfo.length);
+                out.writeBytes(deflated);
+                return;
+            }
+        }
+
+        out.writeByte(RAW_PLAIN);
+        out.writeBytes(rawUserInfo);
+    }
+
+    private static byte[] readRawUserInfo(Input in) {
+        int format = in.readByte();
+        if (format == RAW_PLAIN) {
+            return in.readBytes();
+        }
+        if (format != RAW_DEFLATED) {
+            throw new AuthException("Unknown format " + format + " of the encoded rawUserInfo");
+        }
+
+        long length = in.readVarLong();
+        if (length < 0 || length > MAX_RAW_LENGTH) {
+            throw new AuthException("The encoded rawUserInfo is too large: " + length);
+        }
+        return inflate(in.readBytes(), (int) length);
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            byte[] buffer = new byte[bytes.length];
+            int length = 0;
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            // not smaller, stored as is
+            return deflater.finished() ? Arrays.copyOf(buffer, length) : bytes;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int length) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(bytes);
+            byte[] buffer = new byte[length];
+            int inflated = 0;
+            while (inflated < length) {
+                int count = inflater.inflate(buffer, inflated, length - inflated);
+                if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != length) {
+                throw new AuthException("Truncated rawUserInfo of the encoded user");
+            }
+            return buffer;
+        } catch (DataFormatException ex) {
+            throw new AuthException("Malformed rawUserInfo of the encoded user", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static <T> long presentStrings(List<StringField<T>> strings, T target) {
+        long fields = 0;
+        for (int i = 0; i < strings.size(); i++) {
+            fields |= bit(i, strings.get(i).getter.apply(target) != null);
+        }
+        return fields;
+    }
+
+    private static <T> void writeStrings(Output out, List<StringField<T>> strings, T target, long fields) {
+        for (int i = 0; i < strings.size(); i++) {
+            if (isPresent(fields, i)) {
+                StringField<T> field = strings.get(i);
+                out.writeInterned(field.getter.apply(target), field.dictionary);
+            }
+        }
+    }
+
+    private static <T> void readStrings(Input in, List<StringField<T>> strings, T target, long fields) {
+        for (int i = 0; i < strings.size(); i++) {
+            if (isPresent(fields, i)) {
+                StringField<T> field = strings.get(i);
+                field.setter.accept(target, in.readInterned(field.dictionary));
+            }
+        }
+    }
+
+    private static int genderCode(AuthUserGender gender) {
+        for (int i = 0; i < GENDERS.length; i++) {
+            if (GENDERS[i] == gender) {
+                return i;
+            }
+        }
+        return genderCode(AuthUserGender.UNKNOWN);
+    }
+
+    private static long bit(int field, boolean present) {
+        return present ? 1L << field : 0L;
+    }
+
+    private static boolean isPresent(long fields, int field) {
+        return (fields & (1L << field)) != 0;
+    }
+
+    private static final class StringField<T> {
+
+        private final Function<T, String> getter;
+
+        private final BiConsumer<T, String> setter;
+
+        private final Dictionary dictionary;
+
+        StringField(Function<T, String> getter, BiConsumer<T, String> setter) {
+            this(getter, setter, null);
+        }
+
+        StringField(Function<T, String> getter, BiConsumer<T, String> setter, Dictionary dictionary) {
+            this.getter = getter;
+            this.setter = setter;
+            this.dictionary = dictionary;
+        }
+
+    }
+
+    /**
+     * The interned strings, encoded as their index plus one, {@code 0} for a string not interned.
+     */
+    private static final class Dictionary {
+
+        private final String[] strings;
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        Dictionary(List<String> strings) {
+            this.strings = strings.toArray(new String[0]);
+            for (int i = 0; i < this.strings.length; i++) {
+                this.indexes.put(this.strings[i], i + 1);
+            }
+        }
+
+    }
+
+    private static final class Output {
+
+        private byte[] buffer = new byte[128];
+
+        private int size;
+
+        void writeHeader(int kind) {
+            this.writeByte(MAGIC);
+            this.writeByte(VERSION);
+            this.writeByte(kind);
+        }
+
+        void writeByte(int value) {
+            this.ensureCapacity(1);
+            this.buffer[this.size++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            this.ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                this.buffer[this.size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            this.buffer[this.size++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            // zig-zag, so the small negative values are short as well
+            this.writeVarLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+        }
+
+        void writeBytes(byte[] bytes) {
+            this.writeVarLong(bytes.length);
+            this.ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, this.buffer, this.size, bytes.length);
+            this.size += bytes.length;
+        }
+
+        void writeInterned(String value, Dictionary dictionary) {
+            Integer index = dictionary != null ? dictionary.indexes.get(value) : null;
+            if (index != null) {
+                this.writeVarLong(index);
+                return;
+            }
+            if (dictionary != null) {
+                this.writeVarLong(0);
+            }
+            this.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(this.buffer, this.size);
+        }
+
+        private void ensureCapacity(int length) {
+            if (this.size + length > this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.size + length));
+            }
+        }
+
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+
+        private int position;
+
+        Input(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        void readHeader(int kind) {
+            if (this.buffer.length < 3 || (this.buffer[0] & 0xFF) != MAGIC) {
+                throw new AuthException("Not an encoded user or token");
+            }
+            // the later versions only append fields
+            if ((this.buffer[1] & 0xFF) < 1) {
+                throw new AuthException("Unsupported version " + this.buffer[1] + " of the encoded user or token");
+            }
+            if ((this.buffer[2] & 0xFF) != kind) {
+                throw new AuthException("Unexpected kind " + (char) this.buffer[2] + " of the encoded user or token");
+            }
+            this.position = 3;
+        }
+
+        int readByte() {
+            if (this.position >= this.buffer.length) {
+                throw new AuthException("Truncated user or token");
+            }
+            return this.buffer[this.position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = this.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new AuthException("Malformed varint of the encoded user or token");
+        }
+
+        int readVarInt() {
+            int value = (int) this.readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        byte[] readBytes() {
+            long length = this.readLength();
+            byte[] bytes = Arrays.copyOfRange(this.buffer, this.position, this.position + (int) length);
+            this.position += (int) length;
+            return bytes;
+        }
+
+        String readInterned(Dictionary dictionary) {
+            if (dictionary != null) {
+                long index = this.readVarLong();
+                if (index < 0 || index > dictionary.strings.length) {
+                    throw new AuthException("Unknown interned string " + index + " of the encoded user or token");
+                }
+                if (index > 0) {
+                    return dictionary.strings[(int) index - 1];
+                }
+            }
+
+            long length = this.readLength();
+            String value = new String(this.buffer, this.position, (int) length, StandardCharsets.UTF_8);
+            this.position += (int) length;
+            return value;
+        }
+
+        /**
+         * Read the length of the bytes or the string which follows, a corrupted length may be
+         * negative as the varints are unsigned.
+         */
+        private long readLength() {
+            long length = this.readVarLong();
+            if (length < 0) {
+                throw new AuthException("Malformed length " + length + " of the encoded user or token");
+            }
+            if (length > this.buffer.length - this.position) {
+                throw new AuthException("Truncated user or token");
+            }
+            return length;
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthUser;
+
+/**
+ * A {@link RedisSerializer} of {@link AuthUser} by the {@link AuthUserCodec}, e.g. the value
+ * serializer of a {@code RedisTemplate<String, AuthUser>}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthUserRedisSerializer implements RedisSerializer<AuthUser> {
+
+    private final AuthUserCodec codec;
+
+    public AuthUserRedisSerializer(AuthUserCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(AuthUser value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return this.codec.encodeUser(value);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Failed to encode AuthUser", ex);
+        }
+    }
+
+    @Override
+    public AuthUser deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try {
+            return this.codec.decodeUser(bytes);
+        } catch (AuthException ex) {
+            throw new SerializationException("Failed to decode AuthUser", ex);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return AuthUser.class;
+    }
+
+}
@@ -15,7 +15,9 @@
  */
 package com.youkol.support.justauth.support.config;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 import me.zhyd.oauth.config.AuthConfig;
 import me.zhyd.oauth.config.AuthDefaultSource;
@@ -44,4 +46,14 @@ public interface AuthConfigRepository {
      * @return 返回找到的{@link AuthConfig}, 否则返回{@code null}
      */
     AuthConfig getAuthConfigById(String authConfigId);
+
+    /**
+     * 返回所有可用的配置标识，无需加载{@link AuthConfig}时优先使用
+     *
+     * @return 返回所有可用的配置标识
+     */
+    default Set<String> listAuthConfigIds() {
+        Map<String, AuthConfig> authConfigs = this.listAuthConfig();
+        return authConfigs == null ? Collections.emptySet() : authConfigs.keySet();
+    }
 }
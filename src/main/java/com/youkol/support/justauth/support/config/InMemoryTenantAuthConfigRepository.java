@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import me.zhyd.oauth.config.AuthConfig;
+
+/**
+ * A {@link TenantAuthConfigRepository} of the given configs, keyed by the tenant and then by
+ * the case-insensitive name of source.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class InMemoryTenantAuthConfigRepository implements TenantAuthConfigRepository {
+
+    private final Map<String, Map<String, AuthConfig>> authConfigs = new HashMap<>();
+
+    public InMemoryTenantAuthConfigRepository(Map<String, Map<String, AuthConfig>> authConfigs) {
+        authConfigs.forEach((tenant, tenantAuthConfigs) -> {
+            Map<String, AuthConfig> sourceAuthConfigs = new LinkedCaseInsensitiveMap<>();
+            sourceAuthConfigs.putAll(tenantAuthConfigs);
+            this.authConfigs.put(tenant, sourceAuthConfigs);
+        });
+    }
+
+    @Override
+    public AuthConfig getAuthConfig(String tenant, String source) {
+        Map<String, AuthConfig> tenantAuthConfigs = this.authConfigs.get(tenant);
+        return tenantAuthConfigs != null ? tenantAuthConfigs.get(source) : null;
+    }
+
+}
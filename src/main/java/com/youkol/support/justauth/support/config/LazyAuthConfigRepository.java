@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import me.zhyd.oauth.config.AuthConfig;
+
+/**
+ * An {@link AuthConfigRepository} which initializes each {@link AuthConfig} on first use,
+ * instead of all of them when the application starts.
+ *
+ * <p>
+ * {@link #listAuthConfig()} initializes all configs, use {@link #listAuthConfigIds()} to list
+ * the sources only.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class LazyAuthConfigRepository implements AuthConfigRepository {
+
+    private final Map<String, AuthConfig> rawAuthConfigs = new LinkedCaseInsensitiveMap<>();
+
+    private final BiFunction<String, AuthConfig, AuthConfig> initializer;
+
+    private final Map<String, AuthConfig> authConfigs = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new repository.
+     *
+     * @param rawAuthConfigs the configs keyed by source, before initialized
+     * @param initializer    initializes the config of a source, e.g. applies its http settings
+     */
+    public LazyAuthConfigRepository(Map<String, AuthConfig> rawAuthConfigs,
+            BiFunction<String, AuthConfig, AuthConfig> initializer) {
+        if (!CollectionUtils.isEmpty(rawAuthConfigs)) {
+            this.rawAuthConfigs.putAll(rawAuthConfigs);
+        }
+        this.initializer = initializer;
+    }
+
+    @Override
+    public Map<String, AuthConfig> listAuthConfig() {
+        Map<String, AuthConfig> result = new LinkedCaseInsensitiveMap<>(this.rawAuthConfigs.size());
+        for (String authConfigId : this.rawAuthConfigs.keySet()) {
+            result.put(authConfigId, this.getAuthConfigById(authConfigId));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public Set<String> listAuthConfigIds() {
+        return Collections.unmodifiableSet(this.rawAuthConfigs.keySet());
+    }
+
+    @Override
+    public AuthConfig getAuthConfigById(String authConfigId) {
+        AuthConfig rawAuthConfig = this.rawAuthConfigs.get(authConfigId);
+        if (rawAuthConfig == null) {
+            return null;
+        }
+        return this.authConfigs.computeIfAbsent(authConfigId.toUpperCase(),
+                key -> this.initializer.apply(authConfigId, rawAuthConfig));
+    }
+
+    /**
+     * Return whether the config of the given source is initialized.
+     *
+     * @param authConfigId the name of source
+     * @return {@code true} if initialized
+     */
+    public boolean isInitialized(String authConfigId) {
+        return this.authConfigs.containsKey(authConfigId.toUpperCase());
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.config;
+
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.config.AuthDefaultSource;
+
+/**
+ * Looks up the {@link AuthConfig} of a source for a tenant, e.g. from the table of the tenant
+ * settings, as each tenant has its own client of the same source.
+ *
+ * <p>
+ * The configs are cached by {@code TenantAuthRequestFactory}, so a lookup may be slow.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see InMemoryTenantAuthConfigRepository
+ */
+@FunctionalInterface
+public interface TenantAuthConfigRepository {
+
+    /**
+     * Return the {@link AuthConfig} of the source for the tenant.
+     *
+     * @param tenant the id of the tenant
+     * @param source the name of source, case-insensitive, e.g. of {@link AuthDefaultSource}
+     * @return the {@link AuthConfig}, or {@code null} if the tenant doesn't use the source
+     */
+    AuthConfig getAuthConfig(String tenant, String source);
+
+}
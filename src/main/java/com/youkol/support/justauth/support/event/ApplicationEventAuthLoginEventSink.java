@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.event;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * An {@link AuthLoginEventSink} which publishes each event as an application event, to the
+ * {@code @EventListener}s of {@link AuthLoginEvent}. The listeners run on the consumer thread
+ * of {@link AuthLoginEventPublisher}, unless the multicaster is asynchronous.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class ApplicationEventAuthLoginEventSink implements AuthLoginEventSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ApplicationEventAuthLoginEventSink(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void write(List<AuthLoginEvent> events) {
+        for (AuthLoginEvent event : events) {
+            this.applicationEventPublisher.publishEvent(event);
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.event;
+
+/**
+ * The audit record of a login, published by {@link AuthLoginEventInterceptor}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthLoginEvent {
+
+    private final String source;
+
+    private final String uuid;
+
+    private final Outcome outcome;
+
+    private final int code;
+
+    private final long latency;
+
+    private final long timestamp;
+
+    public AuthLoginEvent(String source, String uuid, Outcome outcome, int code, long latency, long timestamp) {
+        this.source = source;
+        this.uuid = uuid;
+        this.outcome = outcome;
+        this.code = code;
+        this.latency = latency;
+        this.timestamp = timestamp;
+    }
+
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * @return the uuid of the user, {@code null} unless succeeded
+     */
+    public String getUuid() {
+        return this.uuid;
+    }
+
+    public Outcome getOutcome() {
+        return this.outcome;
+    }
+
+    /**
+     * @return the code of the {@code AuthResponse}
+     */
+    public int getCode() {
+        return this.code;
+    }
+
+    /**
+     * @return the duration of the login, in milliseconds
+     */
+    public long getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * @return the time the login ended, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthLoginEvent [source=" + this.source + ", uuid=" + this.uuid + ", outcome=" + this.outcome
+                + ", code=" + this.code + ", latency=" + this.latency + ", timestamp=" + this.timestamp + "]";
+    }
+
+    /**
+     * The outcome of a login.
+     */
+    public enum Outcome {
+
+        /**
+         * A successful {@code AuthResponse}.
+         */
+        SUCCESS,
+
+        /**
+         * A failed {@code AuthResponse}.
+         */
+        FAILURE,
+
+        /**
+         * A thrown exception.
+         */
+        ERROR
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.event;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.Ordered;
+
+import com.youkol.support.justauth.support.event.AuthLoginEvent.Outcome;
+import com.youkol.support.justauth.support.request.AuthOperation;
+import com.youkol.support.justauth.support.request.AuthRequestInterceptor;
+import com.youkol.support.justauth.support.request.AuthRequestInvocation;
+
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.model.AuthUser;
+
+/**
+ * An {@link AuthRequestInterceptor} which publishes an {@link AuthLoginEvent} of each login
+ * to the {@link AuthLoginEventPublisher}.
+ *
+ * <p>
+ * It runs right inside the observation, so the latency covers the replay protection, the
+ * retries and the proxy of the nested calls, as the observed one does.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthLoginEventInterceptor implements AuthRequestInterceptor, Ordered {
+
+    public static final int ORDER = -900;
+
+    private final AuthLoginEventPublisher publisher;
+
+    public AuthLoginEventInterceptor(AuthLoginEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public <T> T intercept(AuthRequestInvocation<T> invocation) {
+        if (invocation.getOperation() != AuthOperation.LOGIN) {
+            return invocation.proceed();
+        }
+
+        String source = invocation.getSource().toUpperCase(Locale.ROOT);
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = invocation.proceed();
+        } catch (RuntimeException ex) {
+            this.publish(source, null, Outcome.ERROR, AuthResponseStatus.FAILURE.getCode(), start);
+            throw ex;
+        }
+
+        if (result instanceof AuthResponse) {
+            AuthResponse<?> response = (AuthResponse<?>) result;
+            if (response.ok()) {
+                String uuid = response.getData() instanceof AuthUser ? ((AuthUser) response.getData()).getUuid()
+                        : null;
+                this.publish(source, uuid, Outcome.SUCCESS, response.getCode(), start);
+            } else {
+                this.publish(source, null, Outcome.FAILURE, response.getCode(), start);
+            }
+        }
+        return result;
+    }
+
+    private void publish(String source, String uuid, Outcome outcome, int code, long start) {
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        this.publisher.publish(new AuthLoginEvent(source, uuid, outcome, code, latency, System.currentTimeMillis()));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthLoginEventProperties;
+import com.youkol.support.justauth.autoconfigure.JustAuthLoginEventProperties.Overflow;
+
+/**
+ * Publishes the {@link AuthLoginEvent}s to the {@link AuthLoginEventSink}s asynchronously, so
+ * the logins don't wait for the audit records to be written.
+ *
+ * <p>
+ * The events are put into a bounded lock-free ring buffer, drained by a single consumer thread
+ * which flushes them to each sink in batches, once the batch is full or its first event has
+ * waited for the linger time. When the ring buffer is full, the event is dropped or the login
+ * waits for a free slot, by the {@link Overflow overflow} policy. A sink failing to write a
+ * batch loses it, the other sinks are not affected.
+ *
+ * <p>
+ * On {@link #close()} the events published so far are flushed before the consumer stops.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthLoginEventPublisher implements AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(AuthLoginEventPublisher.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final long CLOSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final AuthLoginEventRingBuffer ringBuffer;
+
+    private final List<AuthLoginEventSink> sinks;
+
+    private final int batchSize;
+
+    private final long lingerNanos;
+
+    private final Overflow overflow;
+
+    private final Thread consumer;
+
+    private final AtomicLong publishedCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong flushedCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    private volatile boolean parked;
+
+    public AuthLoginEventPublisher(List<AuthLoginEventSink> sinks, JustAuthLoginEventProperties properties) {
+        this.ringBuffer = new AuthLoginEventRingBuffer(properties.getBufferSize());
+        this.sinks = new ArrayList<>(sinks);
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.lingerNanos = properties.getLinger().toNanos();
+        this.overflow = properties.getOverflow();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("justauth-login-event-");
+        threadFactory.setDaemon(true);
+        this.consumer = threadFactory.newThread(this::consume);
+        this.consumer.start();
+    }
+
+    /**
+     * Publish an event, without waiting for it to be written.
+     *
+     * @param event the event
+     * @return {@code false} if dropped, as the ring buffer is full or the publisher closed
+     */
+    public boolean publish(AuthLoginEvent event) {
+        while (!this.ringBuffer.offer(event)) {
+            if (this.overflow != Overflow.BLOCK || !this.running) {
+                this.droppedCount.incrementAndGet();
+                return false;
+            }
+            LockSupport.unpark(this.consumer);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+        }
+
+        this.publishedCount.incrementAndGet();
+        if (this.parked) {
+            LockSupport.unpark(this.consumer);
+        }
+        return true;
+    }
+
+    public int getBufferSize() {
+        return this.ringBuffer.capacity();
+    }
+
+    public long getPublishedCount() {
+        return this.publishedCount.get();
+    }
+
+    /**
+     * @return the number of events dropped, as the ring buffer was full
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * @return the number of events flushed to the sinks, whether written or not
+     */
+    public long getFlushedCount() {
+        return this.flushedCount.get();
+    }
+
+    /**
+     * @return the number of events a sink failed to write, counted per sink
+     */
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    private void consume() {
+        List<AuthLoginEvent> batch = new ArrayList<>(this.batchSize);
+        long deadline = 0;
+        while (this.running || !this.ringBuffer.isEmpty()) {
+            AuthLoginEvent event = this.ringBuffer.poll();
+            if (event != null) {
+                if (batch.isEmpty()) {
+                    deadline = System.nanoTime() + this.lingerNanos;
+                }
+                batch.add(event);
+                if (batch.size() >= this.batchSize) {
+                    this.flush(batch);
+                }
+                continue;
+            }
+
+            long waitNanos = batch.isEmpty() ? IDLE_PARK_NANOS : deadline - System.nanoTime();
+            if (waitNanos <= 0) {
+                this.flush(batch);
+                continue;
+            }
+
+            this.parked = true;
+            // published between the poll and the flag, not woken up for it
+            if (this.ringBuffer.isEmpty() && this.running) {
+                LockSupport.parkNanos(this, waitNanos);
+            }
+            this.parked = false;
+        }
+
+        if (!batch.isEmpty()) {
+            this.flush(batch);
+        }
+    }
+
+    private void flush(List<AuthLoginEvent> batch) {
+        List<AuthLoginEvent> events = Collections.unmodifiableList(batch);
+        for (AuthLoginEventSink sink : this.sinks) {
+            try {
+                sink.write(events);
+            } catch (RuntimeException ex) {
+                this.failedCount.addAndGet(events.size());
+                logger.warn("Failed to write " + events.size() + " login events to " + sink, ex);
+            }
+        }
+        this.flushedCount.addAndGet(batch.size());
+        batch.clear();
+    }
+
+    @Override
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.consumer);
+        try {
+            this.consumer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
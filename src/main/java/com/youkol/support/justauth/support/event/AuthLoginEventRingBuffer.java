@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free ring buffer of {@link AuthLoginEvent}s for many producers and a single
+ * consumer.
+ *
+ * <p>
+ * Each slot has a sequence: a producer claims the slot of the tail by a CAS of the tail, once
+ * the sequence of the slot shows the consumer has released it, and publishes the event by
+ * advancing the sequence; the consumer takes the event once the sequence shows it published.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+final class AuthLoginEventRingBuffer {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<AuthLoginEvent> slots;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Only accessed by the consumer.
+     */
+    private long head;
+
+    AuthLoginEventRingBuffer(int capacity) {
+        int size = 1;
+        while (size < capacity && size < (1 << 30)) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return this.mask + 1;
+    }
+
+    /**
+     * Add an event, called by any thread.
+     *
+     * @param event the event
+     * @return {@code false} if full
+     */
+    boolean offer(AuthLoginEvent event) {
+        long position = this.tail.get();
+        for (;;) {
+            int index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.slots.lazySet(index, event);
+                    this.sequences.set(index, position + 1);
+                    return true;
+                }
+                position = this.tail.get();
+            } else if (difference < 0) {
+                // not released by the consumer yet
+                return false;
+            } else {
+                // claimed by another producer
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Take the oldest event, called by the consumer only.
+     *
+     * @return the event, or {@code null} if empty
+     */
+    AuthLoginEvent poll() {
+        int index = (int) (this.head & this.mask);
+        if (this.sequences.get(index) != this.head + 1) {
+            return null;
+        }
+
+        AuthLoginEvent event = this.slots.get(index);
+        this.slots.lazySet(index, null);
+        this.sequences.set(index, this.head + this.mask + 1);
+        this.head++;
+        return event;
+    }
+
+    /**
+     * Return whether empty, called by the consumer only.
+     *
+     * @return {@code true} if no event is published
+     */
+    boolean isEmpty() {
+        return this.sequences.get((int) (this.head & this.mask)) != this.head + 1;
+    }
+
+}
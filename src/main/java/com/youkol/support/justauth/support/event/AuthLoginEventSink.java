@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.event;
+
+import java.util.List;
+
+/**
+ * Writes the batches of {@link AuthLoginEvent}s flushed by {@link AuthLoginEventPublisher},
+ * always called on its consumer thread.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see JdbcAuthLoginEventSink
+ * @see LoggingAuthLoginEventSink
+ * @see ApplicationEventAuthLoginEventSink
+ */
+@FunctionalInterface
+public interface AuthLoginEventSink {
+
+    /**
+     * Write a batch of events, a thrown exception drops the batch for this sink.
+     *
+     * @param events the events, in the order published, not to be kept after the call
+     */
+    void write(List<AuthLoginEvent> events);
+
+}
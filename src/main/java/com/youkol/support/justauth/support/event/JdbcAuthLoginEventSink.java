@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.event;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * An {@link AuthLoginEventSink} which inserts each batch of events into a table by a JDBC
+ * batch insert. The table is created by the {@code schema.sql} next to this class.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JdbcAuthLoginEventSink implements AuthLoginEventSink {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String insertSql;
+
+    public JdbcAuthLoginEventSink(JdbcTemplate jdbcTemplate, String tableName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertSql = "INSERT INTO " + tableName
+                + " (LOGIN_SOURCE, USER_UUID, OUTCOME, RESPONSE_CODE, LATENCY_MILLIS, CREATED_AT)"
+                + " VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    @Override
+    public void write(List<AuthLoginEvent> events) {
+        this.jdbcTemplate.batchUpdate(this.insertSql, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getSource());
+            ps.setString(2, event.getUuid());
+            ps.setString(3, event.getOutcome().name());
+            ps.setInt(4, event.getCode());
+            ps.setLong(5, event.getLatency());
+            ps.setLong(6, event.getTimestamp());
+        });
+    }
+
+}
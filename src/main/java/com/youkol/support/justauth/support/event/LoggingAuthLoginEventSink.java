@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.event;
+
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * An {@link AuthLoginEventSink} which logs each event at the info level, route its logger to
+ * a file appender to keep an audit log.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class LoggingAuthLoginEventSink implements AuthLoginEventSink {
+
+    private final Log eventLogger;
+
+    public LoggingAuthLoginEventSink(String loggerName) {
+        this.eventLogger = LogFactory.getLog(loggerName);
+    }
+
+    @Override
+    public void write(List<AuthLoginEvent> events) {
+        if (!this.eventLogger.isInfoEnabled()) {
+            return;
+        }
+
+        for (AuthLoginEvent event : events) {
+            this.eventLogger.info("source=" + event.getSource() + " uuid=" + event.getUuid() + " outcome="
+                    + event.getOutcome() + " code=" + event.getCode() + " latency=" + event.getLatency()
+                    + "ms timestamp=" + event.getTimestamp());
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.jfr;
+
+import java.util.function.Supplier;
+
+import com.youkol.support.justauth.support.request.InterceptingAuthRequest;
+
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * Records the JFR events of {@code AuthRequestFactory}, {@link #recordResolve(String, Supplier)}
+ * is its {@code AuthRequestResolveRecorder}.
+ *
+ * <p>
+ * <b>NOTE:</b> only load this class if {@code jdk.jfr.Event} is present, it is not on Java 8
+ * before 8u262.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public final class AuthFlightRecorder {
+
+    private AuthFlightRecorder() {
+    }
+
+    /**
+     * Resolve the {@link AuthRequest} of the given source, recorded as an
+     * {@link AuthRequestResolveEvent}.
+     *
+     * @param source   the name of source
+     * @param resolver resolves the {@link AuthRequest}
+     * @return the resolved {@link AuthRequest}
+     */
+    public static AuthRequest recordResolve(String source, Supplier<AuthRequest> resolver) {
+        AuthRequestResolveEvent event = new AuthRequestResolveEvent();
+        if (!event.isEnabled()) {
+            return resolver.get();
+        }
+
+        event.begin();
+        AuthRequest authRequest = null;
+        try {
+            authRequest = resolver.get();
+            return authRequest;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.source = source;
+                event.succeeded = authRequest != null;
+                if (authRequest != null) {
+                    event.requestClass = authRequest instanceof InterceptingAuthRequest
+                            ? ((InterceptingAuthRequest) authRequest).getDelegate().getClass()
+                            : authRequest.getClass();
+                }
+                event.commit();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event of a call of the provider, i.e. one attempt of the token exchange, the user info
+ * fetch, the refresh or the revoke.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Name("com.youkol.justauth.AuthProviderCall")
+@Label("Provider Call")
+@Category("JustAuth")
+@Description("A call of the third-party platform")
+@StackTrace(false)
+public class AuthProviderCallEvent extends Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Http Status")
+    @Description("The http status, -1 if unknown, e.g. called by the http client of JustAuth")
+    int status;
+
+    @Label("Response Size")
+    @Description("The size of the response, -1 if unknown")
+    @DataAmount
+    long bytes;
+
+    @Label("Error")
+    String error;
+
+}
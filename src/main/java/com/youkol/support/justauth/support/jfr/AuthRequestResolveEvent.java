@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event of resolving the {@code AuthRequest} of a source by
+ * {@code AuthRequestFactory#getAuthRequest(String)}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Name("com.youkol.justauth.AuthRequestResolve")
+@Label("AuthRequest Resolve")
+@Category("JustAuth")
+@Description("Resolving the AuthRequest of a source by AuthRequestFactory")
+@StackTrace(false)
+public class AuthRequestResolveEvent extends Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Request Class")
+    Class<?> requestClass;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event of an operation of the {@code AuthStateCache}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Name("com.youkol.justauth.AuthStateCache")
+@Label("AuthStateCache Operation")
+@Category("JustAuth")
+@Description("An operation of the state cache")
+@StackTrace(false)
+public class AuthStateCacheEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Backend")
+    String backend;
+
+    @Label("Key Prefix")
+    String keyPrefix;
+
+    @Label("Hit")
+    @Description("Whether the state is found, always true for the cache operation")
+    boolean hit;
+
+    @Label("Error")
+    String error;
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.jfr;
+
+import org.springframework.core.Ordered;
+
+import com.youkol.support.justauth.support.request.AdaptiveTimeoutAuthRequestInterceptor;
+import com.youkol.support.justauth.support.request.AuthHttpExchangeRecorder;
+import com.youkol.support.justauth.support.request.AuthOperation;
+import com.youkol.support.justauth.support.request.AuthRequestInterceptor;
+import com.youkol.support.justauth.support.request.AuthRequestInvocation;
+
+import me.zhyd.oauth.model.AuthResponse;
+
+/**
+ * An {@link AuthRequestInterceptor} which records each call of the provider as an
+ * {@link AuthProviderCallEvent}.
+ *
+ * <p>
+ * It is the innermost built-in interceptor, so each attempt of a retried call is an event of
+ * its own. The login and the authorize url make no call themselves and are not recorded.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class FlightRecorderAuthRequestInterceptor implements AuthRequestInterceptor, Ordered {
+
+    public static final int ORDER = AdaptiveTimeoutAuthRequestInterceptor.ORDER + 100;
+
+    @Override
+    public <T> T intercept(AuthRequestInvocation<T> invocation) {
+        AuthOperation operation = invocation.getOperation();
+        if (operation == AuthOperation.LOGIN || operation == AuthOperation.AUTHORIZE) {
+            return invocation.proceed();
+        }
+
+        AuthProviderCallEvent event = new AuthProviderCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        AuthHttpExchangeRecorder recorder = AuthHttpExchangeRecorder.start();
+        event.begin();
+        String outcome = "ERROR";
+        String error = null;
+        try {
+            T result = invocation.proceed();
+            outcome = result instanceof AuthResponse && !((AuthResponse<?>) result).ok() ? "FAILURE" : "SUCCESS";
+            return result;
+        } catch (RuntimeException ex) {
+            error = ex.getClass().getName() + ": " + ex.getMessage();
+            throw ex;
+        } finally {
+            event.end();
+            recorder.stop();
+            if (event.shouldCommit()) {
+                event.source = invocation.getSource().toUpperCase();
+                event.endpoint = operation.name();
+                event.outcome = outcome;
+                event.status = recorder.getStatus();
+                event.bytes = recorder.getBytes();
+                event.error = error;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.jfr;
+
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import me.zhyd.oauth.cache.AuthStateCache;
+
+/**
+ * An {@link AuthStateCache} which records each call of the delegate as an
+ * {@link AuthStateCacheEvent}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class FlightRecorderAuthStateCache implements AuthStateCache, AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(FlightRecorderAuthStateCache.class);
+
+    private final AuthStateCache delegate;
+
+    private final String keyPrefix;
+
+    private final String backend;
+
+    public FlightRecorderAuthStateCache(AuthStateCache delegate, String keyPrefix) {
+        this.delegate = delegate;
+        this.keyPrefix = keyPrefix;
+        this.backend = delegate.getClass().getSimpleName();
+    }
+
+    public AuthStateCache getDelegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public void cache(String key, String value) {
+        this.record("cache", () -> {
+            this.delegate.cache(key, value);
+            return Boolean.TRUE;
+        });
+    }
+
+    @Override
+    public void cache(String key, String value, long timeout) {
+        this.record("cache", () -> {
+            this.delegate.cache(key, value, timeout);
+            return Boolean.TRUE;
+        });
+    }
+
+    @Override
+    public String get(String key) {
+        return this.record("get", () -> this.delegate.get(key));
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return this.record("containsKey", () -> this.delegate.containsKey(key));
+    }
+
+    private <T> T record(String operation, Supplier<T> call) {
+        AuthStateCacheEvent event = new AuthStateCacheEvent();
+        if (!event.isEnabled()) {
+            return call.get();
+        }
+
+        event.begin();
+        T result = null;
+        String error = null;
+        try {
+            result = call.get();
+            return result;
+        } catch (RuntimeException ex) {
+            error = ex.getClass().getName() + ": " + ex.getMessage();
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.backend = this.backend;
+                event.keyPrefix = this.keyPrefix;
+                event.hit = result != null && !Boolean.FALSE.equals(result);
+                event.error = error;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) this.delegate).close();
+            } catch (Exception ex) {
+                if (ex instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                logger.warn("Failed to close the state cache " + this.backend, ex);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.nativeimage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.core.ResolvableType;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import me.zhyd.oauth.config.AuthSource;
+import me.zhyd.oauth.request.AuthDefaultRequest;
+
+/**
+ * Generates the GraalVM {@code reflect-config.json} of the classes which JustAuth and this
+ * starter access by reflection in the current application:
+ * <ul>
+ * <li>the {@link AuthDefaultRequest} target class of every configured source, which is
+ * constructed by {@code AuthRequestBuilder};</li>
+ * <li>the extend {@link AuthSource} classes, which are instantiated from
+ * {@code extend-auth-source-class};</li>
+ * <li>the configuration properties classes reachable from {@link JustAuthProperties}.</li>
+ * </ul>
+ *
+ * <p>
+ * The classes of the starter itself are covered by the {@code reflect-config.json} shipped in
+ * {@code META-INF/native-image}, the generated file is for the application.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class ReflectConfigGenerator {
+
+    private static final String[] PROPERTIES_PACKAGES = { "com.youkol.support.justauth.", "me.zhyd.oauth.",
+            "com.xkcoding.http." };
+
+    private final AuthRequestFactory authRequestFactory;
+
+    private final Map<String, Map<String, Object>> entries = new TreeMap<>();
+
+    public ReflectConfigGenerator(AuthRequestFactory authRequestFactory) {
+        this.authRequestFactory = authRequestFactory;
+    }
+
+    /**
+     * Generate the entries of {@code reflect-config.json}, sorted by class name.
+     *
+     * @return the entries
+     */
+    public synchronized List<Map<String, Object>> generate() {
+        this.entries.clear();
+        for (String source : this.authRequestFactory.getConfiguredOAuthNames()) {
+            this.addAuthSource(this.authRequestFactory.getAuthSource(source));
+        }
+        for (AuthSource authSource : this.authRequestFactory.getExtendAuthSources()) {
+            this.addAuthSource(authSource);
+        }
+        this.addPropertiesClass(JustAuthProperties.class);
+        return new ArrayList<>(this.entries.values());
+    }
+
+    /**
+     * Write the generated {@code reflect-config.json}.
+     *
+     * @param writer the writer, not closed
+     * @throws IOException if failed to write
+     */
+    public void write(Writer writer) throws IOException {
+        writer.write(JSON.toJSONString(this.generate(), SerializerFeature.PrettyFormat));
+        writer.write(System.lineSeparator());
+        writer.flush();
+    }
+
+    private void addAuthSource(AuthSource authSource) {
+        Class<?> sourceClass = authSource instanceof Enum ? ((Enum<?>) authSource).getDeclaringClass()
+                : authSource.getClass();
+        Map<String, Object> sourceEntry = this.entry(sourceClass);
+        if (sourceClass.isEnum()) {
+            // Class#getEnumConstants() calls values() reflectively
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("name", "values");
+            values.put("parameterTypes", Collections.emptyList());
+            sourceEntry.put("methods", Collections.singletonList(values));
+            sourceEntry.put("allPublicFields", true);
+        } else {
+            sourceEntry.put("allPublicConstructors", true);
+        }
+        sourceEntry.put("allPublicMethods", true);
+
+        Class<? extends AuthDefaultRequest> targetClass = authSource.getTargetClass();
+        if (targetClass != null) {
+            this.entry(targetClass).put("allDeclaredConstructors", true);
+        }
+    }
+
+    private void addPropertiesClass(Class<?> clazz) {
+        if (this.entries.containsKey(clazz.getName()) || !isPropertiesPackage(clazz)) {
+            return;
+        }
+
+        Map<String, Object> entry = this.entry(clazz);
+        if (clazz.isEnum()) {
+            entry.put("allPublicFields", true);
+            return;
+        }
+        entry.put("allDeclaredConstructors", true);
+        entry.put("allPublicMethods", true);
+        entry.put("allDeclaredFields", true);
+
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            if (current != clazz) {
+                this.addPropertiesClass(current);
+            }
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                ResolvableType type = ResolvableType.forField(field);
+                this.addPropertiesType(type);
+            }
+        }
+    }
+
+    private void addPropertiesType(ResolvableType type) {
+        Class<?> resolved = type.resolve();
+        if (resolved == null) {
+            return;
+        }
+        if (resolved.isArray()) {
+            this.addPropertiesType(type.getComponentType());
+            return;
+        }
+
+        this.addPropertiesClass(resolved);
+        for (ResolvableType generic : type.getGenerics()) {
+            this.addPropertiesType(generic);
+        }
+    }
+
+    private Map<String, Object> entry(Class<?> clazz) {
+        return this.entries.computeIfAbsent(clazz.getName(), name -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", name);
+            return entry;
+        });
+    }
+
+    private static boolean isPropertiesPackage(Class<?> clazz) {
+        for (String prefix : PROPERTIES_PACKAGES) {
+            if (clazz.getName().startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
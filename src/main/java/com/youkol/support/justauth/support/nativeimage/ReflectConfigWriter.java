@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.nativeimage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * Writes the {@code reflect-config.json} of {@link ReflectConfigGenerator} once the application
+ * is ready, run the application on the JVM once with the output configured, and copy the file
+ * into {@code META-INF/native-image} of the application before building the native image.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class ReflectConfigWriter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Log logger = LogFactory.getLog(ReflectConfigWriter.class);
+
+    private final ReflectConfigGenerator generator;
+
+    private final Path output;
+
+    public ReflectConfigWriter(ReflectConfigGenerator generator, Path output) {
+        this.generator = generator;
+        this.output = output;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        try {
+            Path parent = this.output.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (Writer writer = Files.newBufferedWriter(this.output, StandardCharsets.UTF_8)) {
+                this.generator.write(writer);
+            }
+        } catch (IOException ex) {
+            throw new AuthException("Failed to write " + this.output, ex);
+        }
+        logger.info("Wrote the reflect-config.json of JustAuth to " + this.output.toAbsolutePath());
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.observation;
+
+import java.util.Locale;
+
+import org.springframework.core.Ordered;
+
+import com.youkol.support.justauth.support.request.AuthOperation;
+import com.youkol.support.justauth.support.request.AuthRequestInterceptor;
+import com.youkol.support.justauth.support.request.AuthRequestInvocation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import me.zhyd.oauth.model.AuthResponse;
+
+/**
+ * An {@link AuthRequestInterceptor} which observes each operation of the {@code AuthRequest}
+ * as a {@link Observation}, named {@code justauth.login}, {@code justauth.access-token},
+ * {@code justauth.user-info}, {@code justauth.refresh} and so on.
+ *
+ * <p>
+ * It is the outermost built-in interceptor, so the observation of a login covers the replay
+ * protection, the retries and the proxy of the nested calls. The token exchange and the user
+ * info fetch of a login are intercepted separately and observed as its children, as well as
+ * the calls of {@link ObservedAuthStateCache}. Each observation is tagged with {@code source},
+ * {@code operation} and {@code outcome}; a failed {@link AuthResponse} is an outcome of
+ * {@code FAILURE}, a thrown exception of {@code ERROR}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class ObservationAuthRequestInterceptor implements AuthRequestInterceptor, Ordered {
+
+    public static final int ORDER = -1000;
+
+    private final ObservationRegistry observationRegistry;
+
+    public ObservationAuthRequestInterceptor(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public <T> T intercept(AuthRequestInvocation<T> invocation) {
+        if (this.observationRegistry.isNoop()) {
+            return invocation.proceed();
+        }
+
+        AuthOperation operation = invocation.getOperation();
+        String operationName = operation.name().toLowerCase(Locale.ROOT).replace('_', '-');
+        String source = invocation.getSource().toUpperCase(Locale.ROOT);
+        Observation observation = Observation.createNotStarted("justauth." + operationName, this.observationRegistry)
+                .contextualName("justauth " + operationName + " " + source)
+                .parentObservation(this.observationRegistry.getCurrentObservation())
+                .lowCardinalityKeyValue("source", source)
+                .lowCardinalityKeyValue("operation", operation.name())
+                .start();
+
+        Observation.Scope scope = observation.openScope();
+        try {
+            T result = invocation.proceed();
+            if (result instanceof AuthResponse && !((AuthResponse<?>) result).ok()) {
+                AuthResponse<?> response = (AuthResponse<?>) result;
+                // the code is only known for the login, keep the metric tags the same for all
+                observation.lowCardinalityKeyValue("outcome", "FAILURE")
+                        .highCardinalityKeyValue("code", String.valueOf(response.getCode()));
+            } else {
+                observation.lowCardinalityKeyValue("outcome", "SUCCESS");
+            }
+            return result;
+        } catch (RuntimeException ex) {
+            observation.lowCardinalityKeyValue("outcome", "ERROR").error(ex);
+            throw ex;
+        } finally {
+            scope.close();
+            observation.stop();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
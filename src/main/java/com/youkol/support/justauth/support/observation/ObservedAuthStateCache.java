@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.observation;
+
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import me.zhyd.oauth.cache.AuthStateCache;
+
+/**
+ * An {@link AuthStateCache} which observes each call of the delegate as a
+ * {@code justauth.state-cache} {@link Observation}, tagged with {@code operation}, {@code cache}
+ * and {@code outcome}. Within a login observed by {@link ObservationAuthRequestInterceptor},
+ * the state check is a child of the login.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class ObservedAuthStateCache implements AuthStateCache, AutoCloseable {
+
+    public static final String OBSERVATION_NAME = "justauth.state-cache";
+
+    private static final Log logger = LogFactory.getLog(ObservedAuthStateCache.class);
+
+    private final AuthStateCache delegate;
+
+    private final ObservationRegistry observationRegistry;
+
+    private final String cacheName;
+
+    public ObservedAuthStateCache(AuthStateCache delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+        this.cacheName = delegate.getClass().getSimpleName();
+    }
+
+    public AuthStateCache getDelegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public void cache(String key, String value) {
+        this.observe("cache", () -> {
+            this.delegate.cache(key, value);
+            return null;
+        });
+    }
+
+    @Override
+    public void cache(String key, String value, long timeout) {
+        this.observe("cache", () -> {
+            this.delegate.cache(key, value, timeout);
+            return null;
+        });
+    }
+
+    @Override
+    public String get(String key) {
+        return this.observe("get", () -> this.delegate.get(key));
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return this.observe("containsKey", () -> this.delegate.containsKey(key));
+    }
+
+    private <T> T observe(String operation, Supplier<T> call) {
+        if (this.observationRegistry.isNoop()) {
+            return call.get();
+        }
+
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, this.observationRegistry)
+                .contextualName("justauth state-cache " + operation)
+                .parentObservation(this.observationRegistry.getCurrentObservation())
+                .lowCardinalityKeyValue("operation", operation)
+                .lowCardinalityKeyValue("cache", this.cacheName)
+                .start();
+
+        Observation.Scope scope = observation.openScope();
+        try {
+            T result = call.get();
+            observation.lowCardinalityKeyValue("outcome", "SUCCESS");
+            return result;
+        } catch (RuntimeException ex) {
+            observation.lowCardinalityKeyValue("outcome", "ERROR").error(ex);
+            throw ex;
+        } finally {
+            scope.close();
+            observation.stop();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) this.delegate).close();
+            } catch (Exception ex) {
+                if (ex instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                logger.warn("Failed to close the state cache " + this.cacheName, ex);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.oidc;
+
+import java.net.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.youkol.support.justauth.autoconfigure.JustAuthOidcProperties.JustAuthOidcProvider;
+
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * Verifies the signature and the claims of an OIDC {@code id_token} against a cached JWKS.
+ * Only the RSA signatures ({@code RS256}, {@code RS384} and {@code RS512}) are supported.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class IdTokenVerifier {
+
+    private final JwksCache jwksCache;
+
+    private final Duration clockSkew;
+
+    public IdTokenVerifier(JwksCache jwksCache, Duration clockSkew) {
+        this.jwksCache = jwksCache;
+        this.clockSkew = clockSkew;
+    }
+
+    /**
+     * Verify the given {@code id_token} and return its claims.
+     *
+     * @param idToken  the {@code id_token} of the token response
+     * @param provider the OIDC provider of the source
+     * @param audience the expected audience, i.e. the client id
+     * @param nonce    the {@code nonce} sent in the authorize url, {@code null} if not sent
+     * @param proxy    the proxy to fetch the JWKS, may be {@code null}
+     * @return the claims of the {@code id_token}
+     * @throws AuthException if the {@code id_token} is invalid
+     */
+    public JSONObject verify(String idToken, JustAuthOidcProvider provider, String audience, String nonce,
+            Proxy proxy) {
+        String[] parts = idToken.split("\\.");
+        if (parts.length != 3) {
+            throw this.invalid("malformed token");
+        }
+
+        JSONObject header = this.decode(parts[0]);
+        JSONObject claims = this.decode(parts[1]);
+
+        String algorithm = this.getJcaAlgorithm(header.getString("alg"));
+        PublicKey publicKey = this.jwksCache.getKey(provider.getJwksUri(), header.getString("kid"), proxy);
+        if (publicKey == null) {
+            throw this.invalid("unknown kid " + header.getString("kid"));
+        }
+
+        try {
+            Signature signature = Signature.getInstance(algorithm);
+            signature.initVerify(publicKey);
+            signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(Base64.getUrlDecoder().decode(parts[2]))) {
+                throw this.invalid("bad signature");
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException ex) {
+            throw this.invalid("bad signature");
+        }
+
+        this.verifyClaims(claims, provider, audience);
+        this.verifyNonce(claims, nonce);
+        return claims;
+    }
+
+    /**
+     * Verify the {@code nonce} of an {@code id_token} the signature of which is verified by
+     * {@link #verify(String, JustAuthOidcProvider, String, String, Proxy)} already.
+     *
+     * @param idToken the verified {@code id_token}
+     * @param nonce   the {@code nonce} sent in the authorize url
+     * @throws AuthException if the {@code nonce} doesn't match
+     */
+    public void verifyNonce(String idToken, String nonce) {
+        String[] parts = idToken.split("\\.");
+        if (parts.length != 3) {
+            throw this.invalid("malformed token");
+        }
+        this.verifyNonce(this.decode(parts[1]), nonce);
+    }
+
+    private void verifyNonce(JSONObject claims, String nonce) {
+        if (nonce != null && !nonce.equals(claims.getString("nonce"))) {
+            throw this.invalid("nonce mismatch");
+        }
+    }
+
+    private void verifyClaims(JSONObject claims, JustAuthOidcProvider provider, String audience) {
+        long now = System.currentTimeMillis() / 1000;
+        long skew = this.clockSkew.getSeconds();
+
+        Long expiresAt = claims.getLong("exp");
+        if (expiresAt == null || now - skew >= expiresAt) {
+            throw this.invalid("expired");
+        }
+
+        Long notBefore = claims.getLong("nbf");
+        if (notBefore != null && now + skew < notBefore) {
+            throw this.invalid("not yet valid");
+        }
+
+        Long issuedAt = claims.getLong("iat");
+        if (issuedAt != null && now + skew < issuedAt) {
+            throw this.invalid("issued in the future");
+        }
+
+        if (!this.isAcceptedIssuer(claims, provider.getIssuer())) {
+            throw this.invalid("untrusted issuer " + claims.getString("iss"));
+        }
+
+        Object aud = claims.get("aud");
+        boolean audienceMatched = (aud instanceof JSONArray) ? ((JSONArray) aud).contains(audience)
+                : audience != null && audience.equals(aud);
+        if (!audienceMatched) {
+            throw this.invalid("audience mismatch");
+        }
+
+        // a token of several audiences must be issued to this client
+        if (aud instanceof JSONArray && ((JSONArray) aud).size() > 1
+                && !Objects.equals(audience, claims.getString("azp"))) {
+            throw this.invalid("authorized party mismatch");
+        }
+    }
+
+    private boolean isAcceptedIssuer(JSONObject claims, List<String> issuers) {
+        String issuer = claims.getString("iss");
+        if (issuer == null) {
+            return false;
+        }
+
+        String tenantId = claims.getString("tid");
+        return issuers.stream()
+                .map(expected -> tenantId == null ? expected : expected.replace("{tid}", tenantId))
+                .anyMatch(issuer::equals);
+    }
+
+    private String getJcaAlgorithm(String alg) {
+        if ("RS256".equals(alg)) {
+            return "SHA256withRSA";
+        }
+        if ("RS384".equals(alg)) {
+            return "SHA384withRSA";
+        }
+        if ("RS512".equals(alg)) {
+            return "SHA512withRSA";
+        }
+        throw this.invalid("unsupported alg " + alg);
+    }
+
+    private JSONObject decode(String part) {
+        try {
+            JSONObject object = JSONObject.parseObject(
+                    new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8));
+            if (object == null) {
+                throw this.invalid("malformed token");
+            }
+            return object;
+        } catch (IllegalArgumentException | JSONException ex) {
+            throw this.invalid("malformed token");
+        }
+    }
+
+    private AuthException invalid(String reason) {
+        return new AuthException(AuthResponseStatus.ILLEGAL_TOKEN.getCode(), "Invalid id_token: " + reason);
+    }
+
+}
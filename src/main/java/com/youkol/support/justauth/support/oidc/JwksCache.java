@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.oidc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * A cache of JSON Web Key Sets, keyed by the JWKS uri.
+ *
+ * <p>
+ * Concurrent fetches of the same uri are single-flighted, the time to live follows the
+ * {@code Cache-Control: max-age} of the response, and the keys are refreshed in the
+ * background shortly before they expire. An unknown {@code kid} triggers a refresh at most
+ * once per {@code minRefreshInterval}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JwksCache implements AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(JwksCache.class);
+
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("max-age\\s*=\\s*(\\d+)");
+
+    private static final int MAX_RESPONSE_SIZE = 1024 * 1024;
+
+    private final Duration defaultTtl;
+
+    private final Duration minRefreshInterval;
+
+    private final Duration timeout;
+
+    private final Map<String, JwkSet> jwkSets = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<JwkSet>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, ScheduledFuture<?>> refreshTasks = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    public JwksCache(Duration defaultTtl, Duration minRefreshInterval, Duration timeout) {
+        this.defaultTtl = defaultTtl;
+        this.minRefreshInterval = minRefreshInterval;
+        this.timeout = timeout;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("justauth-jwks-");
+        threadFactory.setDaemon(true);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, threadFactory);
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+    }
+
+    /**
+     * Return the public key of the given {@code kid}.
+     *
+     * @param jwksUri the uri of the JWKS
+     * @param kid     the key id, may be {@code null} if the JWKS has only one key
+     * @param proxy   the proxy to fetch the JWKS, may be {@code null}
+     * @return the public key, or {@code null} if not found
+     */
+    public PublicKey getKey(String jwksUri, String kid, Proxy proxy) {
+        JwkSet jwkSet = this.jwkSets.get(jwksUri);
+        if (jwkSet == null) {
+            jwkSet = this.load(jwksUri, proxy);
+        }
+
+        PublicKey key = jwkSet.getKey(kid);
+        if (key == null && jwkSet.isRefreshable(this.minRefreshInterval)) {
+            key = this.load(jwksUri, proxy).getKey(kid);
+        }
+        return key;
+    }
+
+    private JwkSet load(String jwksUri, Proxy proxy) {
+        CompletableFuture<JwkSet> future = new CompletableFuture<>();
+        CompletableFuture<JwkSet> existing = this.inFlight.putIfAbsent(jwksUri, future);
+        if (existing != null) {
+            return this.join(existing);
+        }
+
+        try {
+            JwkSet jwkSet = this.fetch(jwksUri, proxy);
+            this.jwkSets.put(jwksUri, jwkSet);
+            this.scheduleRefresh(jwksUri, proxy, jwkSet.getTtlMillis() * 9 / 10);
+            future.complete(jwkSet);
+            return jwkSet;
+        } catch (RuntimeException ex) {
+            JwkSet stale = this.jwkSets.get(jwksUri);
+            if (stale != null) {
+                logger.warn("Failed to refresh JWKS from " + jwksUri + ", keep using the stale keys.", ex);
+                this.scheduleRefresh(jwksUri, proxy, this.minRefreshInterval.toMillis());
+                future.complete(stale);
+                return stale;
+            }
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            this.inFlight.remove(jwksUri, future);
+        }
+    }
+
+    private JwkSet join(CompletableFuture<JwkSet> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new AuthException("Failed to fetch JWKS", cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AuthException("Interrupted while fetching JWKS", ex);
+        }
+    }
+
+    private void scheduleRefresh(String jwksUri, Proxy proxy, long delayMillis) {
+        if (this.scheduler.isShutdown()) {
+            return;
+        }
+
+        long delay = Math.max(delayMillis, this.minRefreshInterval.toMillis());
+        ScheduledFuture<?> task = this.scheduler.schedule(() -> this.refreshQuietly(jwksUri, proxy),
+                delay, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previous = this.refreshTasks.put(jwksUri, task);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private void refreshQuietly(String jwksUri, Proxy proxy) {
+        try {
+            this.load(jwksUri, proxy);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to refresh JWKS from " + jwksUri, ex);
+            this.scheduleRefresh(jwksUri, proxy, this.minRefreshInterval.toMillis());
+        }
+    }
+
+    private JwkSet fetch(String jwksUri, Proxy proxy) {
+        HttpURLConnection connection = null;
+        try {
+            URL url = new URL(jwksUri);
+            connection = (HttpURLConnection) (proxy == null ? url.openConnection() : url.openConnection(proxy));
+            connection.setConnectTimeout((int) this.timeout.toMillis());
+            connection.setReadTimeout((int) this.timeout.toMillis());
+            connection.setRequestProperty("Accept", "application/json");
+
+            int status = connection.getResponseCode();
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new AuthException("Failed to fetch JWKS from " + jwksUri + ", status: " + status);
+            }
+
+            String body;
+            try (InputStream in = connection.getInputStream()) {
+                body = readBody(in);
+            }
+
+            long ttlMillis = this.parseTtl(connection.getHeaderField("Cache-Control"));
+            return new JwkSet(parseKeys(body), ttlMillis);
+        } catch (IOException ex) {
+            throw new AuthException("Failed to fetch JWKS from " + jwksUri, ex);
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private long parseTtl(String cacheControl) {
+        if (!StringUtils.hasText(cacheControl)) {
+            return this.defaultTtl.toMillis();
+        }
+
+        if (cacheControl.contains("no-store") || cacheControl.contains("no-cache")) {
+            return this.minRefreshInterval.toMillis();
+        }
+
+        Matcher matcher = MAX_AGE_PATTERN.matcher(cacheControl);
+        if (matcher.find()) {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(matcher.group(1)));
+        }
+        return this.defaultTtl.toMillis();
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (out.size() + read > MAX_RESPONSE_SIZE) {
+                throw new AuthException("JWKS response is too large");
+            }
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, PublicKey> parseKeys(String body) {
+        JSONObject jwks = JSONObject.parseObject(body);
+        JSONArray keys = jwks == null ? null : jwks.getJSONArray("keys");
+        if (keys == null) {
+            throw new AuthException("Invalid JWKS response");
+        }
+
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            JSONObject jwk = keys.getJSONObject(i);
+            String use = jwk.getString("use");
+            if (!"RSA".equals(jwk.getString("kty")) || (use != null && !"sig".equals(use))) {
+                continue;
+            }
+
+            try {
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.getString("n")));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.getString("e")));
+                PublicKey publicKey = KeyFactory.getInstance("RSA")
+                        .generatePublic(new RSAPublicKeySpec(modulus, exponent));
+                String kid = jwk.getString("kid");
+                publicKeys.put(kid == null ? "" : kid, publicKey);
+            } catch (Exception ex) {
+                logger.debug("Skip the invalid JWK: " + jwk.getString("kid"), ex);
+            }
+        }
+        return Collections.unmodifiableMap(publicKeys);
+    }
+
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+    }
+
+    private static final class JwkSet {
+
+        private final Map<String, PublicKey> keys;
+
+        private final long ttlMillis;
+
+        private final long fetchedAt = System.currentTimeMillis();
+
+        JwkSet(Map<String, PublicKey> keys, long ttlMillis) {
+            this.keys = keys;
+            this.ttlMillis = ttlMillis;
+        }
+
+        PublicKey getKey(String kid) {
+            if (kid == null) {
+                return this.keys.size() == 1 ? this.keys.values().iterator().next() : null;
+            }
+            return this.keys.get(kid);
+        }
+
+        long getTtlMillis() {
+            return this.ttlMillis;
+        }
+
+        boolean isRefreshable(Duration minRefreshInterval) {
+            return System.currentTimeMillis() - this.fetchedAt >= minRefreshInterval.toMillis();
+        }
+
+    }
+
+}
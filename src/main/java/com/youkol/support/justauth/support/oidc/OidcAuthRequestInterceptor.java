@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.oidc;
+
+import java.net.Proxy;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+import com.alibaba.fastjson.JSONObject;
+import com.youkol.support.justauth.autoconfigure.JustAuthOidcProperties;
+import com.youkol.support.justauth.autoconfigure.JustAuthOidcProperties.JustAuthOidcProvider;
+import com.youkol.support.justauth.support.request.AuthRequestInterceptor;
+import com.youkol.support.justauth.support.request.AuthRequestInvocation;
+
+import me.zhyd.oauth.cache.AuthStateCache;
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.enums.AuthUserGender;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+
+/**
+ * An {@link AuthRequestInterceptor} which builds the {@link AuthUser} from the claims of the
+ * locally verified {@code id_token}, saving the user-info round trip to the OIDC provider.
+ *
+ * <p>
+ * If the authorize url of the source carries a {@code nonce}, it is kept in the
+ * {@link AuthStateCache} by the state, and the login fails unless the {@code id_token} has the
+ * same {@code nonce}. The authorize urls compiled by {@code AuthRequestFactory#authorizeUrl}
+ * are not intercepted, but they never carry a {@code nonce}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see IdTokenVerifier
+ */
+public class OidcAuthRequestInterceptor implements AuthRequestInterceptor, Ordered, AutoCloseable {
+
+    public static final int ORDER = -100;
+
+    private static final Log logger = LogFactory.getLog(OidcAuthRequestInterceptor.class);
+
+    private static final String NONCE_KEY_PREFIX = "OIDC_NONCE:";
+
+    private final JustAuthOidcProperties oidcProperties;
+
+    private final AuthStateCache authStateCache;
+
+    private final JwksCache jwksCache;
+
+    private final IdTokenVerifier idTokenVerifier;
+
+    public OidcAuthRequestInterceptor(JustAuthOidcProperties oidcProperties, AuthStateCache authStateCache) {
+        this.oidcProperties = oidcProperties;
+        this.authStateCache = authStateCache;
+        this.jwksCache = new JwksCache(oidcProperties.getJwksDefaultTtl(),
+                oidcProperties.getJwksMinRefreshInterval(), oidcProperties.getJwksTimeout());
+        this.idTokenVerifier = new IdTokenVerifier(this.jwksCache, oidcProperties.getClockSkew());
+    }
+
+    @Override
+    public <T> T intercept(AuthRequestInvocation<T> invocation) {
+        JustAuthOidcProvider provider = this.oidcProperties.getProvider(invocation.getSource());
+        if (provider == null) {
+            return invocation.proceed();
+        }
+
+        switch (invocation.getOperation()) {
+            case AUTHORIZE:
+                return this.keepNonce(invocation);
+            case LOGIN:
+                return this.verifyNonce(invocation);
+            case USER_INFO:
+                return this.verifyIdToken(invocation, provider);
+            default:
+                return invocation.proceed();
+        }
+    }
+
+    private <T> T keepNonce(AuthRequestInvocation<T> invocation) {
+        T result = invocation.proceed();
+        String state = (String) invocation.getArgument();
+        if (result instanceof String && StringUtils.hasText(state)) {
+            String nonce = getNonce((String) result);
+            if (StringUtils.hasText(nonce)) {
+                this.authStateCache.cache(NONCE_KEY_PREFIX + state, nonce);
+            }
+        }
+        return result;
+    }
+
+    private static String getNonce(String authorizeUrl) {
+        int queryStart = authorizeUrl.indexOf('?');
+        if (queryStart < 0) {
+            return null;
+        }
+
+        int queryEnd = authorizeUrl.indexOf('#', queryStart);
+        String query = authorizeUrl.substring(queryStart + 1, queryEnd < 0 ? authorizeUrl.length() : queryEnd);
+        for (String pair : query.split("&")) {
+            if (pair.startsWith("nonce=")) {
+                return StringUtils.uriDecode(pair.substring("nonce=".length()), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T verifyNonce(AuthRequestInvocation<T> invocation) {
+        T result = invocation.proceed();
+        AuthCallback authCallback = (AuthCallback) invocation.getArgument();
+        if (!(result instanceof AuthResponse) || authCallback == null
+                || !StringUtils.hasText(authCallback.getState())) {
+            return result;
+        }
+
+        AuthResponse<?> response = (AuthResponse<?>) result;
+        if (!response.ok() || !(response.getData() instanceof AuthUser)) {
+            return result;
+        }
+
+        // the user built from the user-info endpoint doesn't depend on the id_token
+        AuthToken authToken = ((AuthUser) response.getData()).getToken();
+        String nonce = this.authStateCache.get(NONCE_KEY_PREFIX + authCallback.getState());
+        if (nonce == null || authToken == null || !StringUtils.hasText(authToken.getIdToken())) {
+            return result;
+        }
+
+        try {
+            this.idTokenVerifier.verifyNonce(authToken.getIdToken(), nonce);
+            return result;
+        } catch (AuthException ex) {
+            return (T) AuthResponse.builder()
+                    .code(ex.getErrorCode())
+                    .msg(ex.getErrorMsg())
+                    .build();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T verifyIdToken(AuthRequestInvocation<T> invocation, JustAuthOidcProvider provider) {
+        AuthToken authToken = (AuthToken) invocation.getArgument();
+        if (authToken == null || !StringUtils.hasText(authToken.getIdToken())) {
+            return this.fallback(invocation, null);
+        }
+
+        // the config of the request, e.g. of a tenant, is the one the id_token is issued to
+        AuthConfig authConfig = invocation.getAuthConfig();
+        if (authConfig == null || !StringUtils.hasText(authConfig.getClientId())) {
+            return this.fallback(invocation, new AuthException("Missing client id of " + invocation.getSource()));
+        }
+
+        JSONObject claims;
+        try {
+            // the nonce is verified on login, where its state is known
+            claims = this.idTokenVerifier.verify(authToken.getIdToken(), provider, authConfig.getClientId(), null,
+                    this.getProxy(authConfig));
+        } catch (AuthException ex) {
+            return this.fallback(invocation, ex);
+        }
+
+        String uuidClaim = StringUtils.hasText(provider.getUuidClaim()) ? provider.getUuidClaim() : "sub";
+        if (!StringUtils.hasText(claims.getString(uuidClaim))) {
+            return this.fallback(invocation, new AuthException("Missing " + uuidClaim + " claim in id_token of "
+                    + invocation.getSource()));
+        }
+
+        return (T) this.buildUser(invocation.getSource(), authToken, claims, uuidClaim);
+    }
+
+    private <T> T fallback(AuthRequestInvocation<T> invocation, AuthException ex) {
+        if (!this.oidcProperties.isFallbackToUserInfo()) {
+            throw ex != null ? ex : new AuthException("Missing id_token of " + invocation.getSource());
+        }
+
+        if (ex != null && logger.isDebugEnabled()) {
+            logger.debug("Fall back to the user-info endpoint of " + invocation.getSource(), ex);
+        }
+        return invocation.proceed();
+    }
+
+    private AuthUser buildUser(String source, AuthToken authToken, JSONObject claims, String uuidClaim) {
+        String uuid = claims.getString(uuidClaim);
+        String email = claims.getString("email");
+        String username = claims.getString("preferred_username");
+        if (!StringUtils.hasText(username)) {
+            username = StringUtils.hasText(email) ? email : uuid;
+        }
+
+        return AuthUser.builder()
+                .uuid(uuid)
+                .username(username)
+                .nickname(claims.getString("name"))
+                .avatar(claims.getString("picture"))
+                .email(email)
+                .location(claims.getString("locale"))
+                .gender(AuthUserGender.UNKNOWN)
+                .token(authToken)
+                .source(source.toUpperCase())
+                .rawUserInfo(claims)
+                .build();
+    }
+
+    private Proxy getProxy(AuthConfig authConfig) {
+        return authConfig.getHttpConfig() == null ? null : authConfig.getHttpConfig().getProxy();
+    }
+
+    @Override
+    public void close() {
+        this.jwksCache.close();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.proxy;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties.JustAuthHttpProxyPoolConfig;
+
+/**
+ * A health-checked pool of egress proxies, which is also a {@link ProxySelector}.
+ *
+ * <p>
+ * Each proxy is checked by connecting to it periodically, the hostname is re-resolved on every
+ * check so DNS changes of the proxy hosts are picked up. A proxy is also marked as unhealthy
+ * after consecutive failed calls, and is put back once a health check succeeds.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthProxyPool extends ProxySelector {
+
+    private static final Log logger = LogFactory.getLog(AuthProxyPool.class);
+
+    /**
+     * How to select a proxy among the healthy ones.
+     */
+    public enum Strategy {
+
+        /**
+         * Select the healthy proxies in turn.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Select the healthy proxy with the least observed latency.
+         */
+        LEAST_LATENCY
+    }
+
+    private final JustAuthHttpProxyPoolConfig poolConfig;
+
+    private final List<Endpoint> endpoints;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public AuthProxyPool(JustAuthHttpProxyPoolConfig poolConfig) {
+        Assert.notEmpty(poolConfig.getAddresses(), "The addresses of proxy pool must not be empty");
+        this.poolConfig = poolConfig;
+        this.endpoints = Collections.unmodifiableList(poolConfig.getAddresses()
+                .stream()
+                .map(this::createEndpoint)
+                .collect(Collectors.toList()));
+    }
+
+    private Endpoint createEndpoint(String address) {
+        int index = address.lastIndexOf(':');
+        Assert.isTrue(index > 0, () -> "The proxy address must be in the form of hostname:port, but was " + address);
+        return new Endpoint(address.substring(0, index).trim(), Integer.parseInt(address.substring(index + 1).trim()));
+    }
+
+    /**
+     * Return the proxy for the next call.
+     *
+     * @return the selected proxy
+     */
+    public Proxy next() {
+        List<Endpoint> healthy = this.getHealthyEndpoints();
+        if (healthy.isEmpty()) {
+            // all proxies are down, keep trying them in turn rather than failing fast
+            healthy = this.endpoints;
+        }
+
+        if (this.poolConfig.getStrategy() == Strategy.LEAST_LATENCY) {
+            return healthy.stream()
+                    .min(Comparator.comparingLong(Endpoint::getLatency))
+                    .map(Endpoint::getProxy)
+                    .orElseThrow(IllegalStateException::new);
+        }
+
+        int index = Math.floorMod(this.counter.getAndIncrement(), healthy.size());
+        return healthy.get(index).getProxy();
+    }
+
+    @Override
+    public List<Proxy> select(URI uri) {
+        List<Proxy> proxies = new ArrayList<>();
+        Proxy first = this.next();
+        proxies.add(first);
+        this.endpoints.stream()
+                .sorted(Comparator.comparing(endpoint -> !endpoint.isHealthy()))
+                .map(Endpoint::getProxy)
+                .filter(proxy -> !proxy.equals(first))
+                .forEach(proxies::add);
+        return proxies;
+    }
+
+    @Override
+    public void connectFailed(URI uri, SocketAddress address, IOException ex) {
+        this.endpoints.stream()
+                .filter(endpoint -> Objects.equals(endpoint.getProxy().address(), address))
+                .forEach(endpoint -> endpoint.failed(this.poolConfig.getFailureThreshold()));
+    }
+
+    /**
+     * Record a successful call through the given proxy.
+     *
+     * @param proxy         the proxy of the call
+     * @param latencyMillis the latency of the call in milliseconds
+     */
+    public void markSuccess(Proxy proxy, long latencyMillis) {
+        this.findEndpoint(proxy).ifPresent(endpoint -> endpoint.succeeded(latencyMillis));
+    }
+
+    /**
+     * Record a failed call through the given proxy.
+     *
+     * @param proxy the proxy of the call
+     */
+    public void markFailure(Proxy proxy) {
+        this.findEndpoint(proxy).ifPresent(endpoint -> endpoint.failed(this.poolConfig.getFailureThreshold()));
+    }
+
+    /**
+     * Check all proxies: re-resolve their hostnames and try to connect to them.
+     */
+    public void healthCheck() {
+        for (Endpoint endpoint : this.endpoints) {
+            InetSocketAddress address = new InetSocketAddress(endpoint.getHostname(), endpoint.getPort());
+            if (address.isUnresolved()) {
+                logger.warn("Failed to resolve the proxy " + endpoint);
+                endpoint.failed(0);
+                continue;
+            }
+
+            long start = System.nanoTime();
+            try (Socket socket = new Socket()) {
+                socket.connect(address, (int) this.poolConfig.getHealthCheckTimeout().toMillis());
+                endpoint.resolved(new Proxy(this.poolConfig.getType(), address));
+                endpoint.succeeded(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (IOException ex) {
+                if (endpoint.isHealthy()) {
+                    logger.warn("Proxy " + endpoint + " is unhealthy: " + ex.getMessage());
+                }
+                endpoint.resolved(new Proxy(this.poolConfig.getType(), address));
+                endpoint.failed(0);
+            }
+        }
+    }
+
+    public List<Proxy> getHealthyProxies() {
+        return this.getHealthyEndpoints().stream()
+                .map(Endpoint::getProxy)
+                .collect(Collectors.toList());
+    }
+
+    private List<Endpoint> getHealthyEndpoints() {
+        return this.endpoints.stream()
+                .filter(Endpoint::isHealthy)
+                .collect(Collectors.toList());
+    }
+
+    private Optional<Endpoint> findEndpoint(Proxy proxy) {
+        return this.endpoints.stream()
+                .filter(endpoint -> endpoint.getProxy() == proxy || endpoint.getProxy().equals(proxy))
+                .findFirst();
+    }
+
+    private final class Endpoint {
+
+        private final String hostname;
+
+        private final int port;
+
+        private volatile Proxy proxy;
+
+        private volatile boolean healthy = true;
+
+        private volatile long latency;
+
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        Endpoint(String hostname, int port) {
+            this.hostname = hostname;
+            this.port = port;
+            this.proxy = new Proxy(AuthProxyPool.this.poolConfig.getType(),
+                    InetSocketAddress.createUnresolved(hostname, port));
+        }
+
+        String getHostname() {
+            return this.hostname;
+        }
+
+        int getPort() {
+            return this.port;
+        }
+
+        Proxy getProxy() {
+            return this.proxy;
+        }
+
+        boolean isHealthy() {
+            return this.healthy;
+        }
+
+        long getLatency() {
+            return this.latency;
+        }
+
+        void resolved(Proxy proxy) {
+            if (!proxy.equals(this.proxy)) {
+                this.proxy = proxy;
+            }
+        }
+
+        void succeeded(long latencyMillis) {
+            this.consecutiveFailures.set(0);
+            this.healthy = true;
+            // exponentially weighted moving average
+            this.latency = this.latency == 0 ? latencyMillis : (this.latency * 7 + latencyMillis) / 8;
+        }
+
+        void failed(int threshold) {
+            if (this.consecutiveFailures.incrementAndGet() >= threshold) {
+                this.healthy = false;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.hostname + ":" + this.port;
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.proxy;
+
+import java.io.IOException;
+import java.net.Proxy;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties.JustAuthHttpProxyPoolConfig;
+import com.youkol.support.justauth.support.request.AuthOperation;
+import com.youkol.support.justauth.support.request.AuthRequestInterceptor;
+import com.youkol.support.justauth.support.request.AuthRequestInvocation;
+import com.youkol.support.justauth.support.request.RetryingAuthRequestInterceptor;
+
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * An {@link AuthRequestInterceptor} which routes each provider call of a source through a
+ * proxy of its {@link AuthProxyPool}, and reports the outcome back to the pool.
+ *
+ * <p>
+ * It is ordered after {@link RetryingAuthRequestInterceptor}, so a retried call fails over to
+ * another healthy proxy.
+ *
+ * <p>
+ * The proxy is applied to the call only, see {@link AuthRequestInvocation#proceed(java.util.function.Consumer)}.
+ * Only a transport error, i.e. an {@link IOException} in the cause chain, counts as a failure of
+ * the proxy, an {@link AuthException} answered by the provider doesn't.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthProxyPoolInterceptor implements AuthRequestInterceptor, Ordered, AutoCloseable {
+
+    public static final int ORDER = RetryingAuthRequestInterceptor.ORDER + 100;
+
+    private final Map<String, AuthProxyPool> proxyPools = new LinkedCaseInsensitiveMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    public AuthProxyPoolInterceptor(Map<String, JustAuthHttpProxyPoolConfig> proxyPoolConfigs) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("justauth-proxy-check-");
+        threadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+
+        proxyPoolConfigs.forEach((source, poolConfig) -> {
+            AuthProxyPool proxyPool = new AuthProxyPool(poolConfig);
+            this.proxyPools.put(source, proxyPool);
+            long interval = poolConfig.getHealthCheckInterval().toMillis();
+            this.scheduler.scheduleWithFixedDelay(proxyPool::healthCheck, 0L, interval, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * Return the proxy pool of the given source.
+     *
+     * @param source the name of source
+     * @return the proxy pool, or {@code null} if not configured
+     */
+    public AuthProxyPool getProxyPool(String source) {
+        return this.proxyPools.get(source);
+    }
+
+    @Override
+    public <T> T intercept(AuthRequestInvocation<T> invocation) {
+        AuthOperation operation = invocation.getOperation();
+        AuthProxyPool proxyPool = this.proxyPools.get(invocation.getSource());
+        if (proxyPool == null || operation == AuthOperation.AUTHORIZE || operation == AuthOperation.LOGIN
+                || invocation.getAuthConfig() == null) {
+            return invocation.proceed();
+        }
+
+        Proxy proxy = proxyPool.next();
+        long start = System.nanoTime();
+        try {
+            T result = invocation.proceed(httpConfig -> httpConfig.setProxy(proxy));
+            proxyPool.markSuccess(proxy, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return result;
+        } catch (RuntimeException ex) {
+            if (isTransportError(ex)) {
+                proxyPool.markFailure(proxy);
+            } else {
+                proxyPool.markSuccess(proxy, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            throw ex;
+        }
+    }
+
+    private static boolean isTransportError(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+    }
+
+}
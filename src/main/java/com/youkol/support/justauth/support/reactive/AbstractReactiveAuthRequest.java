@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.reactive;
+
+import java.util.concurrent.Callable;
+
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import me.zhyd.oauth.cache.AuthDefaultStateCache;
+import me.zhyd.oauth.cache.AuthStateCache;
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.config.AuthSource;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.utils.AuthChecker;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Base class of the {@link ReactiveAuthRequest}s which talk to the third-party platform
+ * themselves. The callback is checked the same way as {@code AuthDefaultRequest#login}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public abstract class AbstractReactiveAuthRequest implements ReactiveAuthRequest {
+
+    protected final AuthConfig config;
+
+    protected final AuthSource source;
+
+    private final AuthRequestFactory authRequestFactory;
+
+    protected AbstractReactiveAuthRequest(AuthConfig config, AuthSource source, AuthRequestFactory authRequestFactory) {
+        this.config = config;
+        this.source = source;
+        this.authRequestFactory = authRequestFactory;
+    }
+
+    @Override
+    public Mono<String> authorize(String state) {
+        return this.offloadIfBlocking(() -> this.authRequestFactory.authorizeUrl(this.source.getName(), state));
+    }
+
+    @Override
+    public Mono<AuthUser> login(AuthCallback authCallback) {
+        return this.check(authCallback)
+                .then(Mono.defer(() -> this.getAccessToken(authCallback)))
+                .flatMap(this::getUserInfo);
+    }
+
+    private Mono<Void> check(AuthCallback authCallback) {
+        return this.offloadIfBlocking(() -> {
+            AuthChecker.checkCode(this.source, authCallback);
+            if (!this.config.isIgnoreCheckState()) {
+                AuthChecker.checkState(authCallback.getState(), this.source,
+                        this.authRequestFactory.getAuthStateCache());
+            }
+            return Boolean.TRUE;
+        }).then();
+    }
+
+    /**
+     * The state cache other than the in-memory one, e.g. redis, may block, so it's accessed on
+     * the bounded elastic scheduler.
+     */
+    private <T> Mono<T> offloadIfBlocking(Callable<T> callable) {
+        Mono<T> mono = Mono.fromCallable(callable);
+        AuthStateCache authStateCache = this.authRequestFactory.getAuthStateCache();
+        return authStateCache instanceof AuthDefaultStateCache ? mono : mono.subscribeOn(Schedulers.boundedElastic());
+    }
+
+}
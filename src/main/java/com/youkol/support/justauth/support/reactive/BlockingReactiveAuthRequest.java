@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.reactive;
+
+import java.util.concurrent.Callable;
+
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.request.AuthRequest;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * A {@link ReactiveAuthRequest} which offloads a blocking {@link AuthRequest} to the bounded
+ * elastic scheduler, used for the sources without a non-blocking implementation.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class BlockingReactiveAuthRequest implements ReactiveAuthRequest {
+
+    private final AuthRequest authRequest;
+
+    public BlockingReactiveAuthRequest(AuthRequest authRequest) {
+        this.authRequest = authRequest;
+    }
+
+    public AuthRequest getAuthRequest() {
+        return this.authRequest;
+    }
+
+    @Override
+    public Mono<String> authorize(String state) {
+        return this.offload(() -> this.authRequest.authorize(state));
+    }
+
+    @Override
+    public Mono<AuthToken> getAccessToken(AuthCallback authCallback) {
+        return this.offload(() -> this.authRequest.getAccessToken(authCallback));
+    }
+
+    @Override
+    public Mono<AuthUser> getUserInfo(AuthToken authToken) {
+        return this.offload(() -> this.authRequest.getUserInfo(authToken));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<AuthUser> login(AuthCallback authCallback) {
+        return this.offload(() -> {
+            AuthResponse response = this.authRequest.login(authCallback);
+            if (response.getCode() != AuthResponseStatus.SUCCESS.getCode()) {
+                throw new AuthException(response.getCode(), response.getMsg());
+            }
+            return (AuthUser) response.getData();
+        });
+    }
+
+    private <T> Mono<T> offload(Callable<T> callable) {
+        return Mono.fromCallable(callable).subscribeOn(Schedulers.boundedElastic());
+    }
+
+}
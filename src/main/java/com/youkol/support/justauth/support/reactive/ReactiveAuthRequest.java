@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.reactive;
+
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.request.AuthRequest;
+import reactor.core.publisher.Mono;
+
+/**
+ * The non-blocking counterpart of {@link AuthRequest}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see ReactiveAuthRequestFactory
+ */
+public interface ReactiveAuthRequest {
+
+    /**
+     * Return the authorize url, the state is saved to the {@code AuthStateCache}.
+     *
+     * @param state the state
+     * @return the authorize url
+     */
+    Mono<String> authorize(String state);
+
+    /**
+     * Exchange the authorization code of the callback for the token.
+     *
+     * @param authCallback the callback of the third-party platform
+     * @return the token
+     */
+    Mono<AuthToken> getAccessToken(AuthCallback authCallback);
+
+    /**
+     * Fetch the user with the given token.
+     *
+     * @param authToken the token
+     * @return the user
+     */
+    Mono<AuthUser> getUserInfo(AuthToken authToken);
+
+    /**
+     * Check the callback, then exchange the code and fetch the user.
+     *
+     * @param authCallback the callback of the third-party platform
+     * @return the user
+     */
+    Mono<AuthUser> login(AuthCallback authCallback);
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.reactive;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.xkcoding.http.config.HttpConfig;
+import com.xkcoding.http.constants.Constants;
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties.JustAuthHttpConfig;
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties.JustAuthHttpTimeoutConfig;
+import com.youkol.support.justauth.support.config.AuthConfigRepository;
+import com.youkol.support.justauth.support.config.AuthExtendSource;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+import com.youkol.support.justauth.support.request.AuthResponseDecoder;
+
+import io.netty.channel.ChannelOption;
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.config.AuthSource;
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthUser;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.transport.ProxyProvider;
+
+/**
+ * Factory of {@link ReactiveAuthRequest}, the non-blocking counterpart of
+ * {@link AuthRequestFactory}.
+ *
+ * <p>
+ * The configured standard OAuth 2.0 sources and {@link AuthExtendSource#WECHAT_MINI_APP} call
+ * the third-party platform with {@link WebClient}, the other sources fall back to the blocking
+ * {@code AuthRequest} offloaded to the bounded elastic scheduler. The
+ * {@code AuthRequestInterceptor}s only apply to the fallback.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class ReactiveAuthRequestFactory {
+
+    private final AuthRequestFactory authRequestFactory;
+
+    private final AuthConfigRepository authConfigRepository;
+
+    private final WebClient.Builder webClientBuilder;
+
+    private final Set<String> oauth2Sources;
+
+    private final AuthResponseDecoder responseDecoder = AuthResponseDecoder.getDefault();
+
+    private final Map<String, CachedWebClient> webClients = new ConcurrentHashMap<>();
+
+    private JustAuthHttpConfig httpConfig;
+
+    public ReactiveAuthRequestFactory(AuthRequestFactory authRequestFactory,
+            AuthConfigRepository authConfigRepository, WebClient.Builder webClientBuilder,
+            Collection<String> oauth2Sources) {
+        this.authRequestFactory = authRequestFactory;
+        this.authConfigRepository = authConfigRepository;
+        this.webClientBuilder = webClientBuilder;
+        this.oauth2Sources = oauth2Sources.stream()
+                .map(String::toUpperCase)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Return the {@link ReactiveAuthRequest} of the given source.
+     *
+     * @param source the source of OAuth2 {@link AuthSource}
+     * @return Return {@link ReactiveAuthRequest}.
+     * @throws AuthException if the source is not configured or not implemented
+     */
+    public ReactiveAuthRequest getReactiveAuthRequest(String source) {
+        AuthConfig authConfig = this.authConfigRepository.getAuthConfigById(source);
+        if (authConfig == null) {
+            throw new AuthException(AuthResponseStatus.PARAMETER_INCOMPLETE);
+        }
+
+        AuthSource authSource = this.authRequestFactory.getAuthSource(source);
+        if (authSource == AuthExtendSource.WECHAT_MINI_APP) {
+            return new WebClientWeChatMiniAppAuthRequest(authConfig, this.authRequestFactory,
+                    this.getWebClient(source, authConfig), this.responseDecoder);
+        }
+        if (this.oauth2Sources.contains(authSource.getName().toUpperCase())) {
+            return new WebClientOAuth2AuthRequest(authConfig, authSource, this.authRequestFactory,
+                    this.getWebClient(source, authConfig));
+        }
+
+        return new BlockingReactiveAuthRequest(this.authRequestFactory.getAuthRequest(source));
+    }
+
+    /**
+     * Return the authorize url of the given source.
+     *
+     * @param source the source of OAuth2 {@link AuthSource}
+     * @param state  the state, a random one is created if empty
+     * @return Return the authorize url.
+     * @see AuthRequestFactory#authorizeUrl(String, String)
+     */
+    public Mono<String> authorize(String source, String state) {
+        return Mono.defer(() -> this.getReactiveAuthRequest(source).authorize(state));
+    }
+
+    /**
+     * Handle the callback of the given source and return the user.
+     *
+     * @param source       the source of OAuth2 {@link AuthSource}
+     * @param authCallback the callback of the third-party platform
+     * @return Return the logged in user.
+     */
+    public Mono<AuthUser> login(String source, AuthCallback authCallback) {
+        return Mono.defer(() -> this.getReactiveAuthRequest(source).login(authCallback));
+    }
+
+    /**
+     * Set the http settings of the starter, the connect timeout configured for a source is
+     * applied to its {@link WebClient}, the timeout of its {@link HttpConfig} otherwise.
+     *
+     * @param httpConfig the http settings, may be {@code null}
+     */
+    public void setHttpConfig(JustAuthHttpConfig httpConfig) {
+        this.httpConfig = httpConfig;
+        this.webClients.clear();
+    }
+
+    private WebClient getWebClient(String source, AuthConfig authConfig) {
+        HttpConfig httpConfig = authConfig.getHttpConfig();
+        int timeout = httpConfig == null ? Constants.DEFAULT_TIMEOUT : httpConfig.getTimeout();
+        Proxy proxy = httpConfig == null ? null : httpConfig.getProxy();
+
+        // the http config may be changed at runtime, e.g. by reloading the config of the source
+        return this.webClients.compute(source.toUpperCase(), (key, cached) -> {
+            if (cached != null && cached.timeout == timeout && Objects.equals(cached.proxy, proxy)) {
+                return cached;
+            }
+            int connectTimeout = this.getConnectTimeout(source, timeout);
+            return new CachedWebClient(this.createWebClient(connectTimeout, timeout, proxy), timeout, proxy);
+        }).webClient;
+    }
+
+    private int getConnectTimeout(String source, int timeout) {
+        JustAuthHttpTimeoutConfig timeoutConfig = this.httpConfig == null ? null
+                : this.httpConfig.getTimeoutConfig(source);
+        if (timeoutConfig == null || timeoutConfig.getConnectTimeout() == null) {
+            return timeout;
+        }
+        return this.httpConfig.getConnectTimeout(source);
+    }
+
+    private WebClient createWebClient(int connectTimeout, int timeout, Proxy proxy) {
+        HttpClient httpClient = HttpClient.create()
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .responseTimeout(Duration.ofMillis(timeout));
+        if (proxy != null && proxy.type() != Proxy.Type.DIRECT) {
+            InetSocketAddress address = (InetSocketAddress) proxy.address();
+            ProxyProvider.Proxy type = proxy.type() == Proxy.Type.SOCKS ? ProxyProvider.Proxy.SOCKS5
+                    : ProxyProvider.Proxy.HTTP;
+            httpClient = httpClient.proxy(spec -> spec.type(type)
+                    .host(address.getHostString())
+                    .port(address.getPort())
+                    .connectTimeoutMillis(connectTimeout));
+        }
+
+        return this.webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    private static final class CachedWebClient {
+
+        private final WebClient webClient;
+
+        private final int timeout;
+
+        private final Proxy proxy;
+
+        CachedWebClient(WebClient webClient, int timeout, Proxy proxy) {
+            this.webClient = webClient;
+            this.timeout = timeout;
+            this.proxy = proxy;
+        }
+
+    }
+
+}
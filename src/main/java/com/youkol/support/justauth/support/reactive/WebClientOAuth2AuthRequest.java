@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.reactive;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.config.AuthSource;
+import me.zhyd.oauth.enums.AuthUserGender;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link ReactiveAuthRequest} for the sources which follow the standard OAuth 2.0
+ * authorization code flow: the code is exchanged with a form post, and the user is fetched with
+ * the bearer token. The user is mapped from the common fields of the user-info response, e.g.
+ * the OIDC claims or the GitHub/GitLab user.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class WebClientOAuth2AuthRequest extends AbstractReactiveAuthRequest {
+
+    private final WebClient webClient;
+
+    public WebClientOAuth2AuthRequest(AuthConfig config, AuthSource source, AuthRequestFactory authRequestFactory,
+            WebClient webClient) {
+        super(config, source, authRequestFactory);
+        this.webClient = webClient;
+    }
+
+    @Override
+    public Mono<AuthToken> getAccessToken(AuthCallback authCallback) {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "authorization_code");
+        form.add("code", authCallback.getCode());
+        form.add("client_id", this.config.getClientId());
+        form.add("client_secret", this.config.getClientSecret());
+        form.add("redirect_uri", this.config.getRedirectUri());
+
+        return this.webClient.post()
+                .uri(this.source.accessToken())
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData(form))
+                .exchangeToMono(response -> response.bodyToMono(String.class))
+                .defaultIfEmpty("")
+                .map(this::parseObject)
+                .map(this::buildToken);
+    }
+
+    @Override
+    public Mono<AuthUser> getUserInfo(AuthToken authToken) {
+        return this.webClient.get()
+                .uri(this.source.userInfo())
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken.getAccessToken())
+                .exchangeToMono(response -> response.bodyToMono(String.class))
+                .defaultIfEmpty("")
+                .map(this::parseObject)
+                .map(object -> this.buildUser(object, authToken));
+    }
+
+    protected AuthToken buildToken(JSONObject object) {
+        String accessToken = object.getString("access_token");
+        if (!StringUtils.hasText(accessToken)) {
+            String error = object.getString("error_description");
+            throw new AuthException(StringUtils.hasText(error) ? error : object.getString("error"));
+        }
+
+        return AuthToken.builder()
+                .accessToken(accessToken)
+                .refreshToken(object.getString("refresh_token"))
+                .expireIn(object.getIntValue("expires_in"))
+                .idToken(object.getString("id_token"))
+                .scope(object.getString("scope"))
+                .tokenType(object.getString("token_type"))
+                .build();
+    }
+
+    protected AuthUser buildUser(JSONObject object, AuthToken authToken) {
+        String uuid = this.firstOf(object, "sub", "id");
+        if (!StringUtils.hasText(uuid)) {
+            String error = this.firstOf(object, "error_description", "message", "error");
+            throw new AuthException(StringUtils.hasText(error) ? error : "Missing user id");
+        }
+
+        return AuthUser.builder()
+                .uuid(uuid)
+                .username(this.firstOf(object, "preferred_username", "login", "username", "email"))
+                .nickname(this.firstOf(object, "name", "nickname"))
+                .avatar(this.firstOf(object, "picture", "avatar_url"))
+                .blog(this.firstOf(object, "blog", "web_url"))
+                .company(object.getString("company"))
+                .location(this.firstOf(object, "location", "locale"))
+                .email(object.getString("email"))
+                .remark(object.getString("bio"))
+                .gender(AuthUserGender.UNKNOWN)
+                .token(authToken)
+                .source(this.source.toString())
+                .rawUserInfo(object)
+                .build();
+    }
+
+    private String firstOf(JSONObject object, String... keys) {
+        for (String key : keys) {
+            String value = object.getString(key);
+            if (StringUtils.hasText(value)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private JSONObject parseObject(String body) {
+        try {
+            JSONObject object = JSONObject.parseObject(body);
+            if (object == null) {
+                throw new AuthException("Response data is null.");
+            }
+            return object;
+        } catch (JSONException ex) {
+            throw new AuthException("Invalid response of " + this.source, ex);
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.reactive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.youkol.support.justauth.support.config.AuthExtendSource;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+import com.youkol.support.justauth.support.request.AuthResponseDecoder;
+
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.utils.UrlBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * The non-blocking counterpart of {@code AuthWeChatMiniAppRequest}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class WebClientWeChatMiniAppAuthRequest extends AbstractReactiveAuthRequest {
+
+    private static final Set<String> ACCESS_TOKEN_FIELDS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("errcode", "errmsg", "session_key", "openid", "unionid")));
+
+    private final WebClient webClient;
+
+    private final AuthResponseDecoder responseDecoder;
+
+    public WebClientWeChatMiniAppAuthRequest(AuthConfig config, AuthRequestFactory authRequestFactory,
+            WebClient webClient, AuthResponseDecoder responseDecoder) {
+        super(config, AuthExtendSource.WECHAT_MINI_APP, authRequestFactory);
+        this.webClient = webClient;
+        this.responseDecoder = responseDecoder;
+    }
+
+    @Override
+    public Mono<AuthToken> getAccessToken(AuthCallback authCallback) {
+        String url = UrlBuilder.fromBaseUrl(this.source.accessToken())
+                .queryParam("appid", this.config.getClientId())
+                .queryParam("secret", this.config.getClientSecret())
+                .queryParam("js_code", authCallback.getCode())
+                .queryParam("grant_type", "authorization_code")
+                .build();
+
+        return this.webClient.get()
+                .uri(url)
+                .exchangeToMono(response -> DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers())))
+                .switchIfEmpty(Mono.error(() -> new AuthException("Response data is null.")))
+                .map(this::decode)
+                .map(this::buildToken);
+    }
+
+    /**
+     * 由于微信规则调整，获取用户信息，需要在小程序端调用处理后传递到后端。
+     */
+    @Override
+    public Mono<AuthUser> getUserInfo(AuthToken authToken) {
+        return Mono.just(AuthUser.builder()
+                .uuid(authToken.getOpenId())
+                .token(authToken)
+                .source(this.source.toString())
+                .build());
+    }
+
+    private Map<String, String> decode(DataBuffer dataBuffer) {
+        try (InputStream body = dataBuffer.asInputStream(true)) {
+            return this.responseDecoder.decode(body, ACCESS_TOKEN_FIELDS);
+        } catch (IOException ex) {
+            throw new AuthException("Failed to read the response", ex);
+        }
+    }
+
+    private AuthToken buildToken(Map<String, String> response) {
+        String errCode = response.get("errcode");
+        if (StringUtils.hasText(errCode) && Integer.parseInt(errCode) != 0) {
+            throw new AuthException(Integer.parseInt(errCode), response.get("errmsg"));
+        }
+
+        return AuthToken.builder()
+                // 会话密钥session_key暂时放在uid中
+                .uid(response.get("session_key"))
+                .openId(response.get("openid"))
+                .unionId(response.get("unionid"))
+                .build();
+    }
+
+}
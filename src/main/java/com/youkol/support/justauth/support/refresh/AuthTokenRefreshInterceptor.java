@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.refresh;
+
+import org.springframework.core.Ordered;
+
+import com.youkol.support.justauth.support.request.AuthOperation;
+import com.youkol.support.justauth.support.request.AuthRequestInterceptor;
+import com.youkol.support.justauth.support.request.AuthRequestInvocation;
+
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.model.AuthUser;
+
+/**
+ * An {@link AuthRequestInterceptor} which tracks the token of each successful login with the
+ * {@link AuthTokenRefreshScheduler}, along with the {@code AuthConfig} of the login, so the
+ * token of a tenant is refreshed by the client of the tenant.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthTokenRefreshInterceptor implements AuthRequestInterceptor, Ordered {
+
+    public static final int ORDER = -300;
+
+    private final AuthTokenRefreshScheduler refreshScheduler;
+
+    public AuthTokenRefreshInterceptor(AuthTokenRefreshScheduler refreshScheduler) {
+        this.refreshScheduler = refreshScheduler;
+    }
+
+    @Override
+    public <T> T intercept(AuthRequestInvocation<T> invocation) {
+        T result = invocation.proceed();
+        if (invocation.getOperation() == AuthOperation.LOGIN && result instanceof AuthResponse) {
+            AuthResponse<?> response = (AuthResponse<?>) result;
+            if (response.ok() && response.getData() instanceof AuthUser) {
+                AuthUser authUser = (AuthUser) response.getData();
+                this.refreshScheduler.track(invocation.getSource(), authUser.getUuid(), authUser.getToken(),
+                        invocation.getAuthConfig());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.refresh;
+
+import me.zhyd.oauth.model.AuthToken;
+
+/**
+ * Receives the tokens refreshed by {@link AuthTokenRefreshScheduler}, e.g. to store them.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public interface AuthTokenRefreshListener {
+
+    /**
+     * Called after a token is refreshed.
+     *
+     * @param source the name of source
+     * @param uuid   the uuid of the user
+     * @param token  the refreshed token
+     */
+    void onRefreshed(String source, String uuid, AuthToken token);
+
+    /**
+     * Called after a token failed to refresh, the token is no longer tracked.
+     *
+     * @param source  the name of source
+     * @param uuid    the uuid of the user
+     * @param token   the token failed to refresh
+     * @param message the error message
+     */
+    default void onRefreshFailed(String source, String uuid, AuthToken token, String message) {
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.refresh;
+
+import java.time.Duration;
+
+/**
+ * Coordinates the refresh of a token across nodes, so each refresh token is used once.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see LocalAuthTokenRefreshLock
+ * @see RedisAuthTokenRefreshLock
+ */
+@FunctionalInterface
+public interface AuthTokenRefreshLock {
+
+    /**
+     * Try to acquire the lock of the given key. The lock is not released, it expires after the
+     * given timeout, so a node which still tracks the same refresh token skips it.
+     *
+     * @param key     the key of the refresh token
+     * @param timeout the time to hold the lock
+     * @return {@code true} if acquired, {@code false} if another node holds it
+     */
+    boolean tryLock(String key, Duration timeout);
+
+}
@@ -0,0 +1,399 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.refresh;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthTokenRefreshProperties;
+
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * Refreshes the tracked tokens in the background shortly before they expire, so the request
+ * path doesn't pay for the round trip of the refresh.
+ *
+ * <p>
+ * A token is due at its expiry minus the refresh-ahead and a random jitter, which spreads the
+ * refreshes of the tokens issued at the same time. Each poll takes up to a batch of the due
+ * tokens, earliest first, and refreshes them on a worker pool with at most the given number of
+ * concurrent refreshes per source; a token over the limit waits for the next poll. Before
+ * refreshing, the {@link AuthTokenRefreshLock} of the refresh token is acquired, so of all the
+ * nodes tracking the same token only one refreshes it.
+ *
+ * <p>
+ * Only the tokens with a refresh token and an {@code expireIn} are tracked. A refreshed token
+ * is tracked again and passed to the {@link AuthTokenRefreshListener}, a token failing to
+ * refresh is dropped. A token is refreshed with the {@link AuthConfig} it is tracked with, e.g.
+ * the one of a tenant, and is no longer refreshed once the max lifetime has passed since its
+ * login, a new login tracks it again.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see AuthTokenRefreshInterceptor
+ */
+public class AuthTokenRefreshScheduler implements AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(AuthTokenRefreshScheduler.class);
+
+    private final BiFunction<String, AuthConfig, AuthRequest> authRequestResolver;
+
+    private final AuthTokenRefreshLock refreshLock;
+
+    private final AuthTokenRefreshListener listener;
+
+    private final long refreshAheadMillis;
+
+    private final long jitterMillis;
+
+    private final int batchSize;
+
+    private final int maxConcurrencyPerSource;
+
+    private final int maxTrackedTokens;
+
+    private final long maxLifetimeMillis;
+
+    private final Duration lockTimeout;
+
+    private final Map<String, TrackedToken> trackedTokens = new ConcurrentHashMap<>();
+
+    private final Map<String, Semaphore> sourcePermits = new ConcurrentHashMap<>();
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final ThreadPoolExecutor workers;
+
+    private final AtomicLong refreshedCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    /**
+     * Create a new {@link AuthTokenRefreshScheduler}.
+     *
+     * @param authRequestResolver resolves the {@link AuthRequest} of a source and the
+     *                            {@link AuthConfig} of a token, which is {@code null} if tracked
+     *                            without one
+     * @param refreshLock         the lock which lets one node refresh each token
+     * @param listener            receives the refreshed tokens
+     * @param properties          the properties
+     */
+    public AuthTokenRefreshScheduler(BiFunction<String, AuthConfig, AuthRequest> authRequestResolver,
+            AuthTokenRefreshLock refreshLock, AuthTokenRefreshListener listener,
+            JustAuthTokenRefreshProperties properties) {
+        Assert.notNull(listener, "AuthTokenRefreshListener must not be null, the refreshed tokens would be lost");
+        this.authRequestResolver = authRequestResolver;
+        this.refreshLock = refreshLock;
+        this.listener = listener;
+        this.refreshAheadMillis = properties.getRefreshAhead().toMillis();
+        this.jitterMillis = properties.getJitter().toMillis();
+        this.batchSize = properties.getBatchSize();
+        this.maxConcurrencyPerSource = properties.getMaxConcurrencyPerSource();
+        this.maxTrackedTokens = properties.getMaxTrackedTokens();
+        this.maxLifetimeMillis = properties.getMaxLifetime().toMillis();
+        this.lockTimeout = properties.getLockTimeout();
+
+        CustomizableThreadFactory workerThreadFactory = new CustomizableThreadFactory("justauth-token-refresh-");
+        workerThreadFactory.setDaemon(true);
+        this.workers = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0L,
+                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), workerThreadFactory);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("justauth-token-refresh-poll-");
+        threadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        long pollInterval = properties.getPollInterval().toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Track the given token of a user, replacing the token tracked before.
+     *
+     * @param source the name of source
+     * @param uuid   the uuid of the user
+     * @param token  the token
+     * @return {@code true} if tracked, {@code false} if the token can't be refreshed or too many
+     *         tokens are tracked
+     */
+    public boolean track(String source, String uuid, AuthToken token) {
+        return this.track(source, uuid, token, null);
+    }
+
+    /**
+     * Track the given token of a user issued to the given {@link AuthConfig}, replacing the
+     * token tracked before.
+     *
+     * @param source     the name of source
+     * @param uuid       the uuid of the user
+     * @param token      the token
+     * @param authConfig the {@link AuthConfig} the token is issued to, {@code null} for the
+     *                   configured one of the source
+     * @return {@code true} if tracked, {@code false} if the token can't be refreshed or too many
+     *         tokens are tracked
+     */
+    public boolean track(String source, String uuid, AuthToken token, AuthConfig authConfig) {
+        return this.track(source, uuid, token, authConfig, System.currentTimeMillis());
+    }
+
+    private boolean track(String source, String uuid, AuthToken token, AuthConfig authConfig, long trackedSince) {
+        if (token == null || !StringUtils.hasText(token.getRefreshToken()) || token.getExpireIn() <= 0
+                || !StringUtils.hasText(uuid)) {
+            return false;
+        }
+
+        String key = source.toUpperCase() + ":" + uuid;
+        if (this.trackedTokens.size() >= this.maxTrackedTokens && !this.trackedTokens.containsKey(key)) {
+            this.skippedCount.incrementAndGet();
+            return false;
+        }
+
+        long jitter = this.jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(this.jitterMillis + 1) : 0;
+        long dueAt = System.currentTimeMillis() + token.getExpireIn() * 1000L - this.refreshAheadMillis - jitter;
+        this.trackedTokens.put(key,
+                new TrackedToken(source.toUpperCase(), uuid, token, authConfig, dueAt, trackedSince));
+        return true;
+    }
+
+    /**
+     * Stop tracking the token of a user, e.g. on logout.
+     *
+     * @param source the name of source
+     * @param uuid   the uuid of the user
+     */
+    public void untrack(String source, String uuid) {
+        this.trackedTokens.remove(source.toUpperCase() + ":" + uuid);
+    }
+
+    /**
+     * Return the latest token of a user, refreshed or not.
+     *
+     * @param source the name of source
+     * @param uuid   the uuid of the user
+     * @return the token, or {@code null} if not tracked
+     */
+    public AuthToken getToken(String source, String uuid) {
+        TrackedToken trackedToken = this.trackedTokens.get(source.toUpperCase() + ":" + uuid);
+        return trackedToken != null ? trackedToken.token : null;
+    }
+
+    public int getTrackedCount() {
+        return this.trackedTokens.size();
+    }
+
+    public long getRefreshedCount() {
+        return this.refreshedCount.get();
+    }
+
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    /**
+     * @return the number of tokens skipped, as refreshed by another node, over the limit or past
+     *         the max lifetime
+     */
+    public long getSkippedCount() {
+        return this.skippedCount.get();
+    }
+
+    /**
+     * Refresh a batch of the due tokens, called periodically.
+     */
+    void poll() {
+        try {
+            long now = System.currentTimeMillis();
+            List<TrackedToken> due = new ArrayList<>();
+            for (TrackedToken trackedToken : this.trackedTokens.values()) {
+                if (trackedToken.dueAt > now || trackedToken.refreshing.get()) {
+                    continue;
+                }
+                if (now - trackedToken.trackedSince >= this.maxLifetimeMillis) {
+                    this.expire(trackedToken);
+                    continue;
+                }
+                due.add(trackedToken);
+            }
+            if (due.isEmpty()) {
+                return;
+            }
+
+            Collections.sort(due, Comparator.comparingLong(trackedToken -> trackedToken.dueAt));
+            int submitted = 0;
+            for (TrackedToken trackedToken : due) {
+                if (submitted >= this.batchSize) {
+                    break;
+                }
+                Semaphore permits = this.sourcePermits.computeIfAbsent(trackedToken.source,
+                        source -> new Semaphore(this.maxConcurrencyPerSource));
+                if (!permits.tryAcquire()) {
+                    continue;
+                }
+                if (!trackedToken.refreshing.compareAndSet(false, true)) {
+                    permits.release();
+                    continue;
+                }
+
+                try {
+                    this.workers.execute(() -> {
+                        try {
+                            this.refresh(trackedToken);
+                        } finally {
+                            trackedToken.refreshing.set(false);
+                            permits.release();
+                        }
+                    });
+                    submitted++;
+                } catch (RejectedExecutionException ex) {
+                    trackedToken.refreshing.set(false);
+                    permits.release();
+                    return;
+                }
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to poll the tokens to refresh", ex);
+        }
+    }
+
+    private void refresh(TrackedToken trackedToken) {
+        String key = trackedToken.source + ":" + trackedToken.uuid;
+        AuthToken token = trackedToken.token;
+        // the access token as well, some providers keep the refresh token on refresh
+        String lockKey = trackedToken.source + ":" + DigestUtils.md5DigestAsHex(
+                (token.getRefreshToken() + ":" + token.getAccessToken()).getBytes(StandardCharsets.UTF_8));
+        AuthToken refreshed;
+        try {
+            if (!this.refreshLock.tryLock(lockKey, this.lockTimeout)) {
+                // refreshed by another node
+                this.trackedTokens.remove(key, trackedToken);
+                this.skippedCount.incrementAndGet();
+                return;
+            }
+
+            AuthResponse<?> response = this.authRequestResolver.apply(trackedToken.source, trackedToken.authConfig)
+                    .refresh(token);
+            if (!response.ok() || !(response.getData() instanceof AuthToken)) {
+                this.onFailure(key, trackedToken, response.getMsg());
+                return;
+            }
+
+            refreshed = (AuthToken) response.getData();
+            if (!StringUtils.hasText(refreshed.getRefreshToken())) {
+                // the refresh token is kept by some providers
+                refreshed.setRefreshToken(token.getRefreshToken());
+            }
+            // a token tracked again meanwhile, e.g. on a new login, wins
+            if (this.trackedTokens.remove(key, trackedToken)) {
+                this.track(trackedToken.source, trackedToken.uuid, refreshed, trackedToken.authConfig,
+                        trackedToken.trackedSince);
+            }
+            this.refreshedCount.incrementAndGet();
+        } catch (RuntimeException ex) {
+            this.onFailure(key, trackedToken, ex.getMessage());
+            return;
+        }
+
+        try {
+            this.listener.onRefreshed(trackedToken.source, trackedToken.uuid, refreshed);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to notify the refreshed token of " + key, ex);
+        }
+    }
+
+    private void expire(TrackedToken trackedToken) {
+        String key = trackedToken.source + ":" + trackedToken.uuid;
+        if (this.trackedTokens.remove(key, trackedToken)) {
+            this.skippedCount.incrementAndGet();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Stop refreshing the token of " + key + ", its max lifetime has passed");
+            }
+        }
+    }
+
+    private void onFailure(String key, TrackedToken trackedToken, String message) {
+        this.trackedTokens.remove(key, trackedToken);
+        this.failedCount.incrementAndGet();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Failed to refresh the token of " + key + ": " + message);
+        }
+        try {
+            this.listener.onRefreshFailed(trackedToken.source, trackedToken.uuid, trackedToken.token, message);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to notify the refresh failure of " + key, ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+        this.workers.shutdownNow();
+    }
+
+    private static final class TrackedToken {
+
+        private final String source;
+
+        private final String uuid;
+
+        private final AuthToken token;
+
+        private final AuthConfig authConfig;
+
+        private final long dueAt;
+
+        private final long trackedSince;
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        TrackedToken(String source, String uuid, AuthToken token, AuthConfig authConfig, long dueAt,
+                long trackedSince) {
+            this.source = source;
+            this.uuid = uuid;
+            this.token = token;
+            this.authConfig = authConfig;
+            this.dueAt = dueAt;
+            this.trackedSince = trackedSince;
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.refresh;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link AuthTokenRefreshLock} in the memory of a single node.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class LocalAuthTokenRefreshLock implements AuthTokenRefreshLock {
+
+    private static final int PRUNE_INTERVAL = 1024;
+
+    private final Map<String, Long> locks = new ConcurrentHashMap<>();
+
+    private final AtomicInteger acquisitions = new AtomicInteger();
+
+    @Override
+    public boolean tryLock(String key, Duration timeout) {
+        long now = System.nanoTime();
+        long expireAt = now + timeout.toNanos();
+        boolean[] acquired = new boolean[1];
+        this.locks.compute(key, (k, current) -> {
+            if (current != null && current - now > 0) {
+                return current;
+            }
+            acquired[0] = true;
+            return expireAt;
+        });
+
+        // drop the expired locks now and then, rather than on each acquisition
+        if (acquired[0] && this.acquisitions.incrementAndGet() % PRUNE_INTERVAL == 0) {
+            this.locks.values().removeIf(current -> current - now <= 0);
+        }
+        return acquired[0];
+    }
+
+}
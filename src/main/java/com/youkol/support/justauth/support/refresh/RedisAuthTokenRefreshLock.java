@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.refresh;
+
+import java.time.Duration;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * An {@link AuthTokenRefreshLock} shared by all nodes, as a Redis key set by {@code SET NX PX}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class RedisAuthTokenRefreshLock implements AuthTokenRefreshLock {
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final String keyPrefix;
+
+    public RedisAuthTokenRefreshLock(RedisConnectionFactory connectionFactory, String keyPrefix) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.redisTemplate.afterPropertiesSet();
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public boolean tryLock(String key, Duration timeout) {
+        return Boolean.TRUE.equals(this.redisTemplate.opsForValue().setIfAbsent(this.keyPrefix + key, "1", timeout));
+    }
+
+}
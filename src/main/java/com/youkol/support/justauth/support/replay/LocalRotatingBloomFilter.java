@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.replay;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link RotatingBloomFilter} kept in the memory of the current node.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class LocalRotatingBloomFilter extends RotatingBloomFilter {
+
+    private final Slice[] ring;
+
+    public LocalRotatingBloomFilter(Duration window, int slices, long expectedInsertions,
+            double falsePositiveProbability) {
+        super(window, slices, expectedInsertions, falsePositiveProbability);
+        int words = (int) ((this.getBitsPerSlice() + 63) >>> 6);
+        this.ring = new Slice[slices + 1];
+        for (int i = 0; i < this.ring.length; i++) {
+            this.ring[i] = new Slice(words);
+        }
+    }
+
+    @Override
+    protected boolean checkAndPut(long epoch, long[] offsets) {
+        boolean seen = this.slice(epoch).put(offsets);
+        for (int i = 1; !seen && i <= this.getSlices(); i++) {
+            Slice slice = this.ring[this.index(epoch - i)];
+            seen = slice.getEpoch() == epoch - i && slice.contains(offsets);
+        }
+        return seen;
+    }
+
+    private Slice slice(long epoch) {
+        Slice slice = this.ring[this.index(epoch)];
+        if (slice.getEpoch() != epoch) {
+            slice.rotate(epoch);
+        }
+        return slice;
+    }
+
+    private int index(long epoch) {
+        return (int) Math.floorMod(epoch, (long) this.ring.length);
+    }
+
+    private static final class Slice {
+
+        private final AtomicLongArray bits;
+
+        private volatile long epoch = Long.MIN_VALUE;
+
+        Slice(int words) {
+            this.bits = new AtomicLongArray(words);
+        }
+
+        long getEpoch() {
+            return this.epoch;
+        }
+
+        synchronized void rotate(long epoch) {
+            if (this.epoch == epoch) {
+                return;
+            }
+            for (int i = 0; i < this.bits.length(); i++) {
+                this.bits.set(i, 0L);
+            }
+            this.epoch = epoch;
+        }
+
+        /**
+         * @return {@code true} if all bits were already set
+         */
+        boolean put(long[] offsets) {
+            boolean seen = true;
+            for (long offset : offsets) {
+                int index = (int) (offset >>> 6);
+                long mask = 1L << offset;
+                long word = this.bits.getAndAccumulate(index, mask, (prev, bit) -> prev | bit);
+                seen &= (word & mask) != 0;
+            }
+            return seen;
+        }
+
+        boolean contains(long[] offsets) {
+            for (long offset : offsets) {
+                if ((this.bits.get((int) (offset >>> 6)) & (1L << offset)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
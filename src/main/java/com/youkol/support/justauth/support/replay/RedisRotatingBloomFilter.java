@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.replay;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * A {@link RotatingBloomFilter} stored as one Redis bitmap per slice, shared by all nodes.
+ *
+ * <p>
+ * Each check is a single script call, the bits are set with {@code SETBIT} which returns the
+ * previous bit, so two nodes can't both accept the same value. The bitmaps expire with their
+ * slice, and the keys share a hash tag to stay in one slot of a Redis cluster.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class RedisRotatingBloomFilter extends RotatingBloomFilter {
+
+    private static final RedisScript<Long> CHECK_AND_PUT_SCRIPT = RedisScript.of(
+            new ClassPathResource("bloom-filter.lua", RedisRotatingBloomFilter.class), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final String keyPrefix;
+
+    public RedisRotatingBloomFilter(RedisConnectionFactory connectionFactory, String keyPrefix, Duration window,
+            int slices, long expectedInsertions, double falsePositiveProbability) {
+        super(window, slices, expectedInsertions, falsePositiveProbability);
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.redisTemplate.afterPropertiesSet();
+        this.keyPrefix = keyPrefix + "{bloom}:";
+    }
+
+    @Override
+    protected boolean checkAndPut(long epoch, long[] offsets) {
+        List<String> keys = new ArrayList<>(this.getSlices() + 1);
+        for (int i = 0; i <= this.getSlices(); i++) {
+            keys.add(this.keyPrefix + (epoch - i));
+        }
+
+        Object[] args = new Object[offsets.length + 1];
+        args[0] = String.valueOf((this.getSlices() + 1) * this.getSliceMillis());
+        for (int i = 0; i < offsets.length; i++) {
+            args[i + 1] = String.valueOf(offsets[i]);
+        }
+
+        Long seen = this.redisTemplate.execute(CHECK_AND_PUT_SCRIPT, keys, args);
+        return seen != null && seen == 1L;
+    }
+
+}
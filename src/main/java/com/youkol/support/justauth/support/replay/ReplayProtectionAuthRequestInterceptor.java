@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.replay;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+import com.youkol.support.justauth.support.request.AuthOperation;
+import com.youkol.support.justauth.support.request.AuthRequestInterceptor;
+import com.youkol.support.justauth.support.request.AuthRequestInvocation;
+
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthResponse;
+
+/**
+ * An {@link AuthRequestInterceptor} which rejects the login of a callback whose {@code state}
+ * or {@code code} was consumed before, as recorded by a {@link RotatingBloomFilter}.
+ *
+ * <p>
+ * The values are recorded before the login proceeds, so a failed login consumes them as well.
+ * A false positive of the filter rejects a fresh callback, the user has to start over. If the
+ * filter itself fails, e.g. Redis is down, the login proceeds unprotected.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class ReplayProtectionAuthRequestInterceptor implements AuthRequestInterceptor, Ordered {
+
+    public static final int ORDER = -200;
+
+    private static final Log logger = LogFactory.getLog(ReplayProtectionAuthRequestInterceptor.class);
+
+    private final RotatingBloomFilter bloomFilter;
+
+    public ReplayProtectionAuthRequestInterceptor(RotatingBloomFilter bloomFilter) {
+        this.bloomFilter = bloomFilter;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T intercept(AuthRequestInvocation<T> invocation) {
+        if (invocation.getOperation() != AuthOperation.LOGIN) {
+            return invocation.proceed();
+        }
+
+        AuthCallback authCallback = (AuthCallback) invocation.getArgument();
+        if (authCallback == null) {
+            return invocation.proceed();
+        }
+
+        String source = invocation.getSource().toUpperCase();
+        if (this.isReplayed("state:" + source + ":", authCallback.getState())) {
+            return (T) replayed(AuthResponseStatus.ILLEGAL_STATUS, "state");
+        }
+        if (this.isReplayed("code:" + source + ":", getCode(authCallback))) {
+            return (T) replayed(AuthResponseStatus.ILLEGAL_CODE, "code");
+        }
+
+        return invocation.proceed();
+    }
+
+    private boolean isReplayed(String prefix, String value) {
+        if (!StringUtils.hasLength(value)) {
+            return false;
+        }
+
+        try {
+            return this.bloomFilter.checkAndPut(prefix + value);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to check the replay of " + prefix + value, ex);
+            return false;
+        }
+    }
+
+    private static String getCode(AuthCallback authCallback) {
+        if (StringUtils.hasLength(authCallback.getCode())) {
+            return authCallback.getCode();
+        }
+        if (StringUtils.hasLength(authCallback.getAuth_code())) {
+            return authCallback.getAuth_code();
+        }
+        if (StringUtils.hasLength(authCallback.getAuthorization_code())) {
+            return authCallback.getAuthorization_code();
+        }
+        return authCallback.getOauth_token();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static AuthResponse replayed(AuthResponseStatus status, String name) {
+        return AuthResponse.builder()
+                .code(status.getCode())
+                .msg("The " + name + " of the callback has already been used")
+                .build();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
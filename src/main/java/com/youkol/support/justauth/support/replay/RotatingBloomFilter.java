@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.replay;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.springframework.util.Assert;
+
+/**
+ * A time-sliced Bloom filter which remembers the recorded values for at least the given window,
+ * without keeping the values themselves.
+ *
+ * <p>
+ * The window is divided into slices, a value is recorded in the slice of the current time, and
+ * is looked up in the current and the previous slices. The oldest slice is dropped on rotation,
+ * so the filter never fills up. The false positive probability is split among the slices.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public abstract class RotatingBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long sliceMillis;
+
+    private final int slices;
+
+    private final long bitsPerSlice;
+
+    private final int hashFunctions;
+
+    /**
+     * Create a new filter.
+     *
+     * @param window                   the minimum time a value is remembered
+     * @param slices                   the number of slices of the window
+     * @param expectedInsertions       the expected number of values recorded within a window
+     * @param falsePositiveProbability the expected false positive probability
+     */
+    protected RotatingBloomFilter(Duration window, int slices, long expectedInsertions,
+            double falsePositiveProbability) {
+        Assert.isTrue(slices > 0, "The slices must be positive");
+        Assert.isTrue(expectedInsertions > 0, "The expected insertions must be positive");
+        Assert.isTrue(falsePositiveProbability > 0 && falsePositiveProbability < 1,
+                "The false positive probability must be between 0 and 1");
+        this.sliceMillis = Math.max(1L, window.toMillis() / slices);
+        this.slices = slices;
+
+        // a lookup checks the current slice plus all previous ones of the window
+        long insertionsPerSlice = Math.max(1L, expectedInsertions / slices);
+        double probabilityPerSlice = falsePositiveProbability / (slices + 1);
+        this.bitsPerSlice = Math.max(64L,
+                (long) Math.ceil(-insertionsPerSlice * Math.log(probabilityPerSlice) / (LN2 * LN2)));
+        this.hashFunctions = Math.max(1, (int) Math.round((double) this.bitsPerSlice / insertionsPerSlice * LN2));
+    }
+
+    /**
+     * Record the given value, and tell whether it was recorded before.
+     *
+     * @param value the value to record
+     * @return {@code true} if the value was probably recorded within the window, {@code false}
+     *         if it was definitely not
+     */
+    public boolean checkAndPut(String value) {
+        return this.checkAndPut(System.currentTimeMillis() / this.sliceMillis, this.offsets(value));
+    }
+
+    /**
+     * Set the bits of the given offsets in the slice of the given epoch, and look them up in the
+     * previous {@link #getSlices()} slices.
+     *
+     * @param epoch   the epoch of the current slice, i.e. the current time divided by the slice
+     * @param offsets the bit offsets of the value
+     * @return {@code true} if all bits were set in one of the slices
+     */
+    protected abstract boolean checkAndPut(long epoch, long[] offsets);
+
+    long[] offsets(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        // Kirsch-Mitzenmacher: derive all hash functions from two independent ones
+        long hash1 = mix(hash);
+        long hash2 = mix(hash ^ 0x9e3779b97f4a7c15L) | 1L;
+        long[] offsets = new long[this.hashFunctions];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = ((hash1 + i * hash2) & Long.MAX_VALUE) % this.bitsPerSlice;
+        }
+        return offsets;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    public long getSliceMillis() {
+        return this.sliceMillis;
+    }
+
+    public int getSlices() {
+        return this.slices;
+    }
+
+    public long getBitsPerSlice() {
+        return this.bitsPerSlice;
+    }
+
+    public int getHashFunctions() {
+        return this.hashFunctions;
+    }
+
+}
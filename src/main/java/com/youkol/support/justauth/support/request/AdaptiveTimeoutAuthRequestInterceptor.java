@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.Ordered;
+
+import com.xkcoding.http.config.HttpConfig;
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties.JustAuthHttpAdaptiveTimeoutConfig;
+
+/**
+ * An {@link AuthRequestInterceptor} which adapts the {@link HttpConfig#getTimeout()} of each
+ * source to a percentile of its observed latency plus a margin, within the configured bounds,
+ * so fast providers fail fast and slow ones don't time out spuriously.
+ *
+ * <p>
+ * The adapted timeout is applied to each call by {@link AuthRequestInvocation#proceed(java.util.function.Consumer)},
+ * the configured timeout of the source is kept until enough latency is observed.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AdaptiveTimeoutAuthRequestInterceptor implements AuthRequestInterceptor, Ordered {
+
+    public static final int ORDER = 300;
+
+    private final JustAuthHttpAdaptiveTimeoutConfig adaptiveTimeoutConfig;
+
+    private final Map<String, LatencyTracker> latencyTrackers = new ConcurrentHashMap<>();
+
+    public AdaptiveTimeoutAuthRequestInterceptor(JustAuthHttpAdaptiveTimeoutConfig adaptiveTimeoutConfig) {
+        this.adaptiveTimeoutConfig = adaptiveTimeoutConfig;
+    }
+
+    @Override
+    public <T> T intercept(AuthRequestInvocation<T> invocation) {
+        AuthOperation operation = invocation.getOperation();
+        if (operation == AuthOperation.AUTHORIZE || operation == AuthOperation.LOGIN
+                || invocation.getAuthConfig() == null) {
+            return invocation.proceed();
+        }
+
+        LatencyTracker latencyTracker = this.latencyTrackers.computeIfAbsent(
+                invocation.getSource().toUpperCase(), key -> new LatencyTracker());
+        long timeout = this.getAdaptedTimeout(invocation.getSource());
+        long start = System.nanoTime();
+        try {
+            if (timeout < 0) {
+                return invocation.proceed();
+            }
+            return invocation.proceed(httpConfig -> httpConfig.setTimeout((int) timeout));
+        } finally {
+            // failures are recorded as well, a timed out call is at least as slow as the timeout
+            latencyTracker.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Return the current adapted timeout of the given source.
+     *
+     * @param source the name of source
+     * @return the timeout in milliseconds, or {@code -1} if not adapted yet
+     */
+    public long getAdaptedTimeout(String source) {
+        LatencyTracker latencyTracker = this.latencyTrackers.get(source.toUpperCase());
+        if (latencyTracker == null || latencyTracker.size() < this.adaptiveTimeoutConfig.getMinSamples()) {
+            return -1L;
+        }
+
+        long timeout = latencyTracker.percentile(this.adaptiveTimeoutConfig.getPercentile(), 0L)
+                + this.adaptiveTimeoutConfig.getMargin().toMillis();
+        return Math.min(this.adaptiveTimeoutConfig.getMaxTimeout().toMillis(),
+                Math.max(this.adaptiveTimeoutConfig.getMinTimeout().toMillis(), timeout));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+/**
+ * Records the status and the size of the http exchanges with the provider on the current
+ * thread, for an interceptor which measures the calls, e.g. the JFR events.
+ *
+ * <p>
+ * Only the exchanges of {@link StreamingAuthHttpClient} are recorded, the http client of
+ * JustAuth is not observable. Start it in an interceptor ordered after
+ * {@link RetryingAuthRequestInterceptor}, whose hedged calls proceed on other threads.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public final class AuthHttpExchangeRecorder {
+
+    private static final ThreadLocal<AuthHttpExchangeRecorder> CURRENT = new ThreadLocal<>();
+
+    private final AuthHttpExchangeRecorder previous;
+
+    private int status = -1;
+
+    private long bytes = -1;
+
+    private AuthHttpExchangeRecorder(AuthHttpExchangeRecorder previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Start recording the exchanges on the current thread, {@link #stop()} it in a
+     * {@code finally} block.
+     *
+     * @return the recorder
+     */
+    public static AuthHttpExchangeRecorder start() {
+        AuthHttpExchangeRecorder recorder = new AuthHttpExchangeRecorder(CURRENT.get());
+        CURRENT.set(recorder);
+        return recorder;
+    }
+
+    static void record(int status, long bytes) {
+        AuthHttpExchangeRecorder recorder = CURRENT.get();
+        if (recorder == null) {
+            return;
+        }
+        recorder.status = status;
+        if (bytes >= 0) {
+            recorder.bytes = Math.max(recorder.bytes, 0) + bytes;
+        }
+    }
+
+    public void stop() {
+        if (this.previous != null) {
+            CURRENT.set(this.previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * @return the http status of the last exchange, or {@code -1} if none recorded
+     */
+    public int getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return the total size of the response bodies as declared by {@code Content-Length}, or
+     *         {@code -1} if unknown
+     */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * The operations of {@link AuthRequest} which can be intercepted by {@link AuthRequestInterceptor}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public enum AuthOperation {
+
+    /**
+     * {@link AuthRequest#authorize(String)}
+     */
+    AUTHORIZE(true),
+
+    /**
+     * {@link AuthRequest#login(me.zhyd.oauth.model.AuthCallback)}
+     */
+    LOGIN(false),
+
+    /**
+     * {@link AuthRequest#getAccessToken(me.zhyd.oauth.model.AuthCallback)},
+     * the authorization code can only be exchanged once.
+     */
+    ACCESS_TOKEN(false),
+
+    /**
+     * {@link AuthRequest#getUserInfo(me.zhyd.oauth.model.AuthToken)}
+     */
+    USER_INFO(true),
+
+    /**
+     * {@link AuthRequest#refresh(me.zhyd.oauth.model.AuthToken)}
+     */
+    REFRESH(true),
+
+    /**
+     * {@link AuthRequest#revoke(me.zhyd.oauth.model.AuthToken)}
+     */
+    REVOKE(false);
+
+    private final boolean idempotent;
+
+    AuthOperation(boolean idempotent) {
+        this.idempotent = idempotent;
+    }
+
+    /**
+     * Whether the operation can be safely retried or hedged.
+     *
+     * @return {@code true} if the operation is idempotent
+     */
+    public boolean isIdempotent() {
+        return this.idempotent;
+    }
+
+}
@@ -15,14 +15,19 @@
  */
 package com.youkol.support.justauth.support.request;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 import com.youkol.support.justauth.autoconfigure.JustAuthProperties;
 import com.youkol.support.justauth.support.config.AuthConfigRepository;
@@ -30,7 +35,9 @@ import com.youkol.support.justauth.support.config.AuthConfigRepository;
 import me.zhyd.oauth.AuthRequestBuilder;
 import me.zhyd.oauth.cache.AuthStateCache;
 import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.config.AuthDefaultSource;
 import me.zhyd.oauth.config.AuthSource;
+import me.zhyd.oauth.enums.AuthResponseStatus;
 import me.zhyd.oauth.exception.AuthException;
 import me.zhyd.oauth.request.AuthRequest;
 
@@ -42,12 +49,27 @@ import me.zhyd.oauth.request.AuthRequest;
  */
 public class AuthRequestFactory {
 
+    private static final Log logger = LogFactory.getLog(AuthRequestFactory.class);
+
     private AuthConfigRepository authConfigRepository;
 
     private AuthStateCache authStateCache;
 
     private Map<String, AuthSource> extendAuthSources = new ConcurrentHashMap<>();
 
+    private List<AuthRequestInterceptor> interceptors = new CopyOnWriteArrayList<>();
+
+    private Map<String, AuthorizeUrlTemplate> authorizeUrlTemplates = new ConcurrentHashMap<>();
+
+    private AuthStateGenerator stateGenerator = AuthStateGenerator.DEFAULT;
+
+    private volatile AuthRequestResolveRecorder resolveRecorder = AuthRequestResolveRecorder.NONE;
+
+    /**
+     * The {@code extend-auth-source-class} not instantiated yet, in the lazy mode.
+     */
+    private volatile List<Class<? extends AuthSource>> pendingExtendAuthSourceClasses;
+
     public AuthRequestFactory(AuthConfigRepository authConfigRepository, AuthStateCache authStateCache,
             List<AuthSource> extendAuthSources, JustAuthProperties properties) {
         this.authConfigRepository = authConfigRepository;
@@ -55,14 +77,56 @@ public class AuthRequestFactory {
         if (!CollectionUtils.isEmpty(extendAuthSources)) {
             extendAuthSources.forEach(this::registerExtendAuthSource);
         }
-        this.mergeExtendAuthSources(properties);
+        if (properties.getStartup().isLazy()) {
+            this.pendingExtendAuthSourceClasses = new ArrayList<>(properties.getExtendAuthSourceClass());
+        } else {
+            this.mergeExtendAuthSources(properties.getExtendAuthSourceClass());
+        }
     }
 
-    private void mergeExtendAuthSources(JustAuthProperties properties) {
-        properties.getExtendAuthSourceClass()
-                .stream()
+    private void mergeExtendAuthSources(List<Class<? extends AuthSource>> extendAuthSourceClasses) {
+        extendAuthSourceClasses.stream()
                 .flatMap(this::createInstanceFromClass)
-                .forEach(this::registerExtendAuthSource);
+                .forEach(authSource -> {
+                    this.extendAuthSources.put(authSource.getName(), authSource);
+                    this.authorizeUrlTemplates.remove(authSource.getName().toUpperCase());
+                });
+    }
+
+    private void initExtendAuthSources() {
+        if (this.pendingExtendAuthSourceClasses == null) {
+            return;
+        }
+
+        synchronized (this) {
+            List<Class<? extends AuthSource>> pending = this.pendingExtendAuthSourceClasses;
+            if (pending != null) {
+                this.mergeExtendAuthSources(pending);
+                this.pendingExtendAuthSourceClasses = null;
+            }
+        }
+    }
+
+    /**
+     * Do the work deferred by the lazy mode ahead of the first login: instantiate the
+     * {@code extend-auth-source-class}, load each configured {@link AuthConfig} and compile its
+     * authorize url. A source failing to initialize is logged and skipped, it fails again on use.
+     *
+     * @return Return the number of sources initialized.
+     */
+    public int preInitialize() {
+        this.initExtendAuthSources();
+
+        int initialized = 0;
+        for (String source : this.getConfiguredOAuthNames()) {
+            try {
+                this.getAuthorizeUrlTemplate(source);
+                initialized++;
+            } catch (RuntimeException ex) {
+                logger.warn("Failed to pre-initialize the source " + source, ex);
+            }
+        }
+        return initialized;
     }
 
     /**
@@ -71,7 +135,7 @@ public class AuthRequestFactory {
      * @return Return the current configured OAuth names.
      */
     public List<String> getConfiguredOAuthNames() {
-        return this.authConfigRepository.listAuthConfig().keySet()
+        return this.authConfigRepository.listAuthConfigIds()
                 .stream()
                 .map(String::toUpperCase)
                 .collect(Collectors.toList());
@@ -84,9 +148,120 @@ public class AuthRequestFactory {
      * @return Return {@link AuthRequest} or null if not found.
      */
     public AuthRequest getAuthRequest(String source) {
+        return this.resolveRecorder.record(source, () -> this.resolveAuthRequest(source));
+    }
+
+    /**
+     * Return an {@link AuthRequest} of the given {@link AuthConfig} instead of the configured
+     * one, e.g. of a tenant, with the same extended sources, state cache and interceptors.
+     *
+     * @param source     the source of OAuth2 {@link AuthSource}
+     * @param authConfig the {@link AuthConfig} of the source
+     * @return Return {@link AuthRequest}
+     */
+    public AuthRequest getAuthRequest(String source, AuthConfig authConfig) {
+        return this.resolveRecorder.record(source, () -> this.resolveAuthRequest(source, authConfig));
+    }
+
+    private AuthRequest resolveAuthRequest(String source, AuthConfig authConfig) {
+        AuthRequest authRequest = this.buildAuthRequest(source, authConfig);
+
+        if (this.interceptors.isEmpty()) {
+            return authRequest;
+        }
+
+        return new InterceptingAuthRequest(authRequest, this.getAuthSource(source), authConfig,
+                this.authStateCache, this.interceptors, config -> this.buildAuthRequest(source, config));
+    }
+
+    private AuthRequest resolveAuthRequest(String source) {
+        AuthRequest authRequest = this.buildAuthRequest(source, this.authStateCache);
+
+        if (this.interceptors.isEmpty()) {
+            return authRequest;
+        }
+
+        return new InterceptingAuthRequest(authRequest, this.getAuthSource(source), this.getAuthConfig(source),
+                this.authStateCache, this.interceptors, config -> this.buildAuthRequest(source, config));
+    }
+
+    /**
+     * Return the authorize url of the given source, without creating a full {@link AuthRequest}.
+     *
+     * <p>
+     * The constant part of the url is compiled once per loaded {@link AuthConfig}, only the
+     * encoded state is appended on each call. Sources which are not templatable, e.g. with PKCE,
+     * fall back to {@link AuthRequest#authorize(String)}.
+     *
+     * @param source the source of OAuth2 {@link AuthSource}
+     * @param state  the state, a new one is created by {@link #createState()} if empty
+     * @return Return the authorize url.
+     */
+    public String authorizeUrl(String source, String state) {
+        String realState = StringUtils.hasText(state) ? state : this.createState();
+        AuthorizeUrlTemplate template = this.getAuthorizeUrlTemplate(source);
+        if (!template.isSupported()) {
+            return this.getAuthRequest(source).authorize(realState);
+        }
+
+        this.authStateCache.cache(realState, realState);
+        return template.expand(realState);
+    }
+
+    /**
+     * Create a new state by the configured {@link AuthStateGenerator}, use it instead of
+     * {@code AuthStateUtils#createState()} so the configured generator takes effect.
+     *
+     * @return Return the new state.
+     */
+    public String createState() {
+        return this.stateGenerator.generate();
+    }
+
+    public void setStateGenerator(AuthStateGenerator stateGenerator) {
+        this.stateGenerator = stateGenerator != null ? stateGenerator : AuthStateGenerator.DEFAULT;
+    }
+
+    /**
+     * Set the recorder of the resolving of {@link #getAuthRequest(String)}, e.g. as a JFR event.
+     *
+     * @param resolveRecorder the recorder, or {@code null} to record nothing
+     */
+    public void setResolveRecorder(AuthRequestResolveRecorder resolveRecorder) {
+        this.resolveRecorder = resolveRecorder != null ? resolveRecorder : AuthRequestResolveRecorder.NONE;
+    }
+
+    public AuthStateCache getAuthStateCache() {
+        return this.authStateCache;
+    }
+
+    private AuthorizeUrlTemplate getAuthorizeUrlTemplate(String source) {
+        AuthConfig authConfig = this.getAuthConfig(source);
+        String key = source.toUpperCase();
+        AuthorizeUrlTemplate template = this.authorizeUrlTemplates.get(key);
+        if (template != null && template.isCompiledFrom(authConfig)) {
+            return template;
+        }
+
+        template = AuthorizeUrlTemplate.compile(
+                this.buildAuthRequest(source, AuthorizeUrlTemplate.NO_OP_STATE_CACHE), authConfig);
+        this.authorizeUrlTemplates.put(key, template);
+        return template;
+    }
+
+    private AuthRequest buildAuthRequest(String source, AuthStateCache authStateCache) {
         return AuthRequestBuilder.builder()
                 .source(source)
                 .authConfig(this::getAuthConfig)
+                .authStateCache(authStateCache)
+                .extendSource(this.getExtendAuthSources())
+                .build();
+    }
+
+    private AuthRequest buildAuthRequest(String source, AuthConfig authConfig) {
+        return AuthRequestBuilder.builder()
+                .source(source)
+                .authConfig(authConfig)
                 .authStateCache(this.authStateCache)
                 .extendSource(this.getExtendAuthSources())
                 .build();
@@ -96,7 +271,28 @@ public class AuthRequestFactory {
         return this.authConfigRepository.getAuthConfigById(source);
     }
 
-    private AuthSource[] getExtendAuthSources() {
+    /**
+     * Return the {@link AuthSource} of the given name, either a built-in or an extended one.
+     *
+     * @param source the name of source
+     * @return Return the {@link AuthSource}.
+     * @throws AuthException if the source is not implemented
+     */
+    public AuthSource getAuthSource(String source) {
+        this.initExtendAuthSources();
+        return Stream.concat(Arrays.stream(AuthDefaultSource.values()), this.extendAuthSources.values().stream())
+                .filter(authSource -> authSource.getName().equalsIgnoreCase(source))
+                .findFirst()
+                .orElseThrow(() -> new AuthException(AuthResponseStatus.NOT_IMPLEMENTED));
+    }
+
+    /**
+     * Return the registered extend {@link AuthSource}s.
+     *
+     * @return Return the extend {@link AuthSource}s.
+     */
+    public AuthSource[] getExtendAuthSources() {
+        this.initExtendAuthSources();
         return this.extendAuthSources.values()
                 .stream()
                 .toArray(AuthSource[]::new);
@@ -117,11 +313,28 @@ public class AuthRequestFactory {
     }
 
     public void registerExtendAuthSource(AuthSource authSource) {
+        this.initExtendAuthSources();
         this.extendAuthSources.put(authSource.getName(), authSource);
+        this.authorizeUrlTemplates.remove(authSource.getName().toUpperCase());
     }
 
     public void unregisterExtendAuthSource(AuthSource authSource) {
+        this.initExtendAuthSources();
         this.extendAuthSources.remove(authSource.getName());
+        this.authorizeUrlTemplates.remove(authSource.getName().toUpperCase());
+    }
+
+    /**
+     * Add an {@link AuthRequestInterceptor} which is applied to every issued {@link AuthRequest}.
+     *
+     * @param interceptor the interceptor to add
+     */
+    public void addInterceptor(AuthRequestInterceptor interceptor) {
+        this.interceptors.add(interceptor);
+    }
+
+    public void removeInterceptor(AuthRequestInterceptor interceptor) {
+        this.interceptors.remove(interceptor);
     }
 
 }
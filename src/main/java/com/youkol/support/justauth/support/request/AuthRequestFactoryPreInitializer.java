@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Runs {@link AuthRequestFactory#preInitialize()} on a background thread once the application
+ * is ready, so the lazy mode keeps the startup short without the first logins paying for it.
+ *
+ * <p>
+ * The work is recorded as the {@value #STEP_NAME} step of the {@link ApplicationStartup}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthRequestFactoryPreInitializer implements ApplicationListener<ApplicationReadyEvent> {
+
+    public static final String STEP_NAME = "youkol.justauth.pre-initialize";
+
+    private static final Log logger = LogFactory.getLog(AuthRequestFactoryPreInitializer.class);
+
+    private final AuthRequestFactory authRequestFactory;
+
+    private final ApplicationStartup applicationStartup;
+
+    public AuthRequestFactoryPreInitializer(AuthRequestFactory authRequestFactory,
+            ApplicationStartup applicationStartup) {
+        this.authRequestFactory = authRequestFactory;
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        Thread thread = new Thread(this::preInitialize, "justauth-pre-initialize");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void preInitialize() {
+        StartupStep step = this.applicationStartup.start(STEP_NAME);
+        long start = System.nanoTime();
+        try {
+            int initialized = this.authRequestFactory.preInitialize();
+            step.tag("sources", String.valueOf(initialized));
+            if (logger.isDebugEnabled()) {
+                logger.debug(String.format("Pre-initialized %d sources of JustAuth in %d ms", initialized,
+                        (System.nanoTime() - start) / 1_000_000));
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to pre-initialize JustAuth", ex);
+        } finally {
+            step.end();
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * Intercepts the {@link AuthRequest} issued by {@link AuthRequestFactory}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see AuthRequestFactory#addInterceptor(AuthRequestInterceptor)
+ */
+public interface AuthRequestInterceptor {
+
+    /**
+     * Intercept the given invocation, call {@link AuthRequestInvocation#proceed()} to continue.
+     *
+     * @param <T>        the result type of the invocation
+     * @param invocation the invocation of {@link AuthRequest}
+     * @return the result of the invocation
+     */
+    <T> T intercept(AuthRequestInvocation<T> invocation);
+
+}
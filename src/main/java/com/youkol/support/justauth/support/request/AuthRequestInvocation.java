@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.util.function.Consumer;
+
+import com.xkcoding.http.config.HttpConfig;
+
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * An invocation of {@link AuthRequest} which is passed to {@link AuthRequestInterceptor}.
+ *
+ * @param <T> the result type of the invocation
+ * @author jackiea
+ * @since 1.0.2
+ */
+public interface AuthRequestInvocation<T> {
+
+    /**
+     * Return the name of the source, such as {@code "WECHAT_MP"}.
+     *
+     * @return the name of the source
+     */
+    String getSource();
+
+    /**
+     * Return the intercepted operation.
+     *
+     * @return the intercepted operation
+     */
+    AuthOperation getOperation();
+
+    /**
+     * Return the argument of the operation, such as the state, the callback or the token.
+     *
+     * @return the argument of the operation
+     */
+    Object getArgument();
+
+    /**
+     * Return the {@link AuthConfig} the target request is built with, e.g. the one of a tenant
+     * rather than the configured one of the source. Use it instead of looking up the config by
+     * {@link #getSource()}.
+     *
+     * @return the {@link AuthConfig}, may be {@code null}
+     */
+    AuthConfig getAuthConfig();
+
+    /**
+     * Return the target {@link AuthRequest}.
+     *
+     * @return the target {@link AuthRequest}
+     */
+    AuthRequest getAuthRequest();
+
+    /**
+     * Proceed to the next interceptor in the chain, or the target {@link AuthRequest}.
+     * May be called more than once, e.g. for retries.
+     *
+     * @return the result of the invocation
+     */
+    T proceed();
+
+    /**
+     * Proceed with a copy of the {@link HttpConfig} of {@link #getAuthConfig()} customized by
+     * the given callback, e.g. to use another proxy or timeout for this call only. The next
+     * interceptors see the customized copy, the shared {@link AuthConfig} is never changed.
+     *
+     * <p>
+     * <b>NOTE:</b> the built-in requests of JustAuth apply the {@link HttpConfig} of a call to
+     * the global {@code HttpUtil} right before sending it, so a {@link ThreadBoundHttp} is
+     * installed into it to keep the config of a call to its own thread.
+     *
+     * @param httpConfigCustomizer the callback to customize the copied {@link HttpConfig}
+     * @return the result of the invocation
+     */
+    T proceed(Consumer<HttpConfig> httpConfigCustomizer);
+
+}
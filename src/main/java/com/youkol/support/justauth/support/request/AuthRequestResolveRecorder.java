@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.util.function.Supplier;
+
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * Records the resolving of an {@link AuthRequest} by {@link AuthRequestFactory}, e.g. as a JFR
+ * event.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see AuthRequestFactory#setResolveRecorder(AuthRequestResolveRecorder)
+ */
+@FunctionalInterface
+public interface AuthRequestResolveRecorder {
+
+    /**
+     * The default recorder, which records nothing.
+     */
+    AuthRequestResolveRecorder NONE = (source, resolver) -> resolver.get();
+
+    /**
+     * Resolve the {@link AuthRequest} of the given source by the resolver, and record it.
+     *
+     * @param source   the name of source
+     * @param resolver resolves the {@link AuthRequest}
+     * @return the resolved {@link AuthRequest}
+     */
+    AuthRequest record(String source, Supplier<AuthRequest> resolver);
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Decodes the top-level fields of a JSON response of the third-party platform.
+ *
+ * <p>
+ * Only the requested fields are extracted, and their values are returned as text; object or
+ * array values are skipped.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see JacksonStreamingResponseDecoder
+ * @see FastjsonResponseDecoder
+ */
+public interface AuthResponseDecoder {
+
+    /**
+     * The default maximum size of a response, in bytes.
+     */
+    int DEFAULT_MAX_RESPONSE_SIZE = 256 * 1024;
+
+    /**
+     * Decode the given fields from the response body.
+     *
+     * @param body   the response body, not closed by this method
+     * @param fields the names of the top-level fields to extract
+     * @return the values of the fields present in the response
+     * @throws IOException if the body cannot be read or is not a JSON object
+     */
+    Map<String, String> decode(InputStream body, Set<String> fields) throws IOException;
+
+    /**
+     * Return the default decoder, streaming with Jackson if it is present on the classpath,
+     * otherwise parsing with fastjson.
+     *
+     * @return the default decoder
+     */
+    static AuthResponseDecoder getDefault() {
+        ClassLoader classLoader = AuthResponseDecoder.class.getClassLoader();
+        return ClassUtils.isPresent("com.fasterxml.jackson.core.JsonFactory", classLoader)
+                ? new JacksonStreamingResponseDecoder(DEFAULT_MAX_RESPONSE_SIZE)
+                : new FastjsonResponseDecoder(DEFAULT_MAX_RESPONSE_SIZE);
+    }
+
+}
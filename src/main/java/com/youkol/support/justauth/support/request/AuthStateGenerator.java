@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import me.zhyd.oauth.utils.AuthStateUtils;
+
+/**
+ * Generates the {@code state} of the authorize url.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see AuthRequestFactory#createState()
+ */
+@FunctionalInterface
+public interface AuthStateGenerator {
+
+    /**
+     * The default generator, which creates a random state by {@link AuthStateUtils#createState()}.
+     */
+    AuthStateGenerator DEFAULT = AuthStateUtils::createState;
+
+    /**
+     * Generate a new state.
+     *
+     * @return the state, never empty
+     */
+    String generate();
+
+}
@@ -15,7 +15,14 @@
  */
 package com.youkol.support.justauth.support.request;
 
-import com.alibaba.fastjson.JSONObject;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.StringUtils;
+
 import com.youkol.support.justauth.support.config.AuthExtendSource;
 
 import me.zhyd.oauth.cache.AuthStateCache;
@@ -45,6 +52,11 @@ import me.zhyd.oauth.utils.UrlBuilder;
 @Deprecated
 public class AuthWeChatMiniAppRequest extends AuthDefaultRequest {
 
+    private static final Set<String> ACCESS_TOKEN_FIELDS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("errcode", "errmsg", "session_key", "openid", "unionid")));
+
+    private AuthResponseDecoder responseDecoder = AuthResponseDecoder.getDefault();
+
     public AuthWeChatMiniAppRequest(AuthConfig config) {
         super(config, AuthExtendSource.WECHAT_MINI_APP);
     }
@@ -55,10 +67,15 @@ public class AuthWeChatMiniAppRequest extends AuthDefaultRequest {
 
     @Override
     public AuthToken getAccessToken(AuthCallback authCallback) {
-        String response = this.doGetAuthorizationCode(authCallback.getCode());
+        Map<String, String> response = StreamingAuthHttpClient.get(this.accessTokenUrl(authCallback.getCode()),
+                this.config.getHttpConfig(), this.responseDecoder, ACCESS_TOKEN_FIELDS);
         return this.getAuthToken(response);
     }
 
+    public void setResponseDecoder(AuthResponseDecoder responseDecoder) {
+        this.responseDecoder = responseDecoder;
+    }
+
     /**
      * 由于微信规则调整，获取用户信息，需要在小程序端调用处理后传递到后端。
      * 参考地址：https://developers.weixin.qq.com/miniprogram/dev/api/open-api/user-info/wx.getUserProfile.html
@@ -78,31 +95,30 @@ public class AuthWeChatMiniAppRequest extends AuthDefaultRequest {
     /**
      * 检查响应内容是否正确
      *
-     * @param object 请求响应内容
+     * @param response 请求响应内容
      */
-    private void checkResponse(JSONObject object) {
-        if (object == null) {
+    private void checkResponse(Map<String, String> response) {
+        if (response == null) {
             throw new AuthException("Response data is null.");
         }
 
-        int errCode = object.getIntValue("errcode");
-        String errMsg = object.getString("errmsg");
+        String errCodeValue = response.get("errcode");
+        int errCode = StringUtils.hasText(errCodeValue) ? Integer.parseInt(errCodeValue) : 0;
+        String errMsg = response.get("errmsg");
 
         if (errCode != 0) {
             throw new AuthException(errCode, errMsg);
         }
     }
 
-    private AuthToken getAuthToken(String response) {
-        JSONObject accessTokenObject = JSONObject.parseObject(response);
-
-        this.checkResponse(accessTokenObject);
+    private AuthToken getAuthToken(Map<String, String> response) {
+        this.checkResponse(response);
 
         return AuthToken.builder()
                 // 会话密钥session_key暂时放在uid中
-                .uid(accessTokenObject.getString("session_key"))
-                .openId(accessTokenObject.getString("openid"))
-                .unionId(accessTokenObject.getString("unionid"))
+                .uid(response.get("session_key"))
+                .openId(response.get("openid"))
+                .unionId(response.get("unionid"))
                 .build();
     }
 
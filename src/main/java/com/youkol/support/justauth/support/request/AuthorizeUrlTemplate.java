@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+
+import me.zhyd.oauth.cache.AuthStateCache;
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * A precompiled authorize url of one source, only the {@code state} is appended on each call.
+ *
+ * <p>
+ * The template is compiled by calling {@link AuthRequest#authorize(String)} with a placeholder
+ * state, so every source is supported without knowing its parameters. Sources which produce a
+ * different url on each call, e.g. with PKCE or a nonce, are not templatable.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see AuthRequestFactory#authorizeUrl(String, String)
+ */
+public final class AuthorizeUrlTemplate {
+
+    static final String STATE_PLACEHOLDER = "YoukolJustAuthStatePlaceholder";
+
+    /**
+     * An {@link AuthStateCache} which caches nothing, used to compile the template.
+     */
+    static final AuthStateCache NO_OP_STATE_CACHE = new AuthStateCache() {
+
+        @Override
+        public void cache(String key, String value) {
+            // nothing to do
+        }
+
+        @Override
+        public void cache(String key, String value, long timeout) {
+            // nothing to do
+        }
+
+        @Override
+        public String get(String key) {
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(String key) {
+            return false;
+        }
+    };
+
+    private final AuthConfig authConfig;
+
+    private final String prefix;
+
+    private final String suffix;
+
+    private AuthorizeUrlTemplate(AuthConfig authConfig, String prefix, String suffix) {
+        this.authConfig = authConfig;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    /**
+     * Compile the template from the given {@link AuthRequest}, which should be created with
+     * an {@link AuthStateCache} that caches nothing.
+     *
+     * @param authRequest the {@link AuthRequest} to compile
+     * @param authConfig  the {@link AuthConfig} of the {@link AuthRequest}
+     * @return the compiled template, never {@code null}
+     */
+    static AuthorizeUrlTemplate compile(AuthRequest authRequest, AuthConfig authConfig) {
+        String first;
+        String second;
+        try {
+            first = authRequest.authorize(STATE_PLACEHOLDER);
+            second = authRequest.authorize(STATE_PLACEHOLDER);
+        } catch (RuntimeException ex) {
+            return unsupported(authConfig);
+        }
+
+        if (first == null || !first.equals(second)) {
+            return unsupported(authConfig);
+        }
+
+        int index = first.indexOf(STATE_PLACEHOLDER);
+        if (index < 0 || first.indexOf(STATE_PLACEHOLDER, index + 1) >= 0) {
+            return unsupported(authConfig);
+        }
+
+        return new AuthorizeUrlTemplate(authConfig, first.substring(0, index),
+                first.substring(index + STATE_PLACEHOLDER.length()));
+    }
+
+    static AuthorizeUrlTemplate unsupported(AuthConfig authConfig) {
+        return new AuthorizeUrlTemplate(authConfig, null, null);
+    }
+
+    /**
+     * Whether the authorize url of the source can be built from this template.
+     *
+     * @return {@code true} if the template is usable
+     */
+    public boolean isSupported() {
+        return this.prefix != null;
+    }
+
+    /**
+     * Whether the template was compiled from the given {@link AuthConfig}.
+     *
+     * @param authConfig the current {@link AuthConfig} of the source
+     * @return {@code true} if the template is compiled from the given config
+     */
+    public boolean isCompiledFrom(AuthConfig authConfig) {
+        return this.authConfig == authConfig;
+    }
+
+    /**
+     * Build the authorize url with the given state.
+     *
+     * @param state the state, must not be empty
+     * @return the authorize url
+     */
+    public String expand(String state) {
+        String encodedState = encode(state);
+        return new StringBuilder(this.prefix.length() + encodedState.length() + this.suffix.length())
+                .append(this.prefix)
+                .append(encodedState)
+                .append(this.suffix)
+                .toString();
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+
+/**
+ * An {@link AuthResponseDecoder} which parses the whole response with fastjson, used when
+ * Jackson is not present on the classpath. The object and array values are skipped as by
+ * {@link JacksonStreamingResponseDecoder}, so both return the same fields.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class FastjsonResponseDecoder implements AuthResponseDecoder {
+
+    private final int maxResponseSize;
+
+    public FastjsonResponseDecoder(int maxResponseSize) {
+        this.maxResponseSize = maxResponseSize;
+    }
+
+    @Override
+    public Map<String, String> decode(InputStream body, Set<String> fields) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        InputStream in = new BoundedInputStream(body, this.maxResponseSize);
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+
+        JSONObject object;
+        try {
+            object = JSONObject.parseObject(new String(out.toByteArray(), StandardCharsets.UTF_8));
+        } catch (JSONException ex) {
+            throw new IOException("Response is not a JSON object", ex);
+        }
+        if (object == null) {
+            throw new IOException("Response is not a JSON object");
+        }
+
+        Map<String, String> values = new HashMap<>(fields.size() * 2);
+        for (String field : fields) {
+            if (!object.containsKey(field)) {
+                continue;
+            }
+            // skipped like the streaming decoder, rather than returned as json text
+            Object value = object.get(field);
+            if (!(value instanceof JSONObject || value instanceof JSONArray)) {
+                values.put(field, value == null ? null : value.toString());
+            }
+        }
+        return values;
+    }
+
+}
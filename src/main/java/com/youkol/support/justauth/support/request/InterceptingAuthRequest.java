@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import com.xkcoding.http.config.HttpConfig;
+
+import me.zhyd.oauth.AuthRequestBuilder;
+import me.zhyd.oauth.cache.AuthStateCache;
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.config.AuthSource;
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.request.AuthDefaultRequest;
+import me.zhyd.oauth.request.AuthRequest;
+import me.zhyd.oauth.utils.AuthChecker;
+
+/**
+ * An {@link AuthRequest} which applies the {@link AuthRequestInterceptor}s to the target request.
+ *
+ * <p>
+ * The login flow of {@link AuthDefaultRequest} is rebuilt here, so that the token exchange and
+ * the user-info fetch are intercepted separately. If the target request customizes the login
+ * flow, the whole {@link #login(AuthCallback)} is delegated to it.
+ *
+ * <p>
+ * An interceptor may proceed with its own {@link HttpConfig}, e.g. another proxy or timeout,
+ * the target request of that call is then built from a copy of the {@link AuthConfig}, and the
+ * shared one is never changed. The first such call installs a {@link ThreadBoundHttp} into the
+ * global {@code HttpUtil}, so the concurrent calls don't observe each other's {@link HttpConfig}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class InterceptingAuthRequest implements AuthRequest {
+
+    private static final Map<Class<?>, Boolean> DEFAULT_LOGIN_FLOW_CACHE = new ConcurrentHashMap<>();
+
+    private final AuthRequest delegate;
+
+    private final AuthSource source;
+
+    private final AuthConfig config;
+
+    private final AuthStateCache authStateCache;
+
+    private final List<AuthRequestInterceptor> interceptors;
+
+    private final Function<AuthConfig, AuthRequest> requestBuilder;
+
+    public InterceptingAuthRequest(AuthRequest delegate, AuthSource source, AuthConfig config,
+            AuthStateCache authStateCache, List<AuthRequestInterceptor> interceptors) {
+        this(delegate, source, config, authStateCache, interceptors, authConfig -> AuthRequestBuilder.builder()
+                .source(source.getName())
+                .authConfig(authConfig)
+                .authStateCache(authStateCache)
+                .extendSource(source)
+                .build());
+    }
+
+    /**
+     * Create a new {@link InterceptingAuthRequest}.
+     *
+     * @param delegate       the target request
+     * @param source         the source of the target request
+     * @param config         the {@link AuthConfig} the target request is built with
+     * @param authStateCache the state cache of the target request
+     * @param interceptors   the interceptors
+     * @param requestBuilder builds a target request of the same source for a call which proceeds
+     *                       with its own {@link HttpConfig}
+     */
+    public InterceptingAuthRequest(AuthRequest delegate, AuthSource source, AuthConfig config,
+            AuthStateCache authStateCache, List<AuthRequestInterceptor> interceptors,
+            Function<AuthConfig, AuthRequest> requestBuilder) {
+        this.delegate = delegate;
+        this.source = source;
+        this.config = config;
+        this.authStateCache = authStateCache;
+        this.interceptors = interceptors;
+        this.requestBuilder = requestBuilder;
+    }
+
+    /**
+     * Return the target {@link AuthRequest}.
+     *
+     * @return the target {@link AuthRequest}
+     */
+    public AuthRequest getDelegate() {
+        return this.delegate;
+    }
+
+    @Override
+    @Deprecated
+    @SuppressWarnings("deprecation")
+    public String authorize() {
+        return this.delegate.authorize();
+    }
+
+    @Override
+    public String authorize(String state) {
+        return this.invoke(AuthOperation.AUTHORIZE, state, request -> request.authorize(state));
+    }
+
+    @Override
+    public AuthToken getAccessToken(AuthCallback authCallback) {
+        return this.invoke(AuthOperation.ACCESS_TOKEN, authCallback,
+                request -> request.getAccessToken(authCallback));
+    }
+
+    @Override
+    public AuthUser getUserInfo(AuthToken authToken) {
+        return this.invoke(AuthOperation.USER_INFO, authToken, request -> request.getUserInfo(authToken));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public AuthResponse login(AuthCallback authCallback) {
+        return this.invoke(AuthOperation.LOGIN, authCallback, request -> this.doLogin(request, authCallback));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public AuthResponse revoke(AuthToken authToken) {
+        return this.invoke(AuthOperation.REVOKE, authToken, request -> request.revoke(authToken));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public AuthResponse refresh(AuthToken authToken) {
+        return this.invoke(AuthOperation.REFRESH, authToken, request -> request.refresh(authToken));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private AuthResponse doLogin(AuthRequest authRequest, AuthCallback authCallback) {
+        if (!isDefaultLoginFlow(authRequest.getClass())) {
+            return authRequest.login(authCallback);
+        }
+
+        try {
+            AuthChecker.checkCode(this.source, authCallback);
+            if (!this.config.isIgnoreCheckState()) {
+                AuthChecker.checkState(authCallback.getState(), this.source, this.authStateCache);
+            }
+
+            AuthToken authToken = this.getAccessToken(authCallback);
+            AuthUser authUser = this.getUserInfo(authToken);
+            return AuthResponse.<AuthUser>builder()
+                    .code(AuthResponseStatus.SUCCESS.getCode())
+                    .data(authUser)
+                    .build();
+        } catch (Exception ex) {
+            return this.responseError(ex);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private AuthResponse responseError(Exception ex) {
+        int errorCode = AuthResponseStatus.FAILURE.getCode();
+        String errorMsg = ex.getMessage();
+        if (ex instanceof AuthException) {
+            AuthException authException = (AuthException) ex;
+            errorCode = authException.getErrorCode();
+            if (StringUtils.hasText(authException.getErrorMsg())) {
+                errorMsg = authException.getErrorMsg();
+            }
+        }
+
+        return AuthResponse.builder()
+                .code(errorCode)
+                .msg(errorMsg)
+                .build();
+    }
+
+    private <T> T invoke(AuthOperation operation, Object argument, Function<AuthRequest, T> target) {
+        return new ChainedInvocation<>(operation, argument, target, this.config, 0).proceed();
+    }
+
+    private static AuthConfig copyOf(AuthConfig authConfig, HttpConfig httpConfig) {
+        AuthConfig copy = new AuthConfig();
+        if (authConfig != null) {
+            BeanUtils.copyProperties(authConfig, copy);
+        }
+        copy.setHttpConfig(httpConfig);
+        return copy;
+    }
+
+    private static HttpConfig copyOf(HttpConfig httpConfig) {
+        HttpConfig copy = HttpConfig.builder().build();
+        if (httpConfig != null) {
+            BeanUtils.copyProperties(httpConfig, copy);
+        }
+        return copy;
+    }
+
+    private static boolean isDefaultLoginFlow(Class<?> clazz) {
+        return DEFAULT_LOGIN_FLOW_CACHE.computeIfAbsent(clazz, key -> {
+            if (!AuthDefaultRequest.class.isAssignableFrom(key)) {
+                return false;
+            }
+            return isDeclaredByDefaultRequest(key, "login")
+                    && isDeclaredByDefaultRequest(key, "checkCode");
+        });
+    }
+
+    private static boolean isDeclaredByDefaultRequest(Class<?> clazz, String methodName) {
+        Method method = ReflectionUtils.findMethod(clazz, methodName, AuthCallback.class);
+        return method == null || method.getDeclaringClass() == AuthDefaultRequest.class;
+    }
+
+    private class ChainedInvocation<T> implements AuthRequestInvocation<T> {
+
+        private final AuthOperation operation;
+
+        private final Object argument;
+
+        private final Function<AuthRequest, T> target;
+
+        private final AuthConfig config;
+
+        private final int index;
+
+        private AuthRequest authRequest;
+
+        ChainedInvocation(AuthOperation operation, Object argument, Function<AuthRequest, T> target,
+                AuthConfig config, int index) {
+            this.operation = operation;
+            this.argument = argument;
+            this.target = target;
+            this.config = config;
+            this.index = index;
+        }
+
+        @Override
+        public String getSource() {
+            return InterceptingAuthRequest.this.source.getName();
+        }
+
+        @Override
+        public AuthOperation getOperation() {
+            return this.operation;
+        }
+
+        @Override
+        public Object getArgument() {
+            return this.argument;
+        }
+
+        @Override
+        public AuthConfig getAuthConfig() {
+            return this.config;
+        }
+
+        @Override
+        public AuthRequest getAuthRequest() {
+            if (this.config == InterceptingAuthRequest.this.config) {
+                return InterceptingAuthRequest.this.delegate;
+            }
+
+            if (this.authRequest == null) {
+                this.authRequest = InterceptingAuthRequest.this.requestBuilder.apply(this.config);
+            }
+            return this.authRequest;
+        }
+
+        @Override
+        public T proceed() {
+            List<AuthRequestInterceptor> chain = InterceptingAuthRequest.this.interceptors;
+            if (this.index >= chain.size()) {
+                return this.target.apply(this.getAuthRequest());
+            }
+
+            return chain.get(this.index).intercept(
+                    new ChainedInvocation<>(this.operation, this.argument, this.target, this.config, this.index + 1));
+        }
+
+        @Override
+        public T proceed(Consumer<HttpConfig> httpConfigCustomizer) {
+            ThreadBoundHttp.install();
+            HttpConfig httpConfig = copyOf(this.config == null ? null : this.config.getHttpConfig());
+            httpConfigCustomizer.accept(httpConfig);
+            return new ChainedInvocation<>(this.operation, this.argument, this.target,
+                    copyOf(this.config, httpConfig), this.index).proceed();
+        }
+
+    }
+
+}
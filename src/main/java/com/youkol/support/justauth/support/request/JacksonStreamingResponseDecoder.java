@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * An {@link AuthResponseDecoder} which extracts the fields in a single pass with the Jackson
+ * streaming parser, without building a tree of the response. The parsing stops as soon as all
+ * requested fields are found.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JacksonStreamingResponseDecoder implements AuthResponseDecoder {
+
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(JsonFactory.Feature.INTERN_FIELD_NAMES)
+            .build();
+
+    private final int maxResponseSize;
+
+    public JacksonStreamingResponseDecoder(int maxResponseSize) {
+        this.maxResponseSize = maxResponseSize;
+    }
+
+    @Override
+    public Map<String, String> decode(InputStream body, Set<String> fields) throws IOException {
+        try (JsonParser parser = this.jsonFactory.createParser(new BoundedInputStream(body, this.maxResponseSize))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Response is not a JSON object");
+            }
+
+            Map<String, String> values = new HashMap<>(fields.size() * 2);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value.isScalarValue() && fields.contains(name)) {
+                    values.put(name, value == JsonToken.VALUE_NULL ? null : parser.getText());
+                    if (values.size() == fields.size()) {
+                        break;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return values;
+        }
+    }
+
+}
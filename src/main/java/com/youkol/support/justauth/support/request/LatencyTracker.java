@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * Tracks the latency of the latest calls in a fixed size window, and answers percentile queries.
+ *
+ * <p>
+ * The percentiles are recomputed at most once per {@code windowSize / 8} records, so the
+ * query is cheap enough to be called on every request.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class LatencyTracker {
+
+    public static final int DEFAULT_WINDOW_SIZE = 256;
+
+    private final AtomicLongArray samples;
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final int recomputeInterval;
+
+    private volatile long[] sorted = new long[0];
+
+    private volatile long sortedAt = -1L;
+
+    public LatencyTracker() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    public LatencyTracker(int windowSize) {
+        Assert.isTrue(windowSize > 0, "windowSize must be greater than 0");
+        this.samples = new AtomicLongArray(windowSize);
+        this.recomputeInterval = Math.max(1, windowSize / 8);
+    }
+
+    /**
+     * Record the latency of one call.
+     *
+     * @param latencyMillis the latency in milliseconds
+     */
+    public void record(long latencyMillis) {
+        long index = this.count.getAndIncrement();
+        this.samples.set((int) (index % this.samples.length()), latencyMillis);
+    }
+
+    /**
+     * Return the number of recorded samples, at most the window size.
+     *
+     * @return the number of recorded samples
+     */
+    public int size() {
+        return (int) Math.min(this.count.get(), this.samples.length());
+    }
+
+    /**
+     * Return the latency of the given percentile.
+     *
+     * @param percentile    the percentile, between 0 and 100
+     * @param defaultMillis returned if there is no sample yet
+     * @return the latency in milliseconds
+     */
+    public long percentile(double percentile, long defaultMillis) {
+        long[] values = this.getSorted();
+        if (values.length == 0) {
+            return defaultMillis;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100.0 * values.length) - 1;
+        return values[Math.min(values.length - 1, Math.max(0, rank))];
+    }
+
+    private long[] getSorted() {
+        long current = this.count.get();
+        if (this.sortedAt >= 0 && current - this.sortedAt < this.recomputeInterval) {
+            return this.sorted;
+        }
+
+        int size = (int) Math.min(current, this.samples.length());
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = this.samples.get(i);
+        }
+        Arrays.sort(values);
+
+        this.sorted = values;
+        this.sortedAt = current;
+        return values;
+    }
+
+}
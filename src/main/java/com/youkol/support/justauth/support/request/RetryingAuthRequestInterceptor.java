@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties.JustAuthHttpRetryConfig;
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties.JustAuthHttpRetryPolicy;
+
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * An {@link AuthRequestInterceptor} which retries the idempotent calls with jittered backoff,
+ * and optionally hedges them: a second call is started when the first one is slower than the
+ * configured percentile of the observed latency, and the first successful response wins.
+ *
+ * <p>
+ * Only {@link AuthOperation#USER_INFO} and {@link AuthOperation#REFRESH} are retried,
+ * the authorization code exchange is never retried or hedged.
+ *
+ * <p>
+ * A hedged call proceeds on a thread of its own pool, so the interceptors ordered after this
+ * one must not depend on the state of the calling thread. The built-in ones don't: the proxy
+ * and the timeout are applied to each call by {@link AuthRequestInvocation#proceed(java.util.function.Consumer)},
+ * and {@link AuthHttpExchangeRecorder} is started on the thread of the call it records.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class RetryingAuthRequestInterceptor implements AuthRequestInterceptor, Ordered, AutoCloseable {
+
+    public static final int ORDER = 100;
+
+    private static final int MAX_HEDGE_THREADS = 64;
+
+    private final JustAuthHttpRetryConfig retryConfig;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, LatencyTracker> latencyTrackers = new ConcurrentHashMap<>();
+
+    public RetryingAuthRequestInterceptor(JustAuthHttpRetryConfig retryConfig) {
+        this.retryConfig = retryConfig;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("justauth-hedge-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(0, MAX_HEDGE_THREADS, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory);
+    }
+
+    @Override
+    public <T> T intercept(AuthRequestInvocation<T> invocation) {
+        AuthOperation operation = invocation.getOperation();
+        if (operation != AuthOperation.USER_INFO && operation != AuthOperation.REFRESH) {
+            return invocation.proceed();
+        }
+
+        JustAuthHttpRetryPolicy policy = this.retryConfig.getPolicy(invocation.getSource());
+        int maxAttempts = Math.max(1, policy.getMaxAttempts());
+        long backoff = policy.getBackoff().toMillis();
+        for (int attempt = 1;; attempt++) {
+            try {
+                return this.call(invocation, policy);
+            } catch (RuntimeException ex) {
+                if (attempt >= maxAttempts || !this.isRetryable(ex)) {
+                    throw ex;
+                }
+            }
+
+            this.sleep(this.jitter(backoff, policy.getJitter()));
+            backoff = Math.min(backoff * 2, policy.getMaxBackoff().toMillis());
+        }
+    }
+
+    /**
+     * Whether the failed call should be retried. {@link AuthException}s other than
+     * {@link AuthResponseStatus#FAILURE}, such as an illegal token, are not retried.
+     *
+     * @param ex the failure of the call
+     * @return {@code true} if the call should be retried
+     */
+    protected boolean isRetryable(RuntimeException ex) {
+        if (ex instanceof AuthException) {
+            return ((AuthException) ex).getErrorCode() == AuthResponseStatus.FAILURE.getCode();
+        }
+        return true;
+    }
+
+    private <T> T call(AuthRequestInvocation<T> invocation, JustAuthHttpRetryPolicy policy) {
+        LatencyTracker latencyTracker = this.latencyTrackers.computeIfAbsent(
+                invocation.getSource().toUpperCase() + ":" + invocation.getOperation(),
+                key -> new LatencyTracker());
+        if (!policy.isHedge()) {
+            return this.timed(invocation, latencyTracker);
+        }
+
+        long minDelay = policy.getHedgeMinDelay().toMillis();
+        long hedgeDelay = Math.max(minDelay, latencyTracker.percentile(policy.getHedgeDelayPercentile(), minDelay));
+
+        CompletableFuture<T> primary;
+        try {
+            primary = CompletableFuture.supplyAsync(() -> this.timed(invocation, latencyTracker), this.executor);
+        } catch (RejectedExecutionException ex) {
+            return this.timed(invocation, latencyTracker);
+        }
+
+        try {
+            return primary.get(hedgeDelay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // fall through to start the hedged call
+        } catch (ExecutionException ex) {
+            throw this.unwrap(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AuthException("Interrupted while waiting for " + invocation.getOperation(), ex);
+        }
+
+        CompletableFuture<T> secondary;
+        try {
+            secondary = CompletableFuture.supplyAsync(() -> this.timed(invocation, latencyTracker), this.executor);
+        } catch (RejectedExecutionException ex) {
+            return this.await(primary, invocation);
+        }
+
+        return this.await(this.firstSuccessful(primary, secondary), invocation);
+    }
+
+    private <T> T timed(AuthRequestInvocation<T> invocation, LatencyTracker latencyTracker) {
+        long start = System.nanoTime();
+        T result = invocation.proceed();
+        latencyTracker.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return result;
+    }
+
+    @SafeVarargs
+    private final <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T>... futures) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(futures.length);
+        for (CompletableFuture<T> future : futures) {
+            future.whenComplete((value, ex) -> {
+                if (ex == null) {
+                    result.complete(value);
+                } else if (remaining.decrementAndGet() == 0) {
+                    result.completeExceptionally(ex);
+                }
+            });
+        }
+        return result;
+    }
+
+    private <T> T await(Future<T> future, AuthRequestInvocation<T> invocation) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw this.unwrap(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AuthException("Interrupted while waiting for " + invocation.getOperation(), ex);
+        }
+    }
+
+    private RuntimeException unwrap(ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        while (cause instanceof ExecutionException || cause instanceof CompletionException) {
+            if (cause.getCause() == null) {
+                break;
+            }
+            cause = cause.getCause();
+        }
+
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new AuthException(String.valueOf(cause), cause);
+    }
+
+    private long jitter(long backoff, double jitter) {
+        long spread = (long) (backoff * Math.min(1.0, Math.max(0.0, jitter)));
+        if (spread <= 0) {
+            return backoff;
+        }
+        return backoff - spread + ThreadLocalRandom.current().nextLong(2 * spread + 1);
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AuthException("Interrupted while backing off", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
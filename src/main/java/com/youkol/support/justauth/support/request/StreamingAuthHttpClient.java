@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import com.xkcoding.http.config.HttpConfig;
+import com.xkcoding.http.constants.Constants;
+
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * A minimal http client for the extended {@link me.zhyd.oauth.request.AuthRequest}s, which
+ * decodes the response while it is read instead of buffering it into a {@code String}.
+ * The response is requested with {@code Accept-Encoding: gzip}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see AuthResponseDecoder
+ */
+public final class StreamingAuthHttpClient {
+
+    private StreamingAuthHttpClient() {
+    }
+
+    /**
+     * Send a GET request and decode the given fields from the JSON response.
+     *
+     * @param url        the request url
+     * @param httpConfig the http config of the source, may be {@code null}
+     * @param decoder    the response decoder
+     * @param fields     the names of the top-level fields to extract
+     * @return the values of the fields present in the response
+     * @throws AuthException if the request fails or the response cannot be decoded
+     */
+    public static Map<String, String> get(String url, HttpConfig httpConfig, AuthResponseDecoder decoder,
+            Set<String> fields) {
+        int timeout = httpConfig == null ? Constants.DEFAULT_TIMEOUT : httpConfig.getTimeout();
+        HttpURLConnection connection = null;
+        try {
+            URL requestUrl = new URL(url);
+            connection = (HttpURLConnection) (httpConfig == null || httpConfig.getProxy() == null
+                    ? requestUrl.openConnection()
+                    : requestUrl.openConnection(httpConfig.getProxy()));
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            connection.setRequestProperty("Accept", "application/json");
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+
+            int status = connection.getResponseCode();
+            AuthHttpExchangeRecorder.record(status, connection.getContentLengthLong());
+            if (status != HttpURLConnection.HTTP_OK) {
+                connection.disconnect();
+                throw new AuthException("Unexpected response status " + status);
+            }
+
+            // closing the stream rather than disconnecting keeps the connection alive for reuse
+            try (InputStream in = connection.getInputStream();
+                    InputStream body = "gzip".equalsIgnoreCase(connection.getContentEncoding())
+                            ? new GZIPInputStream(in)
+                            : in) {
+                return decoder.decode(body, fields);
+            }
+        } catch (IOException ex) {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            throw new AuthException("Failed to read the response", ex);
+        }
+    }
+
+}
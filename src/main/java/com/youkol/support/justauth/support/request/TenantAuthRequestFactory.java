@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthTenantProperties;
+import com.youkol.support.justauth.support.config.AuthConfigRepository;
+import com.youkol.support.justauth.support.config.TenantAuthConfigRepository;
+
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * The factory of the {@link AuthRequest}s of the tenants, each with its own {@link AuthConfig}
+ * of the same source looked up by the {@link TenantAuthConfigRepository}.
+ *
+ * <p>
+ * The requests are built by the {@link AuthRequestFactory}, with its extended sources, state
+ * cache and interceptors, and cached with their configs per tenant and source. The cache is
+ * bounded, the least recently used entries are evicted first, and split into segments locked
+ * separately, so the lookups of different tenants rarely contend. A cached entry expires after
+ * the {@code expire-after-write}, or is evicted by {@link #evict(String)} once the configs of
+ * a tenant change. The interceptors see the config of the tenant by
+ * {@link AuthRequestInvocation#getAuthConfig()}, e.g. the OIDC {@code id_token} is verified
+ * against the client id of the tenant.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class TenantAuthRequestFactory {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final AuthRequestFactory authRequestFactory;
+
+    private final TenantAuthConfigRepository tenantAuthConfigRepository;
+
+    private final AuthConfigRepository fallbackAuthConfigRepository;
+
+    private final long expireAfterWriteMillis;
+
+    private final Segment[] segments;
+
+    /**
+     * Create a new factory.
+     *
+     * @param authRequestFactory           the factory building the requests
+     * @param tenantAuthConfigRepository   the configs of the tenants
+     * @param fallbackAuthConfigRepository the configs of the sources a tenant doesn't
+     *                                     configure, {@code null} to fail for them instead
+     * @param properties                   the settings of the cache
+     */
+    public TenantAuthRequestFactory(AuthRequestFactory authRequestFactory,
+            TenantAuthConfigRepository tenantAuthConfigRepository, AuthConfigRepository fallbackAuthConfigRepository,
+            JustAuthTenantProperties properties) {
+        this.authRequestFactory = authRequestFactory;
+        this.tenantAuthConfigRepository = tenantAuthConfigRepository;
+        this.fallbackAuthConfigRepository = fallbackAuthConfigRepository;
+        this.expireAfterWriteMillis = properties.getExpireAfterWrite().toMillis();
+        // a small cache keeps a single segment, so the least recently used entry is evicted exactly
+        int maxEntries = Math.max(1, properties.getMaxEntries());
+        int segmentCount = Integer.highestOneBit(Math.min(MAX_SEGMENTS, Math.max(1, maxEntries / MIN_SEGMENT_SIZE)));
+        int maxSegmentSize = (maxEntries + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment(maxSegmentSize);
+        }
+    }
+
+    /**
+     * Return the {@link AuthRequest} of the source for the tenant.
+     *
+     * @param tenant the id of the tenant
+     * @param source the name of source
+     * @return Return {@link AuthRequest}
+     * @throws AuthException if the tenant doesn't use the source
+     */
+    public AuthRequest getAuthRequest(String tenant, String source) {
+        return this.getEntry(tenant, source).authRequest;
+    }
+
+    /**
+     * Return the {@link AuthConfig} of the source for the tenant.
+     *
+     * @param tenant the id of the tenant
+     * @param source the name of source
+     * @return Return {@link AuthConfig}
+     * @throws AuthException if the tenant doesn't use the source
+     */
+    public AuthConfig getAuthConfig(String tenant, String source) {
+        return this.getEntry(tenant, source).authConfig;
+    }
+
+    /**
+     * Evict the cached requests of the tenant, e.g. once its configs change.
+     *
+     * @param tenant the id of the tenant
+     */
+    public void evict(String tenant) {
+        for (Segment segment : this.segments) {
+            segment.removeTenant(tenant);
+        }
+    }
+
+    /**
+     * Evict the cached request of the source for the tenant.
+     *
+     * @param tenant the id of the tenant
+     * @param source the name of source
+     */
+    public void evict(String tenant, String source) {
+        TenantSource key = new TenantSource(tenant, source.toUpperCase(Locale.ROOT));
+        this.segmentOf(key).remove(key);
+    }
+
+    /**
+     * @return the number of cached requests
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Entry getEntry(String tenant, String source) {
+        Assert.isTrue(StringUtils.hasText(tenant), "tenant must not be empty");
+        Assert.isTrue(StringUtils.hasText(source), "source must not be empty");
+
+        TenantSource key = new TenantSource(tenant, source.toUpperCase(Locale.ROOT));
+        Segment segment = this.segmentOf(key);
+        long now = System.currentTimeMillis();
+        Entry entry = segment.get(key, now);
+        if (entry != null) {
+            return entry;
+        }
+
+        // resolved outside the lock, a concurrent miss of the same key resolves it twice
+        AuthConfig authConfig = this.tenantAuthConfigRepository.getAuthConfig(tenant, key.source);
+        if (authConfig == null && this.fallbackAuthConfigRepository != null) {
+            authConfig = this.fallbackAuthConfigRepository.getAuthConfigById(key.source);
+        }
+        if (authConfig == null) {
+            throw new AuthException("No AuthConfig of the source " + key.source + " for the tenant " + tenant);
+        }
+
+        entry = new Entry(authConfig, this.authRequestFactory.getAuthRequest(key.source, authConfig),
+                this.expireAfterWriteMillis > 0 ? now + this.expireAfterWriteMillis : Long.MAX_VALUE);
+        segment.put(key, entry);
+        return entry;
+    }
+
+    private Segment segmentOf(TenantSource key) {
+        int hash = key.hashCode();
+        return this.segments[(hash ^ (hash >>> 16)) & (this.segments.length - 1)];
+    }
+
+    private static final class TenantSource {
+
+        private final String tenant;
+
+        private final String source;
+
+        TenantSource(String tenant, String source) {
+            this.tenant = tenant;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TenantSource)) {
+                return false;
+            }
+            TenantSource other = (TenantSource) obj;
+            return this.tenant.equals(other.tenant) && this.source.equals(other.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.tenant, this.source);
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final AuthConfig authConfig;
+
+        private final AuthRequest authRequest;
+
+        private final long expiresAt;
+
+        Entry(AuthConfig authConfig, AuthRequest authRequest, long expiresAt) {
+            this.authConfig = authConfig;
+            this.authRequest = authRequest;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+    /**
+     * A part of the cache, the least recently used entries of which are evicted first.
+     */
+    private static final class Segment {
+
+        private final Map<TenantSource, Entry> entries;
+
+        Segment(int maxSize) {
+            this.entries = new LinkedHashMap<TenantSource, Entry>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TenantSource, Entry> eldest) {
+                    return this.size() > maxSize;
+                }
+            };
+        }
+
+        synchronized Entry get(TenantSource key, long now) {
+            Entry entry = this.entries.get(key);
+            if (entry != null && entry.expiresAt <= now) {
+                this.entries.remove(key);
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized void put(TenantSource key, Entry entry) {
+            this.entries.put(key, entry);
+        }
+
+        synchronized void remove(TenantSource key) {
+            this.entries.remove(key);
+        }
+
+        synchronized void removeTenant(String tenant) {
+            this.entries.keySet().removeIf(key -> key.tenant.equals(tenant));
+        }
+
+        synchronized int size() {
+            return this.entries.size();
+        }
+
+    }
+
+}
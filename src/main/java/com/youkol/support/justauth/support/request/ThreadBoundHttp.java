@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.xkcoding.http.HttpUtil;
+import com.xkcoding.http.config.HttpConfig;
+import com.xkcoding.http.exception.SimpleHttpException;
+import com.xkcoding.http.support.AbstractHttp;
+import com.xkcoding.http.support.HttpHeader;
+import com.xkcoding.http.support.SimpleHttpResponse;
+
+/**
+ * An {@link AbstractHttp} which keeps a delegate per thread, so the {@link HttpConfig} set by
+ * {@link #setHttpConfig(HttpConfig)} only applies to the calls of the same thread.
+ *
+ * <p>
+ * The built-in requests of JustAuth set the {@link HttpConfig} of a call to the global
+ * {@link HttpUtil} right before sending it on the same thread, once this is installed by
+ * {@link #install()} the concurrent calls with different proxies or timeouts no longer observe
+ * each other's.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class ThreadBoundHttp extends AbstractHttp {
+
+    private static final Log logger = LogFactory.getLog(ThreadBoundHttp.class);
+
+    private static final String[] DEFAULT_HTTP_CLASSES = {
+        "java.net.http.HttpClient", "com.xkcoding.http.support.java11.HttpClientImpl",
+        "okhttp3.OkHttpClient", "com.xkcoding.http.support.okhttp3.OkHttp3Impl",
+        "org.apache.http.impl.client.HttpClients", "com.xkcoding.http.support.httpclient.HttpClientImpl",
+        "cn.hutool.http.HttpRequest", "com.xkcoding.http.support.hutool.HutoolImpl"
+    };
+
+    private static final Object INSTALL_MONITOR = new Object();
+
+    private static volatile boolean installed;
+
+    private final ThreadLocal<AbstractHttp> delegates;
+
+    /**
+     * Create a new {@link ThreadBoundHttp}.
+     *
+     * @param httpFactory creates the delegate of each thread
+     */
+    public ThreadBoundHttp(Supplier<? extends AbstractHttp> httpFactory) {
+        super(null);
+        Assert.notNull(httpFactory, "httpFactory must not be null");
+        this.delegates = ThreadLocal.withInitial(httpFactory);
+    }
+
+    /**
+     * Install a {@link ThreadBoundHttp} into the global {@link HttpUtil} unless one is installed
+     * already. The delegates are of the same type as the {@link AbstractHttp} installed before,
+     * or the one {@link HttpUtil} would select if none is.
+     */
+    public static void install() {
+        if (installed) {
+            return;
+        }
+
+        synchronized (INSTALL_MONITOR) {
+            if (installed) {
+                return;
+            }
+
+            AbstractHttp current = currentHttp();
+            if (!(current instanceof ThreadBoundHttp)) {
+                Class<? extends AbstractHttp> httpClass = current == null ? defaultHttpClass() : current.getClass();
+                HttpUtil.setHttp(new ThreadBoundHttp(() -> BeanUtils.instantiateClass(httpClass)));
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Installed thread bound http of " + httpClass.getName() + " into HttpUtil");
+                }
+            }
+            installed = true;
+        }
+    }
+
+    @Override
+    public void setHttpConfig(HttpConfig httpConfig) {
+        this.delegates.get().setHttpConfig(httpConfig);
+    }
+
+    @Override
+    public SimpleHttpResponse get(String url) {
+        return this.delegates.get().get(url);
+    }
+
+    @Override
+    public SimpleHttpResponse get(String url, Map<String, String> params, boolean encode) {
+        return this.delegates.get().get(url, params, encode);
+    }
+
+    @Override
+    public SimpleHttpResponse get(String url, Map<String, String> params, HttpHeader header, boolean encode) {
+        return this.delegates.get().get(url, params, header, encode);
+    }
+
+    @Override
+    public SimpleHttpResponse post(String url) {
+        return this.delegates.get().post(url);
+    }
+
+    @Override
+    public SimpleHttpResponse post(String url, String data) {
+        return this.delegates.get().post(url, data);
+    }
+
+    @Override
+    public SimpleHttpResponse post(String url, String data, HttpHeader header) {
+        return this.delegates.get().post(url, data, header);
+    }
+
+    @Override
+    public SimpleHttpResponse post(String url, Map<String, String> formdata, boolean encode) {
+        return this.delegates.get().post(url, formdata, encode);
+    }
+
+    @Override
+    public SimpleHttpResponse post(String url, Map<String, String> formdata, HttpHeader header, boolean encode) {
+        return this.delegates.get().post(url, formdata, header, encode);
+    }
+
+    private static AbstractHttp currentHttp() {
+        Field field = ReflectionUtils.findField(HttpUtil.class, "proxy", AbstractHttp.class);
+        if (field == null) {
+            return null;
+        }
+        ReflectionUtils.makeAccessible(field);
+        return (AbstractHttp) ReflectionUtils.getField(field, null);
+    }
+
+    // the same order as HttpUtil selects the implementation
+    @SuppressWarnings("unchecked")
+    private static Class<? extends AbstractHttp> defaultHttpClass() {
+        ClassLoader classLoader = HttpUtil.class.getClassLoader();
+        for (int i = 0; i < DEFAULT_HTTP_CLASSES.length; i += 2) {
+            if (ClassUtils.isPresent(DEFAULT_HTTP_CLASSES[i], classLoader)) {
+                return (Class<? extends AbstractHttp>) ClassUtils.resolveClassName(DEFAULT_HTTP_CLASSES[i + 1],
+                        classLoader);
+            }
+        }
+        throw new SimpleHttpException("Has no HttpImpl defined in environment!");
+    }
+
+}
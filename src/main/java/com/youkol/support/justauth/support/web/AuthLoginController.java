@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.web;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.model.AuthUser;
+
+/**
+ * The login endpoints of Spring MVC, under {@code youkol.justauth.endpoint.path}:
+ * <ul>
+ * <li>{@code GET /{source}/authorize} redirects to the authorize url, which is built from the
+ * compiled template without creating an {@code AuthRequest}.</li>
+ * <li>{@code GET|POST /{source}/callback} logs in with one {@code AuthRequest}, and passes the
+ * user to the {@link AuthLoginSuccessHandler}.</li>
+ * </ul>
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see AuthRequestFactory#authorizeUrl(String, String)
+ */
+@RequestMapping("${youkol.justauth.endpoint.path:/oauth}")
+public class AuthLoginController {
+
+    private final AuthRequestFactory authRequestFactory;
+
+    private final AuthLoginSuccessHandler successHandler;
+
+    private final AuthLoginFailureHandler failureHandler;
+
+    public AuthLoginController(AuthRequestFactory authRequestFactory, AuthLoginSuccessHandler successHandler,
+            AuthLoginFailureHandler failureHandler) {
+        this.authRequestFactory = authRequestFactory;
+        this.successHandler = successHandler;
+        this.failureHandler = failureHandler;
+    }
+
+    @GetMapping("/{source}/authorize")
+    public void authorize(@PathVariable("source") String source, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        String authorizeUrl;
+        try {
+            authorizeUrl = this.authRequestFactory.authorizeUrl(source, this.authRequestFactory.createState());
+        } catch (AuthException ex) {
+            this.failureHandler.onFailure(source, ex, request, response);
+            return;
+        }
+        response.sendRedirect(authorizeUrl);
+    }
+
+    @RequestMapping(path = "/{source}/callback", method = { RequestMethod.GET, RequestMethod.POST })
+    @SuppressWarnings("rawtypes")
+    public void callback(@PathVariable("source") String source, AuthCallback authCallback,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AuthResponse authResponse;
+        try {
+            authResponse = this.authRequestFactory.getAuthRequest(source).login(authCallback);
+        } catch (AuthException ex) {
+            this.failureHandler.onFailure(source, ex, request, response);
+            return;
+        }
+
+        if (authResponse.getCode() != AuthResponseStatus.SUCCESS.getCode()) {
+            this.failureHandler.onFailure(source, new AuthException(authResponse.getCode(), authResponse.getMsg()),
+                    request, response);
+            return;
+        }
+        this.successHandler.onSuccess(source, (AuthUser) authResponse.getData(), request, response);
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.web;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * Handles the failed authorize or login of {@link AuthLoginController}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@FunctionalInterface
+public interface AuthLoginFailureHandler {
+
+    /**
+     * Called when the authorize or login failed.
+     *
+     * @param source    the name of source
+     * @param exception the failure, with the error code of JustAuth
+     * @param request   the request
+     * @param response  the response
+     * @throws IOException if failed to write the response
+     */
+    void onFailure(String source, AuthException exception, HttpServletRequest request, HttpServletResponse response)
+            throws IOException;
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.web;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.MediaType;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.model.AuthUser;
+
+/**
+ * The default handler of {@link AuthLoginController}, which writes an {@link AuthResponse} as
+ * json. A failure is written with the status {@code 401}.
+ *
+ * <p>
+ * Only the public profile of the user is written: {@code source}, {@code uuid},
+ * {@code username}, {@code nickname} and {@code avatar}. The token and the raw user info are
+ * secrets of the application, register a handler of your own to keep them, e.g. in the session.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JsonAuthLoginHandler implements AuthLoginSuccessHandler, AuthLoginFailureHandler {
+
+    @Override
+    public void onSuccess(String source, AuthUser authUser, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        write(response, HttpServletResponse.SC_OK, success(source, authUser));
+    }
+
+    @Override
+    public void onFailure(String source, AuthException exception, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        write(response, HttpServletResponse.SC_UNAUTHORIZED, failure(exception));
+    }
+
+    private static void write(HttpServletResponse response, int status, AuthResponse<?> authResponse)
+            throws IOException {
+        byte[] body = JSON.toJSONBytes(authResponse);
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static AuthResponse<JSONObject> success(String source, AuthUser authUser) {
+        JSONObject profile = new JSONObject(true);
+        profile.put("source", authUser.getSource() != null ? authUser.getSource() : source.toUpperCase());
+        profile.put("uuid", authUser.getUuid());
+        profile.put("username", authUser.getUsername());
+        profile.put("nickname", authUser.getNickname());
+        profile.put("avatar", authUser.getAvatar());
+        return AuthResponse.<JSONObject>builder()
+                .code(AuthResponseStatus.SUCCESS.getCode())
+                .data(profile)
+                .build();
+    }
+
+    static AuthResponse<JSONObject> failure(AuthException exception) {
+        return AuthResponse.<JSONObject>builder()
+                .code(exception.getErrorCode())
+                .msg(exception.getErrorMsg())
+                .build();
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.web;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.alibaba.fastjson.JSON;
+
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.model.AuthUser;
+import reactor.core.publisher.Mono;
+
+/**
+ * The default handler of {@link ReactiveAuthLoginController}, which writes the public profile
+ * of the user only, see {@link JsonAuthLoginHandler}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class JsonReactiveAuthLoginHandler implements ReactiveAuthLoginSuccessHandler, ReactiveAuthLoginFailureHandler {
+
+    @Override
+    public Mono<Void> onSuccess(String source, AuthUser authUser, ServerWebExchange exchange) {
+        return write(exchange.getResponse(), HttpStatus.OK, JsonAuthLoginHandler.success(source, authUser));
+    }
+
+    @Override
+    public Mono<Void> onFailure(String source, AuthException exception, ServerWebExchange exchange) {
+        return write(exchange.getResponse(), HttpStatus.UNAUTHORIZED, JsonAuthLoginHandler.failure(exception));
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, HttpStatus status, AuthResponse<?> authResponse) {
+        byte[] body = JSON.toJSONBytes(authResponse);
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.web;
+
+import java.net.URI;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.youkol.support.justauth.support.reactive.ReactiveAuthRequestFactory;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import reactor.core.publisher.Mono;
+
+/**
+ * The login endpoints of Spring WebFlux, the same as {@link AuthLoginController}, using the
+ * non-blocking {@link ReactiveAuthRequestFactory}.
+ *
+ * <p>
+ * <b>NOTE:</b> the {@code AuthRequestInterceptor}s, e.g. the login events, the token refresh,
+ * the OIDC verification and the replay protection, are blocking and don't apply to the
+ * sources of {@code youkol.justauth.reactive.oauth2-sources} which log in with
+ * {@code WebClient}. Remove a source from it to log in with the intercepted
+ * {@code AuthRequest} on the bounded elastic scheduler instead.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@RequestMapping("${youkol.justauth.endpoint.path:/oauth}")
+public class ReactiveAuthLoginController {
+
+    private final AuthRequestFactory authRequestFactory;
+
+    private final ReactiveAuthRequestFactory reactiveAuthRequestFactory;
+
+    private final ReactiveAuthLoginSuccessHandler successHandler;
+
+    private final ReactiveAuthLoginFailureHandler failureHandler;
+
+    public ReactiveAuthLoginController(AuthRequestFactory authRequestFactory,
+            ReactiveAuthRequestFactory reactiveAuthRequestFactory, ReactiveAuthLoginSuccessHandler successHandler,
+            ReactiveAuthLoginFailureHandler failureHandler) {
+        this.authRequestFactory = authRequestFactory;
+        this.reactiveAuthRequestFactory = reactiveAuthRequestFactory;
+        this.successHandler = successHandler;
+        this.failureHandler = failureHandler;
+    }
+
+    @GetMapping("/{source}/authorize")
+    public Mono<Void> authorize(@PathVariable("source") String source, ServerWebExchange exchange) {
+        return this.reactiveAuthRequestFactory.authorize(source, this.authRequestFactory.createState())
+                .flatMap(authorizeUrl -> {
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.setStatusCode(HttpStatus.FOUND);
+                    response.getHeaders().setLocation(URI.create(authorizeUrl));
+                    return response.setComplete();
+                })
+                .onErrorResume(AuthException.class, ex -> this.failureHandler.onFailure(source, ex, exchange));
+    }
+
+    @RequestMapping(path = "/{source}/callback", method = { RequestMethod.GET, RequestMethod.POST })
+    public Mono<Void> callback(@PathVariable("source") String source, AuthCallback authCallback,
+            ServerWebExchange exchange) {
+        return this.reactiveAuthRequestFactory.login(source, authCallback)
+                // the errors of the non-blocking requests are not always AuthException, e.g. of WebClient
+                .onErrorMap(ex -> !(ex instanceof AuthException), ex -> new AuthException(ex.getMessage(), ex))
+                .flatMap(authUser -> this.successHandler.onSuccess(source, authUser, exchange))
+                .onErrorResume(AuthException.class, ex -> this.failureHandler.onFailure(source, ex, exchange));
+    }
+
+}
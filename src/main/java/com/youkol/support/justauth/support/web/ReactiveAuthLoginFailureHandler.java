@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.web;
+
+import org.springframework.web.server.ServerWebExchange;
+
+import me.zhyd.oauth.exception.AuthException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handles the failed authorize or login of {@link ReactiveAuthLoginController}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see AuthLoginFailureHandler
+ */
+@FunctionalInterface
+public interface ReactiveAuthLoginFailureHandler {
+
+    /**
+     * Called when the authorize or login failed.
+     *
+     * @param source    the name of source
+     * @param exception the failure, with the error code of JustAuth
+     * @param exchange  the exchange
+     * @return completes when the response is written
+     */
+    Mono<Void> onFailure(String source, AuthException exception, ServerWebExchange exchange);
+
+}
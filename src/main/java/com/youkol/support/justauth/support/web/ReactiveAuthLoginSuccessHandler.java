@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.web;
+
+import org.springframework.web.server.ServerWebExchange;
+
+import me.zhyd.oauth.model.AuthUser;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handles the user logged in by {@link ReactiveAuthLoginController}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ * @see AuthLoginSuccessHandler
+ */
+@FunctionalInterface
+public interface ReactiveAuthLoginSuccessHandler {
+
+    /**
+     * Called when the user logged in.
+     *
+     * @param source   the name of source
+     * @param authUser the logged in user
+     * @param exchange the exchange of the callback
+     * @return completes when the response is written
+     */
+    Mono<Void> onSuccess(String source, AuthUser authUser, ServerWebExchange exchange);
+
+}
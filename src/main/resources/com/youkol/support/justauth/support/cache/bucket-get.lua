@@ -0,0 +1,8 @@
+-- KEYS are the candidate buckets of the state, the newest first, ARGV[1] is the state.
+for i = 1, #KEYS do
+    local value = redis.call('HGET', KEYS[i], ARGV[1])
+    if value then
+        return value
+    end
+end
+return false
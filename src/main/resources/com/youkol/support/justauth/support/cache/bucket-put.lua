@@ -0,0 +1,8 @@
+-- KEYS[1] is the bucket, ARGV[1] the state, ARGV[2] the value, ARGV[3] the timeout in milliseconds.
+-- The ttl of the bucket is set to the timeout of the entry when it is shorter, it is never shortened,
+-- so the bucket expires with its last expiring entry by the clock of redis.
+redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[3]) then
+    redis.call('PEXPIRE', KEYS[1], ARGV[3])
+end
+return 1
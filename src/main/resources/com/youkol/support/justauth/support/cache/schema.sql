@@ -0,0 +1,8 @@
+CREATE TABLE %TABLE_NAME% (
+  STATE_KEY VARCHAR(128) NOT NULL,
+  STATE_VALUE VARCHAR(1024) NOT NULL,
+  EXPIRES_AT BIGINT NOT NULL,
+  CONSTRAINT %TABLE_NAME%_PK PRIMARY KEY (STATE_KEY)
+);
+
+CREATE INDEX %TABLE_NAME%_IX1 ON %TABLE_NAME% (EXPIRES_AT);
@@ -0,0 +1,10 @@
+CREATE TABLE %TABLE_NAME% (
+  LOGIN_SOURCE VARCHAR(64) NOT NULL,
+  USER_UUID VARCHAR(128),
+  OUTCOME VARCHAR(16) NOT NULL,
+  RESPONSE_CODE INT NOT NULL,
+  LATENCY_MILLIS BIGINT NOT NULL,
+  CREATED_AT BIGINT NOT NULL
+);
+
+CREATE INDEX %TABLE_NAME%_IX1 ON %TABLE_NAME% (CREATED_AT);
@@ -0,0 +1,27 @@
+-- KEYS[1] is the bitmap of the current slice, KEYS[2..n] are the previous ones.
+-- ARGV[1] is the time to live of a slice in milliseconds, ARGV[2..n] are the bit offsets.
+-- Returns 1 if all bits are set in one of the slices, i.e. the value was probably recorded.
+local seen = 1
+for i = 2, #ARGV do
+    if redis.call('SETBIT', KEYS[1], ARGV[i], 1) == 0 then
+        seen = 0
+    end
+end
+redis.call('PEXPIRE', KEYS[1], ARGV[1])
+if seen == 1 then
+    return 1
+end
+
+for k = 2, #KEYS do
+    local all = 1
+    for i = 2, #ARGV do
+        if redis.call('GETBIT', KEYS[k], ARGV[i]) == 0 then
+            all = 0
+            break
+        end
+    end
+    if all == 1 then
+        return 1
+    end
+end
+return 0
@@ -17,32 +17,114 @@ package com.youkol.support.justauth.autoconfigure;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import javax.sql.DataSource;
+
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.test.context.FilteredClassLoader;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.youkol.support.justauth.support.affinity.NodeAffinityRouter;
+import com.youkol.support.justauth.support.affinity.NodeAffinityServletFilter;
+import com.youkol.support.justauth.support.affinity.NodeAffinityStateGenerator;
+import com.youkol.support.justauth.support.bulk.AuthBulkCheckpointStore;
+import com.youkol.support.justauth.support.bulk.AuthBulkProcessor;
+import com.youkol.support.justauth.support.bulk.AuthBulkSummary;
+import com.youkol.support.justauth.support.bulk.AuthBulkTask;
+import com.youkol.support.justauth.support.bulk.InMemoryAuthBulkCheckpointStore;
+import com.youkol.support.justauth.support.cache.AuthBucketedRedisStateCache;
+import com.youkol.support.justauth.support.cache.AuthJdbcStateCache;
+import com.youkol.support.justauth.support.cache.AuthRedisConnectionFactoryHolder;
 import com.youkol.support.justauth.support.cache.AuthRedisStateCache;
+import com.youkol.support.justauth.support.cache.ResilientAuthStateCache;
+import com.youkol.support.justauth.support.codec.AuthTokenRedisSerializer;
+import com.youkol.support.justauth.support.codec.AuthUserRedisSerializer;
 import com.youkol.support.justauth.support.config.AuthConfigRepository;
+import com.youkol.support.justauth.support.config.LazyAuthConfigRepository;
+import com.youkol.support.justauth.support.config.TenantAuthConfigRepository;
+import com.youkol.support.justauth.support.event.AuthLoginEvent;
+import com.youkol.support.justauth.support.event.AuthLoginEvent.Outcome;
+import com.youkol.support.justauth.support.event.AuthLoginEventInterceptor;
+import com.youkol.support.justauth.support.event.AuthLoginEventPublisher;
+import com.youkol.support.justauth.support.event.LoggingAuthLoginEventSink;
+import com.youkol.support.justauth.support.jfr.FlightRecorderAuthRequestInterceptor;
+import com.youkol.support.justauth.support.jfr.FlightRecorderAuthStateCache;
+import com.youkol.support.justauth.support.observation.ObservationAuthRequestInterceptor;
+import com.youkol.support.justauth.support.observation.ObservedAuthStateCache;
+import com.youkol.support.justauth.support.oidc.MockOidcProvider;
+import com.youkol.support.justauth.support.proxy.AuthProxyPool;
+import com.youkol.support.justauth.support.proxy.AuthProxyPoolInterceptor;
+import com.youkol.support.justauth.support.reactive.BlockingReactiveAuthRequest;
+import com.youkol.support.justauth.support.reactive.ReactiveAuthRequestFactory;
+import com.youkol.support.justauth.support.reactive.WebClientOAuth2AuthRequest;
+import com.youkol.support.justauth.support.reactive.WebClientWeChatMiniAppAuthRequest;
+import com.youkol.support.justauth.support.refresh.AuthTokenRefreshInterceptor;
+import com.youkol.support.justauth.support.refresh.AuthTokenRefreshListener;
+import com.youkol.support.justauth.support.refresh.AuthTokenRefreshScheduler;
+import com.youkol.support.justauth.support.replay.LocalRotatingBloomFilter;
+import com.youkol.support.justauth.support.replay.ReplayProtectionAuthRequestInterceptor;
+import com.youkol.support.justauth.support.replay.RotatingBloomFilter;
+import com.youkol.support.justauth.support.request.AuthOperation;
 import com.youkol.support.justauth.support.request.AuthRequestFactory;
+import com.youkol.support.justauth.support.request.AuthRequestFactoryPreInitializer;
+import com.youkol.support.justauth.support.request.AuthRequestResolveRecorder;
+import com.youkol.support.justauth.support.request.InterceptingAuthRequest;
+import com.youkol.support.justauth.support.request.RetryingAuthRequestInterceptor;
+import com.youkol.support.justauth.support.request.TenantAuthRequestFactory;
+import com.youkol.support.justauth.support.web.ReactiveAuthLoginController;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import me.zhyd.oauth.cache.AuthDefaultStateCache;
 import me.zhyd.oauth.cache.AuthStateCache;
 import me.zhyd.oauth.config.AuthConfig;
 import me.zhyd.oauth.config.AuthSource;
+import me.zhyd.oauth.enums.AuthResponseStatus;
 import me.zhyd.oauth.exception.AuthException;
 import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthResponse;
 import me.zhyd.oauth.model.AuthToken;
 import me.zhyd.oauth.model.AuthUser;
 import me.zhyd.oauth.request.AuthDefaultRequest;
@@ -176,6 +258,118 @@ class JustAuthAutoConfigurationTests {
                 });
     }
 
+    @Test
+    void justAuthUseBucketedRedisStateCache() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class, RedisAutoConfiguration.class))
+                .withPropertyValues("youkol.justauth.cache.type:REDIS",
+                        "youkol.justauth.cache.redis.bucketed:true",
+                        "youkol.justauth.cache.redis.bucket-shards:256")
+                .run(context -> {
+                    assertThat(context).getBean(AuthStateCache.class)
+                            .isInstanceOf(AuthBucketedRedisStateCache.class);
+                    assertThat(context.getBean(JustAuthProperties.class).getCache().getRedis().getBucketShards())
+                            .isEqualTo(256);
+                });
+    }
+
+    @Test
+    void justAuthUseRedisStateCacheWithDedicatedConnection() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class, RedisAutoConfiguration.class))
+                .withPropertyValues("youkol.justauth.cache.type:REDIS",
+                        "youkol.justauth.cache.redis.dedicated:true",
+                        "youkol.justauth.cache.redis.hash-tag:STATE",
+                        "youkol.justauth.cache.redis.cluster.nodes[0]:127.0.0.1:7000",
+                        "youkol.justauth.cache.redis.read-from:REPLICA_PREFERRED")
+                .run(context -> {
+                    assertThat(context).getBean(AuthStateCache.class)
+                            .isInstanceOf(AuthRedisStateCache.class);
+                    assertThat(context).hasSingleBean(AuthRedisConnectionFactoryHolder.class);
+                    assertThat(context.getBean(JustAuthProperties.class).getCache().getRedis().getReadFrom())
+                            .isEqualTo(RedisReadFrom.REPLICA_PREFERRED);
+                    assertThat(context.getBean(AuthRedisConnectionFactoryHolder.class).getConnectionFactory())
+                            .isNotSameAs(context.getBean(RedisConnectionFactory.class));
+                    assertThat(context.getBeansOfType(StringRedisTemplate.class).values())
+                            .allMatch(template -> template.getConnectionFactory() != context
+                                    .getBean(AuthRedisConnectionFactoryHolder.class).getConnectionFactory());
+                });
+    }
+
+    @Test
+    void justAuthUseJdbcStateCache() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class,
+                        DataSourceAutoConfiguration.class))
+                .withPropertyValues("youkol.justauth.cache.type:JDBC",
+                        "youkol.justauth.cache.jdbc.initialize-schema:true")
+                .run(context -> {
+                    assertThat(context).getBean(AuthStateCache.class)
+                            .isInstanceOf(AuthJdbcStateCache.class);
+                    AuthJdbcStateCache authStateCache = context.getBean(AuthJdbcStateCache.class);
+                    authStateCache.cache("state1", "state1");
+                    authStateCache.flush();
+                    assertThat(new JdbcTemplate(context.getBean(DataSource.class))
+                            .queryForObject("SELECT COUNT(*) FROM JUSTAUTH_STATE", Integer.class)).isEqualTo(1);
+
+                    // the existing table is kept
+                    JustAuthJdbcStateCacheConfiguration.initializeSchema(context.getBean(DataSource.class),
+                            new ClassPathResource("schema.sql", AuthJdbcStateCache.class), "JUSTAUTH_STATE");
+                    assertThat(authStateCache.get("state1")).isEqualTo("state1");
+                });
+    }
+
+    @Test
+    void justAuthUseJdbcStateCacheWithFailedSchema() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class,
+                        DataSourceAutoConfiguration.class))
+                .withPropertyValues("youkol.justauth.cache.type:JDBC",
+                        "youkol.justauth.cache.jdbc.initialize-schema:true",
+                        "youkol.justauth.cache.jdbc.table-name:NOT A TABLE")
+                .run(context -> {
+                    assertThatThrownBy(() -> context.getBean(AuthStateCache.class))
+                            .hasRootCauseInstanceOf(SQLException.class);
+                    assertThat(context.getStartupFailure()).hasStackTraceContaining("Failed to create the table");
+                });
+    }
+
+    @Test
+    void justAuthUseJdbcStateCacheWithoutDataSource() {
+        this.contextRunner
+                .withPropertyValues("youkol.justauth.cache.type:JDBC")
+                .run(context -> {
+                    assertThat(context).hasFailed();
+                    assertThat(context.getStartupFailure())
+                            .hasRootCauseInstanceOf(NoSuchBeanDefinitionException.class)
+                            .getRootCause()
+                            .hasMessageContaining(AuthStateCache.class.getName());
+                });
+    }
+
+    @Test
+    void justAuthUseResilientStateCache() {
+        this.contextRunner.withUserConfiguration(CustomAuthStateCacheConfiguration.class)
+                .withPropertyValues("youkol.justauth.cache.type:custom",
+                        "youkol.justauth.cache.resilience.enabled:true",
+                        "youkol.justauth.cache.resilience.failure-threshold:2")
+                .run(context -> {
+                    assertThat(context).getBean(AuthStateCache.class)
+                            .isInstanceOf(ResilientAuthStateCache.class);
+                    ResilientAuthStateCache authStateCache = (ResilientAuthStateCache) context
+                            .getBean(AuthStateCache.class);
+                    assertThat(authStateCache.getDelegate()).isInstanceOf(MyCustomAuthStateCache.class);
+
+                    authStateCache.cache("state1", "state1");
+                    assertThat(authStateCache.isDegraded()).isFalse();
+                    assertThat(authStateCache.containsKey("state1")).isTrue();
+                    assertThat(authStateCache.isDegraded()).isTrue();
+                    assertThat(authStateCache.get("state1")).isEqualTo("state1");
+                    assertThat(authStateCache.getFailoverCount()).isEqualTo(1L);
+                    assertThat(authStateCache.getErrorCount()).isEqualTo(2L);
+                });
+    }
+
     @Test
     void justAuthUseCustomStateCacheWithoutBeanDefinition() {
         this.contextRunner
@@ -252,6 +446,28 @@ class JustAuthAutoConfigurationTests {
                 });
     }
 
+    @Test
+    void justAuthUseSpecialHttpTimeoutWithoutProxy() {
+        this.contextRunner
+                .withPropertyValues("youkol.justauth.http-config.timeout:5000",
+                        "youkol.justauth.http-config.source.WECHAT_MINI_PROGRAM.read-timeout:2s",
+                        "youkol.justauth.type.WECHAT_MINI_PROGRAM.client-id:WECHAT_MINI_PROGRAM",
+                        "youkol.justauth.type.WECHAT_MINI_PROGRAM.client-secret:WECHAT_MINI_PROGRAM",
+                        "youkol.justauth.type.WECHAT_MINI_PROGRAM.redirect-uri:http://test.justauth/test/oauth/wechat_mini_program/callback",
+                        "youkol.justauth.type.WECHAT_MP.client-id:WECHAT_MP",
+                        "youkol.justauth.type.WECHAT_MP.client-secret:WECHAT_MP",
+                        "youkol.justauth.type.WECHAT_MP.redirect-uri:http://test.justauth/test/oauth/wechat_mp/callback")
+                .run(context -> {
+                    AuthConfigRepository authConfigRepository = context.getBean(AuthConfigRepository.class);
+                    AuthConfig authConfig = authConfigRepository.getAuthConfigById("wechat_mini_program");
+                    assertThat(authConfig.getHttpConfig()).isNotNull();
+                    assertThat(authConfig.getHttpConfig().getProxy()).isNull();
+                    assertThat(authConfig.getHttpConfig().getTimeout()).isEqualTo(2000);
+                    assertThat(authConfigRepository.getAuthConfigById("wechat_mp").getHttpConfig().getTimeout())
+                            .isEqualTo(5000);
+                });
+    }
+
     @Test
     void justAuthUseDatabaseAuthConfigRepository() {
         this.contextRunner.withUserConfiguration(AuthConfigRepositoryConfiguration.class)
@@ -263,6 +479,602 @@ class JustAuthAutoConfigurationTests {
                 });
     }
 
+    @Test
+    void justAuthUseRetryInterceptor() {
+        this.contextRunner
+                .withPropertyValues("youkol.justauth.http-config.retry.enabled:true",
+                        "youkol.justauth.http-config.retry.source.CUSTOM1.hedge:true",
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback",
+                        "youkol.justauth.type.CUSTOM1.ignore-check-state:true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(RetryingAuthRequestInterceptor.class);
+                    assertThat(context.getBean(JustAuthProperties.class).getHttpConfig().getRetry()
+                            .getPolicy("custom1").isHedge()).isTrue();
+
+                    AuthRequest authRequest = context.getBean(AuthRequestFactory.class).getAuthRequest("custom1");
+                    assertThat(authRequest).isInstanceOf(InterceptingAuthRequest.class);
+                    assertThat(((InterceptingAuthRequest) authRequest).getDelegate())
+                            .isInstanceOf(Custom1AuthRequest.class);
+
+                    AuthCallback authCallback = new AuthCallback();
+                    authCallback.setCode("code");
+                    AuthResponse<?> response = authRequest.login(authCallback);
+                    assertThat(response.getCode()).isEqualTo(AuthResponseStatus.SUCCESS.getCode());
+                    assertThat(((AuthUser) response.getData()).getUuid()).isEqualTo("openId");
+                });
+    }
+
+    @Test
+    void justAuthUseLazyStartup() {
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+        this.contextRunner
+                .withInitializer(context -> context.setApplicationStartup(applicationStartup))
+                .withPropertyValues("youkol.justauth.startup.lazy:true",
+                        "youkol.justauth.startup.pre-initialize:true",
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.GITHUB.client-id:GITHUB",
+                        "youkol.justauth.type.GITHUB.client-secret:GITHUB",
+                        "youkol.justauth.type.GITHUB.redirect-uri:http://test.justauth/test/oauth/github/callback",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback",
+                        "youkol.justauth.http-config.timeout:5000")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(AuthRequestFactoryPreInitializer.class);
+                    LazyAuthConfigRepository authConfigRepository = context.getBean(LazyAuthConfigRepository.class);
+                    AuthRequestFactory authRequestFactory = context.getBean(AuthRequestFactory.class);
+
+                    assertThat(authRequestFactory.getConfiguredOAuthNames()).containsOnly("GITHUB", "CUSTOM1");
+                    assertThat(authConfigRepository.isInitialized("github")).isFalse();
+                    assertThat(authConfigRepository.getAuthConfigById("github").getHttpConfig().getTimeout())
+                            .isEqualTo(5000);
+                    assertThat(authConfigRepository.isInitialized("GITHUB")).isTrue();
+                    assertThat(authConfigRepository.isInitialized("CUSTOM1")).isFalse();
+
+                    assertThat(authRequestFactory.preInitialize()).isEqualTo(2);
+                    assertThat(authConfigRepository.isInitialized("CUSTOM1")).isTrue();
+                    assertThat(authRequestFactory.getAuthSource("custom2")).isEqualTo(CustomAuthSource.CUSTOM2);
+
+                    assertThat(applicationStartup.getBufferedTimeline().getEvents())
+                            .extracting(event -> event.getStartupStep().getName())
+                            .contains("youkol.justauth.config-repository", "youkol.justauth.request-factory");
+                });
+    }
+
+    @Test
+    void justAuthUseObservation() {
+        List<String> observations = new ArrayList<>();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<Observation.Context>() {
+
+            @Override
+            public void onStop(Observation.Context context) {
+                String parent = context.getParentObservation() == null ? "-"
+                        : context.getParentObservation().getContextView().getName();
+                synchronized (observations) {
+                    observations.add(context.getName() + "<" + parent + ":"
+                            + context.getLowCardinalityKeyValue("outcome").getValue());
+                }
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+
+        });
+
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class,
+                        DataSourceAutoConfiguration.class))
+                .withBean(ObservationRegistry.class, () -> observationRegistry)
+                .withPropertyValues("youkol.justauth.observation.enabled:true",
+                        "youkol.justauth.cache.type:JDBC",
+                        "youkol.justauth.cache.jdbc.initialize-schema:true",
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(ObservationAuthRequestInterceptor.class);
+                    assertThat(context).getBean(AuthStateCache.class).isInstanceOf(ObservedAuthStateCache.class);
+
+                    AuthRequestFactory authRequestFactory = context.getBean(AuthRequestFactory.class);
+                    String authorizeUrl = authRequestFactory.authorizeUrl("custom1", null);
+                    AuthCallback authCallback = new AuthCallback();
+                    authCallback.setCode("code1");
+                    authCallback.setState(UriComponentsBuilder.fromHttpUrl(authorizeUrl).build()
+                            .getQueryParams().getFirst("state"));
+                    observations.clear();
+
+                    assertThat(authRequestFactory.getAuthRequest("custom1").login(authCallback).ok()).isTrue();
+                    assertThat(observations).containsExactly(
+                            "justauth.state-cache<justauth.login:SUCCESS",
+                            "justauth.access-token<justauth.login:SUCCESS",
+                            "justauth.user-info<justauth.login:SUCCESS",
+                            "justauth.login<-:SUCCESS");
+
+                    observations.clear();
+                    assertThat(authRequestFactory.getAuthRequest("custom1").login(authCallback).ok()).isFalse();
+                    assertThat(observations).last().isEqualTo("justauth.login<-:FAILURE");
+                });
+    }
+
+    @Test
+    void justAuthUseFlightRecorder() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class,
+                        DataSourceAutoConfiguration.class))
+                .withPropertyValues("youkol.justauth.flight-recorder.enabled:true",
+                        "youkol.justauth.cache.type:JDBC",
+                        "youkol.justauth.cache.jdbc.initialize-schema:true",
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FlightRecorderAuthRequestInterceptor.class);
+                    assertThat(context).hasSingleBean(AuthRequestResolveRecorder.class);
+                    assertThat(context).getBean(AuthStateCache.class)
+                            .isInstanceOf(FlightRecorderAuthStateCache.class);
+
+                    AuthRequestFactory authRequestFactory = context.getBean(AuthRequestFactory.class);
+                    Path output = Files.createTempFile("justauth", ".jfr");
+                    try (Recording recording = new Recording()) {
+                        recording.enable("com.youkol.justauth.AuthRequestResolve");
+                        recording.enable("com.youkol.justauth.AuthStateCache");
+                        recording.enable("com.youkol.justauth.AuthProviderCall");
+                        recording.start();
+
+                        String authorizeUrl = authRequestFactory.authorizeUrl("custom1", null);
+                        AuthCallback authCallback = new AuthCallback();
+                        authCallback.setCode("code1");
+                        authCallback.setState(UriComponentsBuilder.fromHttpUrl(authorizeUrl).build()
+                                .getQueryParams().getFirst("state"));
+                        assertThat(authRequestFactory.getAuthRequest("custom1").login(authCallback).ok()).isTrue();
+
+                        recording.stop();
+                        recording.dump(output);
+                    }
+
+                    List<RecordedEvent> events = RecordingFile.readAllEvents(output);
+                    Files.delete(output);
+                    assertThat(events)
+                            .extracting(event -> event.getEventType().getName() + ":"
+                                    + (event.hasField("endpoint") ? event.getString("endpoint")
+                                            : event.hasField("operation") ? event.getString("operation")
+                                                    : event.getString("source")))
+                            .contains("com.youkol.justauth.AuthStateCache:cache",
+                                    "com.youkol.justauth.AuthStateCache:containsKey",
+                                    "com.youkol.justauth.AuthRequestResolve:custom1",
+                                    "com.youkol.justauth.AuthProviderCall:ACCESS_TOKEN",
+                                    "com.youkol.justauth.AuthProviderCall:USER_INFO");
+                    assertThat(events)
+                            .filteredOn(event -> event.getEventType().getName().endsWith("AuthStateCache"))
+                            .allMatch(event -> JustAuthCacheProperties.DEFAULT_KEY_PREFIX
+                                    .equals(event.getString("keyPrefix")));
+                });
+    }
+
+    @Test
+    void justAuthUseTokenRefresh() {
+        this.contextRunner
+                .withPropertyValues("youkol.justauth.token-refresh.enabled:true",
+                        "youkol.justauth.token-refresh.poll-interval:20ms",
+                        "youkol.justauth.token-refresh.refresh-ahead:1h",
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback")
+                .withBean(AuthTokenRefreshListener.class, () -> (source, uuid, token) -> {
+                })
+                .run(context -> {
+                    assertThat(context).hasSingleBean(AuthTokenRefreshInterceptor.class);
+                    AuthTokenRefreshScheduler refreshScheduler = context.getBean(AuthTokenRefreshScheduler.class);
+
+                    // the token of custom1 can't be refreshed
+                    assertThat(refreshScheduler.track("custom1", "uuid1", AuthToken.builder()
+                            .accessToken("access1").refreshToken("refresh1").expireIn(60).build())).isTrue();
+                    assertThat(refreshScheduler.track("custom1", "uuid2", AuthToken.builder()
+                            .accessToken("access2").expireIn(60).build())).isFalse();
+                    Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> refreshScheduler.getFailedCount() == 1);
+                    assertThat(refreshScheduler.getToken("custom1", "uuid1")).isNull();
+                });
+
+        // the refreshed tokens would be lost without a listener
+        this.contextRunner
+                .withPropertyValues("youkol.justauth.token-refresh.enabled:true")
+                .run(context -> {
+                    assertThatThrownBy(() -> context.getBean(AuthTokenRefreshScheduler.class))
+                            .hasRootCauseInstanceOf(AuthException.class)
+                            .getRootCause()
+                            .hasMessageContaining("No unique AuthTokenRefreshListener");
+                });
+    }
+
+    @Test
+    void justAuthUseAuthUserCodec() {
+        this.contextRunner
+                .withPropertyValues("youkol.justauth.codec.source-names[0]:CUSTOM1",
+                        "youkol.justauth.codec.compress-threshold:128")
+                .run(context -> {
+                    AuthUserRedisSerializer userSerializer = context.getBean(AuthUserRedisSerializer.class);
+                    AuthTokenRedisSerializer tokenSerializer = context.getBean(AuthTokenRedisSerializer.class);
+
+                    // extended sources are interned by the configured names
+                    AuthToken token = AuthToken.builder().accessToken("accessToken").expireIn(7200).build();
+                    AuthUser user = AuthUser.builder().uuid("uuid1").source("CUSTOM1").token(token).build();
+                    byte[] bytes = userSerializer.serialize(user);
+                    AuthUser decoded = userSerializer.deserialize(bytes);
+                    assertThat(decoded).usingRecursiveComparison().isEqualTo(user);
+                    assertThat(decoded.getSource()).isEqualTo("CUSTOM1");
+                    assertThat(userSerializer.deserialize(bytes).getSource()).isSameAs(decoded.getSource());
+                    assertThat(tokenSerializer.deserialize(tokenSerializer.serialize(token)))
+                            .usingRecursiveComparison().isEqualTo(token);
+                });
+    }
+
+    @Test
+    void justAuthUseLoginEvents() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class,
+                        DataSourceAutoConfiguration.class))
+                .withUserConfiguration(LoginEventListenerConfiguration.class)
+                .withPropertyValues("youkol.justauth.login-event.enabled:true",
+                        "youkol.justauth.login-event.batch-size:2",
+                        "youkol.justauth.login-event.linger:50ms",
+                        "youkol.justauth.login-event.jdbc.enabled:true",
+                        "youkol.justauth.login-event.jdbc.initialize-schema:true",
+                        "youkol.justauth.login-event.spring-event.enabled:true",
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback",
+                        "youkol.justauth.type.CUSTOM1.ignore-check-state:true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(AuthLoginEventInterceptor.class);
+                    assertThat(context).hasSingleBean(LoggingAuthLoginEventSink.class);
+                    AuthLoginEventPublisher publisher = context.getBean(AuthLoginEventPublisher.class);
+                    List<AuthLoginEvent> events = context.getBean(LoginEventListenerConfiguration.class).events;
+
+                    AuthRequest authRequest = context.getBean(AuthRequestFactory.class).getAuthRequest("custom1");
+                    AuthCallback authCallback = new AuthCallback();
+                    authCallback.setCode("code1");
+                    authCallback.setState("state1");
+                    authRequest.login(authCallback);
+                    authRequest.login(authCallback);
+                    // missing the code
+                    authRequest.login(new AuthCallback());
+
+                    Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> publisher.getFlushedCount() == 3);
+                    assertThat(publisher.getPublishedCount()).isEqualTo(3);
+                    assertThat(publisher.getFailedCount()).isZero();
+                    assertThat(events).extracting(AuthLoginEvent::getSource, AuthLoginEvent::getUuid,
+                            AuthLoginEvent::getOutcome)
+                            .containsExactly(tuple("CUSTOM1", "openId", Outcome.SUCCESS),
+                                    tuple("CUSTOM1", "openId", Outcome.SUCCESS),
+                                    tuple("CUSTOM1", null, Outcome.FAILURE));
+                    assertThat(new JdbcTemplate(context.getBean(DataSource.class)).queryForList(
+                            "SELECT OUTCOME FROM JUSTAUTH_LOGIN_EVENT ORDER BY CREATED_AT", String.class))
+                            .containsExactlyInAnyOrder("SUCCESS", "SUCCESS", "FAILURE");
+                });
+    }
+
+    @Test
+    void justAuthUseTenantRequestFactory() {
+        this.contextRunner
+                .withPropertyValues("youkol.justauth.tenant.enabled:true",
+                        "youkol.justauth.tenant.max-entries:2",
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback",
+                        "youkol.justauth.tenant.configs.tenant-a.CUSTOM1.client-id:tenant-a-client-id",
+                        "youkol.justauth.tenant.configs.tenant-a.CUSTOM1.client-secret:tenant-a-client-secret",
+                        "youkol.justauth.tenant.configs.tenant-a.CUSTOM1.redirect-uri:http://a.test.justauth/oauth/custom1/callback",
+                        "youkol.justauth.tenant.configs.tenant-b.CUSTOM1.client-id:tenant-b-client-id",
+                        "youkol.justauth.tenant.configs.tenant-b.CUSTOM1.client-secret:tenant-b-client-secret",
+                        "youkol.justauth.tenant.configs.tenant-b.CUSTOM1.redirect-uri:http://b.test.justauth/oauth/custom1/callback",
+                        "youkol.justauth.tenant.configs.tenant-c.CUSTOM1.client-id:tenant-c-client-id",
+                        "youkol.justauth.tenant.configs.tenant-c.CUSTOM1.client-secret:tenant-c-client-secret",
+                        "youkol.justauth.tenant.configs.tenant-c.CUSTOM1.redirect-uri:http://c.test.justauth/oauth/custom1/callback")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(TenantAuthConfigRepository.class);
+                    TenantAuthRequestFactory factory = context.getBean(TenantAuthRequestFactory.class);
+
+                    AuthRequest tenantA = factory.getAuthRequest("tenant-a", "custom1");
+                    assertThat(tenantA.authorize("state1")).contains("client_id=tenant-a-client-id");
+                    assertThat(factory.getAuthRequest("tenant-a", "CUSTOM1")).isSameAs(tenantA);
+                    assertThat(factory.getAuthRequest("tenant-b", "custom1").authorize("state1"))
+                            .contains("client_id=tenant-b-client-id");
+                    assertThat(factory.getAuthConfig("tenant-b", "custom1").getRedirectUri())
+                            .isEqualTo("http://b.test.justauth/oauth/custom1/callback");
+
+                    // tenant-a is used more recently than tenant-b, which is evicted for tenant-c
+                    assertThat(factory.getAuthRequest("tenant-a", "custom1")).isSameAs(tenantA);
+                    factory.getAuthRequest("tenant-c", "custom1");
+                    assertThat(factory.size()).isEqualTo(2);
+                    assertThat(factory.getAuthRequest("tenant-a", "custom1")).isSameAs(tenantA);
+
+                    factory.evict("tenant-a");
+                    assertThat(factory.getAuthRequest("tenant-a", "custom1")).isNotSameAs(tenantA);
+
+                    assertThatThrownBy(() -> factory.getAuthRequest("tenant-d", "custom1"))
+                            .isInstanceOf(AuthException.class);
+                    assertThatThrownBy(() -> factory.getAuthRequest("tenant-a", "custom2"))
+                            .isInstanceOf(AuthException.class);
+                });
+
+        this.contextRunner
+                .withPropertyValues("youkol.justauth.tenant.enabled:true",
+                        "youkol.justauth.tenant.fallback-to-default:true",
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback")
+                .run(context -> assertThat(context.getBean(TenantAuthRequestFactory.class)
+                        .getAuthRequest("tenant-a", "custom1").authorize("state1"))
+                        .contains("client_id=custom1-client-id"));
+    }
+
+    @Test
+    void justAuthUseTenantRequestFactoryWithOidc() throws Exception {
+        try (MockOidcProvider provider = new MockOidcProvider()) {
+            provider.addKey("kid1");
+            this.contextRunner
+                    .withPropertyValues("youkol.justauth.tenant.enabled:true",
+                            "youkol.justauth.oidc.enabled:true",
+                            "youkol.justauth.oidc.fallback-to-user-info:false",
+                            "youkol.justauth.oidc.source.CUSTOM1.jwks-uri:" + provider.getJwksUri(),
+                            "youkol.justauth.oidc.source.CUSTOM1.issuer[0]:" + MockOidcProvider.ISSUER,
+                            "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                            "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                            "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                            "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback",
+                            "youkol.justauth.tenant.configs.tenant-a.CUSTOM1.client-id:tenant-a-client-id",
+                            "youkol.justauth.tenant.configs.tenant-a.CUSTOM1.client-secret:tenant-a-client-secret",
+                            "youkol.justauth.tenant.configs.tenant-a.CUSTOM1.redirect-uri:http://a.test.justauth/oauth/custom1/callback")
+                    .run(context -> {
+                        AuthRequest authRequest = context.getBean(TenantAuthRequestFactory.class)
+                                .getAuthRequest("tenant-a", "custom1");
+
+                        // verified against the client id of the tenant
+                        AuthUser authUser = authRequest.getUserInfo(AuthToken.builder()
+                                .accessToken("accessToken")
+                                .idToken(provider.sign("kid1", provider.claims("tenant-a-client-id")))
+                                .build());
+                        assertThat(authUser.getUuid()).isEqualTo(MockOidcProvider.SUBJECT);
+
+                        // issued to the client of the default config, not of the tenant
+                        AuthToken authToken = AuthToken.builder()
+                                .accessToken("accessToken")
+                                .idToken(provider.sign("kid1", provider.claims("custom1-client-id")))
+                                .build();
+                        assertThatThrownBy(() -> authRequest.getUserInfo(authToken))
+                                .isInstanceOf(AuthException.class)
+                                .hasMessageContaining("audience mismatch");
+                    });
+        }
+    }
+
+    @Test
+    void justAuthUseBulkProcessor() {
+        this.contextRunner
+                .withPropertyValues("youkol.justauth.bulk.max-concurrency-per-source:4",
+                        "youkol.justauth.bulk.checkpoint-interval:10",
+                        "youkol.justauth.bulk.source.CUSTOM1.rate:1000",
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback")
+                .run(context -> {
+                    assertThat(context).getBean(AuthBulkCheckpointStore.class)
+                            .isInstanceOf(InMemoryAuthBulkCheckpointStore.class);
+                    AuthBulkProcessor bulkProcessor = context.getBean(AuthBulkProcessor.class);
+
+                    // the tasks are run by the configured requests
+                    List<String> uuids = new CopyOnWriteArrayList<>();
+                    AuthBulkSummary summary = bulkProcessor.process("job1", AuthOperation.USER_INFO,
+                            IntStream.range(0, 3).mapToObj(i -> new AuthBulkTask("task" + i, "custom1",
+                                    AuthToken.builder().openId("openId" + i).build())),
+                            result -> uuids.add(((AuthUser) result.getResponse().getData()).getUuid()));
+                    assertThat(summary.getSucceeded()).isEqualTo(3);
+                    assertThat(uuids).containsExactlyInAnyOrder("openId0", "openId1", "openId2");
+                    assertThat(context.getBean(AuthBulkCheckpointStore.class).load("job1")).isEqualTo(3);
+                });
+    }
+
+    @Test
+    void justAuthUseReplayProtection() {
+        this.contextRunner
+                .withPropertyValues("youkol.justauth.replay-protection.enabled:true",
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback",
+                        "youkol.justauth.type.CUSTOM1.ignore-check-state:true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(ReplayProtectionAuthRequestInterceptor.class);
+                    assertThat(context).getBean(RotatingBloomFilter.class).isInstanceOf(LocalRotatingBloomFilter.class);
+
+                    AuthRequest authRequest = context.getBean(AuthRequestFactory.class).getAuthRequest("custom1");
+                    AuthCallback authCallback = new AuthCallback();
+                    authCallback.setCode("code1");
+                    authCallback.setState("state1");
+                    assertThat(authRequest.login(authCallback).getCode())
+                            .isEqualTo(AuthResponseStatus.SUCCESS.getCode());
+                    assertThat(authRequest.login(authCallback).getCode())
+                            .isEqualTo(AuthResponseStatus.ILLEGAL_STATUS.getCode());
+
+                    authCallback.setState("state2");
+                    assertThat(authRequest.login(authCallback).getCode())
+                            .isEqualTo(AuthResponseStatus.ILLEGAL_CODE.getCode());
+
+                    authCallback.setCode("code3");
+                    authCallback.setState("state3");
+                    assertThat(authRequest.login(authCallback).getCode())
+                            .isEqualTo(AuthResponseStatus.SUCCESS.getCode());
+                });
+    }
+
+    @Test
+    void justAuthAuthorizeUrlFromTemplate() {
+        this.contextRunner
+                .withPropertyValues(
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback")
+                .run(context -> {
+                    AuthRequestFactory authRequestFactory = context.getBean(AuthRequestFactory.class);
+                    String authorizeUrl = authRequestFactory.authorizeUrl("custom1", "state1");
+                    assertThat(authorizeUrl)
+                            .isEqualTo(authRequestFactory.getAuthRequest("custom1").authorize("state1"))
+                            .contains("state=state1");
+                    assertThat(authRequestFactory.authorizeUrl("custom1", "state2"))
+                            .isEqualTo(authorizeUrl.replace("state1", "state2"));
+                    assertThat(context.getBean(AuthStateCache.class).containsKey("state2")).isTrue();
+                });
+    }
+
+    @Test
+    void justAuthUseProxyPool() {
+        this.contextRunner
+                .withPropertyValues("youkol.justauth.http-config.proxy-pool.WECHAT_MP.addresses[0]:127.0.0.1:1",
+                        "youkol.justauth.http-config.proxy-pool.WECHAT_MP.addresses[1]:127.0.0.1:2",
+                        "youkol.justauth.http-config.proxy-pool.WECHAT_MP.failure-threshold:1",
+                        "youkol.justauth.type.WECHAT_MP.client-id:WECHAT_MP",
+                        "youkol.justauth.type.WECHAT_MP.client-secret:WECHAT_MP",
+                        "youkol.justauth.type.WECHAT_MP.redirect-uri:http://test.justauth/test/oauth/wechat_mp/callback")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(AuthProxyPoolInterceptor.class);
+                    AuthProxyPool proxyPool = context.getBean(AuthProxyPoolInterceptor.class)
+                            .getProxyPool("wechat_mp");
+                    assertThat(proxyPool).isNotNull();
+                    assertThat(proxyPool.next().type()).isEqualTo(Proxy.Type.HTTP);
+
+                    proxyPool.markFailure(proxyPool.next());
+                    assertThat(proxyPool.getHealthyProxies()).hasSizeLessThan(2);
+                });
+    }
+
+    @Test
+    void justAuthWithoutProxyPool() {
+        this.contextRunner
+                .run(context -> assertThat(context).doesNotHaveBean(AuthProxyPoolInterceptor.class));
+    }
+
+    @Test
+    void justAuthUseNodeAffinity() {
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class))
+                .withPropertyValues("youkol.justauth.node-affinity.enabled:true",
+                        "youkol.justauth.node-affinity.node-id:node1",
+                        "youkol.justauth.node-affinity.nodes.node1:http://10.0.0.1:8080",
+                        "youkol.justauth.node-affinity.nodes.node2:http://10.0.0.2:8080/")
+                .run(context -> {
+                    AuthRequestFactory authRequestFactory = context.getBean(AuthRequestFactory.class);
+                    String state = authRequestFactory.createState();
+                    assertThat(state).startsWith("node1.");
+                    assertThat(NodeAffinityStateGenerator.resolveNodeId(state)).isEqualTo("node1");
+
+                    assertThat(context).hasBean("nodeAffinityServletFilter");
+                    @SuppressWarnings("unchecked")
+                    FilterRegistrationBean<NodeAffinityServletFilter> registration = context
+                            .getBean("nodeAffinityServletFilter", FilterRegistrationBean.class);
+                    assertThat(registration.getFilter()).isNotNull();
+                });
+    }
+
+    @Test
+    void justAuthWithoutNodeAffinity() {
+        this.contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(NodeAffinityRouter.class);
+            assertThat(context.getBean(AuthRequestFactory.class).createState()).doesNotContain(".");
+        });
+    }
+
+    @Test
+    void justAuthUseReactiveAuthRequestFactory() {
+        new ReactiveWebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class))
+                .withPropertyValues(
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.support.config.AuthExtendSource",
+                        "youkol.justauth.type.GITHUB.client-id:GITHUB",
+                        "youkol.justauth.type.GITHUB.client-secret:GITHUB",
+                        "youkol.justauth.type.GITHUB.redirect-uri:http://test.justauth/test/oauth/github/callback",
+                        "youkol.justauth.type.WECHAT_MP.client-id:WECHAT_MP",
+                        "youkol.justauth.type.WECHAT_MP.client-secret:WECHAT_MP",
+                        "youkol.justauth.type.WECHAT_MP.redirect-uri:http://test.justauth/test/oauth/wechat_mp/callback",
+                        "youkol.justauth.type.WECHAT_MINI_APP.client-id:WECHAT_MINI_APP",
+                        "youkol.justauth.type.WECHAT_MINI_APP.client-secret:WECHAT_MINI_APP",
+                        "youkol.justauth.type.WECHAT_MINI_APP.redirect-uri:http://test.justauth/test/oauth/wechat_mini_app/callback")
+                .run(context -> {
+                    ReactiveAuthRequestFactory factory = context.getBean(ReactiveAuthRequestFactory.class);
+                    assertThat(factory.getReactiveAuthRequest("github"))
+                            .isInstanceOf(WebClientOAuth2AuthRequest.class);
+                    assertThat(factory.getReactiveAuthRequest("wechat_mini_app"))
+                            .isInstanceOf(WebClientWeChatMiniAppAuthRequest.class);
+                    assertThat(factory.getReactiveAuthRequest("wechat_mp"))
+                            .isInstanceOf(BlockingReactiveAuthRequest.class);
+                    assertThat(factory.authorize("github", "state1").block()).contains("state=state1");
+                });
+    }
+
+    @Test
+    void justAuthUseReactiveLoginEndpoint() {
+        new ReactiveWebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class,
+                        WebFluxAutoConfiguration.class))
+                .withPropertyValues("youkol.justauth.endpoint.enabled:true",
+                        "youkol.justauth.extend-auth-source-class[0]:com.youkol.support.justauth.autoconfigure.JustAuthAutoConfigurationTests.CustomAuthSource",
+                        "youkol.justauth.type.CUSTOM1.client-id:custom1-client-id",
+                        "youkol.justauth.type.CUSTOM1.client-secret:custom1-client-secret",
+                        "youkol.justauth.type.CUSTOM1.redirect-uri:http://test.justauth/test/oauth/custom1/callback")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(ReactiveAuthLoginController.class);
+                    WebTestClient webTestClient = WebTestClient.bindToApplicationContext(context).build();
+
+                    URI location = webTestClient.get().uri("/oauth/custom1/authorize")
+                            .exchange()
+                            .expectStatus().isFound()
+                            .returnResult(Void.class)
+                            .getResponseHeaders().getLocation();
+                    assertThat(location.toString()).startsWith("http://test.justauth/custom1/authorize");
+                    String state = UriComponentsBuilder.fromUri(location).build().getQueryParams().getFirst("state");
+                    assertThat(state).isNotEmpty();
+
+                    webTestClient.get().uri("/oauth/custom1/callback?code=code&state={state}", state)
+                            .exchange()
+                            .expectStatus().isOk()
+                            .expectBody()
+                            .jsonPath("$.code").isEqualTo(AuthResponseStatus.SUCCESS.getCode())
+                            .jsonPath("$.data.uuid").isEqualTo("openId");
+
+                    webTestClient.get().uri("/oauth/custom1/callback?code=code&state=unknown")
+                            .exchange()
+                            .expectStatus().isUnauthorized()
+                            .expectBody()
+                            .jsonPath("$.code").isEqualTo(AuthResponseStatus.ILLEGAL_STATUS.getCode());
+                });
+    }
+
+    @Test
+    void justAuthWithoutLoginEndpoint() {
+        new ReactiveWebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class))
+                .run(context -> assertThat(context).doesNotHaveBean(ReactiveAuthLoginController.class));
+    }
+
+    @Test
+    void justAuthWithoutReactiveAuthRequestFactoryInServletApplication() {
+        this.contextRunner
+                .run(context -> assertThat(context).doesNotHaveBean(ReactiveAuthRequestFactory.class));
+    }
+
     public static class Custom1AuthRequest extends AuthDefaultRequest {
 
         public Custom1AuthRequest(AuthConfig config) {
@@ -584,4 +1396,15 @@ class JustAuthAutoConfigurationTests {
             return new DatabaseAuthConfigRepository();
         }
     }
+
+    @Configuration(proxyBeanMethods = false)
+    public static class LoginEventListenerConfiguration {
+
+        private final List<AuthLoginEvent> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onLoginEvent(AuthLoginEvent event) {
+            this.events.add(event);
+        }
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.affinity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Tests for {@link NodeAffinityServletFilter}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class NodeAffinityServletFilterTests {
+
+    private final NodeAffinityServletFilter filter = new NodeAffinityServletFilter(router());
+
+    @Test
+    void redirectCallbackOfOtherNode() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/oauth/github/callback");
+        request.setQueryString("code=abc&state=node2.xyz");
+        request.setParameter("code", "abc");
+        request.setParameter("state", "node2.xyz");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        this.filter.doFilter(request, response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(307);
+        assertThat(response.getHeader("Location")).isEqualTo("http://10.0.0.2:8080/oauth/github/callback"
+                + "?code=abc&state=node2.xyz&justauth_forwarded=node1");
+        assertThat(filterChain.getRequest()).isNull();
+    }
+
+    @Test
+    void passCallbackOfThisNode() throws Exception {
+        String state = new NodeAffinityStateGenerator("node1").generate();
+        assertThat(state).startsWith("node1.");
+        assertThat(NodeAffinityStateGenerator.resolveNodeId(state)).isEqualTo("node1");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/oauth/github/callback");
+        request.setQueryString("code=abc&state=" + state);
+        request.setParameter("state", state);
+        MockFilterChain filterChain = new MockFilterChain();
+        this.filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertThat(filterChain.getRequest()).isSameAs(request);
+    }
+
+    private static NodeAffinityRouter router() {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        nodes.put("node1", "http://10.0.0.1:8080");
+        nodes.put("node2", "http://10.0.0.2:8080/");
+        return new NodeAffinityRouter("node1", nodes, Collections.singletonList("/oauth/**"));
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthBulkProperties;
+import com.youkol.support.justauth.support.request.AuthOperation;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * Tests for {@link AuthBulkProcessor}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class AuthBulkProcessorTests {
+
+    private final AuthBulkCheckpointStore checkpointStore = new InMemoryAuthBulkCheckpointStore();
+
+    private AuthBulkProcessor bulkProcessor;
+
+    @BeforeEach
+    void setUp() {
+        AuthRequestFactory authRequestFactory = mock(AuthRequestFactory.class);
+        given(authRequestFactory.getAuthRequest("CUSTOM1")).willReturn(new AuthRequest() {
+
+            @Override
+            public AuthToken getAccessToken(AuthCallback authCallback) {
+                throw new AuthException(AuthResponseStatus.NOT_IMPLEMENTED);
+            }
+
+            @Override
+            public AuthUser getUserInfo(AuthToken authToken) {
+                return AuthUser.builder().uuid(authToken.getOpenId()).source("CUSTOM1").build();
+            }
+
+        });
+        given(authRequestFactory.getAuthRequest("UNKNOWN")).willThrow(new AuthException("Unsupported source"));
+
+        JustAuthBulkProperties properties = new JustAuthBulkProperties();
+        properties.setMaxConcurrencyPerSource(4);
+        properties.setMaxInFlight(8);
+        properties.setCheckpointInterval(10);
+        this.bulkProcessor = new AuthBulkProcessor(authRequestFactory, this.checkpointStore, properties);
+    }
+
+    @Test
+    void processAndCheckpoint() throws InterruptedException {
+        // the 13th task is of an unknown source
+        List<AuthBulkResult> results = new ArrayList<>();
+        AuthBulkSummary summary = this.bulkProcessor.process("job1", AuthOperation.USER_INFO,
+                IntStream.range(0, 25).mapToObj(i -> this.task(i, i == 12 ? "unknown" : "custom1")),
+                result -> {
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                });
+
+        assertThat(summary.getSkipped()).isZero();
+        assertThat(summary.getSucceeded()).isEqualTo(24);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(summary.getCheckpoint()).isEqualTo(25);
+        assertThat(this.checkpointStore.load("job1")).isEqualTo(25);
+        assertThat(results).hasSize(25).allSatisfy(result -> {
+            assertThat(result.getTask().getId()).isEqualTo("task" + result.getIndex());
+            if (result.isSuccess()) {
+                assertThat(((AuthUser) result.getResponse().getData()).getUuid())
+                        .isEqualTo("openId" + result.getIndex());
+            }
+        });
+    }
+
+    @Test
+    void resumeAfterCheckpoint() throws InterruptedException {
+        this.checkpointStore.save("job2", 20);
+        AtomicInteger resumed = new AtomicInteger();
+        AuthBulkSummary summary = this.bulkProcessor.process("job2", AuthOperation.USER_INFO,
+                IntStream.range(0, 25).mapToObj(i -> this.task(i, "custom1")),
+                result -> {
+                    assertThat(result.getIndex()).isGreaterThanOrEqualTo(20);
+                    resumed.incrementAndGet();
+                });
+
+        assertThat(resumed).hasValue(5);
+        assertThat(summary.getSkipped()).isEqualTo(20);
+        assertThat(summary.getCheckpoint()).isEqualTo(25);
+    }
+
+    @Test
+    void drainAndCheckpointWhenStreamFails() {
+        // the tasks read before the stream fails are done and checkpointed
+        AtomicInteger drained = new AtomicInteger();
+        assertThatThrownBy(() -> this.bulkProcessor.process("job4", AuthOperation.USER_INFO,
+                IntStream.range(0, 25).mapToObj(i -> {
+                    if (i == 15) {
+                        throw new IllegalStateException("broken cursor");
+                    }
+                    return this.task(i, "custom1");
+                }),
+                result -> drained.incrementAndGet()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("broken cursor");
+        assertThat(drained).hasValue(15);
+        assertThat(this.checkpointStore.load("job4")).isEqualTo(15);
+    }
+
+    @Test
+    void rejectLogin() {
+        assertThatThrownBy(() -> this.bulkProcessor.process("job3", AuthOperation.LOGIN, Stream.empty(),
+                result -> {
+                })).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void requireSource() {
+        assertThatThrownBy(() -> new AuthBulkTask("task", null, AuthToken.builder().build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private AuthBulkTask task(int index, String source) {
+        return new AuthBulkTask("task" + index, source, AuthToken.builder().openId("openId" + index).build());
+    }
+
+}
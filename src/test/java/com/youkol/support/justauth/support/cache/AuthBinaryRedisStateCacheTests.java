@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties;
+
+/**
+ * Tests for {@link AuthBinaryRedisStateCache}, on a {@link RedisConnection} which keeps the
+ * entries in memory and records the keys it gets.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class AuthBinaryRedisStateCacheTests {
+
+    private final Map<ByteBuffer, byte[]> values = new ConcurrentHashMap<>();
+
+    private final Map<ByteBuffer, Long> expiries = new ConcurrentHashMap<>();
+
+    private final List<byte[]> keys = new ArrayList<>();
+
+    private AuthBinaryRedisStateCache stateCache;
+
+    @BeforeEach
+    void setUp() {
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        given(stringCommands.pSetEx(any(byte[].class), anyLong(), any(byte[].class))).willAnswer(invocation -> {
+            byte[] key = invocation.getArgument(0);
+            this.keys.add(key);
+            this.values.put(ByteBuffer.wrap(key.clone()), invocation.getArgument(2));
+            long timeout = invocation.<Long>getArgument(1);
+            this.expiries.put(ByteBuffer.wrap(key.clone()), System.currentTimeMillis() + timeout);
+            return true;
+        });
+        given(stringCommands.get(any(byte[].class))).willAnswer(invocation -> {
+            byte[] key = invocation.getArgument(0);
+            this.keys.add(key);
+            return this.remaining(key) > 0L ? this.values.get(ByteBuffer.wrap(key)) : null;
+        });
+        RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+        given(keyCommands.pTtl(any(byte[].class), any(TimeUnit.class))).willAnswer(invocation -> {
+            byte[] key = invocation.getArgument(0);
+            this.keys.add(key);
+            long remaining = this.remaining(key);
+            return remaining > 0L ? remaining : -2L;
+        });
+
+        RedisConnection connection = mock(RedisConnection.class);
+        given(connection.stringCommands()).willReturn(stringCommands);
+        given(connection.keyCommands()).willReturn(keyCommands);
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        given(connectionFactory.getConnection()).willReturn(connection);
+
+        this.stateCache = new AuthBinaryRedisStateCache(connectionFactory, new JustAuthCacheProperties());
+    }
+
+    @Test
+    void cacheAndGet() {
+        this.stateCache.cache("state1", "value1");
+        this.stateCache.cache("状态2", "value2");
+
+        assertThat(this.stateCache.get("state1")).isEqualTo("value1");
+        assertThat(this.stateCache.get("状态2")).isEqualTo("value2");
+        assertThat(this.stateCache.get("state3")).isNull();
+        assertThat(this.stateCache.containsKey("state1")).isTrue();
+        assertThat(this.stateCache.containsKey("state3")).isFalse();
+    }
+
+    @Test
+    void cacheExpires() throws Exception {
+        this.stateCache.cache("state1", "value1", 20L);
+        assertThat(this.stateCache.containsKey("state1")).isTrue();
+
+        Thread.sleep(50L);
+
+        assertThat(this.stateCache.get("state1")).isNull();
+        assertThat(this.stateCache.containsKey("state1")).isFalse();
+    }
+
+    @Test
+    void keysAreNotReused() {
+        this.stateCache.cache("state1", "value1");
+        this.stateCache.cache("state2", "value2");
+
+        assertThat(this.keys).hasSize(2);
+        assertThat(this.keys.get(0)).isNotSameAs(this.keys.get(1));
+        assertThat(new String(this.keys.get(0), StandardCharsets.UTF_8))
+                .isEqualTo(RedisStateKeyFormat.of(new JustAuthCacheProperties()).format("state1"));
+        assertThat(new String(this.keys.get(1), StandardCharsets.UTF_8))
+                .isEqualTo(RedisStateKeyFormat.of(new JustAuthCacheProperties()).format("state2"));
+    }
+
+    private long remaining(byte[] key) {
+        Long expiry = this.expiries.get(ByteBuffer.wrap(key));
+        return expiry == null ? -2L : expiry - System.currentTimeMillis();
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties;
+
+/**
+ * Tests for {@link AuthBucketedRedisStateCache}, running its scripts on redis in a container.
+ * Skipped without docker.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class AuthBucketedRedisStateCacheTests {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+
+    private final JustAuthCacheProperties cacheProperties = new JustAuthCacheProperties();
+
+    @BeforeEach
+    void setUp() {
+        this.connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        this.connectionFactory.afterPropertiesSet();
+        this.redisTemplate = new StringRedisTemplate(this.connectionFactory);
+        this.redisTemplate.afterPropertiesSet();
+        this.redisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+
+        this.cacheProperties.setTimeout(Duration.ofMinutes(3));
+        this.cacheProperties.getRedis().setBucketShards(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.connectionFactory.destroy();
+    }
+
+    @Test
+    void cacheAndGet() {
+        AuthBucketedRedisStateCache stateCache = new AuthBucketedRedisStateCache(this.connectionFactory,
+                this.cacheProperties);
+
+        stateCache.cache("state1", "value1");
+        stateCache.cache("state2", "value:2");
+
+        assertThat(stateCache.get("state1")).isEqualTo("value1");
+        assertThat(stateCache.get("state2")).isEqualTo("value:2");
+        assertThat(stateCache.get("state3")).isNull();
+        assertThat(stateCache.containsKey("state1")).isTrue();
+        assertThat(stateCache.containsKey("state3")).isFalse();
+        assertThat(this.bucketKeys()).hasSize(1);
+    }
+
+    @Test
+    void getFromOlderBuckets() throws Exception {
+        this.cacheProperties.getRedis().setBucketInterval(Duration.ofMillis(100));
+        AuthBucketedRedisStateCache stateCache = new AuthBucketedRedisStateCache(this.connectionFactory,
+                this.cacheProperties);
+
+        stateCache.cache("state1", "value1");
+        Thread.sleep(250L);
+        stateCache.cache("state2", "value2");
+
+        assertThat(this.bucketKeys()).hasSize(2);
+        assertThat(stateCache.get("state1")).isEqualTo("value1");
+        assertThat(stateCache.get("state2")).isEqualTo("value2");
+    }
+
+    @Test
+    void entriesExpire() throws Exception {
+        AuthBucketedRedisStateCache stateCache = new AuthBucketedRedisStateCache(this.connectionFactory,
+                this.cacheProperties);
+
+        stateCache.cache("state1", "value1", 200L);
+        stateCache.cache("state2", "value2", 60_000L);
+        Thread.sleep(300L);
+
+        // the bucket lives on with state2, state1 is expired by its stored expiry
+        assertThat(stateCache.get("state1")).isNull();
+        assertThat(stateCache.containsKey("state1")).isFalse();
+        assertThat(stateCache.get("state2")).isEqualTo("value2");
+    }
+
+    @Test
+    void bucketExpiresWithLastEntry() throws Exception {
+        AuthBucketedRedisStateCache stateCache = new AuthBucketedRedisStateCache(this.connectionFactory,
+                this.cacheProperties);
+
+        stateCache.cache("state1", "value1", 60_000L);
+        String bucketKey = this.bucketKeys().iterator().next();
+        assertThat(this.redisTemplate.getExpire(bucketKey, TimeUnit.MILLISECONDS)).isBetween(50_000L, 60_000L);
+
+        // a shorter entry doesn't shorten the ttl, a longer one extends it
+        stateCache.cache("state2", "value2", 1_000L);
+        assertThat(this.redisTemplate.getExpire(bucketKey, TimeUnit.MILLISECONDS)).isGreaterThan(50_000L);
+        stateCache.cache("state3", "value3", 120_000L);
+        assertThat(this.redisTemplate.getExpire(bucketKey, TimeUnit.MILLISECONDS)).isGreaterThan(110_000L);
+
+        // a new bucket lives as long as its first entry
+        this.redisTemplate.delete(bucketKey);
+        stateCache.cache("state4", "value4", 200L);
+        assertThat(this.bucketKeys()).hasSize(1);
+        Thread.sleep(300L);
+        assertThat(this.bucketKeys()).isEmpty();
+    }
+
+    private Set<String> bucketKeys() {
+        return this.redisTemplate.keys("*BUCKET*");
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.util.StreamUtils;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties;
+
+/**
+ * Tests for {@link AuthJdbcStateCache}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class AuthJdbcStateCacheTests {
+
+    private EmbeddedDatabase database;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private AuthJdbcStateCache stateCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        String schema = StreamUtils.copyToString(
+                new ClassPathResource("schema.sql", AuthJdbcStateCache.class).getInputStream(), StandardCharsets.UTF_8);
+        new ResourceDatabasePopulator(new ByteArrayResource(
+                schema.replace("%TABLE_NAME%", "JUSTAUTH_STATE").getBytes(StandardCharsets.UTF_8)))
+                .execute(this.database);
+        this.jdbcTemplate = new JdbcTemplate(this.database);
+
+        JustAuthCacheProperties cacheProperties = new JustAuthCacheProperties();
+        cacheProperties.getJdbc().setSweepBatchSize(1);
+        // flushed by the tests only
+        cacheProperties.getJdbc().setFlushInterval(Duration.ofHours(1));
+        cacheProperties.getJdbc().setMaxPending(3);
+        this.stateCache = new AuthJdbcStateCache(this.jdbcTemplate, cacheProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.stateCache.close();
+        this.database.shutdown();
+    }
+
+    @Test
+    void dropStatesOverMaxPending() {
+        this.stateCache.cache("state1", "state1");
+        this.stateCache.cache("state2", "state2");
+        this.stateCache.cache("expired1", "expired1", -1L);
+        this.stateCache.cache("state3", "state3");
+
+        assertThat(this.stateCache.get("state1")).isEqualTo("state1");
+        assertThat(this.stateCache.get("state3")).isNull();
+    }
+
+    @Test
+    void flushDiscardsExpiredStates() {
+        this.stateCache.cache("state1", "state1");
+        this.stateCache.cache("state2", "state2");
+        this.stateCache.cache("expired1", "expired1", -1L);
+        this.stateCache.flush();
+
+        assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM JUSTAUTH_STATE", Integer.class))
+                .isEqualTo(2);
+        assertThat(this.stateCache.get("state1")).isEqualTo("state1");
+        assertThat(this.stateCache.get("expired1")).isNull();
+    }
+
+    @Test
+    void consumeOnCheck() {
+        this.stateCache.cache("state1", "state1");
+        this.stateCache.cache("state2", "state2");
+        this.stateCache.flush();
+
+        assertThat(this.stateCache.containsKey("state1")).isTrue();
+        assertThat(this.stateCache.containsKey("state1")).isFalse();
+        assertThat(this.stateCache.get("state2")).isEqualTo("state2");
+    }
+
+    @Test
+    void sweepExpiredRows() {
+        this.stateCache.cache("state1", "state1");
+        this.stateCache.flush();
+        this.jdbcTemplate.update("INSERT INTO JUSTAUTH_STATE (STATE_KEY, STATE_VALUE, EXPIRES_AT) "
+                + "VALUES ('expired2', 'expired2', 0), ('expired3', 'expired3', 0)");
+
+        assertThat(this.stateCache.sweep()).isEqualTo(2);
+        assertThat(this.stateCache.get("state1")).isEqualTo("state1");
+    }
+
+}
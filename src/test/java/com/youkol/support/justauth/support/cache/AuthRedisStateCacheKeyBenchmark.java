@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties;
+
+import me.zhyd.oauth.utils.AuthStateUtils;
+
+/**
+ * Compares the key encoding of {@link AuthRedisStateCache}, i.e. the prefixed {@code String}
+ * serialized by {@link StringRedisSerializer}, with {@link AuthBinaryRedisStateCache}.
+ *
+ * <p>
+ * Run the {@code main} method from the test classpath, the allocation per operation is reported
+ * as {@code gc.alloc.rate.norm}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthRedisStateCacheKeyBenchmark {
+
+    private final JustAuthCacheProperties cacheProperties = new JustAuthCacheProperties();
+
+    private final StringRedisSerializer serializer = StringRedisSerializer.UTF_8;
+
+    private RedisStateKeyFormat keyFormat;
+
+    private AuthBinaryRedisStateCache binaryStateCache;
+
+    private String state;
+
+    @Setup
+    public void setup() {
+        // both caches fix the key format on creation
+        this.keyFormat = RedisStateKeyFormat.of(this.cacheProperties);
+        this.binaryStateCache = new AuthBinaryRedisStateCache(null, this.cacheProperties);
+        this.state = AuthStateUtils.createState();
+    }
+
+    @Benchmark
+    public byte[] stringKey() {
+        return this.serializer.serialize(this.keyFormat.format(this.state));
+    }
+
+    @Benchmark
+    public byte[] binaryKey() {
+        return this.binaryStateCache.encodeKey(this.state);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AuthRedisStateCacheKeyBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+
+}
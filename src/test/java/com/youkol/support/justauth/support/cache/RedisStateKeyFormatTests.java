@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties;
+import com.youkol.support.justauth.autoconfigure.RedisHashTag;
+
+/**
+ * Tests for {@link RedisStateKeyFormat}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class RedisStateKeyFormatTests {
+
+    private final JustAuthCacheProperties cacheProperties = new JustAuthCacheProperties();
+
+    @Test
+    void formatWithoutHashTag() {
+        assertThat(RedisStateKeyFormat.of(this.cacheProperties).format("state"))
+                .isEqualTo("YOUKOL:JUSTAUTH:STATE:state");
+        assertThat(RedisStateKeyFormat.of(this.cacheProperties).formatBucket(7, 100L))
+                .isEqualTo("YOUKOL:JUSTAUTH:STATE:BUCKET:{7}:100");
+    }
+
+    @Test
+    void formatWithStateHashTag() {
+        this.cacheProperties.getRedis().setHashTag(RedisHashTag.STATE);
+        assertThat(RedisStateKeyFormat.of(this.cacheProperties).format("state"))
+                .isEqualTo("YOUKOL:JUSTAUTH:STATE:{state}");
+    }
+
+    @Test
+    void formatWithPrefixHashTag() {
+        this.cacheProperties.getRedis().setHashTag(RedisHashTag.PREFIX);
+        this.cacheProperties.setKeyPrefix("APP:STATE");
+        assertThat(RedisStateKeyFormat.of(this.cacheProperties).format("state"))
+                .isEqualTo("{APP:STATE}:state");
+        assertThat(RedisStateKeyFormat.of(this.cacheProperties).formatBucket(7, 100L))
+                .isEqualTo("{APP:STATE}:BUCKET:7:100");
+    }
+
+}
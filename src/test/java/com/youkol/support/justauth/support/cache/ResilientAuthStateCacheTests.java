@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties.JustAuthCacheResilienceConfig;
+
+import me.zhyd.oauth.cache.AuthStateCache;
+
+/**
+ * Tests for {@link ResilientAuthStateCache}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class ResilientAuthStateCacheTests {
+
+    private final FlakyAuthStateCache remoteCache = new FlakyAuthStateCache();
+
+    private ResilientAuthStateCache stateCache;
+
+    @BeforeEach
+    void setUp() {
+        JustAuthCacheResilienceConfig resilienceConfig = new JustAuthCacheResilienceConfig();
+        resilienceConfig.setFailureThreshold(2);
+        resilienceConfig.setRecoveryInterval(Duration.ofMillis(50));
+        this.stateCache = new ResilientAuthStateCache(this.remoteCache, resilienceConfig, 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.stateCache.close();
+    }
+
+    @Test
+    void writeBackAfterSingleFailure() {
+        this.remoteCache.failing = true;
+        this.stateCache.cache("state1", "value1");
+        this.remoteCache.failing = false;
+
+        assertThat(this.stateCache.isDegraded()).isFalse();
+        assertThat(this.stateCache.get("state1")).isEqualTo("value1");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> this.remoteCache.values.containsKey("state1"));
+        assertThat(this.stateCache.getLocalSize()).isZero();
+        assertThat(this.stateCache.get("state1")).isEqualTo("value1");
+    }
+
+    @Test
+    void failOverAndRecover() {
+        this.remoteCache.failing = true;
+        this.stateCache.cache("state1", "value1");
+        this.stateCache.cache("state2", "value2");
+        assertThat(this.stateCache.isDegraded()).isTrue();
+        assertThat(this.stateCache.getFailoverCount()).isEqualTo(1L);
+        assertThat(this.stateCache.getErrorCount()).isEqualTo(2L);
+        assertThat(this.stateCache.containsKey("state1")).isTrue();
+
+        this.remoteCache.failing = false;
+        await().atMost(Duration.ofSeconds(5)).until(() -> !this.stateCache.isDegraded());
+        assertThat(this.remoteCache.values).containsKeys("state1", "state2");
+        assertThat(this.stateCache.getLocalSize()).isZero();
+    }
+
+    private static class FlakyAuthStateCache implements AuthStateCache {
+
+        private final Map<String, String> values = new ConcurrentHashMap<>();
+
+        private volatile boolean failing;
+
+        @Override
+        public void cache(String key, String value) {
+            this.cache(key, value, 60_000L);
+        }
+
+        @Override
+        public void cache(String key, String value, long timeout) {
+            this.check();
+            this.values.put(key, value);
+        }
+
+        @Override
+        public String get(String key) {
+            this.check();
+            return this.values.get(key);
+        }
+
+        @Override
+        public boolean containsKey(String key) {
+            this.check();
+            return this.values.containsKey(key);
+        }
+
+        private void check() {
+            if (this.failing) {
+                throw new IllegalStateException("The remote cache is down");
+            }
+        }
+
+    }
+
+}
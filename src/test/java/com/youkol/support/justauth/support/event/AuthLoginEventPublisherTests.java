@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthLoginEventProperties;
+import com.youkol.support.justauth.support.event.AuthLoginEvent.Outcome;
+
+import me.zhyd.oauth.enums.AuthResponseStatus;
+
+/**
+ * Tests for {@link AuthLoginEventPublisher}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class AuthLoginEventPublisherTests {
+
+    @Test
+    void dropEventsOverBufferWhileSinkIsStuck() {
+        JustAuthLoginEventProperties properties = new JustAuthLoginEventProperties();
+        properties.setBufferSize(4);
+        properties.setBatchSize(1);
+        CountDownLatch stuck = new CountDownLatch(1);
+        AtomicInteger written = new AtomicInteger();
+        AuthLoginEventSink sink = batch -> {
+            try {
+                stuck.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            written.addAndGet(batch.size());
+        };
+
+        try (AuthLoginEventPublisher publisher = new AuthLoginEventPublisher(Collections.singletonList(sink),
+                properties)) {
+            for (int i = 0; i < 10; i++) {
+                publisher.publish(new AuthLoginEvent("CUSTOM1", "uuid" + i, Outcome.SUCCESS,
+                        AuthResponseStatus.SUCCESS.getCode(), 1, System.currentTimeMillis()));
+            }
+            // one taken by the stuck consumer, four buffered
+            assertThat(publisher.getDroppedCount()).isBetween(5L, 6L);
+            stuck.countDown();
+            Awaitility.await().atMost(Duration.ofSeconds(5))
+                    .until(() -> written.get() == publisher.getPublishedCount());
+        }
+    }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.loadtest;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthResponse;
+
+/**
+ * Drives the full login flow through {@link AuthRequestFactory} from concurrent workers, and
+ * reports the throughput and the latency percentiles of the flow.
+ *
+ * <p>
+ * One iteration builds the authorize url by {@link AuthRequestFactory#authorizeUrl(String, String)},
+ * follows it to the provider like a browser, takes the {@code code} and {@code state} from the
+ * redirect, and logs in by {@code AuthRequest#login(AuthCallback)} with them.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthLoadGenerator {
+
+    private final AuthRequestFactory authRequestFactory;
+
+    private final String source;
+
+    private int threads = 8;
+
+    private Duration duration = Duration.ofSeconds(10);
+
+    private long iterations = 0;
+
+    public AuthLoadGenerator(AuthRequestFactory authRequestFactory, String source) {
+        this.authRequestFactory = authRequestFactory;
+        this.source = source;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    /**
+     * @param iterations the number of logins per worker, or {@code 0} to run for the
+     *                   {@link #setDuration(Duration) duration}
+     */
+    public void setIterations(long iterations) {
+        this.iterations = iterations;
+    }
+
+    public LoadReport run() throws InterruptedException {
+        long deadline = System.nanoTime() + this.duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int i = 0; i < this.threads; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (long n = 0; this.iterations > 0 ? n < this.iterations : System.nanoTime() < deadline; n++) {
+                    long begin = System.nanoTime();
+                    if (!this.login()) {
+                        errors.incrementAndGet();
+                    }
+                    recorder.record(System.nanoTime() - begin);
+                }
+                synchronized (latencies) {
+                    latencies.add(recorder.toArray());
+                }
+            }, "justauth-load-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new LoadReport(all, errors.get(), elapsed);
+    }
+
+    private boolean login() {
+        try {
+            String authorizeUrl = this.authRequestFactory.authorizeUrl(this.source, null);
+            MultiValueMap<String, String> params = UriComponentsBuilder.fromHttpUrl(follow(authorizeUrl))
+                    .build()
+                    .getQueryParams();
+
+            AuthCallback authCallback = new AuthCallback();
+            authCallback.setCode(params.getFirst("code"));
+            authCallback.setState(params.getFirst("state"));
+            AuthResponse<?> response = this.authRequestFactory.getAuthRequest(this.source).login(authCallback);
+            return response.ok();
+        } catch (IOException | RuntimeException ex) {
+            return false;
+        }
+    }
+
+    private static String follow(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setInstanceFollowRedirects(false);
+        try {
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_MOVED_TEMP) {
+                throw new IOException("Unexpected response status " + connection.getResponseCode());
+            }
+            return connection.getHeaderField("Location");
+        } finally {
+            connection.getInputStream().close();
+        }
+    }
+
+    private static class LatencyRecorder {
+
+        private long[] values = new long[1024];
+
+        private int size;
+
+        void record(long nanos) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(this.values, this.size);
+        }
+
+    }
+
+    /**
+     * The result of a run, the latencies include the failed logins.
+     */
+    public static class LoadReport {
+
+        private final long[] sortedLatencies;
+
+        private final long errors;
+
+        private final long elapsedNanos;
+
+        LoadReport(long[] sortedLatencies, long errors, long elapsedNanos) {
+            this.sortedLatencies = sortedLatencies;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getCount() {
+            return this.sortedLatencies.length;
+        }
+
+        public long getErrors() {
+            return this.errors;
+        }
+
+        /**
+         * @return the logins per second
+         */
+        public double getThroughput() {
+            return this.elapsedNanos == 0 ? 0 : this.getCount() * 1e9 / this.elapsedNanos;
+        }
+
+        /**
+         * @param percentile from {@code 0} to {@code 100}
+         * @return the latency at the given percentile, in milliseconds
+         */
+        public double getLatency(double percentile) {
+            if (this.sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * this.sortedLatencies.length) - 1;
+            return this.sortedLatencies[Math.max(0, Math.min(index, this.sortedLatencies.length - 1))] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d errors=%d throughput=%.1f/s p50=%.2fms p90=%.2fms p99=%.2fms "
+                    + "p99.9=%.2fms max=%.2fms", this.getCount(), this.errors, this.getThroughput(),
+                    this.getLatency(50), this.getLatency(90), this.getLatency(99), this.getLatency(99.9),
+                    this.getLatency(100));
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.youkol.support.justauth.autoconfigure.CacheType;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+/**
+ * Tests for {@link AuthLoadGenerator} against {@link MockOAuthProvider}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class AuthLoadGeneratorTests {
+
+    @Test
+    void loginWithEachStateCache() throws Exception {
+        try (MockOAuthProvider provider = new MockOAuthProvider()) {
+            MockAuthSource.bind(provider);
+            for (CacheType cacheType : Arrays.asList(CacheType.DEFAULT, CacheType.JDBC)) {
+                AuthLoginLoadRunner.contextRunner(cacheType).run(context -> {
+                    AuthLoadGenerator generator = new AuthLoadGenerator(context.getBean(AuthRequestFactory.class),
+                            MockAuthSource.MOCK.getName());
+                    generator.setThreads(2);
+                    generator.setIterations(10);
+
+                    AuthLoadGenerator.LoadReport report = generator.run();
+                    assertThat(report.getCount()).isEqualTo(20);
+                    assertThat(report.getErrors()).isZero();
+                    assertThat(report.getLatency(99)).isPositive();
+                });
+            }
+        }
+    }
+
+    @Test
+    void countInjectedErrors() throws Exception {
+        try (MockOAuthProvider provider = new MockOAuthProvider()) {
+            MockAuthSource.bind(provider);
+            provider.setErrorRate(1);
+            AuthLoginLoadRunner.contextRunner(CacheType.DEFAULT).run(context -> {
+                AuthLoadGenerator generator = new AuthLoadGenerator(context.getBean(AuthRequestFactory.class),
+                        MockAuthSource.MOCK.getName());
+                generator.setThreads(1);
+                generator.setIterations(3);
+
+                assertThat(generator.run().getErrors()).isEqualTo(3);
+                assertThat(provider.getInjectedErrorCount()).isEqualTo(3);
+            });
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.youkol.support.justauth.autoconfigure.CacheType;
+import com.youkol.support.justauth.autoconfigure.JustAuthAutoConfiguration;
+import com.youkol.support.justauth.support.loadtest.AuthLoadGenerator.LoadReport;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+/**
+ * Runs {@link AuthLoadGenerator} against {@link MockOAuthProvider} with each {@link CacheType},
+ * to compare the state caches and catch regressions of the login flow without real providers.
+ *
+ * <p>
+ * Run the {@code main} method from the test classpath, with the cache types as arguments,
+ * e.g. {@code DEFAULT JDBC}, all but {@code CUSTOM} by default. {@code REDIS} connects to
+ * {@code spring.redis.host}, pass it as a system property. The load is tuned by the system
+ * properties {@code loadtest.threads}, {@code loadtest.duration} in seconds,
+ * {@code loadtest.latency} and {@code loadtest.jitter} in milliseconds, and
+ * {@code loadtest.error-rate}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class AuthLoginLoadRunner {
+
+    public static void main(String[] args) throws Exception {
+        List<CacheType> cacheTypes = args.length > 0
+                ? Arrays.stream(args).map(String::toUpperCase).map(CacheType::valueOf).collect(Collectors.toList())
+                : Arrays.asList(CacheType.DEFAULT, CacheType.JDBC, CacheType.REDIS);
+
+        try (MockOAuthProvider provider = new MockOAuthProvider()) {
+            provider.setLatency(Duration.ofMillis(Long.getLong("loadtest.latency", 5)));
+            provider.setJitter(Duration.ofMillis(Long.getLong("loadtest.jitter", 5)));
+            provider.setErrorRate(Double.parseDouble(System.getProperty("loadtest.error-rate", "0")));
+            MockAuthSource.bind(provider);
+
+            for (CacheType cacheType : cacheTypes) {
+                contextRunner(cacheType).run(context -> {
+                    if (context.getStartupFailure() != null) {
+                        System.out.println(cacheType + ": failed to start, " + context.getStartupFailure());
+                        return;
+                    }
+
+                    AuthLoadGenerator generator = new AuthLoadGenerator(context.getBean(AuthRequestFactory.class),
+                            MockAuthSource.MOCK.getName());
+                    generator.setThreads(Integer.getInteger("loadtest.threads", 16));
+
+                    // warm up the connections, the compiled authorize url and the JIT
+                    generator.setDuration(Duration.ofSeconds(2));
+                    generator.run();
+
+                    generator.setDuration(Duration.ofSeconds(Long.getLong("loadtest.duration", 10)));
+                    LoadReport report = generator.run();
+                    System.out.println(cacheType + ": " + report);
+                });
+            }
+        }
+    }
+
+    /**
+     * Return the context of the mock source with the given state cache.
+     *
+     * @param cacheType the type of the state cache
+     * @return the context runner
+     */
+    public static ApplicationContextRunner contextRunner(CacheType cacheType) {
+        return new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class,
+                        RedisAutoConfiguration.class, DataSourceAutoConfiguration.class))
+                .withPropertyValues("youkol.justauth.cache.type:" + cacheType.name(),
+                        "youkol.justauth.cache.jdbc.initialize-schema:true",
+                        "youkol.justauth.extend-auth-source-class[0]:" + MockAuthSource.class.getName(),
+                        "youkol.justauth.type.MOCK.client-id:mock-client-id",
+                        "youkol.justauth.type.MOCK.client-secret:mock-client-secret",
+                        "youkol.justauth.type.MOCK.redirect-uri:http://localhost/oauth/mock/callback");
+    }
+
+}
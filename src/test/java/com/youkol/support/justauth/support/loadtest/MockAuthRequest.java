@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.loadtest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.youkol.support.justauth.support.request.AuthResponseDecoder;
+import com.youkol.support.justauth.support.request.StreamingAuthHttpClient;
+
+import me.zhyd.oauth.cache.AuthStateCache;
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.request.AuthDefaultRequest;
+
+/**
+ * The {@code AuthRequest} of {@link MockAuthSource}, calling {@link MockOAuthProvider} over
+ * http like the built-in requests call the real providers.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class MockAuthRequest extends AuthDefaultRequest {
+
+    private static final Set<String> ACCESS_TOKEN_FIELDS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("error", "access_token", "expires_in")));
+
+    private static final Set<String> USER_INFO_FIELDS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("error", "id", "login", "avatar_url")));
+
+    private final AuthResponseDecoder responseDecoder = AuthResponseDecoder.getDefault();
+
+    public MockAuthRequest(AuthConfig config) {
+        super(config, MockAuthSource.MOCK);
+    }
+
+    public MockAuthRequest(AuthConfig config, AuthStateCache authStateCache) {
+        super(config, MockAuthSource.MOCK, authStateCache);
+    }
+
+    @Override
+    public AuthToken getAccessToken(AuthCallback authCallback) {
+        Map<String, String> response = this.get(this.accessTokenUrl(authCallback.getCode()), ACCESS_TOKEN_FIELDS);
+        return AuthToken.builder()
+                .accessToken(response.get("access_token"))
+                .expireIn(Integer.parseInt(response.get("expires_in")))
+                .build();
+    }
+
+    @Override
+    public AuthUser getUserInfo(AuthToken authToken) {
+        Map<String, String> response = this.get(this.userInfoUrl(authToken), USER_INFO_FIELDS);
+        return AuthUser.builder()
+                .uuid(response.get("id"))
+                .username(response.get("login"))
+                .nickname(response.get("login"))
+                .avatar(response.get("avatar_url"))
+                .token(authToken)
+                .source(this.source.toString())
+                .build();
+    }
+
+    private Map<String, String> get(String url, Set<String> fields) {
+        Map<String, String> response = StreamingAuthHttpClient.get(url, this.config.getHttpConfig(),
+                this.responseDecoder, fields);
+        if (response.containsKey("error")) {
+            throw new AuthException(response.get("error"));
+        }
+        return response;
+    }
+
+}
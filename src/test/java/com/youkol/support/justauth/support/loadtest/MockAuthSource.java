@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.loadtest;
+
+import me.zhyd.oauth.config.AuthSource;
+import me.zhyd.oauth.request.AuthDefaultRequest;
+
+/**
+ * The {@link AuthSource} of {@link MockOAuthProvider}, register it by
+ * {@code youkol.justauth.extend-auth-source-class} and {@link #bind(MockOAuthProvider)} it to a
+ * started provider before use.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public enum MockAuthSource implements AuthSource {
+
+    MOCK {
+
+        @Override
+        public String authorize() {
+            return baseUrl + "/authorize";
+        }
+
+        @Override
+        public String accessToken() {
+            return baseUrl + "/token";
+        }
+
+        @Override
+        public String userInfo() {
+            return baseUrl + "/userinfo";
+        }
+
+        @Override
+        public Class<? extends AuthDefaultRequest> getTargetClass() {
+            return MockAuthRequest.class;
+        }
+    };
+
+    private static volatile String baseUrl = "http://localhost";
+
+    /**
+     * Point the endpoints to the given provider, the port of which is only known once started.
+     *
+     * @param provider the started provider
+     */
+    public static void bind(MockOAuthProvider provider) {
+        baseUrl = provider.getBaseUrl();
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embedded OAuth2 provider on the loopback interface, serving the authorize, token and user
+ * info endpoints of {@link MockAuthSource}.
+ *
+ * <p>
+ * Each call of the token and user info endpoints is delayed by {@link #setLatency(Duration)}
+ * plus a random {@link #setJitter(Duration)}, and fails with {@code 500} at the
+ * {@link #setErrorRate(double)}. The authorize endpoint redirects to the {@code redirect_uri}
+ * immediately, like a browser of a user who is logged in and has consented already.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class MockOAuthProvider implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final Map<String, String> issuedCodes = new ConcurrentHashMap<>();
+
+    private final Map<String, String> issuedTokens = new ConcurrentHashMap<>();
+
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private final AtomicLong injectedErrorCount = new AtomicLong();
+
+    private volatile long latencyMillis;
+
+    private volatile long jitterMillis;
+
+    private volatile double errorRate;
+
+    public MockOAuthProvider() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("mock-oauth-provider-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newCachedThreadPool(threadFactory);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/authorize", this.handler(this::authorize, false));
+        this.server.createContext("/token", this.handler(this::token, true));
+        this.server.createContext("/userinfo", this.handler(this::userInfo, true));
+        this.server.start();
+    }
+
+    public String getBaseUrl() {
+        InetSocketAddress address = this.server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latencyMillis = latency.toMillis();
+    }
+
+    public void setJitter(Duration jitter) {
+        this.jitterMillis = jitter.toMillis();
+    }
+
+    /**
+     * @param errorRate the ratio of the token and user info calls failing with {@code 500}, from
+     *                  {@code 0} to {@code 1}
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public long getRequestCount() {
+        return this.requestCount.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return this.injectedErrorCount.get();
+    }
+
+    private HttpHandler handler(Endpoint endpoint, boolean injectFaults) {
+        return exchange -> {
+            this.requestCount.incrementAndGet();
+            try {
+                if (injectFaults && !this.delayOrFail(exchange)) {
+                    return;
+                }
+                endpoint.handle(exchange, parseQuery(exchange.getRequestURI().getRawQuery()));
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private boolean delayOrFail(HttpExchange exchange) throws IOException {
+        long delay = this.latencyMillis;
+        if (this.jitterMillis > 0) {
+            delay += ThreadLocalRandom.current().nextLong(this.jitterMillis + 1);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (this.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < this.errorRate) {
+            this.injectedErrorCount.incrementAndGet();
+            writeJson(exchange, 500, "{\"error\":\"server_error\"}");
+            return false;
+        }
+        return true;
+    }
+
+    private void authorize(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String code = UUID.randomUUID().toString();
+        this.issuedCodes.put(code, query.getOrDefault("client_id", ""));
+        String location = UriComponentsBuilder.fromHttpUrl(query.get("redirect_uri"))
+                .queryParam("code", code)
+                .queryParam("state", query.get("state"))
+                .build()
+                .toUriString();
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private void token(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String code = query.get("code");
+        if (code == null || this.issuedCodes.remove(code) == null) {
+            writeJson(exchange, 200, "{\"error\":\"invalid_grant\"}");
+            return;
+        }
+
+        String accessToken = UUID.randomUUID().toString();
+        this.issuedTokens.put(accessToken, code);
+        writeJson(exchange, 200, "{\"access_token\":\"" + accessToken
+                + "\",\"token_type\":\"bearer\",\"expires_in\":7200}");
+    }
+
+    private void userInfo(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String code = this.issuedTokens.remove(query.getOrDefault("access_token", ""));
+        if (code == null) {
+            writeJson(exchange, 200, "{\"error\":\"invalid_token\"}");
+            return;
+        }
+
+        writeJson(exchange, 200, "{\"id\":\"" + code + "\",\"login\":\"user-" + code.substring(0, 8)
+                + "\",\"avatar_url\":\"http://localhost/avatar.png\"}");
+    }
+
+    private static void writeJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws IOException {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int index = pair.indexOf('=');
+            if (index > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, index), "UTF-8"),
+                        URLDecoder.decode(pair.substring(index + 1), "UTF-8"));
+            }
+        }
+        return query;
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+
+        void handle(HttpExchange exchange, Map<String, String> query) throws IOException;
+
+    }
+
+}
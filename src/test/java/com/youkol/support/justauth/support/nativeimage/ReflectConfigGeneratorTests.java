@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.nativeimage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthAutoConfiguration;
+import com.youkol.support.justauth.autoconfigure.JustAuthCacheProperties;
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.config.AuthSource;
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.request.AuthDefaultRequest;
+
+/**
+ * Tests for {@link ReflectConfigGenerator}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class ReflectConfigGeneratorTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JustAuthAutoConfiguration.class))
+            .withPropertyValues("youkol.justauth.extend-auth-source-class[0]:" + NativeAuthSource.class.getName(),
+                    "youkol.justauth.type.GITHUB.client-id:GITHUB",
+                    "youkol.justauth.type.GITHUB.client-secret:GITHUB",
+                    "youkol.justauth.type.GITHUB.redirect-uri:http://test.justauth/test/oauth/github/callback");
+
+    @Test
+    void generateEntries() {
+        this.contextRunner.run(context -> {
+            Map<String, Map<String, Object>> entries = new ReflectConfigGenerator(
+                    context.getBean(AuthRequestFactory.class)).generate()
+                    .stream()
+                    .collect(Collectors.toMap(entry -> (String) entry.get("name"), entry -> entry));
+
+            assertThat(entries.get("me.zhyd.oauth.request.AuthGithubRequest"))
+                    .containsEntry("allDeclaredConstructors", true);
+            assertThat(entries.get(NativeAuthRequest.class.getName()))
+                    .containsEntry("allDeclaredConstructors", true);
+            assertThat(entries.get(NativeAuthSource.class.getName())).containsKey("methods");
+            assertThat(entries).containsKeys(JustAuthProperties.class.getName(),
+                    JustAuthCacheProperties.JustAuthRedisCacheConfig.class.getName(),
+                    JustAuthProperties.JustAuthHttpRetryPolicy.class.getName(),
+                    AuthConfig.class.getName());
+        });
+    }
+
+    public enum NativeAuthSource implements AuthSource {
+
+        NATIVE {
+
+            @Override
+            public String authorize() {
+                return "http://test.justauth/native/authorize";
+            }
+
+            @Override
+            public String accessToken() {
+                return "http://test.justauth/native/accessToken";
+            }
+
+            @Override
+            public String userInfo() {
+                return "http://test.justauth/native/userInfo";
+            }
+
+            @Override
+            public Class<? extends AuthDefaultRequest> getTargetClass() {
+                return NativeAuthRequest.class;
+            }
+        }
+
+    }
+
+    public static class NativeAuthRequest extends AuthDefaultRequest {
+
+        public NativeAuthRequest(AuthConfig config) {
+            super(config, NativeAuthSource.NATIVE);
+        }
+
+        @Override
+        public AuthToken getAccessToken(AuthCallback authCallback) {
+            throw new AuthException(AuthResponseStatus.NOT_IMPLEMENTED);
+        }
+
+        @Override
+        public AuthUser getUserInfo(AuthToken authToken) {
+            throw new AuthException(AuthResponseStatus.NOT_IMPLEMENTED);
+        }
+
+    }
+
+}
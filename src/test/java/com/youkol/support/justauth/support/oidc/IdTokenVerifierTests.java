@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.oidc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.alibaba.fastjson.JSONObject;
+import com.youkol.support.justauth.autoconfigure.JustAuthOidcProperties.JustAuthOidcProvider;
+
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * Tests for {@link IdTokenVerifier}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class IdTokenVerifierTests {
+
+    private static final String CLIENT_ID = "client-id";
+
+    private MockOidcProvider provider;
+
+    private JwksCache jwksCache;
+
+    private JustAuthOidcProvider oidcProvider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.provider = new MockOidcProvider();
+        this.provider.addKey("kid1");
+        this.jwksCache = new JwksCache(Duration.ofHours(1), Duration.ZERO, Duration.ofSeconds(5));
+        this.oidcProvider = new JustAuthOidcProvider(this.provider.getJwksUri(),
+                Collections.singletonList(MockOidcProvider.ISSUER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.jwksCache.close();
+        this.provider.close();
+    }
+
+    @Test
+    void verifyValidIdToken() {
+        JSONObject claims = this.verify(this.provider.sign("kid1", this.provider.claims(CLIENT_ID)), null);
+
+        assertThat(claims.getString("sub")).isEqualTo(MockOidcProvider.SUBJECT);
+        assertThat(claims.getString("email")).isEqualTo("oidc@test.justauth");
+    }
+
+    @Test
+    void rejectBadSignature() {
+        String[] parts = this.provider.sign("kid1", this.provider.claims(CLIENT_ID)).split("\\.");
+        JSONObject forged = this.provider.claims(CLIENT_ID);
+        forged.put("sub", "attacker");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(forged.toJSONString().getBytes(StandardCharsets.UTF_8));
+
+        this.assertInvalid(parts[0] + "." + forgedPayload + "." + parts[2], null, "bad signature");
+    }
+
+    @Test
+    void rejectUntrustedIssuer() {
+        JSONObject claims = this.provider.claims(CLIENT_ID);
+        claims.put("iss", "https://attacker.test.justauth");
+
+        this.assertInvalid(this.provider.sign("kid1", claims), null, "untrusted issuer");
+    }
+
+    @Test
+    void rejectAudienceMismatch() {
+        this.assertInvalid(this.provider.sign("kid1", this.provider.claims("other-client-id")), null,
+                "audience mismatch");
+    }
+
+    @Test
+    void rejectExpiredIdToken() {
+        long now = System.currentTimeMillis() / 1000;
+        JSONObject claims = this.provider.claims(CLIENT_ID);
+        claims.put("exp", now - 120);
+        this.assertInvalid(this.provider.sign("kid1", claims), null, "expired");
+
+        // within the clock skew
+        claims.put("exp", now - 30);
+        assertThat(this.verify(this.provider.sign("kid1", claims), null)).isNotNull();
+    }
+
+    @Test
+    void refetchJwksForUnknownKid() {
+        this.verify(this.provider.sign("kid1", this.provider.claims(CLIENT_ID)), null);
+        assertThat(this.provider.getJwksRequestCount()).isEqualTo(1);
+
+        // the key rotated by the provider
+        this.provider.addKey("kid2");
+        JSONObject claims = this.verify(this.provider.sign("kid2", this.provider.claims(CLIENT_ID)), null);
+
+        assertThat(claims.getString("sub")).isEqualTo(MockOidcProvider.SUBJECT);
+        assertThat(this.provider.getJwksRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectUnknownKidWithinMinRefreshInterval() {
+        try (JwksCache throttledJwksCache = new JwksCache(Duration.ofHours(1), Duration.ofHours(1),
+                Duration.ofSeconds(5))) {
+            IdTokenVerifier verifier = new IdTokenVerifier(throttledJwksCache, Duration.ofSeconds(60));
+            verifier.verify(this.provider.sign("kid1", this.provider.claims(CLIENT_ID)), this.oidcProvider,
+                    CLIENT_ID, null, null);
+
+            this.provider.addKey("kid2");
+            String idToken = this.provider.sign("kid2", this.provider.claims(CLIENT_ID));
+            assertThatThrownBy(() -> verifier.verify(idToken, this.oidcProvider, CLIENT_ID, null, null))
+                    .isInstanceOf(AuthException.class)
+                    .hasMessageContaining("unknown kid");
+            assertThat(this.provider.getJwksRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void verifyAuthorizedPartyOfSeveralAudiences() {
+        JSONObject claims = this.provider.claims(CLIENT_ID);
+        claims.put("aud", Arrays.asList(CLIENT_ID, "other-client-id"));
+        this.assertInvalid(this.provider.sign("kid1", claims), null, "authorized party mismatch");
+
+        claims.put("azp", "other-client-id");
+        this.assertInvalid(this.provider.sign("kid1", claims), null, "authorized party mismatch");
+
+        claims.put("azp", CLIENT_ID);
+        assertThat(this.verify(this.provider.sign("kid1", claims), null)).isNotNull();
+    }
+
+    @Test
+    void verifyNonceIfSent() {
+        JSONObject claims = this.provider.claims(CLIENT_ID);
+        claims.put("nonce", "nonce1");
+        String idToken = this.provider.sign("kid1", claims);
+
+        assertThat(this.verify(idToken, "nonce1")).isNotNull();
+        assertThat(this.verify(idToken, null)).isNotNull();
+        this.assertInvalid(idToken, "nonce2", "nonce mismatch");
+        this.assertInvalid(this.provider.sign("kid1", this.provider.claims(CLIENT_ID)), "nonce1",
+                "nonce mismatch");
+
+        IdTokenVerifier verifier = new IdTokenVerifier(this.jwksCache, Duration.ofSeconds(60));
+        verifier.verifyNonce(idToken, "nonce1");
+        assertThatThrownBy(() -> verifier.verifyNonce(idToken, "nonce2"))
+                .isInstanceOf(AuthException.class)
+                .hasMessageContaining("nonce mismatch");
+    }
+
+    @Test
+    void rejectMalformedIdToken() {
+        this.assertInvalid("not-a-jwt", null, "malformed token");
+        this.assertInvalid("a.b.c", null, "malformed token");
+    }
+
+    private JSONObject verify(String idToken, String nonce) {
+        return new IdTokenVerifier(this.jwksCache, Duration.ofSeconds(60))
+                .verify(idToken, this.oidcProvider, CLIENT_ID, nonce, null);
+    }
+
+    private void assertInvalid(String idToken, String nonce, String reason) {
+        assertThatThrownBy(() -> this.verify(idToken, nonce))
+                .isInstanceOf(AuthException.class)
+                .hasMessageContaining(reason);
+    }
+
+}
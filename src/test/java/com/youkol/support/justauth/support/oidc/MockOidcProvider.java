@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.oidc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embedded OIDC provider on the loopback interface, serving a JWKS of RSA keys and signing
+ * the {@code id_token}s with them.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+public class MockOidcProvider implements AutoCloseable {
+
+    public static final String ISSUER = "https://issuer.test.justauth";
+
+    public static final String SUBJECT = "oidc-subject";
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final Map<String, KeyPair> keys = new ConcurrentHashMap<>();
+
+    private final AtomicLong jwksRequestCount = new AtomicLong();
+
+    public MockOidcProvider() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("mock-oidc-provider-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newCachedThreadPool(threadFactory);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/jwks", exchange -> {
+            this.jwksRequestCount.incrementAndGet();
+            try {
+                this.writeJwks(exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+        this.server.start();
+    }
+
+    public String getJwksUri() {
+        InetSocketAddress address = this.server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + "/jwks";
+    }
+
+    public long getJwksRequestCount() {
+        return this.jwksRequestCount.get();
+    }
+
+    /**
+     * Publish a new RSA key of the given key id in the JWKS.
+     *
+     * @param kid the key id
+     */
+    public void addKey(String kid) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            this.keys.put(kid, generator.generateKeyPair());
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Return the claims of a valid {@code id_token} issued to the given audience.
+     *
+     * @param audience the client id
+     * @return the claims, to be modified before signing
+     */
+    public JSONObject claims(String audience) {
+        long now = System.currentTimeMillis() / 1000;
+        JSONObject claims = new JSONObject(true);
+        claims.put("iss", ISSUER);
+        claims.put("sub", SUBJECT);
+        claims.put("aud", audience);
+        claims.put("iat", now);
+        claims.put("exp", now + 300);
+        claims.put("email", "oidc@test.justauth");
+        claims.put("name", "OIDC User");
+        return claims;
+    }
+
+    /**
+     * Sign the given claims as a {@code RS256} {@code id_token} by the key of the given id.
+     *
+     * @param kid    the id of a published key
+     * @param claims the claims
+     * @return the {@code id_token}
+     */
+    public String sign(String kid, JSONObject claims) {
+        JSONObject header = new JSONObject(true);
+        header.put("alg", "RS256");
+        header.put("typ", "JWT");
+        header.put("kid", kid);
+        String signingInput = encode(header.toJSONString().getBytes(StandardCharsets.UTF_8)) + "."
+                + encode(claims.toJSONString().getBytes(StandardCharsets.UTF_8));
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(this.keys.get(kid).getPrivate());
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + encode(signature.sign());
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void writeJwks(HttpExchange exchange) throws IOException {
+        JSONArray jwks = new JSONArray();
+        this.keys.forEach((kid, keyPair) -> {
+            RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+            JSONObject jwk = new JSONObject(true);
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("kid", kid);
+            jwk.put("n", encode(unsigned(publicKey.getModulus())));
+            jwk.put("e", encode(unsigned(publicKey.getPublicExponent())));
+            jwks.add(jwk);
+        });
+        JSONObject body = new JSONObject();
+        body.put("keys", jwks);
+
+        byte[] bytes = body.toJSONString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+}
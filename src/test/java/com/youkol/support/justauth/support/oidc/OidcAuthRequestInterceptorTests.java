@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.oidc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.alibaba.fastjson.JSONObject;
+import com.youkol.support.justauth.autoconfigure.JustAuthOidcProperties;
+import com.youkol.support.justauth.autoconfigure.JustAuthOidcProperties.JustAuthOidcProvider;
+import com.youkol.support.justauth.support.request.InterceptingAuthRequest;
+
+import me.zhyd.oauth.cache.AuthDefaultStateCache;
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.config.AuthDefaultSource;
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * Tests for {@link OidcAuthRequestInterceptor}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class OidcAuthRequestInterceptorTests {
+
+    private static final String CLIENT_ID = "client-id";
+
+    private static final String OBJECT_ID = "00000000-0000-0000-66f3-3332eca7ea81";
+
+    private MockOidcProvider provider;
+
+    private StubAuthRequest delegate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.provider = new MockOidcProvider();
+        this.provider.addKey("kid1");
+        this.delegate = new StubAuthRequest();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.provider.close();
+    }
+
+    @Test
+    void buildUserFromIdToken() {
+        try (OidcAuthRequestInterceptor interceptor = this.interceptor(true)) {
+            AuthRequest authRequest = this.intercept(interceptor, this.authConfig());
+
+            AuthUser authUser = authRequest.getUserInfo(
+                    this.authToken(this.provider.sign("kid1", this.provider.claims(CLIENT_ID))));
+
+            assertThat(authUser.getUuid()).isEqualTo(MockOidcProvider.SUBJECT);
+            assertThat(authUser.getEmail()).isEqualTo("oidc@test.justauth");
+            assertThat(authUser.getSource()).isEqualTo("GOOGLE");
+            assertThat(this.delegate.userInfoCount.get()).isZero();
+        }
+    }
+
+    @Test
+    void fallBackWithoutIdToken() {
+        try (OidcAuthRequestInterceptor interceptor = this.interceptor(true)) {
+            AuthRequest authRequest = this.intercept(interceptor, this.authConfig());
+
+            AuthUser authUser = authRequest.getUserInfo(this.authToken(null));
+
+            assertThat(authUser.getUuid()).isEqualTo(StubAuthRequest.USER_INFO_UUID);
+            assertThat(this.delegate.userInfoCount.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void fallBackOnInvalidIdToken() {
+        try (OidcAuthRequestInterceptor interceptor = this.interceptor(true)) {
+            AuthRequest authRequest = this.intercept(interceptor, this.authConfig());
+
+            AuthUser authUser = authRequest.getUserInfo(
+                    this.authToken(this.provider.sign("kid1", this.provider.claims("other-client-id"))));
+
+            assertThat(authUser.getUuid()).isEqualTo(StubAuthRequest.USER_INFO_UUID);
+            assertThat(this.delegate.userInfoCount.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void failOnInvalidIdTokenWithoutFallback() {
+        try (OidcAuthRequestInterceptor interceptor = this.interceptor(false)) {
+            AuthRequest authRequest = this.intercept(interceptor, this.authConfig());
+            AuthToken invalidToken = this.authToken(
+                    this.provider.sign("kid1", this.provider.claims("other-client-id")));
+
+            assertThatThrownBy(() -> authRequest.getUserInfo(invalidToken))
+                    .isInstanceOf(AuthException.class)
+                    .hasMessageContaining("audience mismatch");
+            assertThatThrownBy(() -> authRequest.getUserInfo(this.authToken(null)))
+                    .isInstanceOf(AuthException.class)
+                    .hasMessageContaining("Missing id_token");
+            assertThat(this.delegate.userInfoCount.get()).isZero();
+        }
+    }
+
+    @Test
+    void fallBackWithoutAuthConfig() {
+        AuthToken authToken = this.authToken(this.provider.sign("kid1", this.provider.claims(CLIENT_ID)));
+
+        try (OidcAuthRequestInterceptor interceptor = this.interceptor(true)) {
+            AuthUser authUser = this.intercept(interceptor, null).getUserInfo(authToken);
+
+            assertThat(authUser.getUuid()).isEqualTo(StubAuthRequest.USER_INFO_UUID);
+        }
+
+        try (OidcAuthRequestInterceptor interceptor = this.interceptor(false)) {
+            AuthRequest authRequest = this.intercept(interceptor, null);
+
+            assertThatThrownBy(() -> authRequest.getUserInfo(authToken))
+                    .isInstanceOf(AuthException.class)
+                    .hasMessageContaining("Missing client id");
+        }
+    }
+
+    @Test
+    void buildUserFromObjectIdOfMicrosoft() {
+        try (OidcAuthRequestInterceptor interceptor = this.interceptor(true, "MICROSOFT")) {
+            AuthRequest authRequest = this.intercept(interceptor, AuthDefaultSource.MICROSOFT, this.authConfig());
+            JSONObject claims = this.provider.claims(CLIENT_ID);
+            claims.put("oid", OBJECT_ID);
+
+            AuthUser authUser = authRequest.getUserInfo(this.authToken(this.provider.sign("kid1", claims)));
+
+            assertThat(authUser.getUuid()).isEqualTo(OBJECT_ID);
+            assertThat(authUser.getSource()).isEqualTo("MICROSOFT");
+            assertThat(this.delegate.userInfoCount.get()).isZero();
+        }
+    }
+
+    @Test
+    void fallBackWithoutUuidClaim() {
+        try (OidcAuthRequestInterceptor interceptor = this.interceptor(true, "MICROSOFT")) {
+            AuthRequest authRequest = this.intercept(interceptor, AuthDefaultSource.MICROSOFT, this.authConfig());
+
+            AuthUser authUser = authRequest.getUserInfo(
+                    this.authToken(this.provider.sign("kid1", this.provider.claims(CLIENT_ID))));
+
+            assertThat(authUser.getUuid()).isEqualTo(StubAuthRequest.USER_INFO_UUID);
+            assertThat(this.delegate.userInfoCount.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void verifyNonceOnLogin() {
+        try (OidcAuthRequestInterceptor interceptor = this.interceptor(true)) {
+            AuthRequest authRequest = this.intercept(interceptor, this.authConfig());
+
+            String state = UUID.randomUUID().toString();
+            assertThat(authRequest.authorize(state)).contains("nonce=" + StubAuthRequest.NONCE);
+            JSONObject claims = this.provider.claims(CLIENT_ID);
+            claims.put("nonce", StubAuthRequest.NONCE);
+            this.delegate.idToken = this.provider.sign("kid1", claims);
+            assertThat(authRequest.login(this.authCallback(state)).ok()).isTrue();
+
+            state = UUID.randomUUID().toString();
+            authRequest.authorize(state);
+            claims.put("nonce", "replayed-nonce");
+            this.delegate.idToken = this.provider.sign("kid1", claims);
+            AuthResponse<?> response = authRequest.login(this.authCallback(state));
+            assertThat(response.ok()).isFalse();
+            assertThat(response.getCode()).isEqualTo(AuthResponseStatus.ILLEGAL_TOKEN.getCode());
+            assertThat(response.getMsg()).contains("nonce mismatch");
+        }
+    }
+
+    @Test
+    void skipNonceIfNotSent() {
+        try (OidcAuthRequestInterceptor interceptor = this.interceptor(true)) {
+            AuthRequest authRequest = this.intercept(interceptor, this.authConfig());
+
+            JSONObject claims = this.provider.claims(CLIENT_ID);
+            claims.put("nonce", "unknown-nonce");
+            this.delegate.idToken = this.provider.sign("kid1", claims);
+
+            assertThat(authRequest.login(this.authCallback(UUID.randomUUID().toString())).ok()).isTrue();
+        }
+    }
+
+    private OidcAuthRequestInterceptor interceptor(boolean fallbackToUserInfo) {
+        return this.interceptor(fallbackToUserInfo, "GOOGLE");
+    }
+
+    private OidcAuthRequestInterceptor interceptor(boolean fallbackToUserInfo, String source) {
+        JustAuthOidcProperties oidcProperties = new JustAuthOidcProperties();
+        oidcProperties.setEnabled(true);
+        oidcProperties.setFallbackToUserInfo(fallbackToUserInfo);
+        oidcProperties.getSource().put(source, new JustAuthOidcProvider(this.provider.getJwksUri(),
+                Collections.singletonList(MockOidcProvider.ISSUER)));
+        return new OidcAuthRequestInterceptor(oidcProperties, AuthDefaultStateCache.INSTANCE);
+    }
+
+    private AuthRequest intercept(OidcAuthRequestInterceptor interceptor, AuthConfig authConfig) {
+        return this.intercept(interceptor, AuthDefaultSource.GOOGLE, authConfig);
+    }
+
+    private AuthRequest intercept(OidcAuthRequestInterceptor interceptor, AuthDefaultSource source,
+            AuthConfig authConfig) {
+        return new InterceptingAuthRequest(this.delegate, source, authConfig,
+                AuthDefaultStateCache.INSTANCE, Collections.singletonList(interceptor));
+    }
+
+    private AuthConfig authConfig() {
+        return AuthConfig.builder()
+                .clientId(CLIENT_ID)
+                .clientSecret("client-secret")
+                .redirectUri("http://localhost/oauth/callback/google")
+                .build();
+    }
+
+    private AuthToken authToken(String idToken) {
+        return AuthToken.builder()
+                .accessToken("access-token")
+                .idToken(idToken)
+                .build();
+    }
+
+    private AuthCallback authCallback(String state) {
+        return AuthCallback.builder()
+                .code("code")
+                .state(state)
+                .build();
+    }
+
+    static class StubAuthRequest implements AuthRequest {
+
+        static final String NONCE = "nonce1";
+
+        static final String USER_INFO_UUID = "user-info-uuid";
+
+        private final AtomicInteger userInfoCount = new AtomicInteger();
+
+        private volatile String idToken;
+
+        @Override
+        public String authorize(String state) {
+            return "https://accounts.test.justauth/authorize?client_id=" + CLIENT_ID + "&state=" + state
+                    + "&nonce=" + NONCE;
+        }
+
+        @Override
+        public AuthToken getAccessToken(AuthCallback authCallback) {
+            throw new AuthException(AuthResponseStatus.NOT_IMPLEMENTED);
+        }
+
+        @Override
+        public AuthUser getUserInfo(AuthToken authToken) {
+            this.userInfoCount.incrementAndGet();
+            return AuthUser.builder()
+                    .uuid(USER_INFO_UUID)
+                    .token(authToken)
+                    .build();
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public AuthResponse login(AuthCallback authCallback) {
+            AuthToken authToken = AuthToken.builder()
+                    .accessToken("access-token")
+                    .idToken(this.idToken)
+                    .build();
+            return AuthResponse.builder()
+                    .code(AuthResponseStatus.SUCCESS.getCode())
+                    .data(AuthUser.builder().uuid(MockOidcProvider.SUBJECT).token(authToken).build())
+                    .build();
+        }
+
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.xkcoding.http.config.HttpConfig;
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties.JustAuthHttpProxyPoolConfig;
+import com.youkol.support.justauth.support.request.InterceptingAuthRequest;
+
+import me.zhyd.oauth.cache.AuthDefaultStateCache;
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.config.AuthDefaultSource;
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * Tests for {@link AuthProxyPoolInterceptor}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class AuthProxyPoolInterceptorTests {
+
+    private ServerSocket proxy1;
+
+    private ServerSocket proxy2;
+
+    private AuthProxyPoolInterceptor interceptor;
+
+    private final List<Proxy> usedProxies = new CopyOnWriteArrayList<>();
+
+    private volatile RuntimeException failure;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.proxy1 = new ServerSocket(0);
+        this.proxy2 = new ServerSocket(0);
+
+        JustAuthHttpProxyPoolConfig poolConfig = new JustAuthHttpProxyPoolConfig();
+        poolConfig.setAddresses(Arrays.asList("127.0.0.1:" + this.proxy1.getLocalPort(),
+                "127.0.0.1:" + this.proxy2.getLocalPort()));
+        poolConfig.setFailureThreshold(1);
+        poolConfig.setHealthCheckInterval(Duration.ofHours(1));
+        this.interceptor = new AuthProxyPoolInterceptor(Collections.singletonMap("GITHUB", poolConfig));
+        this.awaitInitialHealthCheck(this.interceptor.getProxyPool("GITHUB"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.interceptor.close();
+        this.proxy1.close();
+        this.proxy2.close();
+    }
+
+    @Test
+    void applyProxyToTheCallOnly() {
+        AuthConfig authConfig = this.authConfig();
+        AuthRequest authRequest = this.intercept(authConfig);
+
+        authRequest.getUserInfo(this.authToken());
+        authRequest.getUserInfo(this.authToken());
+
+        assertThat(this.usedProxies).hasSize(2);
+        assertThat(this.usedProxies.get(0)).isNotEqualTo(this.usedProxies.get(1));
+        assertThat(this.usedProxies).extracting(proxy -> ((InetSocketAddress) proxy.address()).getPort())
+                .containsExactlyInAnyOrder(this.proxy1.getLocalPort(), this.proxy2.getLocalPort());
+        // the shared config is never changed
+        assertThat(authConfig.getHttpConfig().getProxy()).isNull();
+        assertThat(authConfig.getHttpConfig().getTimeout()).isEqualTo(3000);
+    }
+
+    @Test
+    void skipAuthorize() {
+        AuthRequest authRequest = this.intercept(this.authConfig());
+
+        assertThat(authRequest.authorize("state")).isEqualTo("https://github.test.justauth/authorize");
+        assertThat(this.usedProxies).containsExactly(Proxy.NO_PROXY);
+    }
+
+    @Test
+    void markFailureOnTransportErrorOnly() {
+        AuthProxyPool proxyPool = this.interceptor.getProxyPool("GITHUB");
+        AuthRequest authRequest = this.intercept(this.authConfig());
+
+        this.failure = new AuthException("invalid token");
+        assertThatThrownBy(() -> authRequest.getUserInfo(this.authToken())).isInstanceOf(AuthException.class);
+        assertThat(proxyPool.getHealthyProxies()).hasSize(2);
+
+        this.failure = new RuntimeException(new ConnectException("Connection refused"));
+        assertThatThrownBy(() -> authRequest.getUserInfo(this.authToken())).hasRootCauseInstanceOf(
+                ConnectException.class);
+        assertThat(proxyPool.getHealthyProxies()).hasSize(1)
+                .doesNotContain(this.usedProxies.get(1));
+    }
+
+    private AuthRequest intercept(AuthConfig authConfig) {
+        return new InterceptingAuthRequest(new StubAuthRequest(authConfig), AuthDefaultSource.GITHUB, authConfig,
+                AuthDefaultStateCache.INSTANCE, Collections.singletonList(this.interceptor), StubAuthRequest::new);
+    }
+
+    private AuthConfig authConfig() {
+        return AuthConfig.builder()
+                .clientId("client-id")
+                .clientSecret("client-secret")
+                .redirectUri("http://localhost/oauth/callback/github")
+                .httpConfig(HttpConfig.builder().timeout(3000).build())
+                .build();
+    }
+
+    private AuthToken authToken() {
+        return AuthToken.builder().accessToken("access-token").build();
+    }
+
+    private void awaitInitialHealthCheck(AuthProxyPool proxyPool) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (proxyPool.getHealthyProxies().stream()
+                .anyMatch(proxy -> ((InetSocketAddress) proxy.address()).isUnresolved())) {
+            assertThat(System.nanoTime()).as("initial health check").isLessThan(deadline);
+            Thread.sleep(10L);
+        }
+    }
+
+    class StubAuthRequest implements AuthRequest {
+
+        private final AuthConfig authConfig;
+
+        StubAuthRequest(AuthConfig authConfig) {
+            this.authConfig = authConfig;
+        }
+
+        @Override
+        public String authorize(String state) {
+            this.record();
+            return "https://github.test.justauth/authorize";
+        }
+
+        @Override
+        public AuthToken getAccessToken(AuthCallback authCallback) {
+            throw new AuthException(AuthResponseStatus.NOT_IMPLEMENTED);
+        }
+
+        @Override
+        public AuthUser getUserInfo(AuthToken authToken) {
+            this.record();
+            RuntimeException failure = AuthProxyPoolInterceptorTests.this.failure;
+            if (failure != null) {
+                throw failure;
+            }
+            return AuthUser.builder().uuid("uuid").token(authToken).build();
+        }
+
+        private void record() {
+            Proxy proxy = this.authConfig.getHttpConfig().getProxy();
+            AuthProxyPoolInterceptorTests.this.usedProxies.add(proxy == null ? Proxy.NO_PROXY : proxy);
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.refresh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthTokenRefreshProperties;
+
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthResponse;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * Tests for {@link AuthTokenRefreshScheduler}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class AuthTokenRefreshSchedulerTests {
+
+    private final List<AuthConfig> refreshedWith = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger refreshes = new AtomicInteger();
+
+    private final AuthTokenRefreshListener listener = (source, uuid, token) -> {
+    };
+
+    @Test
+    void refreshWithTrackedAuthConfig() {
+        AuthConfig tenantConfig = AuthConfig.builder().clientId("tenant-client-id").build();
+
+        try (AuthTokenRefreshScheduler refreshScheduler = new AuthTokenRefreshScheduler(this::resolve,
+                new LocalAuthTokenRefreshLock(), this.listener, this.properties(Duration.ofDays(1)))) {
+            assertThat(refreshScheduler.track("custom1", "uuid1", this.authToken("access1"), tenantConfig)).isTrue();
+
+            // the refreshed token is due again, and is refreshed with the same config
+            Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> this.refreshes.get() >= 2);
+            assertThat(this.refreshedWith).allMatch(authConfig -> authConfig == tenantConfig);
+        }
+    }
+
+    @Test
+    void refreshWithConfiguredAuthConfigIfTrackedWithout() {
+        try (AuthTokenRefreshScheduler refreshScheduler = new AuthTokenRefreshScheduler(this::resolve,
+                new LocalAuthTokenRefreshLock(), this.listener, this.properties(Duration.ofDays(1)))) {
+            assertThat(refreshScheduler.track("custom1", "uuid1", this.authToken("access1"))).isTrue();
+
+            Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> this.refreshes.get() >= 1);
+            assertThat(this.refreshedWith).containsOnlyNulls();
+        }
+    }
+
+    @Test
+    void stopRefreshingAfterMaxLifetime() {
+        try (AuthTokenRefreshScheduler refreshScheduler = new AuthTokenRefreshScheduler(this::resolve,
+                new LocalAuthTokenRefreshLock(), this.listener, this.properties(Duration.ofMillis(200)))) {
+            refreshScheduler.track("custom1", "uuid1", this.authToken("access1"));
+
+            Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> refreshScheduler.getTrackedCount() == 0);
+            int refreshed = this.refreshes.get();
+            assertThat(refreshed).isGreaterThanOrEqualTo(1);
+            assertThat(refreshScheduler.getSkippedCount()).isEqualTo(1);
+            assertThat(refreshScheduler.getFailedCount()).isZero();
+
+            // a new login tracks it again
+            assertThat(refreshScheduler.track("custom1", "uuid1", this.authToken("relogin-access1"))).isTrue();
+            Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> this.refreshes.get() > refreshed);
+        }
+    }
+
+    @Test
+    void refreshOnceAcrossNodesSharingTheLock() {
+        AuthRequest authRequest = new AuthRequest() {
+
+            @Override
+            public AuthToken getAccessToken(AuthCallback authCallback) {
+                throw new AuthException(AuthResponseStatus.NOT_IMPLEMENTED);
+            }
+
+            @Override
+            public AuthUser getUserInfo(AuthToken authToken) {
+                throw new AuthException(AuthResponseStatus.NOT_IMPLEMENTED);
+            }
+
+            @Override
+            @SuppressWarnings("rawtypes")
+            public AuthResponse refresh(AuthToken authToken) {
+                AuthTokenRefreshSchedulerTests.this.refreshes.incrementAndGet();
+                return AuthResponse.builder()
+                        .code(AuthResponseStatus.SUCCESS.getCode())
+                        .data(AuthToken.builder().accessToken(authToken.getAccessToken() + "'").expireIn(7200).build())
+                        .build();
+            }
+
+        };
+        List<String> refreshed = new ArrayList<>();
+        AuthTokenRefreshListener listener = (source, uuid, token) -> {
+            synchronized (refreshed) {
+                refreshed.add(source + ":" + uuid + ":" + token.getAccessToken() + ":" + token.getRefreshToken());
+            }
+        };
+
+        // two nodes tracking the same token, sharing the lock
+        LocalAuthTokenRefreshLock refreshLock = new LocalAuthTokenRefreshLock();
+        AuthToken authToken = this.authToken("access1");
+        try (AuthTokenRefreshScheduler node1 = new AuthTokenRefreshScheduler((source, authConfig) -> authRequest,
+                refreshLock, listener, this.properties(Duration.ofDays(1)));
+                AuthTokenRefreshScheduler node2 = new AuthTokenRefreshScheduler((source, authConfig) -> authRequest,
+                        refreshLock, listener, this.properties(Duration.ofDays(1)))) {
+            node1.track("custom1", "uuid1", authToken);
+            node2.track("custom1", "uuid1", authToken);
+            Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> node1.getRefreshedCount()
+                    + node2.getRefreshedCount() + node1.getSkippedCount() + node2.getSkippedCount() == 2);
+
+            assertThat(this.refreshes).hasValue(1);
+            assertThat(refreshed).containsExactly("CUSTOM1:uuid1:access1':refresh1");
+            assertThat(node1.getTrackedCount() + node2.getTrackedCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void requireListener() {
+        assertThatThrownBy(() -> new AuthTokenRefreshScheduler(this::resolve, new LocalAuthTokenRefreshLock(), null,
+                this.properties(Duration.ofDays(1))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("AuthTokenRefreshListener must not be null");
+    }
+
+    private JustAuthTokenRefreshProperties properties(Duration maxLifetime) {
+        JustAuthTokenRefreshProperties properties = new JustAuthTokenRefreshProperties();
+        properties.setPollInterval(Duration.ofMillis(20));
+        properties.setRefreshAhead(Duration.ofHours(1));
+        properties.setJitter(Duration.ZERO);
+        // each refresh takes a new lock, as the access token changes
+        properties.setLockTimeout(Duration.ofMinutes(1));
+        properties.setMaxLifetime(maxLifetime);
+        return properties;
+    }
+
+    private AuthToken authToken(String accessToken) {
+        // due at once, as the refresh-ahead exceeds the expiry
+        return AuthToken.builder().accessToken(accessToken).refreshToken("refresh1").expireIn(60).build();
+    }
+
+    private AuthRequest resolve(String source, AuthConfig authConfig) {
+        return new AuthRequest() {
+
+            @Override
+            public AuthToken getAccessToken(AuthCallback authCallback) {
+                throw new AuthException(AuthResponseStatus.NOT_IMPLEMENTED);
+            }
+
+            @Override
+            public AuthUser getUserInfo(AuthToken authToken) {
+                throw new AuthException(AuthResponseStatus.NOT_IMPLEMENTED);
+            }
+
+            @Override
+            @SuppressWarnings("rawtypes")
+            public AuthResponse refresh(AuthToken authToken) {
+                AuthTokenRefreshSchedulerTests.this.refreshedWith.add(authConfig);
+                int count = AuthTokenRefreshSchedulerTests.this.refreshes.incrementAndGet();
+                return AuthResponse.builder()
+                        .code(AuthResponseStatus.SUCCESS.getCode())
+                        .data(AuthToken.builder().accessToken("refreshed-access" + count).expireIn(60).build())
+                        .build();
+            }
+
+        };
+    }
+
+}
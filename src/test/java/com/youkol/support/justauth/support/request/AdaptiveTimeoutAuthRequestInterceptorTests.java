@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.xkcoding.http.config.HttpConfig;
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties.JustAuthHttpAdaptiveTimeoutConfig;
+
+import me.zhyd.oauth.cache.AuthDefaultStateCache;
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.config.AuthDefaultSource;
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * Tests for {@link AdaptiveTimeoutAuthRequestInterceptor}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class AdaptiveTimeoutAuthRequestInterceptorTests {
+
+    private static final int CONFIGURED_TIMEOUT = 3000;
+
+    private static final long LATENCY_MILLIS = 100L;
+
+    private final List<Integer> usedTimeouts = new CopyOnWriteArrayList<>();
+
+    @Test
+    void timeoutFollowsRecordedLatency() {
+        AdaptiveTimeoutAuthRequestInterceptor interceptor = new AdaptiveTimeoutAuthRequestInterceptor(
+                this.adaptiveTimeoutConfig(Duration.ofSeconds(10)));
+        AuthConfig authConfig = this.authConfig();
+        AuthRequest authRequest = this.intercept(interceptor, authConfig);
+
+        for (int i = 0; i < 3; i++) {
+            authRequest.getUserInfo(this.authToken());
+        }
+        // not enough samples yet
+        assertThat(this.usedTimeouts).containsOnly(CONFIGURED_TIMEOUT);
+
+        long adaptedTimeout = interceptor.getAdaptedTimeout("GITHUB");
+        assertThat(adaptedTimeout).isGreaterThanOrEqualTo(LATENCY_MILLIS + 50L)
+                .isLessThan(CONFIGURED_TIMEOUT);
+
+        authRequest.getUserInfo(this.authToken());
+        assertThat(this.usedTimeouts.get(3)).isEqualTo((int) adaptedTimeout);
+        // the shared config is never changed
+        assertThat(authConfig.getHttpConfig().getTimeout()).isEqualTo(CONFIGURED_TIMEOUT);
+    }
+
+    @Test
+    void timeoutIsBoundedByMaxTimeout() {
+        AdaptiveTimeoutAuthRequestInterceptor interceptor = new AdaptiveTimeoutAuthRequestInterceptor(
+                this.adaptiveTimeoutConfig(Duration.ofMillis(120)));
+        AuthRequest authRequest = this.intercept(interceptor, this.authConfig());
+
+        for (int i = 0; i < 4; i++) {
+            authRequest.getUserInfo(this.authToken());
+        }
+
+        assertThat(interceptor.getAdaptedTimeout("GITHUB")).isEqualTo(120L);
+        assertThat(this.usedTimeouts.get(3)).isEqualTo(120);
+    }
+
+    @Test
+    void skipAuthorize() {
+        AdaptiveTimeoutAuthRequestInterceptor interceptor = new AdaptiveTimeoutAuthRequestInterceptor(
+                this.adaptiveTimeoutConfig(Duration.ofSeconds(10)));
+        AuthRequest authRequest = this.intercept(interceptor, this.authConfig());
+
+        authRequest.authorize("state");
+
+        assertThat(interceptor.getAdaptedTimeout("GITHUB")).isEqualTo(-1L);
+    }
+
+    private JustAuthHttpAdaptiveTimeoutConfig adaptiveTimeoutConfig(Duration maxTimeout) {
+        JustAuthHttpAdaptiveTimeoutConfig adaptiveTimeoutConfig = new JustAuthHttpAdaptiveTimeoutConfig();
+        adaptiveTimeoutConfig.setEnabled(true);
+        adaptiveTimeoutConfig.setMinSamples(3);
+        adaptiveTimeoutConfig.setMargin(Duration.ofMillis(50));
+        adaptiveTimeoutConfig.setMinTimeout(Duration.ofMillis(10));
+        adaptiveTimeoutConfig.setMaxTimeout(maxTimeout);
+        return adaptiveTimeoutConfig;
+    }
+
+    private AuthRequest intercept(AdaptiveTimeoutAuthRequestInterceptor interceptor, AuthConfig authConfig) {
+        return new InterceptingAuthRequest(new StubAuthRequest(authConfig), AuthDefaultSource.GITHUB, authConfig,
+                AuthDefaultStateCache.INSTANCE, Collections.singletonList(interceptor), StubAuthRequest::new);
+    }
+
+    private AuthConfig authConfig() {
+        return AuthConfig.builder()
+                .clientId("client-id")
+                .clientSecret("client-secret")
+                .redirectUri("http://localhost/oauth/callback/github")
+                .httpConfig(HttpConfig.builder().timeout(CONFIGURED_TIMEOUT).build())
+                .build();
+    }
+
+    private AuthToken authToken() {
+        return AuthToken.builder().accessToken("access-token").build();
+    }
+
+    class StubAuthRequest implements AuthRequest {
+
+        private final AuthConfig authConfig;
+
+        StubAuthRequest(AuthConfig authConfig) {
+            this.authConfig = authConfig;
+        }
+
+        @Override
+        public String authorize(String state) {
+            return "https://github.test.justauth/authorize";
+        }
+
+        @Override
+        public AuthToken getAccessToken(AuthCallback authCallback) {
+            throw new AuthException(AuthResponseStatus.NOT_IMPLEMENTED);
+        }
+
+        @Override
+        public AuthUser getUserInfo(AuthToken authToken) {
+            AdaptiveTimeoutAuthRequestInterceptorTests.this.usedTimeouts.add(
+                    this.authConfig.getHttpConfig().getTimeout());
+            try {
+                Thread.sleep(LATENCY_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return AuthUser.builder().uuid("uuid").token(authToken).build();
+        }
+
+    }
+
+}
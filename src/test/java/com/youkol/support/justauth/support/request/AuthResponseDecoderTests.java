@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link JacksonStreamingResponseDecoder} and {@link FastjsonResponseDecoder}, which
+ * must decode the same response to the same fields.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class AuthResponseDecoderTests {
+
+    private static final String RESPONSE = "{\"openid\":\"o6_bmjrPTlm6_2sgVt7hMZOPfL2M\","
+            + "\"session_key\":\"tiihtNczf5v6AKRyjwEUhQ==\",\"unionid\":null,\"errcode\":0,\"ratio\":1.50,"
+            + "\"verified\":true,\"profile\":{\"openid\":\"nested\",\"tags\":[1,2]},\"tags\":[\"a\",{\"b\":1}],"
+            + "\"nickname\":\"\\u5fae\\u4fe1\"}";
+
+    private static final Set<String> FIELDS = new HashSet<>(Arrays.asList("openid", "session_key", "unionid",
+            "errcode", "ratio", "verified", "profile", "tags", "nickname", "missing"));
+
+    private final List<AuthResponseDecoder> decoders = Arrays.asList(
+            new JacksonStreamingResponseDecoder(AuthResponseDecoder.DEFAULT_MAX_RESPONSE_SIZE),
+            new FastjsonResponseDecoder(AuthResponseDecoder.DEFAULT_MAX_RESPONSE_SIZE));
+
+    @Test
+    void decodeScalarFields() throws IOException {
+        Map<String, String> expected = new HashMap<>();
+        expected.put("openid", "o6_bmjrPTlm6_2sgVt7hMZOPfL2M");
+        expected.put("session_key", "tiihtNczf5v6AKRyjwEUhQ==");
+        expected.put("unionid", null);
+        expected.put("errcode", "0");
+        expected.put("ratio", "1.50");
+        expected.put("verified", "true");
+        expected.put("nickname", "\u5fae\u4fe1");
+
+        for (AuthResponseDecoder decoder : this.decoders) {
+            assertThat(decoder.decode(body(RESPONSE), FIELDS)).as(decoder.getClass().getSimpleName())
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void decodeRequestedFieldsOnly() throws IOException {
+        for (AuthResponseDecoder decoder : this.decoders) {
+            assertThat(decoder.decode(body(RESPONSE), Collections.singleton("openid")))
+                    .as(decoder.getClass().getSimpleName())
+                    .containsOnly(entry("openid", "o6_bmjrPTlm6_2sgVt7hMZOPfL2M"));
+        }
+    }
+
+    @Test
+    void rejectNonObjectResponse() {
+        for (AuthResponseDecoder decoder : this.decoders) {
+            for (String response : Arrays.asList("", "[1,2]", "\"text\"", "<html></html>")) {
+                assertThatThrownBy(() -> decoder.decode(body(response), FIELDS))
+                        .as(decoder.getClass().getSimpleName() + " of " + response)
+                        .isInstanceOf(IOException.class);
+            }
+        }
+    }
+
+    @Test
+    void rejectResponseOverMaxSize() {
+        String response = "{\"padding\":\"" + String.join("", Collections.nCopies(2048, "x"))
+                + "\",\"openid\":\"o1\"}";
+        for (AuthResponseDecoder decoder : Arrays.asList(new JacksonStreamingResponseDecoder(1024),
+                new FastjsonResponseDecoder(1024))) {
+            assertThatThrownBy(() -> decoder.decode(body(response), FIELDS))
+                    .as(decoder.getClass().getSimpleName())
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("maximum size");
+        }
+    }
+
+    @Test
+    void defaultDecoderIsStreaming() {
+        assertThat(AuthResponseDecoder.getDefault()).isInstanceOf(JacksonStreamingResponseDecoder.class);
+    }
+
+    private static InputStream body(String response) {
+        return new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.youkol.support.justauth.autoconfigure.JustAuthProperties.JustAuthHttpRetryConfig;
+
+import me.zhyd.oauth.cache.AuthDefaultStateCache;
+import me.zhyd.oauth.config.AuthConfig;
+import me.zhyd.oauth.config.AuthDefaultSource;
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.exception.AuthException;
+import me.zhyd.oauth.model.AuthCallback;
+import me.zhyd.oauth.model.AuthToken;
+import me.zhyd.oauth.model.AuthUser;
+import me.zhyd.oauth.request.AuthRequest;
+
+/**
+ * Tests for {@link RetryingAuthRequestInterceptor}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class RetryingAuthRequestInterceptorTests {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private final List<String> attemptThreads = new CopyOnWriteArrayList<>();
+
+    private RetryingAuthRequestInterceptor interceptor;
+
+    @AfterEach
+    void tearDown() {
+        if (this.interceptor != null) {
+            this.interceptor.close();
+        }
+    }
+
+    @Test
+    void retryUntilSuccess() {
+        AuthRequest authRequest = this.intercept(this.retryConfig(3, false), attempt -> {
+            if (attempt < 3) {
+                throw new IllegalStateException("Connection reset");
+            }
+            return this.authUser(attempt);
+        });
+
+        AuthUser authUser = authRequest.getUserInfo(this.authToken());
+
+        assertThat(authUser.getUuid()).isEqualTo("attempt-3");
+        assertThat(this.attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    void giveUpAfterMaxAttempts() {
+        AuthRequest authRequest = this.intercept(this.retryConfig(3, false), attempt -> {
+            throw new AuthException("Failed to call the provider");
+        });
+
+        assertThatThrownBy(() -> authRequest.getUserInfo(this.authToken()))
+                .isInstanceOf(AuthException.class)
+                .hasMessageContaining("Failed to call the provider");
+        assertThat(this.attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    void notRetryIllegalToken() {
+        AuthRequest authRequest = this.intercept(this.retryConfig(3, false), attempt -> {
+            throw new AuthException(AuthResponseStatus.ILLEGAL_TOKEN);
+        });
+
+        assertThatThrownBy(() -> authRequest.getUserInfo(this.authToken())).isInstanceOf(AuthException.class);
+        assertThat(this.attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void notRetryAccessToken() {
+        AuthRequest authRequest = this.intercept(this.retryConfig(3, false), this::authUser);
+
+        assertThatThrownBy(() -> authRequest.getAccessToken(AuthCallback.builder().code("code").build()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(this.attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void hedgedCallWins() {
+        AuthRequest authRequest = this.intercept(this.retryConfig(1, true), attempt -> {
+            if (attempt == 1) {
+                this.sleep(TimeUnit.SECONDS.toMillis(5));
+            }
+            return this.authUser(attempt);
+        });
+
+        long start = System.nanoTime();
+        AuthUser authUser = authRequest.getUserInfo(this.authToken());
+
+        assertThat(authUser.getUuid()).isEqualTo("attempt-2");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000L);
+        // both the primary and the hedged call run on the hedge threads
+        assertThat(this.attemptThreads).hasSize(2).allMatch(name -> name.startsWith("justauth-hedge-"));
+    }
+
+    @Test
+    void notHedgeFastCall() {
+        AuthRequest authRequest = this.intercept(this.retryConfig(1, true), this::authUser);
+
+        AuthUser authUser = authRequest.getUserInfo(this.authToken());
+
+        assertThat(authUser.getUuid()).isEqualTo("attempt-1");
+        assertThat(this.attempts.get()).isEqualTo(1);
+    }
+
+    private JustAuthHttpRetryConfig retryConfig(int maxAttempts, boolean hedge) {
+        JustAuthHttpRetryConfig retryConfig = new JustAuthHttpRetryConfig();
+        retryConfig.setEnabled(true);
+        retryConfig.setMaxAttempts(maxAttempts);
+        retryConfig.setBackoff(Duration.ofMillis(1));
+        retryConfig.setMaxBackoff(Duration.ofMillis(10));
+        retryConfig.setHedge(hedge);
+        retryConfig.setHedgeMinDelay(Duration.ofMillis(100));
+        return retryConfig;
+    }
+
+    private AuthRequest intercept(JustAuthHttpRetryConfig retryConfig, IntFunction<AuthUser> behavior) {
+        this.interceptor = new RetryingAuthRequestInterceptor(retryConfig);
+        AuthConfig authConfig = AuthConfig.builder()
+                .clientId("client-id")
+                .clientSecret("client-secret")
+                .redirectUri("http://localhost/oauth/callback/github")
+                .build();
+        return new InterceptingAuthRequest(new StubAuthRequest(behavior), AuthDefaultSource.GITHUB, authConfig,
+                AuthDefaultStateCache.INSTANCE, Collections.singletonList(this.interceptor));
+    }
+
+    private AuthToken authToken() {
+        return AuthToken.builder().accessToken("access-token").build();
+    }
+
+    private AuthUser authUser(int attempt) {
+        return AuthUser.builder().uuid("attempt-" + attempt).build();
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    class StubAuthRequest implements AuthRequest {
+
+        private final IntFunction<AuthUser> behavior;
+
+        StubAuthRequest(IntFunction<AuthUser> behavior) {
+            this.behavior = behavior;
+        }
+
+        @Override
+        public AuthToken getAccessToken(AuthCallback authCallback) {
+            this.attempt();
+            throw new IllegalStateException("Connection reset");
+        }
+
+        @Override
+        public AuthUser getUserInfo(AuthToken authToken) {
+            return this.behavior.apply(this.attempt());
+        }
+
+        private int attempt() {
+            RetryingAuthRequestInterceptorTests.this.attemptThreads.add(Thread.currentThread().getName());
+            return RetryingAuthRequestInterceptorTests.this.attempts.incrementAndGet();
+        }
+
+    }
+
+}
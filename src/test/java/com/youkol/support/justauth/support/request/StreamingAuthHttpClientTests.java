@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.xkcoding.http.config.HttpConfig;
+
+import me.zhyd.oauth.exception.AuthException;
+
+/**
+ * Tests for {@link StreamingAuthHttpClient}, against a local {@link HttpServer}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class StreamingAuthHttpClientTests {
+
+    private static final String RESPONSE = "{\"openid\":\"o6_bmjrPTlm6_2sgVt7hMZOPfL2M\","
+            + "\"session_key\":\"tiihtNczf5v6AKRyjwEUhQ==\",\"errcode\":0}";
+
+    private static final Set<String> FIELDS = new HashSet<>(Arrays.asList("openid", "session_key"));
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    private String baseUrl;
+
+    private volatile String acceptEncoding;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/plain", exchange -> this.write(exchange, 200, RESPONSE, false));
+        this.server.createContext("/gzip", exchange -> this.write(exchange, 200, RESPONSE, true));
+        this.server.createContext("/error", exchange -> this.write(exchange, 500, "{\"errcode\":-1}", false));
+        this.server.createContext("/html", exchange -> this.write(exchange, 200, "<html></html>", false));
+        this.server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1000L);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            this.write(exchange, 200, RESPONSE, false);
+        });
+        this.server.start();
+        this.baseUrl = "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void getPlainResponse() {
+        AuthHttpExchangeRecorder recorder = AuthHttpExchangeRecorder.start();
+        Map<String, String> values;
+        try {
+            values = StreamingAuthHttpClient.get(this.baseUrl + "/plain", null, AuthResponseDecoder.getDefault(),
+                    FIELDS);
+        } finally {
+            recorder.stop();
+        }
+
+        assertThat(values).containsEntry("openid", "o6_bmjrPTlm6_2sgVt7hMZOPfL2M")
+                .containsEntry("session_key", "tiihtNczf5v6AKRyjwEUhQ==")
+                .hasSize(2);
+        assertThat(this.acceptEncoding).isEqualTo("gzip");
+        assertThat(recorder.getStatus()).isEqualTo(200);
+        assertThat(recorder.getBytes()).isEqualTo(RESPONSE.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void getGzipResponse() {
+        for (AuthResponseDecoder decoder : Arrays.asList(new JacksonStreamingResponseDecoder(1024),
+                new FastjsonResponseDecoder(1024))) {
+            assertThat(StreamingAuthHttpClient.get(this.baseUrl + "/gzip", null, decoder, FIELDS))
+                    .as(decoder.getClass().getSimpleName())
+                    .containsEntry("openid", "o6_bmjrPTlm6_2sgVt7hMZOPfL2M")
+                    .containsEntry("session_key", "tiihtNczf5v6AKRyjwEUhQ==");
+        }
+    }
+
+    @Test
+    void getFailsOnErrorStatus() {
+        assertThatThrownBy(() -> StreamingAuthHttpClient.get(this.baseUrl + "/error", null,
+                AuthResponseDecoder.getDefault(), FIELDS))
+                        .isInstanceOf(AuthException.class)
+                        .hasMessageContaining("500");
+    }
+
+    @Test
+    void getFailsOnMalformedResponse() {
+        assertThatThrownBy(() -> StreamingAuthHttpClient.get(this.baseUrl + "/html", null,
+                AuthResponseDecoder.getDefault(), FIELDS))
+                        .isInstanceOf(AuthException.class)
+                        .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void getFailsOnTimeout() {
+        HttpConfig httpConfig = HttpConfig.builder().timeout(200).build();
+
+        assertThatThrownBy(() -> StreamingAuthHttpClient.get(this.baseUrl + "/slow", httpConfig,
+                AuthResponseDecoder.getDefault(), FIELDS))
+                        .isInstanceOf(AuthException.class)
+                        .hasCauseInstanceOf(IOException.class);
+    }
+
+    private void write(HttpExchange exchange, int status, String response, boolean gzip) throws IOException {
+        this.acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        if (gzip) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(body);
+            }
+            body = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.xkcoding.http.config.HttpConfig;
+import com.xkcoding.http.support.AbstractHttp;
+import com.xkcoding.http.support.HttpHeader;
+import com.xkcoding.http.support.SimpleHttpResponse;
+
+/**
+ * Tests for {@link ThreadBoundHttp}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class ThreadBoundHttpTests {
+
+    private final AtomicInteger createCount = new AtomicInteger();
+
+    private ExecutorService executor;
+
+    private ThreadBoundHttp http;
+
+    @BeforeEach
+    void setUp() {
+        this.executor = Executors.newFixedThreadPool(2);
+        this.http = new ThreadBoundHttp(() -> {
+            this.createCount.incrementAndGet();
+            return new TimeoutEchoHttp();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void keepHttpConfigPerThread() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Future<String> first = this.executor.submit(() -> this.configureAndGet(1000, barrier));
+        Future<String> second = this.executor.submit(() -> this.configureAndGet(2000, barrier));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("1000");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("2000");
+        assertThat(this.createCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void reuseDelegateOnSameThread() {
+        this.http.setHttpConfig(HttpConfig.builder().timeout(1000).build());
+        assertThat(this.http.get("http://localhost/first").getBody()).isEqualTo("1000");
+
+        this.http.setHttpConfig(HttpConfig.builder().timeout(2000).build());
+        assertThat(this.http.post("http://localhost/second").getBody()).isEqualTo("2000");
+        assertThat(this.createCount.get()).isEqualTo(1);
+    }
+
+    private String configureAndGet(int timeout, CyclicBarrier barrier) throws Exception {
+        this.http.setHttpConfig(HttpConfig.builder().timeout(timeout).build());
+        // both threads have set their own config before either sends
+        barrier.await(5, TimeUnit.SECONDS);
+        return this.http.get("http://localhost/user").getBody();
+    }
+
+    static class TimeoutEchoHttp extends AbstractHttp {
+
+        TimeoutEchoHttp() {
+            super(HttpConfig.builder().build());
+        }
+
+        @Override
+        public SimpleHttpResponse get(String url) {
+            return this.echo();
+        }
+
+        @Override
+        public SimpleHttpResponse get(String url, Map<String, String> params, boolean encode) {
+            return this.echo();
+        }
+
+        @Override
+        public SimpleHttpResponse get(String url, Map<String, String> params, HttpHeader header, boolean encode) {
+            return this.echo();
+        }
+
+        @Override
+        public SimpleHttpResponse post(String url) {
+            return this.echo();
+        }
+
+        @Override
+        public SimpleHttpResponse post(String url, String data) {
+            return this.echo();
+        }
+
+        @Override
+        public SimpleHttpResponse post(String url, String data, HttpHeader header) {
+            return this.echo();
+        }
+
+        @Override
+        public SimpleHttpResponse post(String url, Map<String, String> formdata, boolean encode) {
+            return this.echo();
+        }
+
+        @Override
+        public SimpleHttpResponse post(String url, Map<String, String> formdata, HttpHeader header, boolean encode) {
+            return this.echo();
+        }
+
+        private SimpleHttpResponse echo() {
+            SimpleHttpResponse response = new SimpleHttpResponse();
+            response.setSuccess(true);
+            response.setCode(200);
+            response.setBody(String.valueOf(this.httpConfig.getTimeout()));
+            return response;
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2024-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.youkol.support.justauth.support.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.youkol.support.justauth.autoconfigure.CacheType;
+import com.youkol.support.justauth.support.loadtest.AuthLoginLoadRunner;
+import com.youkol.support.justauth.support.loadtest.MockAuthSource;
+import com.youkol.support.justauth.support.loadtest.MockOAuthProvider;
+import com.youkol.support.justauth.support.request.AuthRequestFactory;
+
+import me.zhyd.oauth.enums.AuthResponseStatus;
+import me.zhyd.oauth.model.AuthCallback;
+
+/**
+ * Tests for {@link AuthLoginController} with {@link JsonAuthLoginHandler}, against
+ * {@link MockOAuthProvider}.
+ *
+ * @author jackiea
+ * @since 1.0.2
+ */
+class AuthLoginControllerTests {
+
+    private final ApplicationContextRunner contextRunner = AuthLoginLoadRunner.contextRunner(CacheType.DEFAULT);
+
+    private MockOAuthProvider provider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.provider = new MockOAuthProvider();
+        MockAuthSource.bind(this.provider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.provider.close();
+    }
+
+    @Test
+    void authorizeRedirectsToProvider() {
+        this.contextRunner.run(context -> {
+            AuthLoginController controller = controller(context.getBean(AuthRequestFactory.class));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            controller.authorize("mock", new MockHttpServletRequest(), response);
+
+            assertThat(response.getRedirectedUrl()).startsWith(this.provider.getBaseUrl() + "/authorize")
+                    .contains("state=");
+        });
+    }
+
+    @Test
+    void callbackWritesPublicProfileOnly() {
+        this.contextRunner.run(context -> {
+            AuthLoginController controller = controller(context.getBean(AuthRequestFactory.class));
+            MockHttpServletResponse authorizeResponse = new MockHttpServletResponse();
+            controller.authorize("mock", new MockHttpServletRequest(), authorizeResponse);
+            MultiValueMap<String, String> params = UriComponentsBuilder
+                    .fromHttpUrl(follow(authorizeResponse.getRedirectedUrl()))
+                    .build()
+                    .getQueryParams();
+
+            AuthCallback authCallback = new AuthCallback();
+            authCallback.setCode(params.getFirst("code"));
+            authCallback.setState(params.getFirst("state"));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            controller.callback("mock", authCallback, new MockHttpServletRequest(), response);
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            JSONObject body = JSON.parseObject(response.getContentAsString());
+            assertThat(body.getIntValue("code")).isEqualTo(AuthResponseStatus.SUCCESS.getCode());
+            JSONObject data = body.getJSONObject("data");
+            assertThat(data.getString("uuid")).isEqualTo(authCallback.getCode());
+            assertThat(data.getString("username")).isEqualTo("user-" + authCallback.getCode().substring(0, 8));
+            assertThat(data.keySet()).containsOnly("source", "uuid", "username", "nickname", "avatar");
+        });
+    }
+
+    @Test
+    void callbackWithUnknownStateFails() {
+        this.contextRunner.run(context -> {
+            AuthLoginController controller = controller(context.getBean(AuthRequestFactory.class));
+            AuthCallback authCallback = new AuthCallback();
+            authCallback.setCode("code");
+            authCallback.setState("unknown-state");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            controller.callback("mock", authCallback, new MockHttpServletRequest(), response);
+
+            assertThat(response.getStatus()).isEqualTo(401);
+            JSONObject body = JSON.parseObject(response.getContentAsString());
+            assertThat(body.getIntValue("code")).isEqualTo(AuthResponseStatus.ILLEGAL_STATUS.getCode());
+            assertThat(body.get("data")).isNull();
+        });
+    }
+
+    private static AuthLoginController controller(AuthRequestFactory authRequestFactory) {
+        JsonAuthLoginHandler handler = new JsonAuthLoginHandler();
+        return new AuthLoginController(authRequestFactory, handler, handler);
+    }
+
+    private static String follow(String url) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setInstanceFollowRedirects(false);
+        try {
+            assertThat(connection.getResponseCode()).isEqualTo(HttpURLConnection.HTTP_MOVED_TEMP);
+            return connection.getHeaderField("Location");
+        } finally {
+            connection.getInputStream().close();
+        }
+    }
+
+}